@@ -19,6 +19,18 @@ repositories {
     mavenCentral()
 }
 
+// ─── JMH 벤치마크 소스셋 ──────────────────────────────────────────────
+// - src/jmh/java: 프레이밍/인코딩 등 hot path 마이크로 벤치마크
+// - 실행: gradle jmh -PjmhArgs="ByteBufSearchBenchmark -prof gc"
+// - 외부 플러그인 없이 jmh-core + annotation processor만 사용한다.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation(libs.spring.boot.starter)
     implementation(libs.netty.all)
@@ -26,8 +38,33 @@ dependencies {
     annotationProcessor(libs.spring.boot.configuration.processor)
 
     testImplementation(libs.spring.boot.starter.test)
+
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs JMH benchmarks in src/jmh (args: -PjmhArgs=\"<regex> <jmh options>\")"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args = (findProperty("jmhArgs") as String?)?.trim()?.split(Regex("\\s+")) ?: emptyList()
+}
+
+// 벤치마크 코드가 컴파일 깨진 채 방치되지 않도록 check에 컴파일만 포함한다(실행은 하지 않음).
+tasks.check {
+    dependsOn(jmh.classesTaskName)
+}
+// wire capture 파일 오프라인 조회 (tc.eqpsim.capture.*)
+// - 실행: gradle captureRead -PcaptureArgs="./capture --eqp=EQP_01 --dir=TX --limit=100"
+tasks.register<JavaExec>("captureRead") {
+    group = "application"
+    description = "Prints/filters wire capture records (args: -PcaptureArgs=\"<dir|file.cap> [--eqp= --dir= --cmd= --limit= --hex --count]\")"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("com.nori.tc.eqpsim.socket.capture.WireCaptureReader")
+    args = (findProperty("captureArgs") as String?)?.trim()?.split(Regex("\\s+")) ?: emptyList()
+}
@@ -0,0 +1,104 @@
+package com.nori.tc.eqpsim.socket.capture;
+
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * WireCaptureBenchmark
+ *
+ * 목적:
+ * - 프레임 1개를 capture 레코드로 남기는 비용을 잰다. (event loop 스레드가 직접 부담하는 비용)
+ *   mmap   : WireCaptureWriter.append (CMD 분류 + mapped segment에 복사, segment 회전 포함)
+ *   channel: 같은 레코드를 heap ByteBuffer에 만들고 FileChannel.write 1회 (mmap 없이 구현했을 때의 비교 기준)
+ * - payload는 EMIT 프레임 크기(약 64B)
+ *
+ * 해석 (500k frames/sec):
+ * - 1 event loop가 500k fps를 기록하려면 레코드당 2,000ns 미만이어야 한다. (그 외 송신 처리 시간은 별도)
+ * - ns/op × 500,000 / 1e9 = capture에 쓰는 코어 비율
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="WireCaptureBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireCaptureBenchmark {
+
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private Path dir;
+    private ByteBuf frame;
+
+    private WireCaptureWriter writer;
+
+    private FileChannel channel;
+    private ByteBuffer record;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("wire-capture-bench");
+        frame = Unpooled.directBuffer(64).writeBytes(
+                "CMD=TOOL_EVENT EQPID=EQP_0001 CODE=1001 SEQ=000123 VALUE=12.5000".getBytes(StandardCharsets.US_ASCII));
+
+        CommandDictionary dictionary = new CommandDictionary();
+        dictionary.intern("TOOL_EVENT");
+        dictionary.seal();
+        // 보존 2개: 측정 중 회전/삭제가 계속 일어나도 디스크 사용량은 고정
+        writer = new WireCaptureWriter(dir, "bench-L0", SEGMENT_BYTES, 2, 4096, dictionary,
+                System.currentTimeMillis() * 1_000_000L, System.nanoTime());
+
+        channel = FileChannel.open(dir.resolve("bench-channel.cap"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        record = ByteBuffer.allocate(WireCaptureWriter.RECORD_HEADER_BYTES + 4096).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.close();
+        channel.close();
+        frame.release();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void mmap() {
+        writer.append(WireCaptureWriter.DIR_TX, 1, frame, frame.readerIndex(), frame.writerIndex());
+    }
+
+    @Benchmark
+    public int channel() throws IOException {
+        int len = frame.readableBytes();
+        record.clear();
+        record.putInt(WireCaptureWriter.RECORD_HEADER_BYTES + len)
+                .putLong(System.nanoTime())
+                .putInt(1)
+                .putInt(CommandDictionary.UNKNOWN)
+                .put((byte) WireCaptureWriter.DIR_TX);
+        record.limit(record.position() + len);
+        frame.getBytes(frame.readerIndex(), record);
+        record.flip();
+        if (channel.position() > SEGMENT_BYTES) {
+            channel.truncate(0);
+        }
+        return channel.write(record);
+    }
+}
@@ -0,0 +1,95 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ByteBufSearchBenchmark
+ *
+ * 목적:
+ * - 디코더 hot path인 delimiter 검색을 기존 O(n*m) 루프와 비교한다.
+ * - 프레임 크기 64B / 4KB / 256KB, heap / direct 버퍼, 1/2/4/16바이트 delimiter 조합.
+ *
+ * 시나리오:
+ * - payload(delimiter 바이트를 포함하지 않는 ASCII) 끝에 delimiter 1개가 붙은 프레임에서
+ *   readerIndex부터 delimiter를 찾는다. (TOOLEVENTS 스트림의 프레임 1개 디코드와 동일)
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="ByteBufSearchBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteBufSearchBenchmark {
+
+    @Param({"64", "4096", "262144"})
+    int frameSize;
+
+    @Param({"heap", "direct"})
+    String bufferType;
+
+    /** LF(1바이트) / CRLF(2바이트) / 4바이트(SWAR anchor) / 16바이트(Horspool) 시퀀스 */
+    @Param({"0A", "0D 0A", "1B 02 03 1C", "1B 02 03 1C 1D 1E 1F 04 05 06 07 08 09 0B 0C 0E"})
+    String delimiterHex;
+
+    private ByteBuf frame;
+    private byte[] delimiter;
+    private ByteSequenceSearcher searcher;
+
+    @Setup
+    public void setUp() {
+        delimiter = HexByteSequenceParser.parseHexSequence(delimiterHex);
+        searcher = ByteSequenceSearcher.of(delimiter);
+
+        int payloadLen = Math.max(0, frameSize - delimiter.length);
+        frame = "direct".equals(bufferType)
+                ? Unpooled.directBuffer(frameSize)
+                : Unpooled.buffer(frameSize);
+        for (int i = 0; i < payloadLen; i++) {
+            frame.writeByte('A' + (i % 26));
+        }
+        frame.writeBytes(delimiter);
+    }
+
+    @TearDown
+    public void tearDown() {
+        frame.release();
+    }
+
+    @Benchmark
+    public int legacyNaive() {
+        return legacyIndexOf(frame, frame.readerIndex(), frame.writerIndex(), delimiter);
+    }
+
+    @Benchmark
+    public int searcher() {
+        return searcher.indexOf(frame, frame.readerIndex(), frame.writerIndex());
+    }
+
+    /**
+     * 기존 ByteBufSearch.indexOf 구현(O(n*m), getByte per byte) 사본.
+     */
+    private static int legacyIndexOf(ByteBuf buf, int fromInclusive, int toExclusive, byte[] sequence) {
+        int seqLen = sequence.length;
+        int maxStart = toExclusive - seqLen;
+        for (int i = fromInclusive; i <= maxStart; i++) {
+            boolean match = true;
+            for (int j = 0; j < seqLen; j++) {
+                if (buf.getByte(i + j) != sequence[j]) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
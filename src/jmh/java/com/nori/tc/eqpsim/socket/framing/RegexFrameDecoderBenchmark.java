@@ -0,0 +1,140 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RegexFrameDecoderBenchmark
+ *
+ * 목적:
+ * - 기존(매 read마다 누적 버퍼 전체 toString + 처음부터 find) 디코더와 증분 디코더를 비교한다.
+ * - 1회 연산 = STREAM_BYTES(약 192KB) 스트림을 segmentSize 단위 read로 흘려 모든 프레임을 받는 것.
+ *   스트림 크기가 고정이므로 ns/op를 STREAM_BYTES로 나누면 byte당 비용이다.
+ *
+ * 관찰 포인트:
+ * - frameSize가 커질수록 legacy는 "미완성 프레임 재디코드"와 "남은 버스트 재디코드"로 byte당 비용이 증가한다.
+ * - 증분 디코더는 바이트를 1회만 디코드하므로 burst(segment=64KB)에서 byte당 비용이 frameSize와 무관하다.
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="RegexFrameDecoderBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegexFrameDecoderBenchmark {
+
+    private static final int STREAM_BYTES = 192 * 1024;
+    private static final Pattern PATTERN = Pattern.compile("\\{[^}]+\\}");
+
+    @Param({"64", "4096", "65536"})
+    int frameSize;
+
+    /** read 1회 크기: TCP MSS 수준 / 대량 버스트 */
+    @Param({"1460", "65536"})
+    int segmentSize;
+
+    @Param({"UTF-8", "MS949"})
+    String charsetName;
+
+    private ByteBuf[] segments;
+
+    @Setup
+    public void setUp() {
+        Charset cs = Charset.forName(charsetName);
+        // "{" + 한글/ASCII 혼합 payload + "}" 프레임을 STREAM_BYTES만큼 이어 붙인다.
+        String unit = "EQP-가나다-0123456789;";
+        byte[] unitBytes = unit.getBytes(cs);
+
+        ByteBuf stream = Unpooled.buffer(STREAM_BYTES + frameSize);
+        while (stream.readableBytes() < STREAM_BYTES) {
+            int frameStart = stream.writerIndex();
+            stream.writeByte('{');
+            while (stream.writerIndex() - frameStart + unitBytes.length + 1 <= frameSize) {
+                stream.writeBytes(unitBytes);
+            }
+            stream.writeByte('}');
+        }
+
+        int count = (stream.readableBytes() + segmentSize - 1) / segmentSize;
+        segments = new ByteBuf[count];
+        for (int i = 0; i < count; i++) {
+            int len = Math.min(segmentSize, stream.readableBytes());
+            segments[i] = Unpooled.unreleasableBuffer(stream.readRetainedSlice(len));
+        }
+    }
+
+    @Benchmark
+    public int legacy() {
+        return run(new LegacyRegexFrameDecoder(PATTERN, Charset.forName(charsetName)));
+    }
+
+    @Benchmark
+    public int incremental() {
+        return run(new RegexFrameDecoder(PATTERN, Charset.forName(charsetName)));
+    }
+
+    private int run(ByteToMessageDecoder decoder) {
+        EmbeddedChannel ch = new EmbeddedChannel(decoder);
+        int frames = 0;
+        for (ByteBuf seg : segments) {
+            seg.readerIndex(0);
+            ch.writeInbound(seg);
+            Object m;
+            while ((m = ch.readInbound()) != null) {
+                frames++;
+                ReferenceCountUtil.release(m);
+            }
+        }
+        ch.finishAndReleaseAll();
+        return frames;
+    }
+
+    /**
+     * 기존 RegexFrameDecoder 사본 (매 loop마다 누적 버퍼 전체 toString, char index == byte index 전제)
+     */
+    static final class LegacyRegexFrameDecoder extends ByteToMessageDecoder {
+
+        private final Pattern pattern;
+        private final Charset charset;
+
+        LegacyRegexFrameDecoder(Pattern pattern, Charset charset) {
+            this.pattern = pattern;
+            this.charset = charset != null ? charset : StandardCharsets.UTF_8;
+        }
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            while (true) {
+                int readerIdx = in.readerIndex();
+                int readable = in.writerIndex() - readerIdx;
+                if (readable <= 0) {
+                    return;
+                }
+                String s = in.toString(readerIdx, readable, charset);
+                Matcher m = pattern.matcher(s);
+                if (!m.find()) {
+                    return;
+                }
+                int frameAbsStart = readerIdx + m.start();
+                int frameLen = Math.min(m.end() - m.start(), in.writerIndex() - frameAbsStart);
+                out.add(in.retainedSlice(frameAbsStart, frameLen));
+                in.readerIndex(frameAbsStart + frameLen);
+            }
+        }
+    }
+}
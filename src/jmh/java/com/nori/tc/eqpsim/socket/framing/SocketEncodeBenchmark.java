@@ -0,0 +1,101 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SocketEncodeBenchmark
+ *
+ * 목적:
+ * - 송신 프레임 1개 encode 비용/할당을 기존(송신마다 hex 파싱 + getBytes byte[] + 버퍼) 방식과 비교한다.
+ * - -prof gc의 gc.alloc.rate.norm(B/op)으로 "payload 버퍼 1개" 외 할당이 없는지 확인한다.
+ *   (pooled 할당기에서는 버퍼 자체도 thread cache에서 재사용되므로 0에 가까워야 한다)
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="SocketEncodeBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocketEncodeBenchmark {
+
+    @Param({"START_END", "LINE_END"})
+    String kind;
+
+    @Param({"pooled", "unpooled"})
+    String allocatorType;
+
+    private SocketTypeProperties socketType;
+    private SocketTypeCodec codec;
+    private ByteBufAllocator alloc;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        socketType = new SocketTypeProperties();
+        socketType.setKind(SocketTypeProperties.Kind.valueOf(kind));
+        socketType.setLineEnding(SocketTypeProperties.LineEnding.CRLF);
+        socketType.setStartHex("02");
+        socketType.setEndHex("03");
+
+        codec = SocketTypeCodec.compile(socketType);
+        alloc = "pooled".equals(allocatorType) ? PooledByteBufAllocator.DEFAULT : UnpooledByteBufAllocator.DEFAULT;
+        payload = "CMD=TOOL_EVENT EQPID=EQP_0001 EVENT=ALARM SEQ=123456 TS=20240101120000";
+    }
+
+    @Benchmark
+    public int legacyPerSendParse() {
+        ByteBuf out = legacyEncode(socketType, alloc, payload);
+        int n = out.readableBytes();
+        out.release();
+        return n;
+    }
+
+    @Benchmark
+    public int compiledCodec() {
+        ByteBuf out = codec.encodeUtf8(alloc, payload);
+        int n = out.readableBytes();
+        out.release();
+        return n;
+    }
+
+    /**
+     * 기존 SocketFrameEncoderFactory.encodeUtf8 사본 (송신마다 hex 파싱, payload byte[] 중간 복사)
+     */
+    private static ByteBuf legacyEncode(SocketTypeProperties socketType, ByteBufAllocator alloc, String payloadUtf8) {
+        byte[] payload = payloadUtf8.getBytes(StandardCharsets.UTF_8);
+        return switch (socketType.getKind()) {
+            case LINE_END -> {
+                byte[] delim = switch (socketType.getLineEnding()) {
+                    case LF -> new byte[]{(byte) 0x0A};
+                    case CR -> new byte[]{(byte) 0x0D};
+                    case CRLF -> new byte[]{(byte) 0x0D, (byte) 0x0A};
+                };
+                ByteBuf out = alloc.buffer(payload.length + delim.length);
+                out.writeBytes(payload);
+                out.writeBytes(delim);
+                yield out;
+            }
+            case START_END -> {
+                byte[] start = HexByteSequenceParser.parseHexSequence(socketType.getStartHex());
+                byte[] end = HexByteSequenceParser.parseHexSequence(socketType.getEndHex());
+                ByteBuf out = alloc.buffer(start.length + payload.length + end.length);
+                out.writeBytes(start);
+                out.writeBytes(payload);
+                out.writeBytes(end);
+                yield out;
+            }
+            default -> throw new IllegalArgumentException("unsupported kind for benchmark: " + socketType.getKind());
+        };
+    }
+}
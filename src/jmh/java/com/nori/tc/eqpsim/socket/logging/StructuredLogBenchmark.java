@@ -0,0 +1,216 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StructuredLogBenchmark
+ *
+ * 목적:
+ * - EMIT 프레임 1개당 남기는 로그 2건(eqp_tx + scenario_emit_send)의 비용을 비교한다.
+ *   legacy: log.isInfoEnabled() 확인 후 StructuredLog.event(varargs) — 변경 전 구현 복사본
+ *   lazy  : StructuredLog.info(log, type).kv(...).log() — 스레드별 StringBuilder 재사용, boxing/varargs 없음
+ * - logger는 메시지를 Blackhole로만 소비한다. (appender/IO 비용 제외, 메시지 생성 비용만 측정)
+ * - level: INFO(출력) / WARN(logger level로 꺼짐) / OFF(logger는 INFO, event verbosity OFF)
+ *
+ * 해석 (100k frames/sec):
+ * - ns/op × 100,000 / 1e9 = 프레임 로그에 쓰는 CPU 비율 (예: 1,000ns/op → 코어 10%)
+ * - gc.alloc.rate.norm × 100,000 = 초당 할당 바이트
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="StructuredLogBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StructuredLogBenchmark {
+
+    private static final LogEventType EQP_TX = LogEventType.of("bench_eqp_tx");
+    private static final LogEventType EMIT_SEND = LogEventType.of("bench_emit_send");
+
+    @Param({"INFO", "WARN", "OFF"})
+    String level;
+
+    private SinkLogger logger;
+    private final String eqpId = "EQP_0001";
+    private final String connId = "a1b2c3d4";
+    private final String payload = "CMD=TOOL_EVENT EQPID=EQP_0001 CODE=1001";
+    private int stepIndex = 7;
+
+    @Setup
+    public void setUp(Blackhole bh) {
+        logger = new SinkLogger(bh, "WARN".equals(level) ? Level.WARN : Level.INFO);
+        LogEventType.configure("OFF".equals(level)
+                ? Map.of("bench_eqp_tx", LogEventType.Verbosity.OFF, "bench_emit_send", LogEventType.Verbosity.OFF)
+                : Map.of());
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogEventType.configure(Map.of());
+    }
+
+    @Benchmark
+    public void legacyEvent() {
+        // 변경 전 sendEmitPayload: verbosity 재정의가 없으므로 OFF도 INFO와 같다.
+        String resolved = logger.isInfoEnabled() ? payload : null;
+        if (resolved != null) {
+            logger.info(LegacyStructuredLog.event("eqp_tx",
+                    "eqpId", eqpId,
+                    "connId", connId,
+                    "type", "EMIT",
+                    "stepIndex", stepIndex,
+                    "payload", resolved));
+        }
+        if (resolved != null) {
+            logger.info(LegacyStructuredLog.event("scenario_emit_send",
+                    "eqpId", eqpId,
+                    "connId", connId,
+                    "stepIndex", stepIndex,
+                    "payload", resolved));
+        }
+    }
+
+    @Benchmark
+    public void lazyEvent() {
+        StructuredLogEvent tx = StructuredLog.info(logger, EQP_TX);
+        if (tx.isEnabled()) {
+            tx.kv("eqpId", eqpId)
+                    .kv("connId", connId)
+                    .kv("type", "EMIT")
+                    .kv("stepIndex", stepIndex)
+                    .kv("payload", payload)
+                    .log();
+        }
+        StructuredLogEvent sent = StructuredLog.info(logger, EMIT_SEND);
+        if (sent.isEnabled()) {
+            sent.kv("eqpId", eqpId)
+                    .kv("connId", connId)
+                    .kv("stepIndex", stepIndex)
+                    .kv("payload", payload)
+                    .log();
+        }
+    }
+
+    /**
+     * 메시지를 Blackhole로 보내는 logger (level 고정)
+     */
+    static final class SinkLogger extends LegacyAbstractLogger {
+
+        private final transient Blackhole bh;
+        private final int threshold;
+
+        SinkLogger(Blackhole bh, Level threshold) {
+            this.bh = bh;
+            this.threshold = threshold.toInt();
+            this.name = "bench";
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return Level.TRACE.toInt() >= threshold;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return Level.DEBUG.toInt() >= threshold;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return Level.INFO.toInt() >= threshold;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return Level.WARN.toInt() >= threshold;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return Level.ERROR.toInt() >= threshold;
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                                                   Object[] arguments, Throwable throwable) {
+            bh.consume(messagePattern);
+        }
+    }
+
+    /**
+     * 변경 전 StructuredLog 복사본 (비교 기준)
+     */
+    static final class LegacyStructuredLog {
+
+        static String event(String event, Object... kv) {
+            StringBuilder sb = new StringBuilder(128);
+            appendPair(sb, "event", event);
+            for (int i = 0; i + 1 < kv.length; i += 2) {
+                appendPair(sb, String.valueOf(kv[i]), kv[i + 1]);
+            }
+            return sb.toString();
+        }
+
+        private static void appendPair(StringBuilder sb, String key, Object value) {
+            if (key == null || key.isBlank()) {
+                return;
+            }
+            if (!sb.isEmpty()) {
+                sb.append(' ');
+            }
+            sb.append(key);
+            sb.append('=');
+            sb.append(encodeValue(value));
+        }
+
+        private static String encodeValue(Object value) {
+            if (value == null) {
+                return "null";
+            }
+            String s = String.valueOf(value);
+            boolean needQuote = false;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (Character.isWhitespace(c) || c == '"' || c == '\\' || c == '=' || c < 0x20) {
+                    needQuote = true;
+                    break;
+                }
+            }
+            if (!needQuote) {
+                return s;
+            }
+            StringBuilder out = new StringBuilder(s.length() + 8);
+            out.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"') {
+                    out.append("\\\"");
+                } else if (c == '\\') {
+                    out.append("\\\\");
+                } else if (c < 0x20) {
+                    out.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+            out.append('"');
+            return out.toString();
+        }
+    }
+}
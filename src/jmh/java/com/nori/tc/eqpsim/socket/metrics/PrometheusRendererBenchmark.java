@@ -0,0 +1,114 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.config.EndpointsProperties;
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.config.MetricsProperties;
+import com.nori.tc.eqpsim.socket.config.ProfileProperties;
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PrometheusRendererBenchmark
+ *
+ * 목적:
+ * - scrape 1회(EQP 1000대, endpoint 4개, 지연 키 12개)의 렌더링 비용과 할당량(gc.alloc.rate.norm)을 잰다.
+ *   응답 버퍼는 재사용한다. (실제 endpoint는 직전 크기로 pooled 할당)
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="PrometheusRendererBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrometheusRendererBenchmark {
+
+    private static final int EQPS = 1000;
+    private static final String[] ENDPOINTS = {"P1", "P2", "A1", "A2"};
+
+    private PrometheusRenderer renderer;
+    private ByteBuf out;
+
+    @Setup
+    public void setUp() {
+        EqpRuntimeRegistry registry = new EqpRuntimeRegistry(props());
+        LatencyStats latency = new LatencyStats();
+        for (EqpRuntime eqp : registry.getEqps()) {
+            eqp.getTraffic().recordTx(64);
+            eqp.getTraffic().recordRx(32);
+            for (String cmd : new String[]{"ACK", "REPLY", "DONE"}) {
+                latency.recordNanos(Thread.currentThread(), LatencyStats.Kind.WAIT_RESPONSE,
+                        eqp.getEndpointId(), cmd, 1_000_000L + eqp.getIndex() * 1_000L);
+            }
+        }
+        Map<String, AtomicInteger> passiveOpen = new LinkedHashMap<>();
+        passiveOpen.put("P1", new AtomicInteger(250));
+        passiveOpen.put("P2", new AtomicInteger(250));
+        renderer = new PrometheusRenderer(registry, latency, new EventLoopLagMonitor(new MetricsProperties()), passiveOpen);
+        out = Unpooled.directBuffer(256 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+
+    @Benchmark
+    public int render() {
+        out.clear();
+        renderer.render(out);
+        return out.readableBytes();
+    }
+
+    private static TcEqpSimProperties props() {
+        TcEqpSimProperties p = new TcEqpSimProperties();
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LINE_END);
+        st.setLineEnding(SocketTypeProperties.LineEnding.LF);
+        p.setSocketTypes(Map.of("LF", st));
+        p.setProfiles(Map.of("p1", new ProfileProperties()));
+
+        EndpointsProperties endpoints = new EndpointsProperties();
+        Map<String, EndpointsProperties.PassiveEndpointProperties> passive = new LinkedHashMap<>();
+        Map<String, EndpointsProperties.ActiveEndpointProperties> active = new LinkedHashMap<>();
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            if (ENDPOINTS[i].startsWith("P")) {
+                EndpointsProperties.PassiveEndpointProperties pe = new EndpointsProperties.PassiveEndpointProperties();
+                pe.setBind("127.0.0.1:" + (31001 + i));
+                passive.put(ENDPOINTS[i], pe);
+            } else {
+                EndpointsProperties.ActiveEndpointProperties ae = new EndpointsProperties.ActiveEndpointProperties();
+                ae.setTarget("127.0.0.1:" + (6101 + i));
+                active.put(ENDPOINTS[i], ae);
+            }
+        }
+        endpoints.setPassive(passive);
+        endpoints.setActive(active);
+        p.setEndpoints(endpoints);
+
+        Map<String, EqpProperties> eqps = new LinkedHashMap<>();
+        for (int i = 0; i < EQPS; i++) {
+            String endpoint = ENDPOINTS[i % ENDPOINTS.length];
+            EqpProperties e = new EqpProperties();
+            e.setMode(endpoint.startsWith("P") ? EqpProperties.Mode.PASSIVE : EqpProperties.Mode.ACTIVE);
+            e.setEndpoint(endpoint);
+            e.setSocketType("LF");
+            e.setProfile("p1");
+            eqps.put(String.format("EQP_%04d", i), e);
+        }
+        p.setEqps(eqps);
+        return p;
+    }
+}
@@ -0,0 +1,75 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TrafficCountersBenchmark
+ *
+ * 목적:
+ * - event loop 4개가 각자 다른 EQP의 송신 카운터(frames + bytes)를 올리는 비용을 잰다.
+ *   padded : TrafficCounters 행 (행 사이 64B 이상 간격)
+ *   packed : 같은 카운터를 빈 칸 없이 이어 붙인 AtomicLongArray (이웃 EQP가 cache line을 공유 → false sharing)
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="TrafficCountersBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TrafficCountersBenchmark {
+
+    private static final int EQPS = 4;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        TrafficCounters table;
+        AtomicLongArray packed;
+        final AtomicInteger nextEqp = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            List<String> ids = new ArrayList<>();
+            List<String> endpoints = new ArrayList<>();
+            for (int i = 0; i < EQPS; i++) {
+                ids.add("EQP_" + i);
+                endpoints.add("P1");
+            }
+            table = new TrafficCounters(ids, endpoints);
+            packed = new AtomicLongArray(EQPS * TrafficCounters.COUNTER_COUNT);
+        }
+    }
+
+    /** 스레드(event loop)마다 EQP 1개 */
+    @State(Scope.Thread)
+    public static class Loop {
+        TrafficCounters.Row row;
+        int packedBase;
+
+        @Setup
+        public void setUp(Shared shared) {
+            int eqp = shared.nextEqp.getAndIncrement() % EQPS;
+            row = shared.table.row(eqp);
+            packedBase = eqp * TrafficCounters.COUNTER_COUNT;
+        }
+    }
+
+    @Benchmark
+    public void padded(Loop loop) {
+        loop.row.recordTx(64);
+    }
+
+    @Benchmark
+    public void packed(Shared shared, Loop loop) {
+        shared.packed.getAndAdd(loop.packedBase + TrafficCounters.Counter.FRAMES_OUT.ordinal(), 1L);
+        shared.packed.getAndAdd(loop.packedBase + TrafficCounters.Counter.BYTES_OUT.ordinal(), 64L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.nori.tc.eqpsim.socket.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FrameCmdScanBenchmark
+ *
+ * 목적:
+ * - 수신 프레임 1개의 WAIT 판정 비용을 비교한다.
+ *   legacy: toString(UTF_8) + FrameTokenParser.extractCmdUpper + equals
+ *   scanner: FrameCmdScanner.scan + cmdEquals (ByteBuf 직접, String 없음)
+ *   dictionary: FrameCmdScanner.scan + CommandDictionary.classify (trie → int id 비교, 사전 32개)
+ * - "-prof gc"로 실행하면 scanner 쪽 B/op가 0에 가까워야 한다.
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="FrameCmdScanBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameCmdScanBenchmark {
+
+    /** CMD가 앞에 있는 짧은 요청 / CMD가 뒤에 있는 긴 보고 프레임 */
+    @Param({"head", "tail"})
+    String cmdPosition;
+
+    private ByteBuf frame;
+    private final FrameCmdScanner scanner = new FrameCmdScanner();
+    private CommandDictionary dictionary;
+    private int expectedId;
+
+    @Setup
+    public void setUp() {
+        String fields = "EQPID=TEST001 LOTID=TESTLOT01 RECIPE=RCP_A_0001 SLOT=25 STATUS=RUN";
+        String text = "head".equals(cmdPosition)
+                ? "CMD=TOOL_CONDITION_REQUEST " + fields
+                : fields + " " + fields + " cmd=tool_condition_request";
+        dictionary = new CommandDictionary();
+        for (int i = 0; i < 30; i++) {
+            dictionary.intern("TOOL_EVENT_" + i);
+        }
+        expectedId = dictionary.intern("TOOL_CONDITION_REQUEST");
+        dictionary.seal();
+
+        frame = Unpooled.directBuffer().writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() {
+        frame.release();
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String cmdUpper = FrameTokenParser.extractCmdUpper(frame.toString(StandardCharsets.UTF_8));
+        return "TOOL_CONDITION_REQUEST".equals(cmdUpper);
+    }
+
+    @Benchmark
+    public boolean scanner() {
+        return FrameCmdScanner.cmdEquals(frame, scanner.scan(frame), "TOOL_CONDITION_REQUEST");
+    }
+
+    @Benchmark
+    public boolean dictionary() {
+        return dictionary.classify(frame, scanner.scan(frame)) == expectedId;
+    }
+}
@@ -0,0 +1,102 @@
+package com.nori.tc.eqpsim.socket.scenario;
+
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.config.ProfileProperties;
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.runtime.HostPort;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PayloadTemplateBenchmark
+ *
+ * 목적:
+ * - EMIT tick 1회의 "치환 + 프레이밍" 비용을 비교한다.
+ *   legacy: 정규식 치환(ScenarioTemplateResolver 구 구현) → String → codec.encodeUtf8
+ *   compiled: 컴파일된 PayloadTemplate.encode (세그먼트를 pooled 버퍼에 직접 기록)
+ * - "-prof gc"로 B/op를 함께 본다. (compiled는 pooled 버퍼 외 할당이 없어야 한다)
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="PayloadTemplateBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadTemplateBenchmark {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^}]+)\\}");
+
+    /** placeholder 없음 / eqpid만 / eqpid + var 3개 */
+    @Param({"CMD=TOOL_EVENT EVENT=ALARM CODE=1001 LEVEL=WARN",
+            "CMD=TOOL_EVENT EQPID={eqpid} EVENT=ALARM CODE=1001",
+            "CMD=TOOL_EVENT EQPID={eqpid} LOTID={var.lotid} RECIPE={var.recipe} SLOT={var.slot}"})
+    String template;
+
+    private EqpRuntime eqp;
+    private PayloadTemplate compiled;
+    private ByteBufAllocator alloc;
+
+    @Setup
+    public void setUp() {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LINE_END);
+        st.setLineEnding(SocketTypeProperties.LineEnding.CRLF);
+        eqp = new EqpRuntime("EQP_0001", EqpProperties.Mode.PASSIVE, "L1", HostPort.parse("0.0.0.0:31001"), 20,
+                st, "p1", new ProfileProperties(), 60, 60,
+                Map.of("lotid", "LOT-0001", "recipe", "RCP_A_0001", "slot", "25"));
+        compiled = PayloadTemplate.compile(template);
+        alloc = PooledByteBufAllocator.DEFAULT;
+    }
+
+    @Benchmark
+    public int legacyRegexResolve() {
+        ByteBuf out = eqp.getSocketCodec().encodeUtf8(alloc, legacyResolve(template, eqp));
+        int n = out.readableBytes();
+        out.release();
+        return n;
+    }
+
+    @Benchmark
+    public int compiledTemplate() {
+        ByteBuf out = compiled.encode(alloc, eqp);
+        int n = out.readableBytes();
+        out.release();
+        return n;
+    }
+
+    /**
+     * 기존 ScenarioTemplateResolver.resolve 사본 (정규식 + StringBuffer.appendReplacement)
+     */
+    private static String legacyResolve(String template, EqpRuntime eqp) {
+        Matcher m = PLACEHOLDER.matcher(template);
+        StringBuffer sb = new StringBuffer();
+        while (m.find()) {
+            String keyRaw = m.group(1);
+            String key = keyRaw.trim().toLowerCase(Locale.ROOT);
+            String replacement = null;
+            if (key.equals("eqpid")) {
+                replacement = eqp.getEqpId();
+            } else if (key.startsWith("var.")) {
+                replacement = eqp.getVarsLowerKey().get(key.substring("var.".length()));
+            }
+            if (replacement == null) {
+                replacement = "{" + keyRaw + "}";
+            }
+            m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        }
+        m.appendTail(sb);
+        return sb.toString();
+    }
+}
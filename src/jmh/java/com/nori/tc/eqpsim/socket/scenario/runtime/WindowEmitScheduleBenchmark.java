@@ -0,0 +1,94 @@
+package com.nori.tc.eqpsim.socket.scenario.runtime;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WindowEmitScheduleBenchmark
+ *
+ * 목적:
+ * - EMIT WINDOW step 1개(window=60s, count=N) 시작 시 드는 힙/시간을 비교한다.
+ *   legacy: 난수 N개 List<Long> 생성 + 정렬 + 타이머 N개 일괄 예약 (구 scheduleWindowEmit 사본)
+ *   lazy  : WindowArrivals 생성 + 첫 도착 1개만 예약
+ * - lazyDrawAll은 N개 도착 시각을 모두 뽑는 총 CPU 비용 (step 전체에 걸쳐 나눠 발생, 할당 없음)
+ * - "-prof gc"의 gc.alloc.rate.norm = step 1개 시작 시 할당 바이트.
+ *   legacy는 예약한 N개 task가 window 동안 힙에 계속 남는다. (측정 후 취소)
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="WindowEmitScheduleBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WindowEmitScheduleBenchmark {
+
+    private static final long WINDOW_MS = 60_000;
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"1000", "100000"})
+    int count;
+
+    private DefaultEventLoop loop;
+    private final SplittableRandom rnd = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        loop = new DefaultEventLoop();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loop.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Benchmark
+    public int legacyScheduleAll() throws Exception {
+        return loop.submit(() -> {
+            List<Long> delayList = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                delayList.add(ThreadLocalRandom.current().nextLong(0, WINDOW_MS + 1));
+            }
+            Collections.sort(delayList);
+
+            List<ScheduledFuture<?>> futures = new ArrayList<>(count);
+            for (long delayMs : delayList) {
+                futures.add(loop.schedule(NOOP, delayMs, TimeUnit.MILLISECONDS));
+            }
+            for (ScheduledFuture<?> f : futures) {
+                f.cancel(false);
+            }
+            return futures.size();
+        }).get();
+    }
+
+    @Benchmark
+    public long lazyFirstArrival() throws Exception {
+        return loop.submit(() -> {
+            WindowArrivals arrivals = new WindowArrivals(WINDOW_MS, count, ThreadLocalRandom.current());
+            long first = arrivals.nextOffsetMs();
+            loop.schedule(NOOP, first, TimeUnit.MILLISECONDS).cancel(false);
+            return first;
+        }).get();
+    }
+
+    @Benchmark
+    public long lazyDrawAll() {
+        WindowArrivals arrivals = new WindowArrivals(WINDOW_MS, count, rnd);
+        long last = 0;
+        while (arrivals.hasNext()) {
+            last = arrivals.nextOffsetMs();
+        }
+        return last;
+    }
+}
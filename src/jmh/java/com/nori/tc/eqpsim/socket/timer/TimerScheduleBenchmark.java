@@ -0,0 +1,82 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimerScheduleBenchmark
+ *
+ * 목적:
+ * - EQP N대가 각각 타이머 1개(EMIT tick / WAIT 타임아웃)를 예약했다가 취소하는 비용을 비교한다.
+ *   legacy: EventExecutor.schedule (ScheduledFutureTask + 우선순위 큐 O(log n))
+ *   wheel : EventLoopWheelTimer (bucket 연결 리스트 O(1))
+ * - 예약/취소는 실제처럼 event loop 스레드 안에서 수행한다. (op 1회 = N개 예약 + N개 취소)
+ * - "-prof gc"의 gc.alloc.rate.norm / eqps = 타이머 1개(=EQP 1대)당 힙 할당 바이트.
+ *
+ * 실행:
+ * - gradle jmh -PjmhArgs="TimerScheduleBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerScheduleBenchmark {
+
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"1000", "5000"})
+    int eqps;
+
+    private DefaultEventLoop loop;
+    private EventLoopWheelTimer wheel;
+    private ScheduledFuture<?>[] futures;
+    private SimTimer.Timeout[] timeouts;
+
+    @Setup
+    public void setUp() {
+        loop = new DefaultEventLoop();
+        wheel = new EventLoopWheelTimer(loop, TimeUnit.MILLISECONDS.toNanos(1), 512);
+        futures = new ScheduledFuture<?>[eqps];
+        timeouts = new SimTimer.Timeout[eqps];
+    }
+
+    @TearDown
+    public void tearDown() {
+        wheel.shutdown();
+        loop.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Benchmark
+    public int legacyExecutorSchedule() throws Exception {
+        return loop.submit(() -> {
+            for (int i = 0; i < eqps; i++) {
+                // 100ms 주기 EMIT + 0~99ms jitter 분산
+                futures[i] = loop.schedule(NOOP, 100 + (i % 100), TimeUnit.MILLISECONDS);
+            }
+            int cancelled = 0;
+            for (int i = 0; i < eqps; i++) {
+                if (futures[i].cancel(false)) cancelled++;
+            }
+            return cancelled;
+        }).get();
+    }
+
+    @Benchmark
+    public int wheelSchedule() throws Exception {
+        return loop.submit(() -> {
+            for (int i = 0; i < eqps; i++) {
+                timeouts[i] = wheel.schedule(NOOP, 100 + (i % 100), TimeUnit.MILLISECONDS);
+            }
+            int cancelled = 0;
+            for (int i = 0; i < eqps; i++) {
+                if (timeouts[i].cancel()) cancelled++;
+            }
+            return cancelled;
+        }).get();
+    }
+}
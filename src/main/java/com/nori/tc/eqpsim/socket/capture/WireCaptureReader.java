@@ -0,0 +1,353 @@
+package com.nori.tc.eqpsim.socket.capture;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.protocol.FrameTokenParser;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * WireCaptureReader
+ *
+ * 역할:
+ * - WireCaptureWriter가 남긴 segment(.cap)와 메타(.meta)를 읽어 레코드를 시간순으로 돌려준다.
+ *   event loop별 segment 묶음을 epochNanos 기준으로 병합한다. (loop 안에서는 이미 시간순)
+ * - 오프라인 CLI: 레코드를 한 줄씩 key=value 형식으로 출력하거나 필터링한다.
+ *
+ * CLI:
+ *   gradle captureRead -PcaptureArgs="<capture dir 또는 .cap 파일> [옵션]"
+ *   --run=<prefix>  여러 실행이 섞인 디렉터리에서 읽을 실행 (기본: 가장 최근 실행)
+ *   --eqp=<eqpId>   EQP 필터
+ *   --dir=RX|TX     방향 필터
+ *   --cmd=<CMD>     CMD 필터 (대소문자 무시)
+ *   --limit=<n>     출력 레코드 수 상한
+ *   --hex           payload를 hex로 출력 (기본은 UTF-8 문자열)
+ *   --count         레코드를 출력하지 않고 필터에 맞는 건수만 출력
+ *
+ * 주의:
+ * - 기록 중인 segment도 읽을 수 있다. length=0 또는 파일 끝에서 멈추므로 완결된 레코드까지만 나온다.
+ */
+public final class WireCaptureReader {
+
+    private WireCaptureReader() {
+        // utility class
+    }
+
+    /**
+     * 레코드 1건
+     *
+     * @param cmdId CommandDictionary id, UNKNOWN(-1), NO_CMD(-2)
+     * @param flags bit0 방향, bit7 truncated
+     */
+    public record Record(long epochNanos, int eqpIndex, int cmdId, int flags, byte[] payload) {
+
+        public int direction() {
+            return flags & WireCaptureWriter.FLAG_DIRECTION;
+        }
+
+        public boolean isTruncated() {
+            return (flags & WireCaptureWriter.FLAG_TRUNCATED) != 0;
+        }
+
+        public String directionName() {
+            return direction() == WireCaptureWriter.DIR_TX ? "TX" : "RX";
+        }
+
+        public String payloadUtf8() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 메타 파일 내용 (index → eqpId, cmdId → CMD 이름)
+     */
+    public record Meta(Map<Integer, String> eqpByIndex, Map<Integer, String> cmdById) {
+
+        public static final Meta EMPTY = new Meta(Map.of(), Map.of());
+
+        public String eqpId(int index) {
+            return eqpByIndex.getOrDefault(index, index < 0 ? "-" : "#" + index);
+        }
+
+        /**
+         * 사전 id가 있으면 그 이름, 없으면 payload에서 CMD 토큰을 찾는다. (없으면 null)
+         */
+        public String cmd(Record r) {
+            String name = r.cmdId() >= 0 ? cmdById.get(r.cmdId()) : null;
+            return name != null ? name : FrameTokenParser.extractCmdUpper(r.payloadUtf8());
+        }
+    }
+
+    // ─── 읽기 API ───────────────────────────────────────────────────────────
+
+    /**
+     * path(디렉터리 또는 .cap 파일)에서 run의 레코드를 시간순으로 sink에 넘긴다.
+     *
+     * @param run 실행 prefix (null이면 디렉터리의 가장 최근 실행, 파일이면 무시)
+     */
+    public static void forEach(Path path, String run, Consumer<Record> sink) throws IOException {
+        List<List<Path>> loops = segmentsByLoop(path, run);
+        PriorityQueue<LoopCursor> queue = new PriorityQueue<>(Comparator.comparingLong(c -> c.current.epochNanos()));
+        try {
+            for (List<Path> segments : loops) {
+                LoopCursor c = new LoopCursor(segments);
+                if (c.advance()) queue.add(c);
+            }
+            while (!queue.isEmpty()) {
+                LoopCursor c = queue.poll();
+                sink.accept(c.current);
+                if (c.advance()) queue.add(c);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * segment 파일 1개의 레코드를 기록 순서대로 sink에 넘긴다.
+     */
+    public static void forEachInSegment(Path segment, Consumer<Record> sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.remaining() < WireCaptureWriter.SEGMENT_HEADER_BYTES
+                    || buf.getInt(0) != WireCaptureWriter.MAGIC) {
+                throw new IOException("not a wire capture segment: " + segment);
+            }
+            int version = buf.getInt(4);
+            if (version != WireCaptureWriter.VERSION) {
+                throw new IOException("unsupported wire capture version " + version + ": " + segment);
+            }
+            int pos = WireCaptureWriter.SEGMENT_HEADER_BYTES;
+            while (pos + WireCaptureWriter.RECORD_HEADER_BYTES <= buf.limit()) {
+                int len = buf.getInt(pos);
+                if (len < WireCaptureWriter.RECORD_HEADER_BYTES || pos + len > buf.limit()) {
+                    break; // 끝(0) 또는 미완결 레코드
+                }
+                byte[] payload = new byte[len - WireCaptureWriter.RECORD_HEADER_BYTES];
+                buf.get(pos + WireCaptureWriter.RECORD_HEADER_BYTES, payload);
+                sink.accept(new Record(buf.getLong(pos + 4), buf.getInt(pos + 12), buf.getInt(pos + 16),
+                        buf.get(pos + 20) & 0xFF, payload));
+                pos += len;
+            }
+        }
+    }
+
+    /**
+     * path 기준 run의 메타 파일을 읽는다. 없으면 {@link Meta#EMPTY}.
+     */
+    public static Meta readMeta(Path path, String run) throws IOException {
+        Path dir = Files.isDirectory(path) ? path : path.toAbsolutePath().getParent();
+        String prefix = Files.isDirectory(path) ? resolveRun(path, run) : runOf(path.getFileName().toString());
+        Path meta = prefix != null ? dir.resolve(prefix + WireCaptureService.META_SUFFIX) : null;
+        if (meta == null || !Files.exists(meta)) {
+            return Meta.EMPTY;
+        }
+        Map<Integer, String> eqps = new HashMap<>();
+        Map<Integer, String> cmds = new HashMap<>();
+        for (String line : Files.readAllLines(meta, StandardCharsets.UTF_8)) {
+            String[] cols = line.split("\t");
+            if (cols.length != 3) continue;
+            switch (cols[0]) {
+                case "eqp" -> eqps.put(Integer.parseInt(cols[1]), cols[2]);
+                case "cmd" -> cmds.put(Integer.parseInt(cols[1]), cols[2]);
+                default -> {
+                    // 모르는 항목은 무시 (하위 호환)
+                }
+            }
+        }
+        return new Meta(eqps, cmds);
+    }
+
+    // ─── CLI ────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) throws IOException {
+        Options opt;
+        try {
+            opt = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: WireCaptureReader <dir|file.cap> [--run=<prefix>] [--eqp=<eqpId>] "
+                    + "[--dir=RX|TX] [--cmd=<CMD>] [--limit=<n>] [--hex] [--count]");
+            System.exit(2);
+            return;
+        }
+        long matched = print(opt, System.out);
+        if (opt.countOnly) {
+            System.out.println(matched);
+        }
+    }
+
+    /**
+     * 필터에 맞는 레코드를 out에 출력하고 건수를 돌려준다.
+     */
+    static long print(Options opt, PrintStream out) throws IOException {
+        Meta meta = readMeta(opt.path, opt.run);
+        Predicate<Record> filter = opt.filter(meta);
+        long[] matched = {0};
+        forEach(opt.path, opt.run, r -> {
+            if (matched[0] >= opt.limit || !filter.test(r)) return;
+            matched[0]++;
+            if (!opt.countOnly) {
+                out.println(format(r, meta, opt.hex));
+            }
+        });
+        return matched[0];
+    }
+
+    static String format(Record r, Meta meta, boolean hex) {
+        long sec = Math.floorDiv(r.epochNanos(), 1_000_000_000L);
+        long nano = Math.floorMod(r.epochNanos(), 1_000_000_000L);
+        return StructuredLog.event("wire_frame",
+                "ts", Instant.ofEpochSecond(sec, nano),
+                "eqpId", meta.eqpId(r.eqpIndex()),
+                "dir", r.directionName(),
+                "cmd", meta.cmd(r),
+                "len", r.payload().length,
+                "truncated", r.isTruncated(),
+                "payload", hex ? ByteBufUtil.hexDump(r.payload()) : r.payloadUtf8());
+    }
+
+    static final class Options {
+        Path path;
+        String run;
+        String eqpId;
+        Integer direction;
+        String cmdUpper;
+        long limit = Long.MAX_VALUE;
+        boolean hex;
+        boolean countOnly;
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+            for (String a : args) {
+                if (!a.startsWith("--")) {
+                    if (o.path != null) throw new IllegalArgumentException("multiple paths: " + a);
+                    o.path = Path.of(a);
+                    continue;
+                }
+                int eq = a.indexOf('=');
+                String key = eq < 0 ? a.substring(2) : a.substring(2, eq);
+                String val = eq < 0 ? null : a.substring(eq + 1);
+                switch (key) {
+                    case "run" -> o.run = require(key, val);
+                    case "eqp" -> o.eqpId = require(key, val);
+                    case "dir" -> o.direction = switch (require(key, val).toUpperCase(Locale.ROOT)) {
+                        case "RX" -> WireCaptureWriter.DIR_RX;
+                        case "TX" -> WireCaptureWriter.DIR_TX;
+                        default -> throw new IllegalArgumentException("--dir must be RX or TX: " + val);
+                    };
+                    case "cmd" -> o.cmdUpper = require(key, val).toUpperCase(Locale.ROOT);
+                    case "limit" -> o.limit = Long.parseLong(require(key, val));
+                    case "hex" -> o.hex = true;
+                    case "count" -> o.countOnly = true;
+                    default -> throw new IllegalArgumentException("unknown option: " + a);
+                }
+            }
+            if (o.path == null) throw new IllegalArgumentException("capture path required");
+            return o;
+        }
+
+        Predicate<Record> filter(Meta meta) {
+            Predicate<Record> p = r -> true;
+            if (eqpId != null) p = p.and(r -> eqpId.equals(meta.eqpId(r.eqpIndex())));
+            if (direction != null) p = p.and(r -> r.direction() == direction);
+            if (cmdUpper != null) p = p.and(r -> cmdUpper.equals(meta.cmd(r)));
+            return p;
+        }
+
+        private static String require(String key, String val) {
+            if (val == null || val.isEmpty()) throw new IllegalArgumentException("--" + key + " requires a value");
+            return val;
+        }
+    }
+
+    // ─── segment 탐색/병합 ──────────────────────────────────────────────────
+
+    /**
+     * run의 segment를 event loop별로 묶어 이름(= 기록) 순서로 돌려준다.
+     */
+    static List<List<Path>> segmentsByLoop(Path path, String run) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(List.of(path));
+        }
+        String prefix = resolveRun(path, run);
+        if (prefix == null) return List.of();
+
+        Map<String, List<Path>> byLoop = new TreeMap<>();
+        try (Stream<Path> files = Files.list(path)) {
+            files.filter(f -> {
+                String n = f.getFileName().toString();
+                return n.startsWith(prefix + "-L") && n.endsWith(WireCaptureWriter.SEGMENT_SUFFIX);
+            }).sorted().forEach(f -> byLoop.computeIfAbsent(loopOf(f.getFileName().toString()),
+                    k -> new ArrayList<>()).add(f));
+        }
+        return new ArrayList<>(byLoop.values());
+    }
+
+    /** run 지정이 없으면 메타 파일 이름 기준 가장 최근 실행 */
+    private static String resolveRun(Path dir, String run) throws IOException {
+        if (run != null) return run;
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString())
+                    .filter(n -> n.endsWith(WireCaptureService.META_SUFFIX))
+                    .map(n -> n.substring(0, n.length() - WireCaptureService.META_SUFFIX.length()))
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+        }
+    }
+
+    /** "wire-...-L3-000012.cap" → "wire-...-L3" */
+    private static String loopOf(String segmentName) {
+        return segmentName.substring(0, segmentName.lastIndexOf('-'));
+    }
+
+    /** "wire-...-L3-000012.cap" → "wire-..." */
+    private static String runOf(String segmentName) {
+        String loop = loopOf(segmentName);
+        int l = loop.lastIndexOf("-L");
+        return l > 0 ? loop.substring(0, l) : null;
+    }
+
+    /**
+     * event loop 1개의 segment들을 차례로 읽는 커서. (segment는 한 번에 1개만 메모리에 올린다)
+     */
+    private static final class LoopCursor {
+        private final Iterator<Path> segments;
+        private Iterator<Record> records = Collections.emptyIterator();
+        Record current;
+
+        LoopCursor(List<Path> segments) {
+            this.segments = segments.iterator();
+        }
+
+        boolean advance() {
+            while (!records.hasNext()) {
+                if (!segments.hasNext()) return false;
+                List<Record> list = new ArrayList<>();
+                try {
+                    forEachInSegment(segments.next(), list::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                records = list.iterator();
+            }
+            current = records.next();
+            return true;
+        }
+    }
+}
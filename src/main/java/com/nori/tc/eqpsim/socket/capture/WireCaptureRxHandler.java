@@ -0,0 +1,48 @@
+package com.nori.tc.eqpsim.socket.capture;
+
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * WireCaptureRxHandler
+ *
+ * 역할:
+ * - framer 바로 뒤에서 수신 프레임을 WireCaptureWriter에 기록하고 그대로 다음 핸들러로 넘긴다.
+ * - 프레임 버퍼의 소유권/index는 건드리지 않는다. (기록은 복사, retain 없음)
+ *
+ * 설치:
+ * - {@link #addAfterFramer}: 채널 attr(WIRE_CAPTURE)이 있을 때만 "captureRx"로 framer 뒤에 넣는다.
+ */
+public final class WireCaptureRxHandler extends ChannelInboundHandlerAdapter {
+
+    public static final String NAME = "captureRx";
+
+    private final WireCaptureService service;
+    private final EqpRuntime eqp;
+
+    public WireCaptureRxHandler(WireCaptureService service, EqpRuntime eqp) {
+        this.service = service;
+        this.eqp = eqp;
+    }
+
+    /**
+     * capture가 켜져 있으면(채널 attr WIRE_CAPTURE) framerName 뒤에 captureRx를 넣는다.
+     */
+    public static void addAfterFramer(Channel ch, String framerName, EqpRuntime eqp) {
+        WireCaptureService service = WireCaptureService.of(ch);
+        if (service != null) {
+            ch.pipeline().addAfter(framerName, NAME, new WireCaptureRxHandler(service, eqp));
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBuf frame) {
+            service.captureRx(ctx, eqp, frame);
+        }
+        ctx.fireChannelRead(msg);
+    }
+}
@@ -0,0 +1,207 @@
+package com.nori.tc.eqpsim.socket.capture;
+
+import com.nori.tc.eqpsim.socket.config.CaptureProperties;
+import com.nori.tc.eqpsim.socket.framing.SocketTypeCodec;
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WireCaptureService
+ *
+ * 역할:
+ * - tc.eqpsim.capture.enabled=true일 때 NettyTransportLifecycle이 1개 생성하고 채널 attr(WIRE_CAPTURE)로 전달한다.
+ * - event loop별 WireCaptureWriter를 1개씩 만들어 준다. (TimerService와 같은 executor → 인스턴스 매핑)
+ * - 시작 시 메타 파일(prefix.meta)에 EQP index ↔ eqpId, CMD id ↔ 이름을 남긴다. (reader가 레코드를 해석할 때 사용)
+ *
+ * 기록 지점:
+ * - RX: framer 바로 뒤 {@link WireCaptureRxHandler} (framing 제거된 payload)
+ * - TX: OutboundFrameSender의 실제 write 직전 (corrupt 적용 후, fragment 전의 프레임 1개에서 framing을 뺀 payload)
+ *   drop된 프레임은 선로에 나가지 않으므로 기록하지 않는다.
+ *
+ * 파일 이름:
+ * - wire-<시작시각>.meta, wire-<시작시각>-L<event loop 번호>-<segment 번호>.cap
+ */
+public final class WireCaptureService {
+
+    private static final Logger log = LoggerFactory.getLogger(WireCaptureService.class);
+
+    private static final DateTimeFormatter RUN_ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+    public static final String META_SUFFIX = ".meta";
+
+    private final Path directory;
+    private final String runPrefix;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final int maxPayloadBytes;
+    private final CommandDictionary dictionary;
+    private final long baseEpochNanos;
+    private final long baseNanoTime;
+
+    private final Map<EventExecutor, WireCaptureWriter> writerByExecutor = new ConcurrentHashMap<>();
+    private final AtomicInteger loopSeq = new AtomicInteger();
+
+    public WireCaptureService(CaptureProperties props, Collection<EqpRuntime> eqps, CommandDictionary dictionary) {
+        this(props, (int) Math.min(Integer.MAX_VALUE, props.getSegmentSizeMb() * 1024L * 1024L), eqps, dictionary);
+    }
+
+    /**
+     * @param segmentBytes segment 크기(bytes). 테스트에서 작은 segment로 회전을 확인할 때 직접 지정한다.
+     */
+    public WireCaptureService(CaptureProperties props, int segmentBytes,
+                              Collection<EqpRuntime> eqps, CommandDictionary dictionary) {
+        if (props.getMaxPayloadBytes() < 0) {
+            throw new IllegalArgumentException("tc.eqpsim.capture.max-payload-bytes must be >= 0: "
+                    + props.getMaxPayloadBytes());
+        }
+        if (WireCaptureWriter.SEGMENT_HEADER_BYTES + WireCaptureWriter.RECORD_HEADER_BYTES
+                + props.getMaxPayloadBytes() > segmentBytes) {
+            throw new IllegalArgumentException("tc.eqpsim.capture.segment-size-mb too small for max-payload-bytes: "
+                    + props.getMaxPayloadBytes());
+        }
+        this.directory = Path.of(props.getDirectory());
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = props.getMaxSegments();
+        this.maxPayloadBytes = props.getMaxPayloadBytes();
+        this.dictionary = dictionary;
+
+        long epochMillis = System.currentTimeMillis();
+        this.baseNanoTime = System.nanoTime();
+        this.baseEpochNanos = TimeUnit.MILLISECONDS.toNanos(epochMillis);
+        this.runPrefix = "wire-" + RUN_ID_FORMAT.format(Instant.ofEpochMilli(epochMillis));
+
+        Path meta = directory.resolve(runPrefix + META_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Files.write(meta, metaLines(eqps, dictionary), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("wire capture init failed: " + directory, e);
+        }
+
+        log.info(StructuredLog.event("wire_capture_started",
+                "directory", directory.toAbsolutePath(),
+                "runPrefix", runPrefix,
+                "segmentBytes", segmentBytes,
+                "maxSegments", maxSegments,
+                "maxPayloadBytes", maxPayloadBytes));
+    }
+
+    // ─── 기록 ───────────────────────────────────────────────────────────────
+
+    /**
+     * RX 프레임(framer 출력, framing 제거됨) 전체를 기록한다.
+     */
+    public void captureRx(ChannelHandlerContext ctx, EqpRuntime eqp, ByteBuf frame) {
+        writerFor(ctx.executor()).append(WireCaptureWriter.DIR_RX, indexOf(eqp),
+                frame, frame.readerIndex(), frame.writerIndex());
+    }
+
+    /**
+     * TX 프레임(framing 포함)에서 codec의 prefix/suffix를 뺀 payload를 기록한다.
+     */
+    public void captureTx(ChannelHandlerContext ctx, EqpRuntime eqp, ByteBuf framed) {
+        int from = framed.readerIndex();
+        int to = framed.writerIndex();
+        SocketTypeCodec codec = eqp != null ? eqp.getSocketCodec() : null;
+        if (codec != null && to - from >= codec.protectedPrefixLength() + codec.protectedSuffixLength()) {
+            from += codec.protectedPrefixLength();
+            to -= codec.protectedSuffixLength();
+        }
+        writerFor(ctx.executor()).append(WireCaptureWriter.DIR_TX, indexOf(eqp), framed, from, to);
+    }
+
+    /**
+     * 채널 attr(WIRE_CAPTURE)의 service. capture를 쓰지 않으면 null.
+     */
+    public static WireCaptureService of(Channel ch) {
+        return ch.attr(ChannelAttributes.WIRE_CAPTURE).get();
+    }
+
+    /**
+     * executor 전용 writer (없으면 생성). writer는 해당 executor 스레드에서만 사용한다.
+     */
+    public WireCaptureWriter writerFor(EventExecutor executor) {
+        WireCaptureWriter writer = writerByExecutor.get(executor);
+        if (writer != null) return writer;
+        return writerByExecutor.computeIfAbsent(executor, e -> new WireCaptureWriter(directory,
+                runPrefix + "-L" + loopSeq.getAndIncrement(), segmentBytes, maxSegments, maxPayloadBytes,
+                dictionary, baseEpochNanos, baseNanoTime));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String getRunPrefix() {
+        return runPrefix;
+    }
+
+    /**
+     * 모든 writer의 segment를 닫는다. event loop group 종료 후 호출한다.
+     */
+    public void close() {
+        long records = 0;
+        long truncated = 0;
+        for (WireCaptureWriter writer : writerByExecutor.values()) {
+            writer.close();
+            records += writer.getRecords();
+            truncated += writer.getTruncated();
+        }
+        log.info(StructuredLog.event("wire_capture_stopped",
+                "runPrefix", runPrefix,
+                "writerCount", writerByExecutor.size(),
+                "records", records,
+                "truncated", truncated));
+        writerByExecutor.clear();
+    }
+
+    // ─── 내부 ───────────────────────────────────────────────────────────────
+
+    private static int indexOf(EqpRuntime eqp) {
+        return eqp != null ? eqp.getIndex() : -1;
+    }
+
+    /**
+     * 메타 파일: "eqp\t<index>\t<eqpId>" / "cmd\t<id>\t<name>" (탭 구분 텍스트)
+     */
+    private static List<String> metaLines(Collection<EqpRuntime> eqps, CommandDictionary dictionary) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# tc-eqp-sim wire capture v" + WireCaptureWriter.VERSION);
+        if (eqps != null) {
+            for (EqpRuntime eqp : eqps) {
+                lines.add("eqp\t" + eqp.getIndex() + "\t" + eqp.getEqpId());
+            }
+        }
+        if (dictionary != null) {
+            for (int id = 0; id < dictionary.size(); id++) {
+                lines.add("cmd\t" + id + "\t" + dictionary.name(id));
+            }
+        }
+        return lines;
+    }
+}
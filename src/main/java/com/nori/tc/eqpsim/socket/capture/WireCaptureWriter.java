@@ -0,0 +1,249 @@
+package com.nori.tc.eqpsim.socket.capture;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+import com.nori.tc.eqpsim.socket.protocol.FrameCmdScanner;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.internal.PlatformDependent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * WireCaptureWriter
+ *
+ * 역할:
+ * - event loop 1개의 송수신 프레임을 memory-mapped segment 파일에 순서대로 덧붙인다.
+ * - segment가 다 차면 사용한 길이로 잘라 닫고 다음 segment로 회전한다.
+ *   보존 수(maxSegments)를 넘으면 가장 오래된 segment를 지운다.
+ *
+ * 파일 형식 (little endian):
+ * - segment 헤더 16B: magic(int) / version(int) / 생성 시각 epoch millis(long)
+ * - 레코드: length(int, 헤더 포함) / epochNanos(long) / eqpIndex(int) / cmdId(int) / flags(byte) / payload
+ *   - flags: bit0 방향({@link #DIR_RX}/{@link #DIR_TX}), {@link #FLAG_TRUNCATED} = payload를 상한에서 자름
+ *   - cmdId: CommandDictionary id, 사전에 없으면 UNKNOWN(-1), CMD 토큰이 없으면 NO_CMD(-2)
+ *   - length는 레코드 본문을 다 쓴 뒤 마지막에 기록한다. 0이면 segment의 끝이다.
+ *     (프로세스가 비정상 종료해도 reader는 완결된 레코드까지만 읽는다)
+ *
+ * 동시성:
+ * - 단일 writer: 인스턴스는 event loop 1개가 소유하고 그 스레드에서만 append 한다. (락/CAS 없음)
+ * - close()는 event loop 종료 후 호출한다.
+ *
+ * 주의:
+ * - 회전 시 파일 생성/삭제는 event loop에서 동기로 수행된다. segment를 충분히 크게 잡아 회전 빈도를 낮춘다.
+ * - I/O 오류가 나면 이후 기록을 포기하고(wire_capture_failed 1회) 송수신은 그대로 진행한다.
+ */
+public final class WireCaptureWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WireCaptureWriter.class);
+
+    /** "TCWC" */
+    public static final int MAGIC = 0x54435743;
+    public static final int VERSION = 1;
+    public static final int SEGMENT_HEADER_BYTES = 16;
+
+    /** length(4) + epochNanos(8) + eqpIndex(4) + cmdId(4) + flags(1) */
+    public static final int RECORD_HEADER_BYTES = 21;
+
+    public static final int DIR_RX = 0;
+    public static final int DIR_TX = 1;
+    public static final int FLAG_DIRECTION = 0x01;
+    public static final int FLAG_TRUNCATED = 0x80;
+
+    public static final String SEGMENT_SUFFIX = ".cap";
+
+    private final Path directory;
+    private final String filePrefix;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final int maxPayloadBytes;
+    private final CommandDictionary dictionary;
+
+    /** epochNanos = baseEpochNanos + (nanoTime - baseNanoTime) */
+    private final long baseEpochNanos;
+    private final long baseNanoTime;
+
+    private final FrameCmdScanner scanner = new FrameCmdScanner();
+    private final Deque<Path> segments = new ArrayDeque<>();
+
+    private FileChannel file;
+    private MappedByteBuffer mapped;
+    private Path current;
+    private int segmentSeq;
+    private boolean failed;
+
+    private long records;
+    private long truncated;
+
+    /**
+     * @param directory       segment 파일 위치
+     * @param filePrefix      segment 파일 이름 앞부분 (이름: prefix-000001.cap)
+     * @param segmentBytes    segment 1개 크기
+     * @param maxSegments     보존 segment 수 (0이면 무제한)
+     * @param maxPayloadBytes 레코드 1개의 payload 상한
+     * @param dictionary      CMD 분류용 사전 (null이면 cmdId는 항상 UNKNOWN/NO_CMD)
+     * @param baseEpochNanos  기준 시각 (epoch nanos)
+     * @param baseNanoTime    기준 시각의 System.nanoTime()
+     */
+    public WireCaptureWriter(Path directory, String filePrefix, int segmentBytes, int maxSegments,
+                             int maxPayloadBytes, CommandDictionary dictionary,
+                             long baseEpochNanos, long baseNanoTime) {
+        if (maxPayloadBytes < 0 || SEGMENT_HEADER_BYTES + RECORD_HEADER_BYTES + maxPayloadBytes > segmentBytes) {
+            throw new IllegalArgumentException("segment too small for max-payload-bytes: segmentBytes="
+                    + segmentBytes + ", maxPayloadBytes=" + maxPayloadBytes);
+        }
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(0, maxSegments);
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.dictionary = dictionary;
+        this.baseEpochNanos = baseEpochNanos;
+        this.baseNanoTime = baseNanoTime;
+    }
+
+    /**
+     * frame[from, to)을 레코드 1개로 기록한다. frame의 index는 호출 후 원래대로 돌려놓는다.
+     */
+    public void append(int direction, int eqpIndex, ByteBuf frame, int from, int to) {
+        if (failed) return;
+
+        int ri = frame.readerIndex();
+        int wi = frame.writerIndex();
+        frame.setIndex(from, to);
+        try {
+            int cmdId = classify(frame);
+            int len = to - from;
+            int flags = direction & FLAG_DIRECTION;
+            if (len > maxPayloadBytes) {
+                len = maxPayloadBytes;
+                flags |= FLAG_TRUNCATED;
+                truncated++;
+            }
+
+            int recordBytes = RECORD_HEADER_BYTES + len;
+            if (mapped == null || mapped.remaining() < recordBytes) {
+                if (!rotate()) return;
+            }
+
+            MappedByteBuffer buf = mapped;
+            int pos = buf.position();
+            buf.putLong(pos + 4, nowEpochNanos());
+            buf.putInt(pos + 12, eqpIndex);
+            buf.putInt(pos + 16, cmdId);
+            buf.put(pos + 20, (byte) flags);
+            if (len > 0) {
+                buf.position(pos + RECORD_HEADER_BYTES).limit(pos + recordBytes);
+                frame.getBytes(from, buf);
+                buf.limit(buf.capacity());
+            }
+            // 본문을 다 쓴 뒤 length 기록 (reader는 length 0을 끝으로 본다)
+            buf.putInt(pos, recordBytes);
+            buf.position(pos + recordBytes);
+            records++;
+        } finally {
+            frame.setIndex(ri, wi);
+        }
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getTruncated() {
+        return truncated;
+    }
+
+    public long nowEpochNanos() {
+        return baseEpochNanos + (System.nanoTime() - baseNanoTime);
+    }
+
+    /**
+     * 현재 segment를 사용한 길이로 잘라 닫는다. (event loop 종료 후 호출)
+     */
+    @Override
+    public void close() {
+        try {
+            finishSegment();
+        } catch (IOException e) {
+            fail("close", e);
+        }
+    }
+
+    // ─── segment 관리 ───────────────────────────────────────────────────────
+
+    private int classify(ByteBuf frame) {
+        long cmd = scanner.scan(frame);
+        if (dictionary == null) {
+            return cmd == FrameCmdScanner.NOT_FOUND ? CommandDictionary.NO_CMD : CommandDictionary.UNKNOWN;
+        }
+        return dictionary.classify(frame, cmd);
+    }
+
+    private boolean rotate() {
+        try {
+            finishSegment();
+
+            Path next = directory.resolve(String.format("%s-%06d%s", filePrefix, ++segmentSeq, SEGMENT_SUFFIX));
+            file = FileChannel.open(next, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapped = file.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            mapped.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis());
+            current = next;
+
+            segments.addLast(next);
+            while (maxSegments > 0 && segments.size() > maxSegments) {
+                Files.deleteIfExists(segments.removeFirst());
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            fail("rotate", e);
+            return false;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void finishSegment() throws IOException {
+        if (file == null) return;
+        long used = mapped.position();
+        MappedByteBuffer m = mapped;
+        FileChannel f = file;
+        mapped = null;
+        file = null;
+        // 매핑을 먼저 해제해야 truncate가 모든 OS에서 성공한다. (해제 불가 환경이면 GC 시점에 해제)
+        PlatformDependent.freeDirectBuffer(m);
+        try (f) {
+            f.truncate(used);
+        }
+    }
+
+    private void fail(String stage, Exception e) {
+        if (!failed) {
+            failed = true;
+            log.warn(StructuredLog.event("wire_capture_failed",
+                    "stage", stage,
+                    "segment", current,
+                    "records", records,
+                    "error", e.toString()));
+        }
+        mapped = null;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException ignore) {
+                // 기록 포기 상태
+            }
+            file = null;
+        }
+    }
+}
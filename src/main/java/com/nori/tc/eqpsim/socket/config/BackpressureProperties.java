@@ -0,0 +1,58 @@
+package com.nori.tc.eqpsim.socket.config;
+
+/**
+ * tc.eqpsim.backpressure.*
+ *
+ * 역할:
+ * - 송신 채널의 WRITE_BUFFER_WATER_MARK와, 채널이 unwritable일 때 EMIT/SEND 처리 정책을 정한다.
+ *
+ * 설정 키:
+ * - tc.eqpsim.backpressure.policy                     (PAUSE / DROP / BLOCK, 기본 PAUSE)
+ * - tc.eqpsim.backpressure.write-buffer-low-water-mark  (bytes, 기본 32KB)
+ * - tc.eqpsim.backpressure.write-buffer-high-water-mark (bytes, 기본 64KB)
+ *
+ * 배경:
+ * - TC가 읽지 않으면 ChannelOutboundBuffer가 무한히 커져 시뮬레이터가 OOM으로 죽는다.
+ *   high water mark를 넘으면 Channel.isWritable()=false, low 아래로 내려가면 다시 true가 된다.
+ */
+public class BackpressureProperties {
+
+    public enum Policy {
+        /** EMIT tick을 보류하고 emit 루프를 멈춘다. writable 복귀 시 보류 프레임을 보내고 재개 (프레임 수 보존, 시간축 밀림) */
+        PAUSE,
+        /** unwritable 동안의 EMIT tick은 보내지 않고 센다. 스케줄은 그대로 진행 (시간축 보존, 프레임 누락) */
+        DROP,
+        /** PAUSE + SEND 스텝도 writable 복귀까지 진행하지 않는다. (시나리오 전체가 TC 소비 속도에 묶임) */
+        BLOCK
+    }
+
+    private Policy policy = Policy.PAUSE;
+
+    private int writeBufferLowWaterMark = 32 * 1024;
+
+    private int writeBufferHighWaterMark = 64 * 1024;
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    }
+
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    }
+}
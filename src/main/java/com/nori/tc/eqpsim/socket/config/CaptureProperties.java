@@ -0,0 +1,71 @@
+package com.nori.tc.eqpsim.socket.config;
+
+/**
+ * tc.eqpsim.capture.*
+ *
+ * 역할:
+ * - 송수신 프레임 전체를 memory-mapped 바이너리 파일로 기록하는 wire capture 설정.
+ *   (프레임 로그를 끄거나 샘플링해도 사후 분석용 원본은 남긴다)
+ *
+ * 설정 키:
+ * - tc.eqpsim.capture.enabled           (기본 false)
+ * - tc.eqpsim.capture.directory         (segment/메타 파일 위치, 기본 ./capture)
+ * - tc.eqpsim.capture.segment-size-mb   (segment 1개 크기, 다 차면 다음 segment로 회전, 기본 64)
+ * - tc.eqpsim.capture.max-segments      (event loop별 보존 segment 수, 넘으면 오래된 것부터 삭제, 0이면 무제한, 기본 16)
+ * - tc.eqpsim.capture.max-payload-bytes (레코드 1개에 남길 payload 상한, 넘는 부분은 잘라 truncated 표시, 기본 4096)
+ *
+ * 파일 읽기:
+ * - WireCaptureReader (gradle captureRead -PcaptureArgs="<dir> --eqp=EQP_01 --dir=TX")
+ */
+public class CaptureProperties {
+
+    private boolean enabled = false;
+
+    private String directory = "./capture";
+
+    private int segmentSizeMb = 64;
+
+    private int maxSegments = 16;
+
+    private int maxPayloadBytes = 4096;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSizeMb() {
+        return segmentSizeMb;
+    }
+
+    public void setSegmentSizeMb(int segmentSizeMb) {
+        this.segmentSizeMb = segmentSizeMb;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getMaxPayloadBytes() {
+        return maxPayloadBytes;
+    }
+
+    public void setMaxPayloadBytes(int maxPayloadBytes) {
+        this.maxPayloadBytes = maxPayloadBytes;
+    }
+}
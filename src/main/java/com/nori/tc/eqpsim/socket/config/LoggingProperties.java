@@ -0,0 +1,154 @@
+package com.nori.tc.eqpsim.socket.config;
+
+import com.nori.tc.eqpsim.socket.logging.LogEventType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * tc.eqpsim.logging.*
+ *
+ * 역할:
+ * - 구조화 로그 event별 출력 수준을 재정의한다. (logger level과 별개, event 이름 단위)
+ *
+ * 설정 키:
+ * - tc.eqpsim.logging.events.<event> (OFF / ERROR / WARN / INFO / DEBUG / TRACE)
+ *   예) 부하 테스트에서 프레임 단위 로그 제거, lifecycle event는 유지
+ *       tc.eqpsim.logging.events.eqp-tx: OFF
+ *       tc.eqpsim.logging.events.eqp-rx: OFF
+ *
+ * - tc.eqpsim.logging.sampling.enabled                 (기본 false: 모든 프레임 로그 출력)
+ * - tc.eqpsim.logging.sampling.first                   (연결별 event type마다 처음 N건은 출력, 기본 20)
+ * - tc.eqpsim.logging.sampling.every                   (이후 K건마다 1건 출력, 0이면 이후 생략, 기본 100)
+ * - tc.eqpsim.logging.sampling.events.<event>.first/every (event별 재정의)
+ * - tc.eqpsim.logging.sampling.eqp-rate-per-sec        (EQP별 token bucket 초당 허용 수, 0이면 제한 없음, 기본 0)
+ * - tc.eqpsim.logging.sampling.eqp-burst               (token bucket 최대 몰아쓰기 수, 기본 50)
+ * - tc.eqpsim.logging.sampling.summary-interval-ms     (연결별 frame_log_suppressed 요약 주기, 기본 10000)
+ *
+ * 주의:
+ * - Spring Map 바인딩은 키의 '_'를 지우므로 eqp_tx / eqp-tx / eqptx 모두 같은 event로 본다.
+ * - 재정의는 LogEventType 기반 API(StructuredLog.info(log, type))로 남기는 event에만 적용된다.
+ *   (eqp_tx, eqp_rx, scenario_send, scenario_emit_send, handshake_rx, handshake_tx, fault_drop)
+ * - 샘플링은 위 프레임 단위 event에만 적용되고 lifecycle event는 항상 출력된다.
+ */
+public class LoggingProperties {
+
+    private Map<String, LogEventType.Verbosity> events = new LinkedHashMap<>();
+
+    private Sampling sampling = new Sampling();
+
+    public Map<String, LogEventType.Verbosity> getEvents() {
+        return events;
+    }
+
+    public void setEvents(Map<String, LogEventType.Verbosity> events) {
+        this.events = events;
+    }
+
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    public void setSampling(Sampling sampling) {
+        this.sampling = sampling;
+    }
+
+    public static class Sampling {
+
+        private boolean enabled = false;
+
+        private int first = 20;
+
+        private int every = 100;
+
+        private Map<String, EventSampling> events = new LinkedHashMap<>();
+
+        private double eqpRatePerSec = 0;
+
+        private int eqpBurst = 50;
+
+        private long summaryIntervalMs = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public void setFirst(int first) {
+            this.first = first;
+        }
+
+        public int getEvery() {
+            return every;
+        }
+
+        public void setEvery(int every) {
+            this.every = every;
+        }
+
+        public Map<String, EventSampling> getEvents() {
+            return events;
+        }
+
+        public void setEvents(Map<String, EventSampling> events) {
+            this.events = events;
+        }
+
+        public double getEqpRatePerSec() {
+            return eqpRatePerSec;
+        }
+
+        public void setEqpRatePerSec(double eqpRatePerSec) {
+            this.eqpRatePerSec = eqpRatePerSec;
+        }
+
+        public int getEqpBurst() {
+            return eqpBurst;
+        }
+
+        public void setEqpBurst(int eqpBurst) {
+            this.eqpBurst = eqpBurst;
+        }
+
+        public long getSummaryIntervalMs() {
+            return summaryIntervalMs;
+        }
+
+        public void setSummaryIntervalMs(long summaryIntervalMs) {
+            this.summaryIntervalMs = summaryIntervalMs;
+        }
+    }
+
+    /**
+     * event별 샘플링 재정의 (지정하지 않은 값은 sampling.first/every)
+     */
+    public static class EventSampling {
+
+        private Integer first;
+
+        private Integer every;
+
+        public Integer getFirst() {
+            return first;
+        }
+
+        public void setFirst(Integer first) {
+            this.first = first;
+        }
+
+        public Integer getEvery() {
+            return every;
+        }
+
+        public void setEvery(Integer every) {
+            this.every = every;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nori.tc.eqpsim.socket.config;
+
+/**
+ * tc.eqpsim.metrics.*
+ *
+ * 역할:
+ * - 시뮬레이터 자체 계측의 보고 주기 설정.
+ *   - latency_stats : 핸드셰이크/WAIT 응답 지연 분포 (누적)
+ *   - traffic_stats : endpoint별 송수신/이상 카운터 (직전 보고 이후 증가분, 종료 시에는 전체 누적)
+ *   - event_loop_stats : worker event loop별 probe 지연(lag)/task queue 길이 분포 (누적)
+ * - event loop probe 주기와 lag 경고 임계값.
+ * - 종료 요약(run-summary.json / run-summary.txt)을 쓸 디렉터리. (모든 시나리오 완료로 프로세스가 끝날 때)
+ * - Prometheus scrape endpoint (GET /metrics, 전용 event loop 1개)
+ *
+ * 설정 키:
+ * - tc.eqpsim.metrics.report-interval-sec (보고 주기, 0이면 종료 시 1회만, 기본 60)
+ * - tc.eqpsim.metrics.event-loop-probe-interval-ms (probe 주기, 0이면 끔, 기본 100)
+ * - tc.eqpsim.metrics.event-loop-lag-warn-ms (이보다 늦게 실행된 probe는 event_loop_lag WARN, 0이면 경고 없음, 기본 50)
+ * - tc.eqpsim.metrics.summary-directory (비우면 요약 파일 없음, 기본 ./report)
+ * - tc.eqpsim.metrics.prometheus-enabled (기본 false)
+ * - tc.eqpsim.metrics.prometheus-bind (기본 0.0.0.0:9464)
+ */
+public class MetricsProperties {
+
+    private long reportIntervalSec = 60;
+    private long eventLoopProbeIntervalMs = 100;
+    private long eventLoopLagWarnMs = 50;
+    private String summaryDirectory = "./report";
+    private boolean prometheusEnabled = false;
+    private String prometheusBind = "0.0.0.0:9464";
+
+    public long getReportIntervalSec() {
+        return reportIntervalSec;
+    }
+
+    public void setReportIntervalSec(long reportIntervalSec) {
+        this.reportIntervalSec = reportIntervalSec;
+    }
+
+    public long getEventLoopProbeIntervalMs() {
+        return eventLoopProbeIntervalMs;
+    }
+
+    public void setEventLoopProbeIntervalMs(long eventLoopProbeIntervalMs) {
+        this.eventLoopProbeIntervalMs = eventLoopProbeIntervalMs;
+    }
+
+    public long getEventLoopLagWarnMs() {
+        return eventLoopLagWarnMs;
+    }
+
+    public void setEventLoopLagWarnMs(long eventLoopLagWarnMs) {
+        this.eventLoopLagWarnMs = eventLoopLagWarnMs;
+    }
+
+    public String getSummaryDirectory() {
+        return summaryDirectory;
+    }
+
+    public void setSummaryDirectory(String summaryDirectory) {
+        this.summaryDirectory = summaryDirectory;
+    }
+
+    public boolean isPrometheusEnabled() {
+        return prometheusEnabled;
+    }
+
+    public void setPrometheusEnabled(boolean prometheusEnabled) {
+        this.prometheusEnabled = prometheusEnabled;
+    }
+
+    public String getPrometheusBind() {
+        return prometheusBind;
+    }
+
+    public void setPrometheusBind(String prometheusBind) {
+        this.prometheusBind = prometheusBind;
+    }
+}
@@ -3,9 +3,9 @@ package com.nori.tc.eqpsim.socket.config;
 /**
  * tc.eqpsim.profiles.<id>.*
  *
- * 현재 단계에서는 SCENARIO를 우선 지원한다.
  * - type=SCENARIO: scenarioFile 지정
- * - type=RATE: (향후 확장) 레이트 정책만으로 송신
+ * - type=RATE: rate.* (RateProperties) 정책만으로 open-loop 송신
+ * - type=REPLAY: replay.* (ReplayProperties) 기록된 송신 로그를 원래 간격(배속 적용)으로 재생
  */
 public class ProfileProperties {
 
@@ -17,6 +17,16 @@ public class ProfileProperties {
      */
     private String scenarioFile;
 
+    /**
+     * type=RATE일 때 사용
+     */
+    private RateProperties rate = new RateProperties();
+
+    /**
+     * type=REPLAY일 때 사용
+     */
+    private ReplayProperties replay = new ReplayProperties();
+
     public Type getType() {
         return type;
     }
@@ -33,8 +43,25 @@ public class ProfileProperties {
         this.scenarioFile = scenarioFile;
     }
 
+    public RateProperties getRate() {
+        return rate;
+    }
+
+    public void setRate(RateProperties rate) {
+        this.rate = rate;
+    }
+
+    public ReplayProperties getReplay() {
+        return replay;
+    }
+
+    public void setReplay(ReplayProperties replay) {
+        this.replay = replay;
+    }
+
     public enum Type {
         SCENARIO,
-        RATE
+        RATE,
+        REPLAY
     }
 }
\ No newline at end of file
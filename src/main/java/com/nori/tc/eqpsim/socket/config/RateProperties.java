@@ -0,0 +1,143 @@
+package com.nori.tc.eqpsim.socket.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tc.eqpsim.profiles.<id>.rate.* (type=RATE)
+ *
+ * 역할:
+ * - 시나리오 파일 없이 EQP마다 목표 송신률로 payload를 쏟아내는 open-loop 부하 설정.
+ *
+ * 설정 키:
+ * - arrival         : CONSTANT(등간격) / POISSON(지수 간격) / BURST(on/off 구간에서만 송신)
+ * - per-sec         : EQP 1개의 목표 송신률 (msg/s). BURST는 on 구간의 송신률
+ * - ramp-up-sec     : 0 → per-sec 선형 증가 구간
+ * - steady-sec      : per-sec 유지 구간. 0 이하면 무한 (ramp-down 없음, 완료 없음)
+ * - ramp-down-sec   : per-sec → 0 선형 감소 구간
+ * - burst-on-ms / burst-off-ms : BURST 주기 (ramp/steady 길이는 on 시간 기준으로 센다)
+ * - payloads[]      : weight + payload 템플릿 ({eqpid}, {var.xxx} 치환 동일)
+ *
+ * 예:
+ *   rate:
+ *     arrival: POISSON
+ *     per-sec: 50
+ *     ramp-up-sec: 10
+ *     steady-sec: 60
+ *     ramp-down-sec: 10
+ *     payloads:
+ *       - weight: 8
+ *         payload: "CMD=TOOL_EVENT EQPID={eqpid} CODE=1001"
+ *       - weight: 2
+ *         payload: "CMD=ALARM_REPORT EQPID={eqpid}"
+ */
+public class RateProperties {
+
+    private Arrival arrival = Arrival.CONSTANT;
+
+    private double perSec = 1.0;
+
+    private long rampUpSec = 0;
+    private long steadySec = 0;
+    private long rampDownSec = 0;
+
+    private long burstOnMs = 1000;
+    private long burstOffMs = 1000;
+
+    private List<PayloadMix> payloads = new ArrayList<>();
+
+    public Arrival getArrival() {
+        return arrival;
+    }
+
+    public void setArrival(Arrival arrival) {
+        this.arrival = arrival;
+    }
+
+    public double getPerSec() {
+        return perSec;
+    }
+
+    public void setPerSec(double perSec) {
+        this.perSec = perSec;
+    }
+
+    public long getRampUpSec() {
+        return rampUpSec;
+    }
+
+    public void setRampUpSec(long rampUpSec) {
+        this.rampUpSec = rampUpSec;
+    }
+
+    public long getSteadySec() {
+        return steadySec;
+    }
+
+    public void setSteadySec(long steadySec) {
+        this.steadySec = steadySec;
+    }
+
+    public long getRampDownSec() {
+        return rampDownSec;
+    }
+
+    public void setRampDownSec(long rampDownSec) {
+        this.rampDownSec = rampDownSec;
+    }
+
+    public long getBurstOnMs() {
+        return burstOnMs;
+    }
+
+    public void setBurstOnMs(long burstOnMs) {
+        this.burstOnMs = burstOnMs;
+    }
+
+    public long getBurstOffMs() {
+        return burstOffMs;
+    }
+
+    public void setBurstOffMs(long burstOffMs) {
+        this.burstOffMs = burstOffMs;
+    }
+
+    public List<PayloadMix> getPayloads() {
+        return payloads;
+    }
+
+    public void setPayloads(List<PayloadMix> payloads) {
+        this.payloads = payloads;
+    }
+
+    public enum Arrival {
+        CONSTANT,
+        POISSON,
+        BURST
+    }
+
+    /**
+     * payload 1종과 선택 가중치
+     */
+    public static class PayloadMix {
+
+        private int weight = 1;
+        private String payload;
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public void setPayload(String payload) {
+            this.payload = payload;
+        }
+    }
+}
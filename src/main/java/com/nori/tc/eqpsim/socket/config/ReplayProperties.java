@@ -0,0 +1,68 @@
+package com.nori.tc.eqpsim.socket.config;
+
+/**
+ * tc.eqpsim.profiles.<id>.replay.* (type=REPLAY)
+ *
+ * 역할:
+ * - 기록된 송신 로그(타임스탬프 + payload 줄)를 원래 프레임 간격대로 EqpToTc 프레임으로 재생한다.
+ *   (운영 eqp_tx 로그에서 추출한 트래픽 spike를 10배속 등으로 TC에 재현)
+ *
+ * 설정 키:
+ * - file                : 로그 파일 경로. "{eqpid}"가 있으면 EQP별 파일로 치환 (예: replay/{eqpid}.log)
+ * - speed               : 재생 배속 (0.1 ~ 100, 기본 1.0). 2.0이면 프레임 간격을 1/2로 줄인다.
+ * - as-fast-as-possible : true면 간격을 무시하고 채널이 writable인 동안 최대 속도로 송신 (기본 false)
+ * - batch-lines         : 디스크에서 한 번에 미리 읽는 줄 수 (채널당 최대 2 batch만 메모리에 둔다, 기본 512)
+ *
+ * 로그 줄 형식:
+ * - "<timestamp><TAB 또는 공백><payload>", 빈 줄과 '#'으로 시작하는 줄은 건너뛴다.
+ * - timestamp: epoch millis(1697440000123) / epoch seconds 소수(1697440000.123)
+ *              / ISO-8601(2026-10-16T12:34:56.789Z, 오프셋 없으면 그대로 비교) / "2026-10-16 12:34:56,789"
+ * - payload는 치환 없이 그대로 프레이밍하여 송신한다.
+ *
+ * 예:
+ *   replay:
+ *     file: "replay/{eqpid}.log"
+ *     speed: 10
+ */
+public class ReplayProperties {
+
+    private String file;
+
+    private double speed = 1.0;
+
+    private boolean asFastAsPossible = false;
+
+    private int batchLines = 512;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    public boolean isAsFastAsPossible() {
+        return asFastAsPossible;
+    }
+
+    public void setAsFastAsPossible(boolean asFastAsPossible) {
+        this.asFastAsPossible = asFastAsPossible;
+    }
+
+    public int getBatchLines() {
+        return batchLines;
+    }
+
+    public void setBatchLines(int batchLines) {
+        this.batchLines = batchLines;
+    }
+}
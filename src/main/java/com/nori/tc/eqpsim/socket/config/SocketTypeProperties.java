@@ -9,6 +9,7 @@ package com.nori.tc.eqpsim.socket.config;
  * 1) LINE_END  : LF/CR/CRLF 종단 기반
  * 2) START_END : 시작 바이트 시퀀스 ~ 종료 바이트 시퀀스 기반
  * 3) REGEX     : 정규식 매칭 기반
+ * 4) LENGTH_FIELD : 바이너리 길이 필드 기반 (스캔 없이 O(1)로 프레임 경계 결정)
  *
  * 주의:
  * - 실제 프레이밍 구현(바이트 파싱/정규식 매칭)은 3번 단계(Framer 구현)에서 진행한다.
@@ -41,11 +42,59 @@ public class SocketTypeProperties {
 
     /**
      * kind=REGEX 일 때 사용
-     * - UTF-8 문자열 버퍼 기준 정규식으로 프레임을 추출한다.
+     * - regexCharset(기본 UTF-8) 문자열 버퍼 기준 정규식으로 프레임을 추출한다.
      * - 반드시 "한 프레임"을 매칭하는 패턴이어야 한다.
      */
     private String regexPattern;
 
+    /**
+     * kind=REGEX 일 때 사용 (선택)
+     * - 수신 바이트를 문자열로 디코드할 charset 이름
+     * - 예시: "UTF-8"(기본) / "MS949" / "EUC-KR"
+     */
+    private String regexCharset;
+
+    /**
+     * kind=LINE_END / START_END / LENGTH_FIELD 일 때 사용 (선택)
+     * - 프레임 payload 최대 바이트 수 (framing 바이트 제외)
+     * - 초과 시 해당 프레임을 버리고 다음 프레임부터 재동기화한다.
+     * - 미지정 시 256KB
+     */
+    private Integer maxFrameLength;
+
+    /**
+     * kind=LENGTH_FIELD 일 때 사용
+     * - 프레임 시작부터 길이 필드까지의 바이트 수 (기본 0)
+     * - 길이 필드 앞의 바이트는 lengthFieldPrefixHex로 채운다. (미지정 시 0x00)
+     */
+    private Integer lengthFieldOffset;
+
+    /**
+     * kind=LENGTH_FIELD 일 때 사용
+     * - 길이 필드 폭: 1 / 2 / 4 바이트 (기본 4, unsigned)
+     */
+    private Integer lengthFieldLength;
+
+    /**
+     * kind=LENGTH_FIELD 일 때 사용
+     * - 길이 필드 바이트 순서 (기본 BIG)
+     */
+    private Endian lengthFieldEndian;
+
+    /**
+     * kind=LENGTH_FIELD 일 때 사용
+     * - true : 길이 값 = header(offset + 길이 필드) + payload
+     * - false: 길이 값 = payload (기본)
+     */
+    private Boolean lengthIncludesHeader;
+
+    /**
+     * kind=LENGTH_FIELD 일 때 사용 (선택)
+     * - 송신 시 길이 필드 앞 offset 바이트에 기록할 hex 시퀀스 (길이 = lengthFieldOffset)
+     * - 예시: offset=2 → "AA 55"
+     */
+    private String lengthFieldPrefixHex;
+
     // getters/setters
 
     public Kind getKind() {
@@ -88,10 +137,72 @@ public class SocketTypeProperties {
         this.regexPattern = regexPattern;
     }
 
+    public String getRegexCharset() {
+        return regexCharset;
+    }
+
+    public void setRegexCharset(String regexCharset) {
+        this.regexCharset = regexCharset;
+    }
+
+    public Integer getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    public void setMaxFrameLength(Integer maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    public Integer getLengthFieldOffset() {
+        return lengthFieldOffset;
+    }
+
+    public void setLengthFieldOffset(Integer lengthFieldOffset) {
+        this.lengthFieldOffset = lengthFieldOffset;
+    }
+
+    public Integer getLengthFieldLength() {
+        return lengthFieldLength;
+    }
+
+    public void setLengthFieldLength(Integer lengthFieldLength) {
+        this.lengthFieldLength = lengthFieldLength;
+    }
+
+    public Endian getLengthFieldEndian() {
+        return lengthFieldEndian;
+    }
+
+    public void setLengthFieldEndian(Endian lengthFieldEndian) {
+        this.lengthFieldEndian = lengthFieldEndian;
+    }
+
+    public Boolean getLengthIncludesHeader() {
+        return lengthIncludesHeader;
+    }
+
+    public void setLengthIncludesHeader(Boolean lengthIncludesHeader) {
+        this.lengthIncludesHeader = lengthIncludesHeader;
+    }
+
+    public String getLengthFieldPrefixHex() {
+        return lengthFieldPrefixHex;
+    }
+
+    public void setLengthFieldPrefixHex(String lengthFieldPrefixHex) {
+        this.lengthFieldPrefixHex = lengthFieldPrefixHex;
+    }
+
     public enum Kind {
         LINE_END,
         START_END,
-        REGEX
+        REGEX,
+        LENGTH_FIELD
+    }
+
+    public enum Endian {
+        BIG,
+        LITTLE
     }
 
     public enum LineEnding {
@@ -16,6 +16,21 @@ import java.util.Map;
  * - tc.eqpsim.endpoints.passive
  * - tc.eqpsim.endpoints.active
  * - tc.eqpsim.endpoints.active-backoff
+ *
+ * 송신 backpressure:
+ * - tc.eqpsim.backpressure.*
+ *
+ * 타이머:
+ * - tc.eqpsim.timer.*
+ *
+ * 구조화 로그 event별 verbosity:
+ * - tc.eqpsim.logging.*
+ *
+ * 송수신 프레임 바이너리 기록:
+ * - tc.eqpsim.capture.*
+ *
+ * 시뮬레이터 계측 보고:
+ * - tc.eqpsim.metrics.*
  */
 @ConfigurationProperties(prefix = "tc.eqpsim")
 public class TcEqpSimProperties {
@@ -30,6 +45,16 @@ public class TcEqpSimProperties {
 
     private Map<String, EqpProperties> eqps = new LinkedHashMap<>();
 
+    private BackpressureProperties backpressure = new BackpressureProperties();
+
+    private TimerProperties timer = new TimerProperties();
+
+    private LoggingProperties logging = new LoggingProperties();
+
+    private CaptureProperties capture = new CaptureProperties();
+
+    private MetricsProperties metrics = new MetricsProperties();
+
     public Defaults getDefaults() {
         return defaults;
     }
@@ -70,6 +95,46 @@ public class TcEqpSimProperties {
         this.eqps = eqps;
     }
 
+    public BackpressureProperties getBackpressure() {
+        return backpressure;
+    }
+
+    public void setBackpressure(BackpressureProperties backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    public TimerProperties getTimer() {
+        return timer;
+    }
+
+    public void setTimer(TimerProperties timer) {
+        this.timer = timer;
+    }
+
+    public LoggingProperties getLogging() {
+        return logging;
+    }
+
+    public void setLogging(LoggingProperties logging) {
+        this.logging = logging;
+    }
+
+    public CaptureProperties getCapture() {
+        return capture;
+    }
+
+    public void setCapture(CaptureProperties capture) {
+        this.capture = capture;
+    }
+
+    public MetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MetricsProperties metrics) {
+        this.metrics = metrics;
+    }
+
     public static class Defaults {
         private long defaultWaitTimeoutSec = 60;
         private long defaultHandshakeTimeoutSec = 60;
@@ -0,0 +1,67 @@
+package com.nori.tc.eqpsim.socket.config;
+
+/**
+ * tc.eqpsim.timer.*
+ *
+ * 역할:
+ * - WAIT/핸드셰이크 타임아웃, SLEEP, EMIT tick, 지연 송신, 재연결 예약에 쓰는 타이머 설정.
+ *
+ * 설정 키:
+ * - tc.eqpsim.timer.type       (WHEEL / EXECUTOR, 기본 WHEEL)
+ * - tc.eqpsim.timer.tick-ms    (WHEEL 정밀도, 기본 1ms. task는 deadline 이후 첫 tick에 실행)
+ * - tc.eqpsim.timer.wheel-size (WHEEL bucket 수, 2의 거듭제곱으로 올림, 기본 512)
+ * - tc.eqpsim.timer.batch-emit (jitter 없는 EMIT을 event loop + 주기별 tick 1개로 묶음, 기본 true)
+ *
+ * 배경:
+ * - EventExecutor.schedule은 예약마다 ScheduledFutureTask를 만들고 우선순위 큐에 O(log n)으로 넣는다.
+ *   EQP 수천 대가 100ms 주기로 EMIT하면 이 큐가 event loop 시간을 차지한다.
+ */
+public class TimerProperties {
+
+    public enum Type {
+        /** event loop별 hashed wheel (O(1) 예약/취소) */
+        WHEEL,
+        /** EventExecutor.schedule 그대로 사용 (기존 동작) */
+        EXECUTOR
+    }
+
+    private Type type = Type.WHEEL;
+
+    private long tickMs = 1;
+
+    private int wheelSize = 512;
+
+    private boolean batchEmit = true;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    public void setTickMs(long tickMs) {
+        this.tickMs = tickMs;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public boolean isBatchEmit() {
+        return batchEmit;
+    }
+
+    public void setBatchEmit(boolean batchEmit) {
+        this.batchEmit = batchEmit;
+    }
+}
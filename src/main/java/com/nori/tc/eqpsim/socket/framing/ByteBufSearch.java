@@ -1,19 +1,36 @@
 package com.nori.tc.eqpsim.socket.framing;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.ByteProcessor;
 
 /**
- * ByteBuf에서 byte[] 시퀀스를 찾는 유틸.
+ * ByteBuf에서 byte / byte[] 시퀀스를 찾는 유틸.
  *
- * Netty의 기본 indexOf는 단일 byte 검색에 최적화되어 있어,
- * 멀티 바이트 시퀀스(start/end, CRLF 등)는 별도 구현합니다.
+ * 검색 전략:
+ * - 단일 byte: 짧은 구간은 ByteProcessor(forEachByte), 긴 구간은 SWAR(8바이트 word 단위) 스캔
+ * - 멀티 바이트: {@link ByteSequenceSearcher}에 위임 (SWAR anchor 검색 / Boyer-Moore-Horspool)
  *
  * 성능:
- * - O(n*m) 단순 검색입니다.
- * - 현재 목표(실행 120대 수준)에서는 충분합니다.
+ * - 디코더처럼 같은 시퀀스를 반복 검색하는 곳은 {@link ByteSequenceSearcher}를 1회 생성해 재사용한다.
+ * - {@link #indexOf(ByteBuf, int, int, byte[])}는 호출마다 skip table을 만들 수 있으므로 편의용이다.
  */
 public final class ByteBufSearch {
 
+    /** 이 길이 미만 구간은 SWAR 준비 비용이 더 크므로 forEachByte로 처리한다. */
+    static final int SWAR_MIN_RANGE = 16;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    /** byte 값별 IndexOfProcessor (불변 객체이므로 공유, 검색마다 할당하지 않는다) */
+    private static final ByteProcessor[] INDEX_OF_PROCESSORS = new ByteProcessor[256];
+
+    static {
+        for (int v = 0; v < 256; v++) {
+            INDEX_OF_PROCESSORS[v] = new ByteProcessor.IndexOfProcessor((byte) v);
+        }
+    }
+
     private ByteBufSearch() {
         // utility class
     }
@@ -31,24 +48,63 @@ public final class ByteBufSearch {
         if (sequence == null || sequence.length == 0) {
             throw new IllegalArgumentException("sequence must not be empty");
         }
-        if (fromInclusive < 0 || toExclusive < 0 || fromInclusive > toExclusive) {
-            throw new IllegalArgumentException("invalid range");
+        checkRange(fromInclusive, toExclusive);
+
+        if (sequence.length == 1) {
+            return indexOfByte(buf, fromInclusive, toExclusive, sequence[0]);
         }
+        return ByteSequenceSearcher.of(sequence).indexOf(buf, fromInclusive, toExclusive);
+    }
 
-        int seqLen = sequence.length;
-        int maxStart = toExclusive - seqLen;
-        for (int i = fromInclusive; i <= maxStart; i++) {
-            boolean match = true;
-            for (int j = 0; j < seqLen; j++) {
-                if (buf.getByte(i + j) != sequence[j]) {
-                    match = false;
-                    break;
-                }
-            }
-            if (match) {
-                return i;
+    /**
+     * buf 내 [fromInclusive, toExclusive) 구간에서 value가 처음 등장하는 absolute index를 반환합니다.
+     *
+     * - 구간이 짧으면 ByteProcessor 기반 forEachByte
+     * - 구간이 길면 getLongLE로 8바이트씩 읽어 SWAR 비교 (heap/direct 모두 동일 경로)
+     *
+     * @return 발견 시 absolute index, 없으면 -1
+     */
+    public static int indexOfByte(ByteBuf buf, int fromInclusive, int toExclusive, byte value) {
+        int len = toExclusive - fromInclusive;
+        if (len <= 0) {
+            return -1;
+        }
+        if (len < SWAR_MIN_RANGE) {
+            return forEachIndexOf(buf, fromInclusive, len, value);
+        }
+
+        long pattern = compilePattern(value);
+        int i = fromInclusive;
+        int wordLimit = toExclusive - Long.BYTES;
+        for (; i <= wordLimit; i += Long.BYTES) {
+            // little-endian으로 읽으면 낮은 index 바이트가 하위 비트에 위치한다.
+            // borrow 전파로 인한 오검출은 "첫 매칭보다 상위 바이트"에서만 생기므로
+            // numberOfTrailingZeros는 항상 첫 매칭 위치를 정확히 가리킨다.
+            long word = buf.getLongLE(i) ^ pattern;
+            long found = (word - ONES) & ~word & HIGHS;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
             }
         }
-        return -1;
+
+        int rest = toExclusive - i;
+        return rest > 0 ? forEachIndexOf(buf, i, rest, value) : -1;
+    }
+
+    /**
+     * 8바이트 모두 value로 채운 SWAR 비교 패턴.
+     */
+    static long compilePattern(byte value) {
+        return (value & 0xFFL) * ONES;
+    }
+
+    static void checkRange(int fromInclusive, int toExclusive) {
+        if (fromInclusive < 0 || toExclusive < 0 || fromInclusive > toExclusive) {
+            throw new IllegalArgumentException("invalid range");
+        }
+    }
+
+    private static int forEachIndexOf(ByteBuf buf, int index, int length, byte value) {
+        return buf.forEachByte(index, length, INDEX_OF_PROCESSORS[value & 0xFF]);
     }
-}
\ No newline at end of file
+}
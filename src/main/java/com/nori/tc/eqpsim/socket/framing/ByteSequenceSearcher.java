@@ -0,0 +1,140 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * ByteSequenceSearcher
+ *
+ * 역할:
+ * - 고정 byte 시퀀스(LF, CRLF, STX/ETX 등)를 ByteBuf에서 찾는 사전 컴파일된 검색기.
+ * - 불변 객체이므로 디코더/채널 간에 공유해도 안전하다.
+ *
+ * 검색 전략(시퀀스 길이 m 기준):
+ * - m == 1      : {@link ByteBufSearch#indexOfByte} (forEachByte / SWAR)
+ * - 2 <= m < 16 : 마지막 바이트를 SWAR로 찾고 앞부분만 검증 (anchor 검색)
+ * - m >= 16     : Boyer-Moore-Horspool (bad-character skip table, 최대 m바이트 점프)
+ *
+ * 임계값 근거(ByteBufSearchBenchmark):
+ * - 4KB 프레임 기준 8바이트 시퀀스에서도 SWAR anchor(~0.5us)가 Horspool(~3.7us)보다 빠르다.
+ *   Horspool은 byte 단위 getByte로 점프하므로 skip 거리가 충분히 길 때만 이득이다.
+ * - 제어 문자 delimiter는 payload에 거의 등장하지 않으므로 anchor 후보 검증 비용도 작다.
+ *
+ * 주의:
+ * - 반환값은 항상 absolute index이며, 없으면 -1.
+ */
+public final class ByteSequenceSearcher {
+
+    /** 이 길이 이상이면 Horspool skip table을 사용한다. */
+    static final int HORSPOOL_MIN_LENGTH = 16;
+
+    private final byte[] sequence;
+    private final int last;
+
+    /** Horspool bad-character shift. m < HORSPOOL_MIN_LENGTH 이면 null */
+    private final int[] skip;
+
+    private ByteSequenceSearcher(byte[] sequence) {
+        this.sequence = sequence;
+        this.last = sequence.length - 1;
+        this.skip = sequence.length >= HORSPOOL_MIN_LENGTH ? buildSkipTable(sequence) : null;
+    }
+
+    /**
+     * 검색기를 생성한다. 입력 배열은 복사하여 보관한다.
+     */
+    public static ByteSequenceSearcher of(byte[] sequence) {
+        Objects.requireNonNull(sequence, "sequence must not be null");
+        if (sequence.length == 0) {
+            throw new IllegalArgumentException("sequence must not be empty");
+        }
+        return new ByteSequenceSearcher(sequence.clone());
+    }
+
+    public int length() {
+        return sequence.length;
+    }
+
+    /**
+     * 검색 대상 시퀀스 사본.
+     */
+    public byte[] sequence() {
+        return sequence.clone();
+    }
+
+    /**
+     * buf 내 [fromInclusive, toExclusive) 구간에서 시퀀스가 처음 등장하는 absolute index를 반환한다.
+     * 시퀀스 전체가 구간 안에 들어와야 매칭으로 본다.
+     */
+    public int indexOf(ByteBuf buf, int fromInclusive, int toExclusive) {
+        ByteBufSearch.checkRange(fromInclusive, toExclusive);
+        if (toExclusive - fromInclusive < sequence.length) {
+            return -1;
+        }
+        if (last == 0) {
+            return ByteBufSearch.indexOfByte(buf, fromInclusive, toExclusive, sequence[0]);
+        }
+        return skip == null
+                ? anchoredIndexOf(buf, fromInclusive, toExclusive)
+                : horspoolIndexOf(buf, fromInclusive, toExclusive);
+    }
+
+    // ─── 짧은 멀티 바이트: 마지막 바이트 anchor ─────────────────────────────
+
+    private int anchoredIndexOf(ByteBuf buf, int fromInclusive, int toExclusive) {
+        byte anchor = sequence[last];
+        int scanFrom = fromInclusive + last;
+        while (scanFrom < toExclusive) {
+            int anchorIdx = ByteBufSearch.indexOfByte(buf, scanFrom, toExclusive, anchor);
+            if (anchorIdx < 0) {
+                return -1;
+            }
+            int start = anchorIdx - last;
+            if (prefixMatches(buf, start)) {
+                return start;
+            }
+            scanFrom = anchorIdx + 1;
+        }
+        return -1;
+    }
+
+    // ─── 긴 멀티 바이트: Boyer-Moore-Horspool ───────────────────────────────
+
+    private int horspoolIndexOf(ByteBuf buf, int fromInclusive, int toExclusive) {
+        byte lastByte = sequence[last];
+        int maxStart = toExclusive - sequence.length;
+        int i = fromInclusive;
+        while (i <= maxStart) {
+            byte c = buf.getByte(i + last);
+            if (c == lastByte && prefixMatches(buf, i)) {
+                return i;
+            }
+            i += skip[c & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * sequence[0 .. last) 가 buf[start ..)와 일치하는지 (마지막 바이트는 호출 측에서 이미 확인)
+     */
+    private boolean prefixMatches(ByteBuf buf, int start) {
+        for (int j = 0; j < last; j++) {
+            if (buf.getByte(start + j) != sequence[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] buildSkipTable(byte[] sequence) {
+        int m = sequence.length;
+        int[] table = new int[256];
+        Arrays.fill(table, m);
+        for (int j = 0; j < m - 1; j++) {
+            table[sequence[j] & 0xFF] = m - 1 - j;
+        }
+        return table;
+    }
+}
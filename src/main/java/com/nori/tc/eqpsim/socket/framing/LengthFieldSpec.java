@@ -0,0 +1,131 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import io.netty.buffer.ByteBuf;
+
+import java.util.Objects;
+
+/**
+ * LengthFieldSpec
+ *
+ * 역할:
+ * - kind=LENGTH_FIELD 설정(offset/width/endian/includesHeader/prefix)을 검증된 불변 값으로 고정한다.
+ * - 인코더/디코더/장애주입(protectFraming)이 같은 header 규칙을 공유한다.
+ *
+ * 프레임 구조:
+ *   [prefix(offset bytes)][length field(width bytes)][payload]
+ *   └──────────── header ────────────┘
+ *
+ * 길이 값:
+ * - includesHeader=false: payload 길이
+ * - includesHeader=true : header 길이 + payload 길이
+ */
+public final class LengthFieldSpec {
+
+    private final int offset;
+    private final int width;
+    private final boolean littleEndian;
+    private final boolean includesHeader;
+    private final byte[] prefix;
+
+    private LengthFieldSpec(int offset, int width, boolean littleEndian, boolean includesHeader, byte[] prefix) {
+        this.offset = offset;
+        this.width = width;
+        this.littleEndian = littleEndian;
+        this.includesHeader = includesHeader;
+        this.prefix = prefix;
+    }
+
+    /**
+     * SocketTypeProperties로부터 spec을 만든다. (미지정 값은 offset=0, width=4, BIG, includesHeader=false)
+     */
+    public static LengthFieldSpec from(SocketTypeProperties props) {
+        Objects.requireNonNull(props, "socketType properties must not be null");
+
+        int offset = props.getLengthFieldOffset() == null ? 0 : props.getLengthFieldOffset();
+        int width = props.getLengthFieldLength() == null ? 4 : props.getLengthFieldLength();
+        boolean littleEndian = props.getLengthFieldEndian() == SocketTypeProperties.Endian.LITTLE;
+        boolean includesHeader = Boolean.TRUE.equals(props.getLengthIncludesHeader());
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("socketType.lengthFieldOffset must be >= 0: " + offset);
+        }
+        if (width != 1 && width != 2 && width != 4) {
+            throw new IllegalArgumentException("socketType.lengthFieldLength must be 1, 2 or 4: " + width);
+        }
+
+        byte[] prefix = new byte[offset];
+        String prefixHex = props.getLengthFieldPrefixHex();
+        if (prefixHex != null && !prefixHex.trim().isEmpty()) {
+            byte[] parsed = HexByteSequenceParser.parseHexSequence(prefixHex);
+            if (parsed.length != offset) {
+                throw new IllegalArgumentException("socketType.lengthFieldPrefixHex length must equal lengthFieldOffset: "
+                        + parsed.length + " != " + offset);
+            }
+            prefix = parsed;
+        }
+        return new LengthFieldSpec(offset, width, littleEndian, includesHeader, prefix);
+    }
+
+    /**
+     * prefix + 길이 필드 바이트 수
+     */
+    public int headerLength() {
+        return offset + width;
+    }
+
+    /**
+     * 길이 필드로 표현할 수 있는 최대 값 (unsigned)
+     */
+    public long maxFieldValue() {
+        return width == 4 ? 0xFFFF_FFFFL : (1L << (width * 8)) - 1;
+    }
+
+    /**
+     * headerStart(absolute index)에서 시작하는 header의 길이 필드를 읽어 payload 길이를 반환한다.
+     * - header 전체가 readable이어야 한다. (호출 측 보장)
+     *
+     * @return payload 길이, 길이 값이 header보다 작아 해석 불가하면 -1
+     */
+    public long readPayloadLength(ByteBuf buf, int headerStart) {
+        int idx = headerStart + offset;
+        long value = switch (width) {
+            case 1 -> buf.getUnsignedByte(idx);
+            case 2 -> littleEndian ? buf.getUnsignedShortLE(idx) : buf.getUnsignedShort(idx);
+            default -> littleEndian ? buf.getUnsignedIntLE(idx) : buf.getUnsignedInt(idx);
+        };
+        if (!includesHeader) {
+            return value;
+        }
+        long payload = value - headerLength();
+        return payload < 0 ? -1 : payload;
+    }
+
+    /**
+     * header(prefix + 길이 필드)를 out에 기록한다.
+     */
+    public void writeHeader(ByteBuf out, int payloadLength) {
+        long value = includesHeader ? (long) payloadLength + headerLength() : payloadLength;
+        if (value > maxFieldValue()) {
+            throw new IllegalArgumentException("payload too large for " + width + "-byte length field: " + payloadLength);
+        }
+        out.writeBytes(prefix);
+        switch (width) {
+            case 1 -> out.writeByte((int) value);
+            case 2 -> {
+                if (littleEndian) {
+                    out.writeShortLE((int) value);
+                } else {
+                    out.writeShort((int) value);
+                }
+            }
+            default -> {
+                if (littleEndian) {
+                    out.writeIntLE((int) value);
+                } else {
+                    out.writeInt((int) value);
+                }
+            }
+        }
+    }
+}
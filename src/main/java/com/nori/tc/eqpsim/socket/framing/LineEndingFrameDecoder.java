@@ -1,8 +1,12 @@
 package com.nori.tc.eqpsim.socket.framing;
 
 import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Objects;
@@ -17,45 +21,129 @@ import java.util.Objects;
  * 예:
  * - 입력: "A\nB\n"
  * - 출력: "A", "B"
+ *
+ * 증분 검색:
+ * - "readerIndex + scanOffset 이전에는 delimiter 시작이 없다"를 기억하여,
+ *   작은 TCP segment로 나뉘어 도착하는 큰 프레임도 각 바이트를 1회만 검사합니다.
+ *
+ * 최대 프레임 길이:
+ * - payload가 maxFrameLength를 넘으면 다음 delimiter까지 버리고(resync) tooLongFrameCount를 증가시킵니다.
+ * - 누적 버퍼는 maxFrameLength + (delimiter 길이 - 1) 이상 커지지 않습니다.
  */
 public class LineEndingFrameDecoder extends ByteToMessageDecoder {
 
-    private final byte[] delimiter;
+    private static final Logger log = LoggerFactory.getLogger(LineEndingFrameDecoder.class);
+
+    private final int delimiterLength;
+    private final ByteSequenceSearcher delimiterSearcher;
+    private final int maxFrameLength;
+
+    /** readerIndex 기준, 다음 delimiter 검색 시작 offset (그 이전은 검사 완료) */
+    private int scanOffset;
+
+    /** 너무 긴 프레임을 다음 delimiter까지 버리는 중인지 */
+    private boolean discarding;
+    private long discardedBytes;
+
+    private long tooLongFrameCount;
 
     public LineEndingFrameDecoder(SocketTypeProperties.LineEnding ending) {
+        this(ending, SocketFramerFactory.DEFAULT_MAX_FRAME_LENGTH);
+    }
+
+    public LineEndingFrameDecoder(SocketTypeProperties.LineEnding ending, int maxFrameLength) {
+        this(ByteSequenceSearcher.of(delimiterOf(ending)), maxFrameLength);
+    }
+
+    /**
+     * 컴파일된 delimiter 검색기(SocketTypeCodec에서 공유)로 생성한다.
+     */
+    public LineEndingFrameDecoder(ByteSequenceSearcher delimiterSearcher, int maxFrameLength) {
+        this.delimiterSearcher = Objects.requireNonNull(delimiterSearcher, "delimiterSearcher must not be null");
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength must be > 0: " + maxFrameLength);
+        }
+        this.delimiterLength = delimiterSearcher.length();
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    private static byte[] delimiterOf(SocketTypeProperties.LineEnding ending) {
         Objects.requireNonNull(ending, "line ending must not be null");
-        this.delimiter = switch (ending) {
+        return switch (ending) {
             case LF -> new byte[]{(byte) 0x0A};
             case CR -> new byte[]{(byte) 0x0D};
             case CRLF -> new byte[]{(byte) 0x0D, (byte) 0x0A};
         };
     }
 
+    /**
+     * maxFrameLength 초과로 버린 프레임 수
+     */
+    public long getTooLongFrameCount() {
+        return tooLongFrameCount;
+    }
+
     @Override
-    protected void decode(io.netty.channel.ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
         while (true) {
             int readerIdx = in.readerIndex();
             int writerIdx = in.writerIndex();
+            int readable = writerIdx - readerIdx;
 
             // delimiter가 존재할 수 있는 최소 길이 확보
-            if (writerIdx - readerIdx < delimiter.length) {
+            if (readable < delimiterLength) {
                 return;
             }
 
-            int delimIdx = ByteBufSearch.indexOf(in, readerIdx, writerIdx, delimiter);
+            int delimIdx = delimiterSearcher.indexOf(in, readerIdx + scanOffset, writerIdx);
             if (delimIdx < 0) {
+                // delimiter 일부가 걸쳐 있을 수 있는 마지막 (len-1) 바이트만 다음에 다시 본다.
+                int tail = delimiterLength - 1;
+                if (discarding || readable - tail > maxFrameLength) {
+                    // 너무 긴 프레임: tail만 남기고 버린다. (다음 delimiter에서 resync)
+                    int drop = readable - tail;
+                    in.skipBytes(drop);
+                    discardedBytes += drop;
+                    discarding = true;
+                    scanOffset = 0;
+                } else {
+                    scanOffset = readable - tail;
+                }
                 // delimiter가 아직 없으면 다음 데이터까지 대기
                 return;
             }
 
             int frameLen = delimIdx - readerIdx;
+            scanOffset = 0;
+
+            if (discarding || frameLen > maxFrameLength) {
+                // 너무 긴 프레임의 끝: delimiter까지 버리고 다음 프레임부터 정상 처리
+                in.readerIndex(delimIdx + delimiterLength);
+                onTooLongFrame(ctx, discardedBytes + frameLen + delimiterLength);
+                continue;
+            }
+
             ByteBuf frame = in.retainedSlice(readerIdx, frameLen);
 
             // payload + delimiter 소비
-            in.readerIndex(delimIdx + delimiter.length);
+            in.readerIndex(delimIdx + delimiterLength);
 
             out.add(frame);
             // loop: 남은 데이터에서 다음 프레임 계속 추출
         }
     }
-}
\ No newline at end of file
+
+    private void onTooLongFrame(ChannelHandlerContext ctx, long totalDiscarded) {
+        tooLongFrameCount++;
+        discarding = false;
+        discardedBytes = 0;
+
+        log.warn(StructuredLog.event("frame_too_long",
+                "connId", ctx.channel().id().asShortText(),
+                "kind", "LINE_END",
+                "maxFrameLength", maxFrameLength,
+                "discardedBytes", totalDiscarded,
+                "tooLongFrames", tooLongFrameCount,
+                "action", "resync"));
+    }
+}
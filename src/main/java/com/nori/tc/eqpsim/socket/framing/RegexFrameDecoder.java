@@ -3,10 +3,19 @@ package com.nori.tc.eqpsim.socket.framing;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.ByteProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -18,10 +27,26 @@ import java.util.regex.Pattern;
  * 역할:
  * - UTF-8(또는 지정 Charset)로 ByteBuf 내용을 문자열로 보고 정규식 매칭으로 프레임을 추출한다.
  *
- * ⚠️ 중요 제한:
- * - 문자 인덱스를 바이트 인덱스로 1:1 매핑한다.
- * - ASCII 범위 데이터에서 가장 안전하다.
- * - 비-ASCII(한글 등)가 섞인다면 LINE_END / START_END를 권장한다.
+ * 증분(streaming) 처리:
+ * - 새로 도착한 바이트만 1회 디코드하여 문자 윈도우(CharWindow)에 이어 붙인다.
+ *   → 매 read마다 누적 버퍼 전체를 String으로 만들지 않는다. (할당/디코드 O(n))
+ * - 정규식은 CharWindow(CharSequence)를 그대로 대상으로 실행한다. (복사 없음)
+ * - "어떤 입력이 더 와도 매칭될 수 없는 시작 위치"(lookingAt 실패 + hitEnd=false)는
+ *   scanFrom을 전진시켜 다음 read부터 다시 보지 않는다.
+ *
+ * 디코드 경로:
+ * - 단일 바이트 charset(ISO-8859-1 등): 256칸 표 조회
+ * - UTF-8: 전용 상태 머신 (CharsetDecoder 호출 없음)
+ * - 그 외(MS949 등): ASCII fast path + 비-ASCII는 CharsetDecoder에 1바이트씩 투입
+ *
+ * 바이트 정확성:
+ * - 각 문자마다 시작 byte offset을 함께 기록하여 char index → byte index를 정확히 변환한다.
+ * - MS949/UTF-8 한글처럼 문자 1개가 여러 바이트여도, 멀티바이트 문자가 read 경계에서 잘려도 안전하다.
+ * - 디코드 불가 바이트는 U+FFFD 1문자로 치환하며, 해당 바이트 범위에 매핑된다.
+ *
+ * 주의:
+ * - java.util.regex는 재개(resume)형 엔진이 아니므로, 아직 완성되지 않은 "살아있는" 후보 프레임은
+ *   read마다 후보 시작 위치부터 다시 매칭한다. (디코드/할당 없이 char 비교만 반복)
  *
  * ✅ [M4 수정] 버퍼 폭주 방지
  * - 기존: 1KB만 남기고 버림 → 재동기화 불가, 정규식이 매칭되지 않으면 무한 누적
@@ -35,12 +60,71 @@ public class RegexFrameDecoder extends ByteToMessageDecoder {
     /** 버퍼 최대 크기 (초과 시 프로토콜 위반으로 간주) */
     private static final int MAX_BUFFER_BYTES = 256 * 1024; // 256KB
 
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
     private final Pattern pattern;
     private final Charset charset;
 
+    /** ASCII 바이트(0x00~0x7F)가 항상 같은 코드의 문자 1개로 디코드되는 charset인지 */
+    private final boolean asciiCompatible;
+
+    /** 단일 바이트 charset(ISO-8859-1 등)의 byte → char 표. 그 외 charset이면 null */
+    private final char[] singleByteTable;
+
+    private final boolean utf8;
+
+    private final CharsetDecoder charsetDecoder;
+    private final CharWindow window = new CharWindow();
+    private final ByteProcessor byteFeeder = this::feedByte;
+    private final Matcher matcher;
+
+    /** 아직 문자로 완성되지 않은 멀티바이트 시퀀스 */
+    private final ByteBuffer pendingBytes = ByteBuffer.allocate(16);
+    private final CharBuffer decodedChars = CharBuffer.allocate(4);
+
+    /** UTF-8 상태 머신: 남은 continuation 수 / 지금까지 본 바이트 수 / 조립 중 코드 포인트 / overlong 판정 하한 */
+    private int utf8Need;
+    private int utf8Seen;
+    private int utf8Cp;
+    private int utf8Min;
+
+    /** readerIndex 기준, 이미 디코더에 투입한 바이트 수 (pendingBytes 포함) */
+    private int fedBytes;
+
+    /** window 기준, 매칭이 시작될 수 있는 가장 앞 char index (그 이전은 매칭 불가로 확정) */
+    private int scanFrom;
+
     public RegexFrameDecoder(Pattern pattern, Charset charset) {
+        this(pattern, CharsetProfile.of(Objects.requireNonNull(charset, "charset must not be null")));
+    }
+
+    /**
+     * 미리 분석된 CharsetProfile(SocketTypeCodec에서 공유)로 생성한다.
+     */
+    public RegexFrameDecoder(Pattern pattern, CharsetProfile charsetProfile) {
         this.pattern = Objects.requireNonNull(pattern, "pattern must not be null");
-        this.charset = Objects.requireNonNull(charset, "charset must not be null");
+        Objects.requireNonNull(charsetProfile, "charsetProfile must not be null");
+        this.charset = charsetProfile.charset;
+        this.asciiCompatible = charsetProfile.asciiCompatible;
+        this.singleByteTable = charsetProfile.singleByteTable;
+        this.utf8 = charsetProfile.utf8;
+        this.charsetDecoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+        // region은 window 끝까지 잡으므로, bounds 밖 문맥(lookbehind 등)은 보이게 하고
+        // ^/$ 는 region 경계가 아닌 실제 입력 경계에서만 매칭되게 한다. (기존 String 전체 매칭과 동일)
+        this.matcher = pattern.matcher(window)
+                .useTransparentBounds(true)
+                .useAnchoringBounds(false);
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public Charset getCharset() {
+        return charset;
     }
 
     @Override
@@ -65,37 +149,377 @@ public class RegexFrameDecoder extends ByteToMessageDecoder {
                         "action", "close"));
 
                 in.readerIndex(writerIdx); // 버퍼 전량 폐기
+                resetState();
                 ctx.close();              // 프로토콜 위반: 채널 종료
                 return;
             }
 
-            // 현재 누적 데이터를 문자열로 변환
-            String s = in.toString(readerIdx, readable, charset);
+            // 새로 도착한 바이트만 디코드
+            if (fedBytes < readable) {
+                feed(in, readerIdx + fedBytes, writerIdx);
+                fedBytes = readable;
+            }
 
-            Matcher m = pattern.matcher(s);
-            if (!m.find()) {
+            if (!findNextMatch()) {
                 // 아직 매칭이 안 되면 다음 입력 대기
                 return;
             }
 
-            int matchStart = m.start();
-            int matchEnd = m.end();
+            int matchStart = matcher.start();
+            int matchEnd = matcher.end();
             if (matchEnd <= matchStart) {
                 // 안전장치: 빈 매칭은 무시
                 throw new IllegalStateException("regex match has invalid range: start=" + matchStart + " end=" + matchEnd);
             }
 
-            // ASCII 기반(문자 index == 바이트 index) 전제
-            int frameAbsStart = readerIdx + matchStart;
-            int frameLen = matchEnd - matchStart;
+            // char index → byte index (readerIndex 기준)
+            int frameRelStart = window.byteOffset(matchStart);
+            int frameRelEnd = window.byteOffset(matchEnd);
 
-            ByteBuf frame = in.retainedSlice(frameAbsStart, frameLen);
+            ByteBuf frame = in.retainedSlice(readerIdx + frameRelStart, frameRelEnd - frameRelStart);
 
             // prefix + frame 모두 소비
-            in.readerIndex(frameAbsStart + frameLen);
+            in.readerIndex(readerIdx + frameRelEnd);
+            window.consume(matchEnd);
+            fedBytes -= frameRelEnd;
+            scanFrom = 0;
 
             out.add(frame);
             // loop: 남은 데이터에서 계속 추출
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void handlerRemoved0(io.netty.channel.ChannelHandlerContext ctx) {
+        resetState();
+    }
+
+    // ─── 매칭 ───────────────────────────────────────────────────────────
+
+    /**
+     * window[scanFrom ..)에서 다음 매칭을 찾는다.
+     *
+     * - 실패 시: 매칭 불가로 확정된 시작 위치(lookingAt 실패 + hitEnd=false)를 건너뛰어
+     *   scanFrom을 "입력이 더 오면 매칭될 수 있는 첫 위치"로 옮긴다.
+     * - scanFrom 이전 위치는 이미 불가로 확정되었으므로 find()의 leftmost 의미가 유지된다.
+     */
+    private boolean findNextMatch() {
+        int len = window.length();
+        matcher.region(scanFrom, len);
+        if (matcher.find()) {
+            return true;
+        }
+        while (scanFrom < len) {
+            matcher.region(scanFrom, len);
+            matcher.lookingAt();
+            if (matcher.hitEnd()) {
+                break;
+            }
+            scanFrom++;
+        }
+        return false;
+    }
+
+    // ─── 증분 디코드 ─────────────────────────────────────────────────────
+
+    private void feed(ByteBuf in, int fromInclusive, int toExclusive) {
+        in.forEachByte(fromInclusive, toExclusive - fromInclusive, byteFeeder);
+    }
+
+    private boolean feedByte(byte b) {
+        if (singleByteTable != null) {
+            // 단일 바이트 charset: 바이트 1개 = 문자 1개 (생성 시 만든 256칸 표)
+            window.append(singleByteTable[b & 0xFF], 1);
+        } else if (b >= 0 && asciiCompatible && utf8Need == 0 && pendingBytes.position() == 0) {
+            // fast path: 멀티바이트 시퀀스 중간이 아닌 ASCII 바이트
+            window.append((char) b, 1);
+        } else if (utf8) {
+            feedUtf8(b & 0xFF);
+        } else {
+            feedSlow(b);
+        }
+        return true;
+    }
+
+    /**
+     * UTF-8 전용 상태 머신 (CharsetDecoder 호출 없이 코드 포인트 조립)
+     * - 잘못된 시퀀스(overlong/surrogate/범위 초과/중간 절단)는 지금까지 본 바이트를 U+FFFD 1문자로 치환한다.
+     */
+    private void feedUtf8(int v) {
+        if (utf8Need > 0) {
+            if ((v & 0xC0) == 0x80) {
+                utf8Cp = (utf8Cp << 6) | (v & 0x3F);
+                utf8Seen++;
+                if (--utf8Need == 0) {
+                    emitUtf8();
+                }
+                return;
+            }
+            // 시퀀스 중간에 continuation이 아닌 바이트 → 앞부분 치환 후 v를 새 시퀀스로 처리
+            window.append(REPLACEMENT_CHAR, utf8Seen);
+            utf8Need = 0;
+            if (v < 0x80) {
+                window.append((char) v, 1);
+                return;
+            }
+        }
+
+        if (v >= 0xC2 && v <= 0xDF) {
+            startUtf8(1, v & 0x1F, 0x80);
+        } else if (v >= 0xE0 && v <= 0xEF) {
+            startUtf8(2, v & 0x0F, 0x800);
+        } else if (v >= 0xF0 && v <= 0xF4) {
+            startUtf8(3, v & 0x07, 0x10000);
+        } else {
+            // 단독 continuation / 0xC0, 0xC1, 0xF5~0xFF
+            window.append(REPLACEMENT_CHAR, 1);
+        }
+    }
+
+    private void startUtf8(int need, int bits, int minCodePoint) {
+        utf8Need = need;
+        utf8Seen = 1;
+        utf8Cp = bits;
+        utf8Min = minCodePoint;
+    }
+
+    private void emitUtf8() {
+        int cp = utf8Cp;
+        if (cp < utf8Min || cp > Character.MAX_CODE_POINT
+                || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+            window.append(REPLACEMENT_CHAR, utf8Seen);
+        } else if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            window.append((char) cp, utf8Seen);
+        } else {
+            // surrogate pair 두 번째 char는 byte 길이 0 (같은 시퀀스에 속함)
+            window.append(Character.highSurrogate(cp), utf8Seen);
+            window.append(Character.lowSurrogate(cp), 0);
+        }
+    }
+
+    /**
+     * 1바이트씩 CharsetDecoder에 투입한다. (UTF-8 / 단일 바이트 이외의 charset: MS949 등)
+     * - pendingBytes에는 항상 "아직 유효할 수 있는 미완성 시퀀스"만 남으므로
+     *   decode 1회가 만들어내는 문자는 코드 포인트 1개(최대 surrogate pair)뿐이다.
+     */
+    private void feedSlow(byte b) {
+        pendingBytes.put(b);
+        pendingBytes.flip();
+        while (pendingBytes.hasRemaining()) {
+            int before = pendingBytes.position();
+            decodedChars.clear();
+            CoderResult r = charsetDecoder.decode(pendingBytes, decodedChars, false);
+            if (r.isError()) {
+                // 디코드 불가 바이트 → U+FFFD 1문자로 치환
+                pendingBytes.position(pendingBytes.position() + r.length());
+                window.append(REPLACEMENT_CHAR, pendingBytes.position() - before);
+                continue;
+            }
+            decodedChars.flip();
+            int consumed = pendingBytes.position() - before;
+            if (!decodedChars.hasRemaining()) {
+                if (consumed == 0) {
+                    break; // 미완성 시퀀스: 다음 바이트 대기
+                }
+                // 출력 없이 소비(BOM 등)된 바이트는 다음 문자의 byte 범위에 포함시킨다.
+                window.skipBytes(consumed);
+                continue;
+            }
+            // surrogate pair 두 번째 char는 byte 길이 0 (같은 시퀀스에 속함)
+            window.append(decodedChars.get(), consumed);
+            while (decodedChars.hasRemaining()) {
+                window.append(decodedChars.get(), 0);
+            }
+        }
+        pendingBytes.compact();
+    }
+
+    private void resetState() {
+        window.clear();
+        pendingBytes.clear();
+        charsetDecoder.reset();
+        utf8Need = 0;
+        fedBytes = 0;
+        scanFrom = 0;
+    }
+
+    // ─── CharsetProfile ─────────────────────────────────────────────────
+
+    /**
+     * charset별 디코드 경로 분석 결과 (불변, 디코더 간 공유)
+     *
+     * - asciiCompatible : ASCII 바이트가 항상 같은 코드의 문자 1개로 디코드되는지
+     * - singleByteTable : 단일 바이트 charset의 256칸 표 (그 외 null)
+     * - utf8            : UTF-8 전용 상태 머신 사용 여부
+     */
+    public static final class CharsetProfile {
+
+        private final Charset charset;
+        private final boolean asciiCompatible;
+        private final char[] singleByteTable;
+        private final boolean utf8;
+
+        private CharsetProfile(Charset charset) {
+            this.charset = charset;
+            this.asciiCompatible = isAsciiCompatible(charset);
+            this.singleByteTable = buildSingleByteTable(charset);
+            this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        }
+
+        public static CharsetProfile of(Charset charset) {
+            return new CharsetProfile(Objects.requireNonNull(charset, "charset must not be null"));
+        }
+
+        public Charset getCharset() {
+            return charset;
+        }
+
+        /**
+         * 인코딩 시 문자당 최대 1바이트인 charset이면 256칸 디코드 표를 만든다.
+         */
+        private static char[] buildSingleByteTable(Charset charset) {
+            if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1.0f) {
+                return null;
+            }
+            CharsetDecoder d = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .replaceWith(String.valueOf(REPLACEMENT_CHAR));
+            char[] table = new char[256];
+            for (int v = 0; v < 256; v++) {
+                try {
+                    CharBuffer cb = d.reset().decode(ByteBuffer.wrap(new byte[]{(byte) v}));
+                    if (cb.remaining() != 1) {
+                        return null;
+                    }
+                    table[v] = cb.get();
+                } catch (CharacterCodingException e) {
+                    return null;
+                }
+            }
+            return table;
+        }
+
+        private static boolean isAsciiCompatible(Charset charset) {
+            if (!charset.canEncode()) {
+                return false;
+            }
+            byte[] ascii = new byte[128];
+            for (int i = 0; i < ascii.length; i++) {
+                ascii[i] = (byte) i;
+            }
+            return Arrays.equals(ascii, new String(ascii, StandardCharsets.US_ASCII).getBytes(charset));
+        }
+    }
+
+    // ─── CharWindow ─────────────────────────────────────────────────────
+
+    /**
+     * 디코드된 문자 윈도우 (readerIndex부터의 문자들)
+     *
+     * - chars[start .. end) : 아직 소비되지 않은 문자
+     * - offsets[i]          : chars[i]의 시작 byte offset (origin 기준)
+     * - consumedBytes       : origin → 현재 readerIndex 까지의 바이트 수
+     * - tailOffset          : 다음에 추가될 문자의 시작 byte offset (origin 기준)
+     *
+     * 소비는 start만 전진시키고, 배열이 꽉 찰 때 한 번에 앞으로 당긴다(compact).
+     */
+    private static final class CharWindow implements CharSequence {
+
+        private char[] chars = new char[256];
+        private int[] offsets = new int[256];
+        private int start;
+        private int end;
+        private int consumedBytes;
+        private int tailOffset;
+
+        void append(char c, int byteLength) {
+            if (end == chars.length) {
+                makeRoom();
+            }
+            chars[end] = c;
+            offsets[end] = tailOffset;
+            end++;
+            tailOffset += byteLength;
+        }
+
+        void skipBytes(int byteLength) {
+            tailOffset += byteLength;
+        }
+
+        /**
+         * window 기준 char index의 시작 byte offset (readerIndex 기준).
+         * index == length()이면 마지막 문자 다음 바이트 위치.
+         */
+        int byteOffset(int index) {
+            int abs = start + index;
+            int origin = abs == end ? tailOffset : offsets[abs];
+            return origin - consumedBytes;
+        }
+
+        /**
+         * window 기준 [0, index) 문자를 소비한다.
+         */
+        void consume(int index) {
+            consumedBytes += byteOffset(index);
+            start += index;
+            if (start == end) {
+                // 빈 윈도우: origin을 현재 위치로 재설정 (미완성 바이트는 tailOffset - consumedBytes 로 유지)
+                tailOffset -= consumedBytes;
+                consumedBytes = 0;
+                start = 0;
+                end = 0;
+            }
+        }
+
+        void clear() {
+            start = 0;
+            end = 0;
+            consumedBytes = 0;
+            tailOffset = 0;
+        }
+
+        private void makeRoom() {
+            int live = end - start;
+            if (start > 0 && live <= chars.length / 2) {
+                System.arraycopy(chars, start, chars, 0, live);
+                for (int i = 0; i < live; i++) {
+                    offsets[i] = offsets[start + i] - consumedBytes;
+                }
+            } else {
+                char[] newChars = new char[chars.length * 2];
+                int[] newOffsets = new int[offsets.length * 2];
+                System.arraycopy(chars, start, newChars, 0, live);
+                for (int i = 0; i < live; i++) {
+                    newOffsets[i] = offsets[start + i] - consumedBytes;
+                }
+                chars = newChars;
+                offsets = newOffsets;
+            }
+            tailOffset -= consumedBytes;
+            consumedBytes = 0;
+            start = 0;
+            end = live;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(chars, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+}
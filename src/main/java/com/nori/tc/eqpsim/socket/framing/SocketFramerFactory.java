@@ -3,59 +3,65 @@ package com.nori.tc.eqpsim.socket.framing;
 import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
 import io.netty.handler.codec.ByteToMessageDecoder;
 
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * SocketTypeProperties(kind/option)에 따라 적절한 Netty Frame Decoder를 생성합니다.
  *
  * 설계 의도:
  * - "프레이밍"을 Netty pipeline에 꽂을 수 있는 ByteToMessageDecoder로 통일합니다.
- * - LINE_END / START_END / REGEX 3종을 지원합니다.
+ * - LINE_END / START_END / REGEX / LENGTH_FIELD 4종을 지원합니다.
  *
  * 주의:
- * - REGEX는 UTF-8 문자열 버퍼 기반이며, 패턴이 "프레임 1개"를 매칭하도록 작성되어야 합니다.
+ * - REGEX는 regexCharset(기본 UTF-8) 문자열 버퍼 기반이며, 패턴이 "프레임 1개"를 매칭하도록 작성되어야 합니다.
  * - 프레임 결과(ByteBuf)는 "프레이밍 바이트를 제거한 payload"만 out에 전달합니다.
  */
 public final class SocketFramerFactory {
 
+    /** LINE_END / START_END / LENGTH_FIELD 기본 최대 프레임 payload 길이 (REGEX 버퍼 한도와 동일) */
+    public static final int DEFAULT_MAX_FRAME_LENGTH = 256 * 1024;
+
     private SocketFramerFactory() {
         // utility class
     }
 
     /**
      * SocketTypeProperties로부터 프레이밍 디코더를 생성합니다.
+     * - 호출마다 설정을 컴파일하므로 편의용입니다. 연결 경로는 EqpRuntime.getSocketCodec().newDecoder()를 사용합니다.
      *
      * @param props socket type 설정
      * @return Netty ByteToMessageDecoder
      */
     public static ByteToMessageDecoder create(SocketTypeProperties props) {
-        Objects.requireNonNull(props, "socketType properties must not be null");
-        Objects.requireNonNull(props.getKind(), "socketType.kind must not be null");
+        return SocketTypeCodec.compile(props).newDecoder();
+    }
+
+    /**
+     * maxFrameLength 미지정 시 DEFAULT_MAX_FRAME_LENGTH.
+     */
+    static int resolveMaxFrameLength(Integer maxFrameLength) {
+        if (maxFrameLength == null) {
+            return DEFAULT_MAX_FRAME_LENGTH;
+        }
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("socketType.maxFrameLength must be > 0: " + maxFrameLength);
+        }
+        return maxFrameLength;
+    }
 
-        return switch (props.getKind()) {
-            case LINE_END -> {
-                Objects.requireNonNull(props.getLineEnding(), "socketType.lineEnding must not be null for LINE_END");
-                yield new LineEndingFrameDecoder(props.getLineEnding());
-            }
-            case START_END -> {
-                if (isBlank(props.getStartHex()) || isBlank(props.getEndHex())) {
-                    throw new IllegalArgumentException("socketType.startHex/endHex must not be blank for START_END");
-                }
-                byte[] start = HexByteSequenceParser.parseHexSequence(props.getStartHex());
-                byte[] end = HexByteSequenceParser.parseHexSequence(props.getEndHex());
-                yield new StartEndFrameDecoder(start, end);
-            }
-            case REGEX -> {
-                if (isBlank(props.getRegexPattern())) {
-                    throw new IllegalArgumentException("socketType.regexPattern must not be blank for REGEX");
-                }
-                // UTF-8 문자열 버퍼 기준 정규식
-                Pattern pattern = Pattern.compile(props.getRegexPattern());
-                yield new RegexFrameDecoder(pattern, StandardCharsets.UTF_8);
-            }
-        };
+    /**
+     * regexCharset 미지정 시 UTF-8.
+     */
+    static Charset resolveRegexCharset(String charsetName) {
+        if (isBlank(charsetName)) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(charsetName.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("socketType.regexCharset is not supported: " + charsetName, e);
+        }
     }
 
     private static boolean isBlank(String v) {
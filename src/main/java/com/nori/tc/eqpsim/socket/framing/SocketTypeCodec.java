@@ -0,0 +1,208 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * SocketTypeCodec
+ *
+ * 역할:
+ * - SocketTypeProperties를 1회 "컴파일"한 불변 코덱.
+ * - hex 파싱 / 정규식 컴파일 / 검색 테이블 생성 / charset 분석을 생성 시점에 끝내고,
+ *   연결(디코더 생성)과 송신(encode) 경로에서는 다시 하지 않는다.
+ *
+ * 공유:
+ * - 불변 객체이므로 같은 socketType을 쓰는 모든 EQP/채널/event loop가 공유한다.
+ * - 디코더는 채널별 상태가 있으므로 {@link #newDecoder()}로 채널마다 새로 만들되,
+ *   내부 검색기(ByteSequenceSearcher)/Pattern/LengthFieldSpec은 공유한다.
+ *
+ * 인코딩:
+ * - prefix + UTF-8 payload + suffix 길이를 미리 계산해 버퍼 1개만 할당한다.
+ * - payload는 ByteBufUtil.reserveAndWriteUtf8로 버퍼에 직접 기록한다. (중간 byte[] 없음)
+ *
+ * 생성:
+ * - 운영 경로: EqpRuntimeRegistry가 socketType id별로 1회 compile → EqpRuntime.getSocketCodec()
+ */
+public final class SocketTypeCodec {
+
+    private final SocketTypeProperties.Kind kind;
+
+    /** encode 시 payload 앞/뒤에 붙는 고정 바이트 (LINE_END: suffix=delimiter, START_END: start/end) */
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    /** LINE_END: delimiter, START_END: start */
+    private final ByteSequenceSearcher firstSearcher;
+
+    /** START_END: end */
+    private final ByteSequenceSearcher secondSearcher;
+
+    private final Pattern regexPattern;
+    private final RegexFrameDecoder.CharsetProfile regexCharset;
+
+    private final LengthFieldSpec lengthFieldSpec;
+
+    private final int maxFrameLength;
+
+    /** protectFraming 시 변조에서 제외할 앞/뒤 바이트 수 */
+    private final int protectedPrefixLength;
+    private final int protectedSuffixLength;
+
+    private SocketTypeCodec(SocketTypeProperties.Kind kind,
+                            byte[] prefix,
+                            byte[] suffix,
+                            ByteSequenceSearcher firstSearcher,
+                            ByteSequenceSearcher secondSearcher,
+                            Pattern regexPattern,
+                            RegexFrameDecoder.CharsetProfile regexCharset,
+                            LengthFieldSpec lengthFieldSpec,
+                            int maxFrameLength) {
+        this.kind = kind;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.firstSearcher = firstSearcher;
+        this.secondSearcher = secondSearcher;
+        this.regexPattern = regexPattern;
+        this.regexCharset = regexCharset;
+        this.lengthFieldSpec = lengthFieldSpec;
+        this.maxFrameLength = maxFrameLength;
+        this.protectedPrefixLength = lengthFieldSpec != null ? lengthFieldSpec.headerLength() : prefix.length;
+        this.protectedSuffixLength = suffix.length;
+    }
+
+    /**
+     * 설정을 검증하고 코덱으로 컴파일한다. (잘못된 설정은 IllegalArgumentException으로 fail-fast)
+     */
+    public static SocketTypeCodec compile(SocketTypeProperties props) {
+        Objects.requireNonNull(props, "socketType properties must not be null");
+        Objects.requireNonNull(props.getKind(), "socketType.kind must not be null");
+
+        byte[] none = new byte[0];
+        return switch (props.getKind()) {
+            case LINE_END -> {
+                Objects.requireNonNull(props.getLineEnding(), "socketType.lineEnding must not be null for LINE_END");
+                byte[] delimiter = switch (props.getLineEnding()) {
+                    case LF -> new byte[]{(byte) 0x0A};
+                    case CR -> new byte[]{(byte) 0x0D};
+                    case CRLF -> new byte[]{(byte) 0x0D, (byte) 0x0A};
+                };
+                yield new SocketTypeCodec(props.getKind(), none, delimiter,
+                        ByteSequenceSearcher.of(delimiter), null, null, null, null,
+                        SocketFramerFactory.resolveMaxFrameLength(props.getMaxFrameLength()));
+            }
+            case START_END -> {
+                if (isBlank(props.getStartHex()) || isBlank(props.getEndHex())) {
+                    throw new IllegalArgumentException("socketType.startHex/endHex must not be blank for START_END");
+                }
+                byte[] start = HexByteSequenceParser.parseHexSequence(props.getStartHex());
+                byte[] end = HexByteSequenceParser.parseHexSequence(props.getEndHex());
+                yield new SocketTypeCodec(props.getKind(), start, end,
+                        ByteSequenceSearcher.of(start), ByteSequenceSearcher.of(end), null, null, null,
+                        SocketFramerFactory.resolveMaxFrameLength(props.getMaxFrameLength()));
+            }
+            case REGEX -> {
+                if (isBlank(props.getRegexPattern())) {
+                    throw new IllegalArgumentException("socketType.regexPattern must not be blank for REGEX");
+                }
+                // regexCharset(기본 UTF-8) 문자열 버퍼 기준 정규식 (Pattern은 thread-safe → 공유)
+                Pattern pattern = Pattern.compile(props.getRegexPattern());
+                Charset charset = SocketFramerFactory.resolveRegexCharset(props.getRegexCharset());
+                yield new SocketTypeCodec(props.getKind(), none, none, null, null,
+                        pattern, RegexFrameDecoder.CharsetProfile.of(charset), null, 0);
+            }
+            case LENGTH_FIELD -> new SocketTypeCodec(props.getKind(), none, none, null, null, null, null,
+                    LengthFieldSpec.from(props),
+                    SocketFramerFactory.resolveMaxFrameLength(props.getMaxFrameLength()));
+        };
+    }
+
+    public SocketTypeProperties.Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 채널 1개용 프레이밍 디코더를 만든다. (디코더는 채널별 상태를 가지므로 공유 금지)
+     */
+    public ByteToMessageDecoder newDecoder() {
+        return switch (kind) {
+            case LINE_END -> new LineEndingFrameDecoder(firstSearcher, maxFrameLength);
+            case START_END -> new StartEndFrameDecoder(firstSearcher, secondSearcher, maxFrameLength);
+            case REGEX -> new RegexFrameDecoder(regexPattern, regexCharset);
+            case LENGTH_FIELD -> new LengthFieldFrameDecoder(lengthFieldSpec, maxFrameLength);
+        };
+    }
+
+    /**
+     * payload(String)를 UTF-8로 인코딩하여 socketType 규칙으로 프레이밍한다.
+     * - 할당은 결과 버퍼 1개뿐이다.
+     */
+    public ByteBuf encodeUtf8(ByteBufAllocator alloc, String payloadUtf8) {
+        Objects.requireNonNull(payloadUtf8, "payloadUtf8 must not be null");
+
+        int payloadLen = ByteBufUtil.utf8Bytes(payloadUtf8);
+        ByteBuf out = beginFrame(alloc, payloadLen);
+        try {
+            // writeUtf8은 최악(문자당 3바이트) 크기를 예약하며 버퍼를 키우므로, 정확한 길이로 예약한다.
+            ByteBufUtil.reserveAndWriteUtf8(out, payloadUtf8, payloadLen);
+            return endFrame(out);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 프레임 버퍼를 정확한 크기로 할당하고 prefix(LENGTH_FIELD: header)까지 기록한다.
+     * - 호출자는 payloadLen 바이트를 직접 기록한 뒤 {@link #endFrame(ByteBuf)}를 호출한다.
+     *   (PayloadTemplate처럼 String 없이 payload를 쓰는 경로용)
+     * - 예외 시 버퍼 release는 호출자 책임.
+     */
+    public ByteBuf beginFrame(ByteBufAllocator alloc, int payloadLen) {
+        Objects.requireNonNull(alloc, "allocator must not be null");
+
+        ByteBuf out = alloc.buffer(protectedPrefixLength + payloadLen + suffix.length);
+        try {
+            if (lengthFieldSpec != null) {
+                lengthFieldSpec.writeHeader(out, payloadLen);
+            } else {
+                out.writeBytes(prefix);
+            }
+            return out;
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * {@link #beginFrame}로 시작한 프레임에 suffix를 붙여 완성한다.
+     */
+    public ByteBuf endFrame(ByteBuf out) {
+        return out.writeBytes(suffix);
+    }
+
+    /**
+     * protectFraming 시 변조에서 제외할 앞쪽 바이트 수 (START_END: start, LENGTH_FIELD: header)
+     */
+    public int protectedPrefixLength() {
+        return protectedPrefixLength;
+    }
+
+    /**
+     * protectFraming 시 변조에서 제외할 뒤쪽 바이트 수 (LINE_END: delimiter, START_END: end)
+     */
+    public int protectedSuffixLength() {
+        return protectedSuffixLength;
+    }
+
+    private static boolean isBlank(String v) {
+        return v == null || v.trim().isEmpty();
+    }
+}
@@ -1,7 +1,11 @@
 package com.nori.tc.eqpsim.socket.framing;
 
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Objects;
@@ -16,23 +20,72 @@ import java.util.Objects;
  * 동기화 규칙:
  * - readerIndex 이후에서 start를 찾지 못하면,
  *   "잠재적 start prefix"를 제외한 앞부분을 버려 다음 입력에서 재동기화합니다.
+ *
+ * 증분 검색:
+ * - start를 찾은 뒤에는 "readerIndex + endScanOffset 이전에는 end 시작이 없다"를 기억하여,
+ *   작은 TCP segment로 나뉘어 도착하는 큰 프레임도 각 바이트를 1회만 검사합니다.
+ *
+ * 최대 프레임 길이:
+ * - payload가 maxFrameLength를 넘으면 해당 start를 버리고 그 다음 바이트부터 start를 다시 찾습니다(resync).
+ *   (잘린 프레임 뒤에 이어진 정상 프레임을 살리기 위함) tooLongFrameCount를 증가시킵니다.
  */
 public class StartEndFrameDecoder extends ByteToMessageDecoder {
 
-    private final byte[] start;
-    private final byte[] end;
+    private static final Logger log = LoggerFactory.getLogger(StartEndFrameDecoder.class);
+
+    private final int startLength;
+    private final int endLength;
+    private final ByteSequenceSearcher startSearcher;
+    private final ByteSequenceSearcher endSearcher;
+    private final int maxFrameLength;
+
+    /** readerIndex 위치에 start 시퀀스가 확인된 상태인지 */
+    private boolean inFrame;
+
+    /** inFrame일 때 readerIndex 기준, 다음 end 검색 시작 offset (그 이전은 검사 완료) */
+    private int endScanOffset;
+
+    private long tooLongFrameCount;
 
     public StartEndFrameDecoder(byte[] start, byte[] end) {
-        this.start = Objects.requireNonNull(start, "start bytes must not be null");
-        this.end = Objects.requireNonNull(end, "end bytes must not be null");
+        this(start, end, SocketFramerFactory.DEFAULT_MAX_FRAME_LENGTH);
+    }
 
-        if (start.length == 0 || end.length == 0) {
+    public StartEndFrameDecoder(byte[] start, byte[] end, int maxFrameLength) {
+        this(searcherOf(start, "start"), searcherOf(end, "end"), maxFrameLength);
+    }
+
+    /**
+     * 컴파일된 start/end 검색기(SocketTypeCodec에서 공유)로 생성한다.
+     */
+    public StartEndFrameDecoder(ByteSequenceSearcher startSearcher, ByteSequenceSearcher endSearcher, int maxFrameLength) {
+        this.startSearcher = Objects.requireNonNull(startSearcher, "startSearcher must not be null");
+        this.endSearcher = Objects.requireNonNull(endSearcher, "endSearcher must not be null");
+        if (maxFrameLength <= 0) {
+            throw new IllegalArgumentException("maxFrameLength must be > 0: " + maxFrameLength);
+        }
+        this.startLength = startSearcher.length();
+        this.endLength = endSearcher.length();
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    private static ByteSequenceSearcher searcherOf(byte[] bytes, String name) {
+        Objects.requireNonNull(bytes, name + " bytes must not be null");
+        if (bytes.length == 0) {
             throw new IllegalArgumentException("start/end bytes must not be empty");
         }
+        return ByteSequenceSearcher.of(bytes);
+    }
+
+    /**
+     * maxFrameLength 초과로 버린 프레임 수
+     */
+    public long getTooLongFrameCount() {
+        return tooLongFrameCount;
     }
 
     @Override
-    protected void decode(io.netty.channel.ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
         while (true) {
             int readerIdx = in.readerIndex();
             int writerIdx = in.writerIndex();
@@ -41,36 +94,44 @@ public class StartEndFrameDecoder extends ByteToMessageDecoder {
                 return;
             }
 
-            // 1) start 찾기
-            int startIdx = ByteBufSearch.indexOf(in, readerIdx, writerIdx, start);
-            if (startIdx < 0) {
-                // start가 없으면: start가 걸칠 수 있는 마지막 (startLen-1) 바이트만 남기고 discard
-                int keep = Math.min(start.length - 1, readable);
-                int discard = readable - keep;
-                if (discard > 0) {
-                    in.readerIndex(readerIdx + discard);
+            if (!inFrame) {
+                // 1) start 찾기
+                int startIdx = startSearcher.indexOf(in, readerIdx, writerIdx);
+                if (startIdx < 0) {
+                    // start가 없으면: start가 걸칠 수 있는 마지막 (startLen-1) 바이트만 남기고 discard
+                    int keep = Math.min(startLength - 1, readable);
+                    int discard = readable - keep;
+                    if (discard > 0) {
+                        in.readerIndex(readerIdx + discard);
+                    }
+                    return;
                 }
-                return;
-            }
 
-            // start 이전 쓰레기 데이터 discard
-            if (startIdx > readerIdx) {
-                in.readerIndex(startIdx);
-                readerIdx = startIdx;
-                readable = in.writerIndex() - readerIdx;
-            }
+                // start 이전 쓰레기 데이터 discard
+                if (startIdx > readerIdx) {
+                    in.readerIndex(startIdx);
+                    readerIdx = startIdx;
+                }
 
-            // start 시퀀스가 완전히 들어왔는지 확인
-            if (readable < start.length) {
-                return;
+                inFrame = true;
+                endScanOffset = startLength;
             }
 
-            int payloadStart = readerIdx + start.length;
+            int payloadStart = readerIdx + startLength;
 
-            // 2) end 찾기 (start 이후부터)
-            int endIdx = ByteBufSearch.indexOf(in, payloadStart, writerIdx, end);
+            // 2) end 찾기 (start 이후, 이미 검사한 구간 제외)
+            int endIdx = endSearcher.indexOf(in, readerIdx + endScanOffset, writerIdx);
             if (endIdx < 0) {
-                // end가 아직 없으면 다음 입력 대기
+                int tail = endLength - 1;
+                int payloadSoFar = Math.max(0, writerIdx - payloadStart - tail);
+                if (payloadSoFar > maxFrameLength) {
+                    // 너무 긴 프레임: start만 버리고 그 뒤에서 start를 다시 찾는다.
+                    in.readerIndex(payloadStart);
+                    onTooLongFrame(ctx, payloadSoFar);
+                    continue;
+                }
+                // end가 아직 없으면 다음 입력 대기 (end가 걸칠 수 있는 마지막 (endLen-1) 바이트는 다시 본다)
+                endScanOffset = Math.max(startLength, writerIdx - readerIdx - tail);
                 return;
             }
 
@@ -80,13 +141,35 @@ public class StartEndFrameDecoder extends ByteToMessageDecoder {
                 throw new IllegalStateException("invalid payload length in START_END framing");
             }
 
+            inFrame = false;
+
+            if (payloadLen > maxFrameLength) {
+                // end까지 도착한 너무 긴 프레임: 통째로 버린다.
+                in.readerIndex(endIdx + endLength);
+                onTooLongFrame(ctx, payloadLen);
+                continue;
+            }
+
             ByteBuf frame = in.retainedSlice(payloadStart, payloadLen);
 
             // start + payload + end 모두 소비
-            in.readerIndex(endIdx + end.length);
+            in.readerIndex(endIdx + endLength);
 
             out.add(frame);
             // loop: 다음 프레임 계속 추출
         }
     }
-}
\ No newline at end of file
+
+    private void onTooLongFrame(ChannelHandlerContext ctx, int payloadBytes) {
+        tooLongFrameCount++;
+        inFrame = false;
+
+        log.warn(StructuredLog.event("frame_too_long",
+                "connId", ctx.channel().id().asShortText(),
+                "kind", "START_END",
+                "maxFrameLength", maxFrameLength,
+                "payloadBytes", payloadBytes,
+                "tooLongFrames", tooLongFrameCount,
+                "action", "resync"));
+    }
+}
@@ -1,6 +1,10 @@
 package com.nori.tc.eqpsim.socket.lifecycle;
 
+import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.metrics.EventLoopLagMonitor;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
+import com.nori.tc.eqpsim.socket.metrics.RunSummary;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,6 +12,8 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -38,6 +44,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * 2) Spring context close 전 NettyTransportLifecycle의 stop을 SmartLifecycle 위임
  *    → Spring이 올바른 Phase 순서로 정리하므로 순서 문제 없음
  * 3) EXIT_GRACE_MS 대기 후 종료 → 진행 중인 로그/flush 완료 기회 제공
+ *
+ * 실행 요약:
+ * - Spring 컨텍스트 종료(= Netty 정리, 최종 로그) 후 System.exit 전에 RunSummary를
+ *   metrics.summary-directory에 JSON/텍스트로 남긴다. (실패해도 종료는 진행)
+ * - 실행 시간은 transport 기동(markTransportStarted) → 종료 조건 충족(scheduleProcessExit) 시점.
+ *   Spring 기동, grace 대기, Netty graceful shutdown 시간은 포함하지 않는다.
  */
 @Component
 public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker {
@@ -51,8 +63,20 @@ public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker
     private static final long EXIT_GRACE_MS = 500;
 
     private final ConfigurableApplicationContext appContext;
+    private final EqpRuntimeRegistry registry;
+    private final LatencyStats latencyStats;
+    private final EventLoopLagMonitor lagMonitor;
+    private final String summaryDirectory;
     private final int totalEqpCount;
 
+    /** 실행 시간 기준 (transport 기동 전이면 coordinator 생성 시각) */
+    private volatile Instant startedAt = Instant.now();
+    private volatile long startedNanos = System.nanoTime();
+
+    /** 종료 조건 충족 시각 (exitTriggered 이후에만 유효) */
+    private volatile Instant endedAt;
+    private volatile long endedNanos;
+
     private final Set<String> completedEqpIds = ConcurrentHashMap.newKeySet();
     private final Set<String> passiveOpenEqpIds = ConcurrentHashMap.newKeySet();
 
@@ -60,8 +84,15 @@ public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker
     private final AtomicBoolean exitTriggered = new AtomicBoolean(false);
 
     public ScenarioCompletionCoordinator(ConfigurableApplicationContext appContext,
-                                         EqpRuntimeRegistry registry) {
+                                         EqpRuntimeRegistry registry,
+                                         LatencyStats latencyStats,
+                                         EventLoopLagMonitor lagMonitor,
+                                         TcEqpSimProperties props) {
         this.appContext = appContext;
+        this.registry = registry;
+        this.latencyStats = latencyStats;
+        this.lagMonitor = lagMonitor;
+        this.summaryDirectory = props.getMetrics().getSummaryDirectory();
         this.totalEqpCount = registry.getTotalEqpCount();
 
         log.info(StructuredLog.event("process_exit_coordinator_ready",
@@ -71,6 +102,12 @@ public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker
 
     // ─── ScenarioCompletionTracker 구현 ──────────────────────────────────────
 
+    @Override
+    public void markTransportStarted() {
+        startedAt = Instant.now();
+        startedNanos = System.nanoTime();
+    }
+
     @Override
     public void markPassiveChannelOpened(String eqpId) {
         if (eqpId == null || eqpId.isBlank()) return;
@@ -152,9 +189,13 @@ public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker
      * 2) EXIT_GRACE_MS 대기
      * 3) SpringApplication.exit(appContext) → SmartLifecycle.stop() 순서대로 호출
      *    → NettyTransportLifecycle.stop() → shutdownGracefully() (비-EventLoop 스레드에서 안전)
-     * 4) System.exit(code)
+     * 4) 실행 요약 파일 작성 (실행 시간은 이 메서드 진입 시각까지)
+     * 5) System.exit(code)
      */
     private void scheduleProcessExit() {
+        endedNanos = System.nanoTime();
+        endedAt = Instant.now();
+
         log.info(StructuredLog.event("process_exit_scheduled",
                 "completed", completedEqpIds.size(),
                 "total", totalEqpCount,
@@ -174,6 +215,7 @@ public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker
 
             // Spring 컨텍스트 정상 종료 (SmartLifecycle 위임 → Netty 포함 정리)
             int exitCode = SpringApplication.exit(appContext, () -> 0);
+            writeRunSummary();
             System.exit(exitCode);
         }, "eqpsim-exit");
 
@@ -181,4 +223,24 @@ public class ScenarioCompletionCoordinator implements ScenarioCompletionTracker
         exitThread.setDaemon(false);
         exitThread.start();
     }
-}
\ No newline at end of file
+
+    /**
+     * 실행 요약(run-summary.json / .txt)을 쓴다. event loop가 모두 멈춘 뒤 호출하므로 최종 값이다.
+     * (초당 값의 분모는 transport 기동 → 종료 조건 충족 구간)
+     */
+    private void writeRunSummary() {
+        if (summaryDirectory == null || summaryDirectory.isBlank()) return;
+        try {
+            RunSummary summary = new RunSummary(startedAt, endedAt, endedNanos - startedNanos,
+                    completedEqpIds.size(), registry.getTraffic().snapshot(),
+                    latencyStats.snapshot(), lagMonitor.snapshot());
+            Path json = summary.writeTo(Path.of(summaryDirectory));
+            log.info(StructuredLog.event("run_summary_written",
+                    "path", json.toAbsolutePath(),
+                    "durationSec", Math.round(summary.durationSec())));
+        } catch (Exception ex) {
+            log.warn(StructuredLog.event("run_summary_write_failed",
+                    "directory", summaryDirectory), ex);
+        }
+    }
+}
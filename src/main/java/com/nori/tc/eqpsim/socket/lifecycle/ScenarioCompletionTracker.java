@@ -18,6 +18,11 @@ public interface ScenarioCompletionTracker {
         @Override public void markPassiveChannelClosed(String eqpId) {}
     };
 
+    /**
+     * transport(PASSIVE bind + ACTIVE connect 시작)가 기동된 시점. 실행 시간 측정의 기준이다.
+     */
+    default void markTransportStarted() {}
+
     void markScenarioCompleted(String eqpId);
 
     /**
@@ -0,0 +1,161 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FrameLogSampler
+ *
+ * 역할:
+ * - 연결 1개의 프레임 단위 로그(eqp_rx, eqp_tx, handshake_rx, fault_drop 등)를 샘플링한다.
+ *   RawInboundBytesLoggingHandler의 "연결당 N건" 상한을 event type별 정책으로 일반화한 것이다.
+ *
+ * 판정 순서 (StructuredLog.info(log, type, sampler)에서 level 확인 후):
+ * 1) 연결별 type 카운터: 처음 first개는 통과, 이후 every개마다 1개 통과 (LogEventType.Sampling)
+ * 2) EQP별 token bucket: 초당 eqpRatePerSec개, 최대 eqpBurst개 (0이면 제한 없음)
+ * - 어느 단계에서든 걸리면 suppressed로 센다.
+ *
+ * 요약 로그:
+ * - 생략이 있었으면 summaryInterval마다 1회, 그리고 연결 종료 시 frame_log_suppressed를 남긴다.
+ *   (주기 판정은 다음 프레임 로그 시도 시점에 한다 → 연결별 타이머 없음)
+ *
+ * 설정:
+ * - tc.eqpsim.logging.sampling.* → StructuredLogConfiguration이 configure()로 반영
+ * - 비활성(기본)이면 of(channel)이 null을 돌려주고 호출부는 샘플링 없이 동작한다.
+ *
+ * 동시성:
+ * - 인스턴스는 채널 attr에 붙고 채널 event loop에서만 사용한다.
+ */
+public final class FrameLogSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(FrameLogSampler.class);
+
+    /**
+     * 전역 샘플링 설정 (불변)
+     */
+    public record Settings(boolean enabled, double eqpRatePerSec, int eqpBurst, long summaryIntervalMs) {
+        public static final Settings DISABLED = new Settings(false, 0, 0, 0);
+    }
+
+    private static volatile Settings settings = Settings.DISABLED;
+
+    private final Channel channel;
+    private final EqpRuntime eqp;
+    private final Ticker ticker;
+    private final Settings conf;
+
+    /** type index별 시도 수 / 요약 이후 생략 수 */
+    private long[] seen = new long[8];
+    private long[] suppressed = new long[8];
+
+    private long suppressedSinceSummary;
+    private long suppressedTotal;
+    private long lastSummaryNanos;
+
+    FrameLogSampler(Channel channel, EqpRuntime eqp, Ticker ticker, Settings conf) {
+        this.channel = channel;
+        this.eqp = eqp;
+        this.ticker = ticker;
+        this.conf = conf;
+        this.lastSummaryNanos = ticker.nanoTime();
+    }
+
+    public static void configure(Settings s) {
+        settings = s != null ? s : Settings.DISABLED;
+    }
+
+    /**
+     * 채널의 sampler. 처음 호출 시 만들고 종료 시 요약을 남기도록 등록한다.
+     *
+     * @return 샘플링 비활성이면 null
+     */
+    public static FrameLogSampler of(Channel channel) {
+        Settings s = settings;
+        if (!s.enabled()) return null;
+
+        FrameLogSampler sampler = channel.attr(ChannelAttributes.FRAME_LOG_SAMPLER).get();
+        if (sampler == null) {
+            sampler = new FrameLogSampler(channel, channel.attr(ChannelAttributes.EQP).get(),
+                    channel.eventLoop().ticker(), s);
+            channel.attr(ChannelAttributes.FRAME_LOG_SAMPLER).set(sampler);
+            FrameLogSampler created = sampler;
+            channel.closeFuture().addListener(f -> created.logSummary(true));
+        }
+        return sampler;
+    }
+
+    /**
+     * 이 type의 프레임 로그를 남길지 판정한다. (false면 suppressed 집계)
+     */
+    public boolean admit(LogEventType type) {
+        int idx = type.getIndex();
+        ensureCapacity(idx);
+        long n = seen[idx]++;
+
+        boolean pass = sampled(type.getSampling(), n) && withinEqpBudget();
+        if (!pass) {
+            suppressed[idx]++;
+            suppressedSinceSummary++;
+            suppressedTotal++;
+        }
+
+        if (suppressedSinceSummary > 0 && conf.summaryIntervalMs() > 0
+                && ticker.nanoTime() - lastSummaryNanos >= TimeUnit.MILLISECONDS.toNanos(conf.summaryIntervalMs())) {
+            logSummary(false);
+        }
+        return pass;
+    }
+
+    public long getSuppressedTotal() {
+        return suppressedTotal;
+    }
+
+    private static boolean sampled(LogEventType.Sampling policy, long n) {
+        if (n < policy.first()) return true;
+        return policy.every() > 0 && (n - policy.first()) % policy.every() == 0;
+    }
+
+    private boolean withinEqpBudget() {
+        if (eqp == null || conf.eqpRatePerSec() <= 0) return true;
+        return eqp.getFrameLogBucket().tryAcquire(conf.eqpRatePerSec(), Math.max(1, conf.eqpBurst()), ticker.nanoTime());
+    }
+
+    private void logSummary(boolean closing) {
+        lastSummaryNanos = ticker.nanoTime();
+        if (suppressedSinceSummary == 0) return;
+
+        StringBuilder byEvent = new StringBuilder();
+        for (LogEventType type : LogEventType.all()) {
+            int idx = type.getIndex();
+            if (idx < suppressed.length && suppressed[idx] > 0) {
+                if (!byEvent.isEmpty()) byEvent.append(',');
+                byEvent.append(type.getName()).append(':').append(suppressed[idx]);
+                suppressed[idx] = 0;
+            }
+        }
+
+        log.info(StructuredLog.event("frame_log_suppressed",
+                "eqpId", eqp != null ? eqp.getEqpId() : "null",
+                "connId", channel.id().asShortText(),
+                "suppressed", suppressedSinceSummary,
+                "suppressedTotal", suppressedTotal,
+                "events", byEvent,
+                "closing", closing));
+        suppressedSinceSummary = 0;
+    }
+
+    private void ensureCapacity(int idx) {
+        if (idx >= seen.length) {
+            int len = Math.max(idx + 1, seen.length * 2);
+            seen = Arrays.copyOf(seen, len);
+            suppressed = Arrays.copyOf(suppressed, len);
+        }
+    }
+}
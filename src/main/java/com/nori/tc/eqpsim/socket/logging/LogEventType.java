@@ -0,0 +1,153 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LogEventType
+ *
+ * 역할:
+ * - 구조화 로그 event 이름 1개와 그 event의 출력 수준(verbosity) 재정의를 담는다.
+ * - hot path 호출부는 static final 상수로 들고 있다가 StructuredLog.info(log, TYPE)로 넘긴다.
+ *   (event마다 Map 조회 없이 volatile 필드 1개만 읽는다)
+ *
+ * 재정의 (tc.eqpsim.logging.events.*):
+ * - 없음  : 호출부가 지정한 level 그대로
+ * - OFF   : 항상 출력하지 않음 (부하 테스트에서 프레임 단위 로그 제거)
+ * - 그 외 : 해당 level로 출력 (예: eqp_tx를 DEBUG로 내림)
+ *
+ * 샘플링 (tc.eqpsim.logging.sampling.*):
+ * - 연결별 FrameLogSampler를 넘기는 호출부(프레임 단위 event)에만 적용된다.
+ * - type별 정책이 없으면 기본 정책(configureSampling의 defaultPolicy)을 쓴다.
+ *
+ * 이름 매칭:
+ * - Spring Map 바인딩은 키의 '_'를 지우므로 소문자 영숫자만 남겨 비교한다. (eqp_tx = eqp-tx = eqptx)
+ * - 설정은 호출부 static 상수보다 먼저 적용될 수 있다. configure는 type을 만들지 않고 정규화 이름으로
+ *   보관만 하며, of()가 호출부의 원래 이름으로 type을 처음 만들 때 적용한다. (로그의 event 이름은 항상 호출부 기준)
+ */
+public final class LogEventType {
+
+    public enum Verbosity { OFF, ERROR, WARN, INFO, DEBUG, TRACE }
+
+    /**
+     * 연결별 샘플링 정책: 처음 first개는 모두, 이후 every개마다 1개 (every <= 0이면 이후 전부 생략)
+     */
+    public record Sampling(int first, int every) {
+        public static final Sampling ALL = new Sampling(Integer.MAX_VALUE, 1);
+    }
+
+    private static final Map<String, LogEventType> TYPES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private static volatile Sampling defaultSampling = Sampling.ALL;
+
+    /** 정규화 이름 → verbosity 재정의 (아직 만들어지지 않은 type에도 적용 대기) */
+    private static Map<String, Verbosity> pendingOverrides = Map.of();
+
+    /** 정규화 이름 → 샘플링 정책 (아직 만들어지지 않은 type에도 적용 대기) */
+    private static Map<String, Sampling> pendingSampling = Map.of();
+
+    private final String name;
+    private final int index;
+    private volatile Verbosity override;
+    private volatile Sampling sampling;
+
+    private LogEventType(String name) {
+        this.name = name;
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    /**
+     * 이름에 해당하는 event type (같은 이름이면 같은 인스턴스)
+     */
+    public static LogEventType of(String name) {
+        String key = normalize(name);
+        LogEventType type = TYPES.get(key);
+        if (type != null) return type;
+        // 생성은 configure와 같은 lock 안에서: 재정의 교체와 type 생성이 엇갈려 누락되지 않도록
+        synchronized (LogEventType.class) {
+            return TYPES.computeIfAbsent(key, k -> {
+                LogEventType created = new LogEventType(name);
+                created.override = pendingOverrides.get(k);
+                created.sampling = pendingSampling.get(k);
+                return created;
+            });
+        }
+    }
+
+    /**
+     * event별 verbosity 재정의를 교체한다. (map에 없는 type은 재정의 해제)
+     */
+    public static synchronized void configure(Map<String, Verbosity> overrides) {
+        Map<String, Verbosity> normalized = new HashMap<>();
+        if (overrides != null) {
+            overrides.forEach((k, v) -> {
+                if (k != null && v != null) normalized.put(normalize(k), v);
+            });
+        }
+        pendingOverrides = normalized;
+        TYPES.forEach((k, type) -> type.override = normalized.get(k));
+    }
+
+    /**
+     * event별 샘플링 정책을 교체한다. (map에 없는 type은 defaultPolicy)
+     */
+    public static synchronized void configureSampling(Sampling defaultPolicy, Map<String, Sampling> overrides) {
+        Map<String, Sampling> normalized = new HashMap<>();
+        if (overrides != null) {
+            overrides.forEach((k, v) -> {
+                if (k != null && v != null) normalized.put(normalize(k), v);
+            });
+        }
+        defaultSampling = defaultPolicy != null ? defaultPolicy : Sampling.ALL;
+        pendingSampling = normalized;
+        TYPES.forEach((k, type) -> type.sampling = normalized.get(k));
+    }
+
+    /**
+     * 지금까지 만들어진 모든 type
+     */
+    public static Collection<LogEventType> all() {
+        return TYPES.values();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 0부터 연속인 type 번호 (연결별 카운터 배열 index)
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Sampling getSampling() {
+        Sampling s = sampling;
+        return s != null ? s : defaultSampling;
+    }
+
+    /**
+     * @return 재정의가 없으면 null
+     */
+    public Verbosity getOverride() {
+        return override;
+    }
+
+    private static String normalize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = Character.toLowerCase(name.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
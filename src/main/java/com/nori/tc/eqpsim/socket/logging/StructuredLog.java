@@ -1,6 +1,8 @@
 package com.nori.tc.eqpsim.socket.logging;
 
-import java.util.Locale;
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
 
 /**
  * StructuredLog
@@ -15,9 +17,18 @@ import java.util.Locale;
  * 예:
  * - StructuredLog.event("handshake_start", "eqpId", "TEST001", "timeoutSec", 60)
  *   -> event=handshake_start eqpId=TEST001 timeoutSec=60
+ *
+ * hot path (프레임 단위 event):
+ * - StructuredLog.info(log, EQP_TX).kv("eqpId", id).kv("stepIndex", i).log()
+ *   - level과 event별 verbosity(LogEventType)를 먼저 확인하고, 꺼져 있으면 아무것도 만들지 않는다.
+ *   - 스레드별 StringBuilder 재사용, varargs/boxing 없음 (StructuredLogEvent)
+ * - event(...)는 lifecycle 등 빈도가 낮은 로그용으로 그대로 둔다. (verbosity 재정의 대상 아님)
+ * - info(log, type, FrameLogSampler.of(channel)): 연결별 샘플링 + EQP별 출력량 상한
  */
 public final class StructuredLog {
 
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     private StructuredLog() {
         // utility class
     }
@@ -35,25 +46,80 @@ public final class StructuredLog {
         return sb.toString().trim();
     }
 
+    // ─── level guard API ───────────────────────────────────────────────────────
+
+    public static StructuredLogEvent info(Logger log, LogEventType type) {
+        return at(log, Level.INFO, type);
+    }
+
+    public static StructuredLogEvent debug(Logger log, LogEventType type) {
+        return at(log, Level.DEBUG, type);
+    }
+
+    /**
+     * info(log, type) + 연결별 샘플링. sampler가 null이면 샘플링 없이 동작한다.
+     * (level이 꺼져 있으면 샘플링 카운터도 건드리지 않는다)
+     */
+    public static StructuredLogEvent info(Logger log, LogEventType type, FrameLogSampler sampler) {
+        return at(log, Level.INFO, type, sampler);
+    }
+
+    public static StructuredLogEvent debug(Logger log, LogEventType type, FrameLogSampler sampler) {
+        return at(log, Level.DEBUG, type, sampler);
+    }
+
+    /**
+     * type의 verbosity 재정의를 반영한 level이 켜져 있을 때만 작성기를 돌려준다.
+     *
+     * @return 꺼져 있으면 {@link StructuredLogEvent#DISABLED}
+     */
+    public static StructuredLogEvent at(Logger log, Level level, LogEventType type) {
+        return at(log, level, type, null);
+    }
+
+    private static StructuredLogEvent at(Logger log, Level level, LogEventType type, FrameLogSampler sampler) {
+        Level effective = effectiveLevel(log, level, type);
+        if (effective == null) return StructuredLogEvent.DISABLED;
+        if (sampler != null && !sampler.admit(type)) return StructuredLogEvent.DISABLED;
+        return StructuredLogEvent.begin(log, effective, type.getName());
+    }
+
+    /**
+     * @return verbosity 재정의 반영 후 출력 level, 꺼져 있으면 null
+     */
+    private static Level effectiveLevel(Logger log, Level level, LogEventType type) {
+        LogEventType.Verbosity v = type.getOverride();
+        Level effective = level;
+        if (v != null) {
+            if (v == LogEventType.Verbosity.OFF) return null;
+            effective = Level.valueOf(v.name());
+        }
+        return log.isEnabledForLevel(effective) ? effective : null;
+    }
+
+    /**
+     * info(log, type)가 출력될지 여부 (로그용 값 계산이 비쌀 때 미리 확인)
+     */
+    public static boolean isInfoEnabled(Logger log, LogEventType type) {
+        return effectiveLevel(log, Level.INFO, type) != null;
+    }
+
+    // ─── encoding ──────────────────────────────────────────────────────────────
+
     private static void appendPairs(StringBuilder sb, Object... kv) {
         if (kv == null || kv.length == 0) {
             return;
         }
-        if (kv.length % 2 != 0) {
-            // 실수 방지: 홀수면 마지막을 무시
-            int len = kv.length - 1;
-            Object[] trimmed = new Object[len];
-            System.arraycopy(kv, 0, trimmed, 0, len);
-            kv = trimmed;
-        }
-        for (int i = 0; i < kv.length; i += 2) {
+        // 실수 방지: 홀수면 마지막을 무시
+        int len = kv.length - (kv.length % 2);
+        for (int i = 0; i < len; i += 2) {
             String key = String.valueOf(kv[i]);
             Object val = kv[i + 1];
             appendPair(sb, key, val);
         }
     }
 
-    private static void appendPair(StringBuilder sb, String key, Object value) {
+    static void appendPair(StringBuilder sb, String key, Object value) {
         if (key == null || key.isBlank()) {
             return;
         }
@@ -62,50 +128,79 @@ public final class StructuredLog {
         }
         sb.append(key);
         sb.append('=');
-        sb.append(encodeValue(value));
+        appendValue(sb, value == null ? null : String.valueOf(value));
     }
 
-    private static String encodeValue(Object value) {
-        if (value == null) {
-            return "null";
+    /**
+     * 공백/제어문자/따옴표/백슬래시/= 포함 시 "..."로 감싸고 escape 한다.
+     */
+    static void appendValue(StringBuilder sb, CharSequence s) {
+        if (s == null) {
+            sb.append("null");
+            return;
         }
-        String s = String.valueOf(value);
-
-        // 공백/제어문자/따옴표/백슬래시/= 포함 시 quoted
+        int n = s.length();
         boolean needQuote = false;
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (Character.isWhitespace(c) || c == '"' || c == '\\' || c == '=' || c < 0x20) {
+        for (int i = 0; i < n; i++) {
+            if (needsQuote(s.charAt(i))) {
                 needQuote = true;
                 break;
             }
         }
         if (!needQuote) {
-            return s;
+            sb.append(s);
+            return;
         }
 
-        // escape
-        StringBuilder out = new StringBuilder(s.length() + 8);
-        out.append('"');
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (c == '"') {
-                out.append("\\\"");
-            } else if (c == '\\') {
-                out.append("\\\\");
-            } else if (c == '\n') {
-                out.append("\\n");
-            } else if (c == '\r') {
-                out.append("\\r");
-            } else if (c == '\t') {
-                out.append("\\t");
-            } else if (c < 0x20) {
-                out.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+        sb.append('"');
+        for (int i = 0; i < n; i++) {
+            appendEscaped(sb, s.charAt(i));
+        }
+        sb.append('"');
+    }
+
+    /**
+     * ASCII 바이트 구간을 appendValue와 같은 규칙으로 기록한다. (호출자가 ASCII임을 보장)
+     */
+    static void appendAsciiValue(StringBuilder sb, ByteBuf buf, int from, int to) {
+        boolean needQuote = false;
+        for (int i = from; i < to; i++) {
+            if (needsQuote((char) buf.getByte(i))) {
+                needQuote = true;
+                break;
+            }
+        }
+        if (needQuote) sb.append('"');
+        for (int i = from; i < to; i++) {
+            char c = (char) buf.getByte(i);
+            if (needQuote) {
+                appendEscaped(sb, c);
             } else {
-                out.append(c);
+                sb.append(c);
             }
         }
-        out.append('"');
-        return out.toString();
+        if (needQuote) sb.append('"');
+    }
+
+    private static boolean needsQuote(char c) {
+        return Character.isWhitespace(c) || c == '"' || c == '\\' || c == '=' || c < 0x20;
+    }
+
+    private static void appendEscaped(StringBuilder sb, char c) {
+        if (c == '"') {
+            sb.append("\\\"");
+        } else if (c == '\\') {
+            sb.append("\\\\");
+        } else if (c == '\n') {
+            sb.append("\\n");
+        } else if (c == '\r') {
+            sb.append("\\r");
+        } else if (c == '\t') {
+            sb.append("\\t");
+        } else if (c < 0x20) {
+            sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+        } else {
+            sb.append(c);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import com.nori.tc.eqpsim.socket.config.LoggingProperties;
+import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * StructuredLogConfiguration
+ *
+ * 역할:
+ * - 기동 시 tc.eqpsim.logging.events / sampling 설정을 LogEventType, FrameLogSampler에 반영한다.
+ *   (transport 기동 전에 적용되어 첫 프레임부터 유효)
+ */
+@Configuration
+public class StructuredLogConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(StructuredLogConfiguration.class);
+
+    public StructuredLogConfiguration(TcEqpSimProperties props) {
+        LogEventType.configure(props.getLogging().getEvents());
+        if (!props.getLogging().getEvents().isEmpty()) {
+            log.info(StructuredLog.event("log_event_verbosity_applied",
+                    "events", props.getLogging().getEvents()));
+        }
+        applySampling(props.getLogging().getSampling());
+    }
+
+    static void applySampling(LoggingProperties.Sampling s) {
+        if (!s.isEnabled()) {
+            LogEventType.configureSampling(LogEventType.Sampling.ALL, Map.of());
+            FrameLogSampler.configure(FrameLogSampler.Settings.DISABLED);
+            return;
+        }
+
+        LogEventType.Sampling def = new LogEventType.Sampling(Math.max(0, s.getFirst()), s.getEvery());
+        Map<String, LogEventType.Sampling> byEvent = new LinkedHashMap<>();
+        s.getEvents().forEach((name, e) -> byEvent.put(name, new LogEventType.Sampling(
+                e.getFirst() != null ? Math.max(0, e.getFirst()) : def.first(),
+                e.getEvery() != null ? e.getEvery() : def.every())));
+        LogEventType.configureSampling(def, byEvent);
+        FrameLogSampler.configure(new FrameLogSampler.Settings(true,
+                s.getEqpRatePerSec(), s.getEqpBurst(), s.getSummaryIntervalMs()));
+
+        log.info(StructuredLog.event("frame_log_sampling_applied",
+                "first", def.first(),
+                "every", def.every(),
+                "eventOverrides", byEvent.keySet(),
+                "eqpRatePerSec", s.getEqpRatePerSec(),
+                "eqpBurst", s.getEqpBurst(),
+                "summaryIntervalMs", s.getSummaryIntervalMs()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * StructuredLogEvent
+ *
+ * 역할:
+ * - StructuredLog.info/debug(log, type)가 돌려주는 key=value 누적기.
+ *   level이 꺼져 있으면 {@link #DISABLED}(모든 호출 무시)가 반환되므로 인자 계산 외의 비용이 없다.
+ *
+ * 할당 정책:
+ * - 스레드별 인스턴스 1개와 StringBuilder를 재사용한다. (event마다 새로 만드는 것은 최종 메시지 String 1개)
+ * - kv(String, long/boolean)는 boxing 없이, kv(String, CharSequence)는 중간 String 없이 escape하며 기록한다.
+ * - varargs 배열을 만들지 않는다.
+ *
+ * 주의:
+ * - log() 호출 전까지만 유효하다. 변수에 보관하거나 다른 스레드로 넘기지 않는다.
+ * - 같은 스레드에서 작성 중에 다른 event를 시작하면(인자 계산 중 로그 등) 임시 인스턴스를 쓴다.
+ */
+public final class StructuredLogEvent {
+
+    /** 출력하지 않는 event. 모든 메서드가 아무것도 하지 않는다. */
+    public static final StructuredLogEvent DISABLED = new StructuredLogEvent();
+
+    private static final int MAX_RETAINED_CAPACITY = 8 * 1024;
+
+    private static final ThreadLocal<StructuredLogEvent> LOCAL = ThreadLocal.withInitial(StructuredLogEvent::new);
+
+    private final StringBuilder sb = new StringBuilder(256);
+    private Logger logger;
+    private Level level;
+    private boolean inUse;
+
+    private StructuredLogEvent() {
+    }
+
+    static StructuredLogEvent begin(Logger logger, Level level, String event) {
+        StructuredLogEvent e = LOCAL.get();
+        if (e.inUse) {
+            e = new StructuredLogEvent();
+        }
+        e.inUse = true;
+        e.logger = logger;
+        e.level = level;
+        e.sb.setLength(0);
+        StructuredLog.appendPair(e.sb, "event", event);
+        return e;
+    }
+
+    /**
+     * 출력될 event인지 (로그 전용 값 계산을 건너뛸 때 사용)
+     */
+    public boolean isEnabled() {
+        return this != DISABLED;
+    }
+
+    public StructuredLogEvent kv(String key, CharSequence value) {
+        if (this == DISABLED) return this;
+        appendKey(key);
+        StructuredLog.appendValue(sb, value);
+        return this;
+    }
+
+    public StructuredLogEvent kv(String key, long value) {
+        if (this == DISABLED) return this;
+        appendKey(key);
+        sb.append(value);
+        return this;
+    }
+
+    public StructuredLogEvent kv(String key, double value) {
+        if (this == DISABLED) return this;
+        appendKey(key);
+        sb.append(value);
+        return this;
+    }
+
+    public StructuredLogEvent kv(String key, boolean value) {
+        if (this == DISABLED) return this;
+        appendKey(key);
+        sb.append(value);
+        return this;
+    }
+
+    public StructuredLogEvent kv(String key, Object value) {
+        if (this == DISABLED) return this;
+        appendKey(key);
+        StructuredLog.appendValue(sb, value == null ? null : String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * 버퍼의 읽을 수 있는 바이트를 UTF-8 문자열 값으로 기록한다. (readerIndex 변경 없음)
+     * - ASCII 구간은 중간 String 없이 바로 escape 한다.
+     */
+    public StructuredLogEvent kvUtf8(String key, ByteBuf buf) {
+        if (this == DISABLED) return this;
+        appendKey(key);
+        int from = buf.readerIndex();
+        int to = buf.writerIndex();
+        for (int i = from; i < to; i++) {
+            if (buf.getByte(i) < 0) {
+                StructuredLog.appendValue(sb, buf.toString(from, to - from, StandardCharsets.UTF_8));
+                return this;
+            }
+        }
+        StructuredLog.appendAsciiValue(sb, buf, from, to);
+        return this;
+    }
+
+    /**
+     * 누적한 메시지를 출력하고 인스턴스를 반환한다.
+     */
+    public void log() {
+        if (this == DISABLED) return;
+        String msg = sb.toString();
+        Logger l = logger;
+        Level lv = level;
+        release();
+        switch (lv) {
+            case ERROR -> l.error(msg);
+            case WARN -> l.warn(msg);
+            case INFO -> l.info(msg);
+            case DEBUG -> l.debug(msg);
+            case TRACE -> l.trace(msg);
+        }
+    }
+
+    private void appendKey(String key) {
+        sb.append(' ').append(key).append('=');
+    }
+
+    private void release() {
+        logger = null;
+        level = null;
+        inUse = false;
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            // 큰 payload 1건 때문에 스레드별 버퍼가 계속 커진 채로 남지 않도록
+            sb.setLength(0);
+            sb.trimToSize();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+/**
+ * TokenBucket
+ *
+ * 역할:
+ * - EQP 1대의 프레임 로그 출력량 상한 (초당 ratePerSec개, 최대 burst개 몰아서 허용)
+ *
+ * 정책:
+ * - rate/burst는 호출 시 넘긴다. (설정이 바뀌어도 EQP별 객체를 다시 만들 필요 없음)
+ * - 처음에는 가득 찬 상태로 시작한다.
+ *
+ * 동시성:
+ * - PASSIVE EQP는 재접속 시 다른 event loop에서 호출할 수 있으므로 synchronized로 보호한다.
+ *   (샘플링을 통과한 프레임만 호출하므로 경합은 낮다)
+ */
+public final class TokenBucket {
+
+    private double tokens = -1;
+    private long lastNanos;
+
+    /**
+     * @return 토큰 1개를 얻었으면 true
+     */
+    public synchronized boolean tryAcquire(double ratePerSec, int burst, long nowNanos) {
+        if (tokens < 0) {
+            tokens = burst;
+        } else {
+            long elapsed = Math.max(0L, nowNanos - lastNanos);
+            tokens = Math.min(burst, tokens + elapsed * ratePerSec / 1_000_000_000.0);
+        }
+        lastNanos = nowNanos;
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+}
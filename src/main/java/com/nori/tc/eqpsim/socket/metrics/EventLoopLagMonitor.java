@@ -0,0 +1,213 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.config.MetricsProperties;
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventLoopLagMonitor
+ *
+ * 역할:
+ * - worker event loop마다 probe task를 주기적으로 예약하고, 예정 시각보다 늦게 실행된 정도(lag)와
+ *   그 순간의 task queue 길이(pendingTasks)를 histogram에 기록한다.
+ * - lag가 크면 시뮬레이터 자신이 포화된 것이다. (TC 응답 지연과 구분하는 용도)
+ *
+ * 측정 방식:
+ * - probe는 실행될 때마다 다음 probe를 interval 뒤로 다시 예약한다. (fixed-rate가 아니다)
+ *   loop가 오래 막혔다가 풀려도 밀린 probe가 연달아 실행되지 않고, lag 1건으로 기록된다.
+ * - lag = 실행 시각 - 예약 시 계산한 예정 시각 (executor ticker 기준, µs로 기록)
+ * - pendingTasks는 SingleThreadEventExecutor일 때만 기록한다. (그 외 executor는 생략)
+ *
+ * 경고:
+ * - lag가 lag-warn-ms를 넘으면 event_loop_lag WARN. loop별로 1초에 1건만 남기고,
+ *   생략한 건수는 다음 WARN의 suppressed에 싣는다. 초과 건수는 event_loop_stats에도 남는다.
+ *
+ * 동시성:
+ * - probe 상태는 자기 event loop에서만 갱신한다. 조회(snapshot/logStats)는 아무 스레드에서나 호출 가능. (근사값)
+ *
+ * 설정 키:
+ * - tc.eqpsim.metrics.event-loop-probe-interval-ms (0이면 끔, 기본 100)
+ * - tc.eqpsim.metrics.event-loop-lag-warn-ms (기본 50)
+ */
+public final class EventLoopLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLoopLagMonitor.class);
+
+    private static final long WARN_MIN_GAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long warnNanos;
+
+    private final List<Probe> probes = new CopyOnWriteArrayList<>();
+
+    private volatile boolean stopped = false;
+
+    public EventLoopLagMonitor(MetricsProperties props) {
+        MetricsProperties p = (props == null) ? new MetricsProperties() : props;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, p.getEventLoopProbeIntervalMs()));
+        this.warnNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, p.getEventLoopLagWarnMs()));
+    }
+
+    public boolean isEnabled() {
+        return intervalNanos > 0;
+    }
+
+    // ─── 시작/종료 ─────────────────────────────────────────────────────────────
+
+    /**
+     * group의 모든 event loop에 probe를 건다. 이름은 "{groupName}-{순번}".
+     */
+    public void start(String groupName, Iterable<? extends EventExecutor> loops) {
+        if (!isEnabled()) return;
+        stopped = false;
+        int i = 0;
+        for (EventExecutor loop : loops) {
+            Probe probe = new Probe(groupName + "-" + i++, loop);
+            probes.add(probe);
+            loop.execute(probe::scheduleNext);
+        }
+    }
+
+    /**
+     * 이후 probe를 다시 예약하지 않는다. (이미 예약된 probe는 취소, 기록은 유지)
+     */
+    public void stop() {
+        stopped = true;
+        for (Probe probe : probes) {
+            probe.cancel();
+        }
+    }
+
+    // ─── 조회 ──────────────────────────────────────────────────────────────────
+
+    /**
+     * loop 1개의 누적 기록. lagUs/pendingTasks는 살아 있는 histogram이다. (읽기 전용으로 사용)
+     */
+    public record LoopStats(String loop,
+                            LogLinearHistogram lagUs,
+                            LogLinearHistogram pendingTasks,
+                            long overThreshold) {
+    }
+
+    /** start 순서대로 loop별 기록 */
+    public List<LoopStats> snapshot() {
+        List<LoopStats> out = new ArrayList<>(probes.size());
+        for (Probe p : probes) {
+            out.add(new LoopStats(p.name, p.lagUs, p.pending, p.overThreshold.get()));
+        }
+        return out;
+    }
+
+    /**
+     * loop별 누적 분포를 event_loop_stats 이벤트로 남긴다. probe 기록이 없으면 생략.
+     *
+     * @param scope periodic(주기 보고) / final(종료 시)
+     */
+    public void logStats(String scope) {
+        for (LoopStats s : snapshot()) {
+            if (s.lagUs().getCount() == 0) continue;
+            log.info(StructuredLog.event("event_loop_stats",
+                    "scope", scope,
+                    "loop", s.loop(),
+                    "probes", s.lagUs().getCount(),
+                    "lagP50Us", s.lagUs().valueAtPercentile(50.0),
+                    "lagP99Us", s.lagUs().valueAtPercentile(99.0),
+                    "lagMaxUs", s.lagUs().getMax(),
+                    "pendingP50", s.pendingTasks().valueAtPercentile(50.0),
+                    "pendingP99", s.pendingTasks().valueAtPercentile(99.0),
+                    "pendingMax", s.pendingTasks().getMax(),
+                    "overThreshold", s.overThreshold()));
+        }
+    }
+
+    // ─── probe (event loop 1개) ────────────────────────────────────────────────
+
+    private final class Probe implements Runnable {
+
+        private final String name;
+        private final EventExecutor loop;
+
+        private final LogLinearHistogram lagUs = new LogLinearHistogram();
+        private final LogLinearHistogram pending = new LogLinearHistogram();
+        private final AtomicLong overThreshold = new AtomicLong();
+
+        // 아래는 loop 스레드 전용
+        private long expectedNanos;
+        private long lastWarnNanos;
+        private long suppressedWarns;
+        private boolean warnedOnce;
+        private ScheduledFuture<?> next;
+
+        private Probe(String name, EventExecutor loop) {
+            this.name = name;
+            this.loop = loop;
+        }
+
+        void scheduleNext() {
+            if (stopped) return;
+            expectedNanos = loop.ticker().nanoTime() + intervalNanos;
+            next = loop.schedule(this, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        void cancel() {
+            if (loop.inEventLoop()) {
+                cancelNow();
+            } else {
+                try {
+                    loop.execute(this::cancelNow);
+                } catch (RuntimeException ignore) {
+                    // loop가 이미 종료됨: 예약된 probe도 함께 버려진다.
+                }
+            }
+        }
+
+        private void cancelNow() {
+            if (next != null) {
+                next.cancel(false);
+                next = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            long now = loop.ticker().nanoTime();
+            long lagNanos = Math.max(0L, now - expectedNanos);
+            int queued = (loop instanceof SingleThreadEventExecutor st) ? st.pendingTasks() : -1;
+
+            lagUs.record(lagNanos / 1_000L);
+            if (queued >= 0) pending.record(queued);
+
+            if (warnNanos > 0 && lagNanos > warnNanos) {
+                overThreshold.incrementAndGet();
+                warn(now, lagNanos, queued);
+            }
+            scheduleNext();
+        }
+
+        private void warn(long now, long lagNanos, int queued) {
+            if (warnedOnce && now - lastWarnNanos < WARN_MIN_GAP_NANOS) {
+                suppressedWarns++;
+                return;
+            }
+            log.warn(StructuredLog.event("event_loop_lag",
+                    "loop", name,
+                    "lagMs", TimeUnit.NANOSECONDS.toMillis(lagNanos),
+                    "thresholdMs", TimeUnit.NANOSECONDS.toMillis(warnNanos),
+                    "pendingTasks", queued,
+                    "suppressed", suppressedWarns));
+            warnedOnce = true;
+            lastWarnNanos = now;
+            suppressedWarns = 0;
+        }
+    }
+}
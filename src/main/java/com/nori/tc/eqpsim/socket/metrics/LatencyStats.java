@@ -0,0 +1,199 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LatencyStats
+ *
+ * 역할:
+ * - TC 응답성 측정용 지연 histogram 모음. (종류 × endpoint × CMD 별, µs 단위)
+ *   - CONNECT_TO_INITIALIZE : 채널 연결(channelActive) → TC의 INITIALIZE 수신
+ *   - INITIALIZE_TO_REP     : INITIALIZE 수신 → INITIALIZE_REP 송신 (시뮬레이터 처리 시간)
+ *   - WAIT_RESPONSE         : WAIT 직전 마지막 EqpToTc 송신 → 기다리던 TcToEqp CMD 수신
+ *
+ * 구조:
+ * - event loop(기록하는 스레드)마다 별도 recorder를 둔다. 채널은 한 event loop에 고정이므로
+ *   같은 histogram을 여러 스레드가 동시에 갱신하지 않는다. (cache line 경합 없음)
+ * - 조회(snapshot) 시 loop별 histogram을 키 단위로 합친다.
+ *
+ * 기록 경로:
+ * - 반복 기록하는 호출부(WAIT 스텝 등)는 {@link #recorder}로 Recorder를 1번 얻어 두고
+ *   이후에는 {@link Recorder#recordNanos}만 부른다. (Map 조회 없음)
+ * - recorder 조회는 종류 → endpoint → CMD 순의 Map.get이라 이미 있는 키는 Key를 만들지 않는다.
+ *   (Key 생성은 키별 최초 1회)
+ *
+ * 동시성:
+ * - record: lock 없음, 할당 없음. (최초 조회만 computeIfAbsent, 값 기록은 LogLinearHistogram)
+ * - snapshot/logStats: 아무 스레드에서나 호출 가능. 기록과 겹치면 근사값이다.
+ */
+public final class LatencyStats {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyStats.class);
+
+    public enum Kind {
+        CONNECT_TO_INITIALIZE("connect_to_initialize"),
+        INITIALIZE_TO_REP("initialize_to_rep"),
+        WAIT_RESPONSE("wait_response");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * 집계 키. cmd는 CONNECT/INITIALIZE 계열은 수신 CMD, WAIT_RESPONSE는 기다린 CMD.
+     */
+    public record Key(Kind kind, String endpointId, String cmd) {
+
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::kind)
+                .thenComparing(Key::endpointId)
+                .thenComparing(Key::cmd);
+    }
+
+    /**
+     * (loop, 키) 1개의 기록 대상. 해당 loop 스레드에서만 기록한다.
+     */
+    public static final class Recorder {
+
+        private final LogLinearHistogram histogram = new LogLinearHistogram();
+
+        private Recorder() {
+        }
+
+        public void recordNanos(long nanos) {
+            histogram.record(nanos / 1_000L);
+        }
+    }
+
+    /**
+     * event loop 1개의 recorder 모음.
+     * - byKind: 기록 경로 조회용 (종류 → endpoint → CMD, Key 없이 조회)
+     * - byKey : snapshot 순회용
+     */
+    private static final class LoopRecorders {
+
+        @SuppressWarnings("unchecked")
+        private final Map<String, Map<String, Recorder>>[] byKind = new Map[Kind.values().length];
+        private final Map<Key, Recorder> byKey = new ConcurrentHashMap<>();
+
+        LoopRecorders() {
+            for (int i = 0; i < byKind.length; i++) {
+                byKind[i] = new ConcurrentHashMap<>();
+            }
+        }
+
+        Recorder get(Kind kind, String endpointId, String cmd) {
+            Map<String, Recorder> byCmd = byKind[kind.ordinal()].get(endpointId);
+            if (byCmd == null) {
+                byCmd = byKind[kind.ordinal()].computeIfAbsent(endpointId, e -> new ConcurrentHashMap<>());
+            }
+            Recorder r = byCmd.get(cmd);
+            if (r == null) {
+                r = byCmd.computeIfAbsent(cmd, c -> byKey.computeIfAbsent(new Key(kind, endpointId, c), k -> new Recorder()));
+            }
+            return r;
+        }
+    }
+
+    /** 기록 스레드(event loop) → recorder 모음 */
+    private final Map<Object, LoopRecorders> recorderByLoop = new ConcurrentHashMap<>();
+
+    /**
+     * 채널의 LatencyStats (Bootstrap attr로 설정, 없으면 null = 기록하지 않음)
+     */
+    public static LatencyStats of(Channel ch) {
+        return ch.attr(ChannelAttributes.LATENCY_STATS).get();
+    }
+
+    // ─── 기록 ──────────────────────────────────────────────────────────────────
+
+    /**
+     * (loop, 종류, endpoint, CMD)의 기록 대상. 호출부가 들고 있다가 반복 기록에 쓴다.
+     *
+     * @param loop 기록하는 event loop (보통 ctx.executor()). 같은 loop의 기록은 같은 histogram에 모인다.
+     */
+    public Recorder recorder(Object loop, Kind kind, String endpointId, String cmd) {
+        LoopRecorders recorders = recorderByLoop.get(loop);
+        if (recorders == null) {
+            recorders = recorderByLoop.computeIfAbsent(loop, l -> new LoopRecorders());
+        }
+        return recorders.get(kind, endpointId == null ? "" : endpointId, cmd == null ? "" : cmd);
+    }
+
+    /**
+     * recorder 조회 + 기록. (같은 키를 반복 기록하는 호출부는 {@link #recorder}를 들고 있을 것)
+     */
+    public void recordNanos(Object loop, Kind kind, String endpointId, String cmd, long nanos) {
+        recorder(loop, kind, endpointId, cmd).recordNanos(nanos);
+    }
+
+    // ─── 조회 ──────────────────────────────────────────────────────────────────
+
+    /**
+     * 모든 loop의 기록을 키별로 합친 사본 (종류 → endpoint → CMD 순)
+     */
+    public SortedMap<Key, LogLinearHistogram> snapshot() {
+        SortedMap<Key, LogLinearHistogram> merged = new TreeMap<>(Key.ORDER);
+        for (LoopRecorders recorders : recorderByLoop.values()) {
+            for (Map.Entry<Key, Recorder> e : recorders.byKey.entrySet()) {
+                merged.computeIfAbsent(e.getKey(), k -> new LogLinearHistogram()).addAll(e.getValue().histogram);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 모든 loop의 기록을 into의 키별 histogram에 더한다. (없는 키만 새로 만든다)
+     * 주기적으로 조회하는 쪽이 into를 재사용해 조회마다 histogram을 새로 만들지 않도록 한다. (비우기는 호출자 몫)
+     */
+    public void mergeInto(Map<Key, LogLinearHistogram> into) {
+        for (LoopRecorders recorders : recorderByLoop.values()) {
+            for (Map.Entry<Key, Recorder> e : recorders.byKey.entrySet()) {
+                LogLinearHistogram h = into.get(e.getKey());
+                if (h == null) {
+                    h = new LogLinearHistogram();
+                    into.put(e.getKey(), h);
+                }
+                h.addAll(e.getValue().histogram);
+            }
+        }
+    }
+
+    /**
+     * 키별 누적 분포를 latency_stats 이벤트로 남긴다. 기록이 없으면 아무것도 남기지 않는다.
+     *
+     * @param scope periodic(주기 보고) / final(종료 시)
+     */
+    public void logStats(String scope) {
+        for (Map.Entry<Key, LogLinearHistogram> e : snapshot().entrySet()) {
+            Key key = e.getKey();
+            LogLinearHistogram h = e.getValue();
+            log.info(StructuredLog.event("latency_stats",
+                    "scope", scope,
+                    "kind", key.kind().label(),
+                    "endpointId", key.endpointId(),
+                    "cmd", key.cmd(),
+                    "count", h.getCount(),
+                    "p50Us", h.valueAtPercentile(50.0),
+                    "p99Us", h.valueAtPercentile(99.0),
+                    "p999Us", h.valueAtPercentile(99.9),
+                    "maxUs", h.getMax()));
+        }
+    }
+}
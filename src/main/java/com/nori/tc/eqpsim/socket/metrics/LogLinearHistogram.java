@@ -0,0 +1,195 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LogLinearHistogram
+ *
+ * 역할:
+ * - 음이 아닌 long 값(지연 µs 등)의 분포를 고정 메모리로 기록하고 백분위수를 구한다.
+ *
+ * bucket 구조 (log-linear):
+ * - 0 ~ 2^s - 1 은 값 1개당 bucket 1개 (정확)
+ * - 그 이상은 2의 거듭제곱 구간마다 2^s개 균등 분할 → 상대 오차 ≤ 2^-s
+ *   (기본 s=4: 구간당 16칸, 오차 ≤ 6.25%)
+ * - highestTrackableValue를 넘는 값은 최댓값 bucket에 넣는다. (max는 실제 값으로 기록)
+ *
+ * 동시성:
+ * - record는 lock 없이 여러 스레드에서 호출해도 된다. (AtomicLongArray)
+ *   PASSIVE EQP는 재접속 시 다른 event loop에서 기록할 수 있다.
+ * - 조회(count/percentile)는 기록과 동시에 호출하면 근사값이다. (집계/로그 용도)
+ */
+public final class LogLinearHistogram {
+
+    /** 기본: 구간당 16칸, 최대 2^40-1 (µs 기준 약 12일) */
+    public static final int DEFAULT_SUB_BUCKET_BITS = 4;
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public LogLinearHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS, DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    public LogLinearHistogram(int subBucketBits, long highestTrackableValue) {
+        if (subBucketBits < 1 || subBucketBits > 10) {
+            throw new IllegalArgumentException("subBucketBits must be in 1..10: " + subBucketBits);
+        }
+        if (highestTrackableValue < (1L << subBucketBits)) {
+            throw new IllegalArgumentException("highestTrackableValue too small: " + highestTrackableValue);
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBucketCount = 1 << subBucketBits;
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    // ─── 기록 ──────────────────────────────────────────────────────────────────
+
+    /**
+     * 값 1개를 기록한다. 음수는 0으로 기록한다.
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        counts.incrementAndGet(indexOf(Math.min(v, highestTrackableValue)));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(v);
+        long m = maxValue.get();
+        while (v > m && !maxValue.compareAndSet(m, v)) {
+            m = maxValue.get();
+        }
+    }
+
+    /**
+     * 다른 histogram의 기록을 더한다. (bucket 구성이 같아야 한다)
+     */
+    public void addAll(LogLinearHistogram other) {
+        if (other.subBucketBits != subBucketBits || other.counts.length() != counts.length()) {
+            throw new IllegalArgumentException("histogram layout mismatch");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        totalCount.addAndGet(other.getCount());
+        totalSum.addAndGet(other.getSum());
+        long om = other.getMax();
+        long m = maxValue.get();
+        while (om > m && !maxValue.compareAndSet(m, om)) {
+            m = maxValue.get();
+        }
+    }
+
+    // ─── 조회 ──────────────────────────────────────────────────────────────────
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getSum() {
+        return totalSum.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0.0 : (double) getSum() / n;
+    }
+
+    /**
+     * 백분위수 값. 해당 bucket의 상한(같은 bucket에 들어가는 가장 큰 값)을 돌려주며 실제 max를 넘지 않는다.
+     *
+     * @param percentile 0 ~ 100
+     * @return 기록이 없으면 0
+     */
+    public long valueAtPercentile(double percentile) {
+        long n = getCount();
+        if (n == 0) return 0L;
+        double p = Math.min(100.0, Math.max(0.0, percentile));
+        long rank = Math.max(1L, (long) Math.ceil(p / 100.0 * n));
+
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 상한 목록별 누적 건수 (Prometheus histogram의 le bucket용). 한 번 순회하며 할당 없음.
+     * bound가 들어 있는 bucket은 통째로 포함한다. (bound보다 최대 상대 오차만큼 큰 값까지 포함될 수 있음)
+     *
+     * @param upperBounds 오름차순 상한
+     * @param out         upperBounds와 같은 길이. out[i] = bound[i] 이하 bucket의 건수 합
+     */
+    public void cumulativeCounts(long[] upperBounds, long[] out) {
+        long seen = 0;
+        int b = 0;
+        int boundIndex = upperBounds.length > 0 ? indexOf(Math.min(upperBounds[0], highestTrackableValue)) : -1;
+        for (int i = 0; i < counts.length() && b < upperBounds.length; i++) {
+            seen += counts.get(i);
+            while (b < upperBounds.length && i == boundIndex) {
+                out[b++] = seen;
+                if (b < upperBounds.length) {
+                    boundIndex = indexOf(Math.min(upperBounds[b], highestTrackableValue));
+                }
+            }
+        }
+        while (b < upperBounds.length) {
+            out[b++] = seen;
+        }
+    }
+
+    /**
+     * 모든 기록을 지운다. 재사용하는 집계용 histogram 전용 (기록 중인 histogram에 호출하면 값이 어긋난다)
+     */
+    public void clear() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalSum.set(0L);
+        maxValue.set(0L);
+    }
+
+    /** bucket 수 (메모리 = bucket 수 × 8 byte) */
+    public int bucketCount() {
+        return counts.length();
+    }
+
+    // ─── bucket 계산 ──────────────────────────────────────────────────────────
+
+    int indexOf(long v) {
+        if (v < subBucketCount) {
+            return (int) v;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(v); // >= subBucketBits
+        int shift = exp - subBucketBits;
+        int sub = (int) (v >>> shift) & (subBucketCount - 1);
+        return subBucketCount + shift * subBucketCount + sub;
+    }
+
+    long highestValueOf(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int shift = (index - subBucketCount) / subBucketCount;
+        int sub = (index - subBucketCount) % subBucketCount;
+        long lowest = ((long) (subBucketCount + sub)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
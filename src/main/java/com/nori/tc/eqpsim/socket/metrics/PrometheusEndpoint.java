@@ -0,0 +1,177 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.runtime.HostPort;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PrometheusEndpoint
+ *
+ * 역할:
+ * - GET /metrics 에 PrometheusRenderer 결과를 text exposition format으로 돌려주는 작은 HTTP listener.
+ *   spring-web 없이 기존 Netty 의존성(HttpServerCodec)만 쓴다.
+ * - 그 외 경로는 404, GET/HEAD 외 method는 405.
+ *
+ * 스레드:
+ * - 전용 NioEventLoopGroup(1)에서 accept/응답을 모두 처리한다. EQP 송수신 workerGroup과 스레드를 나누어
+ *   1초 주기 scrape가 event loop 지연을 만들지 않는다.
+ * - renderer는 이 스레드에서만 호출된다. (PrometheusRenderer 동시성 조건)
+ *
+ * 메모리:
+ * - 응답 버퍼는 직전 응답 크기로 pooled 할당해 작성 중 재할당이 거의 없다.
+ *
+ * 설정 키:
+ * - tc.eqpsim.metrics.prometheus-enabled (기본 false)
+ * - tc.eqpsim.metrics.prometheus-bind (기본 0.0.0.0:9464)
+ */
+@SuppressWarnings("deprecation")
+public final class PrometheusEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(PrometheusEndpoint.class);
+
+    public static final String PATH = "/metrics";
+
+    private final HostPort bind;
+    private final PrometheusRenderer renderer;
+
+    private EventLoopGroup group;
+    private Channel serverChannel;
+
+    /** 직전 응답 크기 (다음 응답 버퍼 초기 용량, scrape 스레드 전용) */
+    private int lastSize = 4096;
+
+    public PrometheusEndpoint(HostPort bind, PrometheusRenderer renderer) {
+        this.bind = bind;
+        this.renderer = renderer;
+    }
+
+    /**
+     * bind까지 완료한다. 실패하면 예외 (설정 오류를 기동 시점에 드러낸다)
+     */
+    public void start() {
+        group = new NioEventLoopGroup(1);
+        ServerBootstrap b = new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast("http", new HttpServerCodec());
+                        ch.pipeline().addLast("metrics", new ScrapeHandler());
+                    }
+                });
+        try {
+            serverChannel = b.bind(bind.host(), bind.port()).syncUninterruptibly().channel();
+        } catch (RuntimeException e) {
+            group.shutdownGracefully();
+            group = null;
+            throw new IllegalStateException("prometheus endpoint bind 실패: " + bind.host() + ":" + bind.port(), e);
+        }
+        log.info(StructuredLog.event("prometheus_endpoint_started",
+                "bind", bind.host() + ":" + bind.port(),
+                "path", PATH));
+    }
+
+    public void stop() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+            serverChannel = null;
+        }
+        if (group != null) {
+            group.shutdownGracefully().syncUninterruptibly();
+            group = null;
+        }
+    }
+
+    // ─── 요청 처리 ──────────────────────────────────────────────────────────────
+
+    private final class ScrapeHandler extends SimpleChannelInboundHandler<HttpObject> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
+            // body(HttpContent)는 무시, 요청 머리에서 바로 응답
+            if (!(msg instanceof HttpRequest req)) return;
+
+            FullHttpResponse res;
+            String path = req.uri();
+            int q = path.indexOf('?');
+            if (q >= 0) path = path.substring(0, q);
+
+            if (!PATH.equals(path)) {
+                res = empty(HttpResponseStatus.NOT_FOUND);
+            } else if (req.method() != HttpMethod.GET && req.method() != HttpMethod.HEAD) {
+                res = empty(HttpResponseStatus.METHOD_NOT_ALLOWED);
+            } else {
+                ByteBuf body = ctx.alloc().buffer(lastSize);
+                try {
+                    renderer.render(body);
+                } catch (RuntimeException e) {
+                    body.release();
+                    log.warn(StructuredLog.event("prometheus_render_failed"), e);
+                    res = empty(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+                    send(ctx, req, res);
+                    return;
+                }
+                lastSize = Math.max(256, body.readableBytes() + (body.readableBytes() >> 3));
+                if (req.method() == HttpMethod.HEAD) {
+                    int len = body.readableBytes();
+                    body.release();
+                    res = empty(HttpResponseStatus.OK);
+                    res.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, len);
+                } else {
+                    res = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, body);
+                    res.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+                }
+                res.headers().set(HttpHeaderNames.CONTENT_TYPE, PrometheusRenderer.CONTENT_TYPE);
+            }
+            send(ctx, req, res);
+        }
+
+        private void send(ChannelHandlerContext ctx, HttpRequest req, FullHttpResponse res) {
+            boolean keepAlive = HttpUtil.isKeepAlive(req);
+            if (keepAlive) {
+                res.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+                ctx.writeAndFlush(res);
+            } else {
+                res.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+                ctx.writeAndFlush(res).addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.debug(StructuredLog.event("prometheus_connection_error",
+                    "error", cause.toString()));
+            ctx.close();
+        }
+    }
+
+    private static FullHttpResponse empty(HttpResponseStatus status) {
+        FullHttpResponse res = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+        res.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, 0);
+        return res;
+    }
+}
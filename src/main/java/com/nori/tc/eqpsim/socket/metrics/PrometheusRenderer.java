@@ -0,0 +1,412 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters.Counter;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PrometheusRenderer
+ *
+ * 역할:
+ * - 시뮬레이터 계측값을 Prometheus text exposition format(0.0.4)으로 ByteBuf에 쓴다.
+ *   - counter  : TrafficCounters endpoint별 합계 (eqpsim_frames_out_total, eqpsim_faults_total{type} ...)
+ *   - gauge    : 열린 채널 수(endpoint, mode), ACTIVE 커넥터 수, 상태별 EQP 수(waiting/emitting/sleeping/idle)
+ *   - histogram: LatencyStats 키별 지연, event loop별 probe 지연 (초 단위, 고정 le bucket)
+ *
+ * 할당:
+ * - metric 이름/HELP/TYPE/label 조각은 생성 시(또는 키가 처음 보일 때) byte[]로 만들어 재사용한다.
+ * - 숫자는 scratch byte[]에 직접 자릿수를 써서 String을 만들지 않는다.
+ * - 카운터는 snapshot 없이 TrafficCounters.sumByEndpoint로 재사용 배열에 합산하고,
+ *   지연 histogram은 재사용 histogram에 비운 뒤 합친다. (처음 보는 키만 새로 만든다)
+ * - 남는 할당: EventLoopLagMonitor.snapshot()의 loop 수만큼의 record, map 순회자.
+ *
+ * 값의 정의:
+ * - PASSIVE 열린 채널 = ConnectionLimitHandler 공유 카운터 (accept된 소켓 수)
+ * - ACTIVE 열린 채널  = endpoint의 connects - disconnects
+ * - le bucket은 LogLinearHistogram bucket 단위로 센다. (경계값 근처는 최대 상대 오차만큼 큰 값까지 포함)
+ *
+ * 동시성:
+ * - render는 한 스레드(scrape 전용 event loop)에서만 호출한다. scratch 상태를 공유하지 않는다.
+ */
+public final class PrometheusRenderer {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** 지연 histogram le 경계 (µs) */
+    static final long[] LATENCY_BOUNDS_US = {
+            100, 500, 1_000, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000, 30_000_000, 60_000_000
+    };
+
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private static final byte[] LE_OPEN = ascii(",le=\"");
+    private static final byte[][] LE_VALUES = new byte[LATENCY_BOUNDS_US.length][];
+    private static final byte[] LE_INF = ascii(",le=\"+Inf\"} ");
+    private static final byte[] CLOSE_SP = ascii("} ");
+    private static final byte[] NL = ascii("\n");
+
+    static {
+        for (int i = 0; i < LATENCY_BOUNDS_US.length; i++) {
+            LE_VALUES[i] = ascii(secondsText(LATENCY_BOUNDS_US[i]) + "\"} ");
+        }
+    }
+
+    private final TrafficCounters traffic;
+    private final LatencyStats latencyStats;
+    private final EventLoopLagMonitor lagMonitor;
+    /** PASSIVE endpoint(bind 순서)별 열린 채널 카운터와 label */
+    private final AtomicInteger[] passiveOpen;
+    private final byte[][] passiveLabel;
+
+    private final EqpRuntime[] eqps;
+    private final int[] endpointOfEqp;
+    private final boolean[] activeEndpoint;
+    private final int[] activeConnectorsByEndpoint;
+
+    // ─── 미리 만든 조각 ──────────────────────────────────────────────────────
+
+    /** counter별 "# HELP/# TYPE" 머리, 시계열 이름 (FAULT_* 는 eqpsim_faults_total 1개로 묶음) */
+    private final byte[][] counterHeader = new byte[COUNTERS.length][];
+    private final byte[][] counterName = new byte[COUNTERS.length][];
+    private final byte[] faultHeader;
+    private final byte[] faultName;
+    private final byte[][] faultType = new byte[COUNTERS.length][];
+
+    /** endpoint별 label 시작 `{endpoint="P1"` (닫지 않음) */
+    private final byte[][] endpointLabel;
+
+    private final Map<LatencyStats.Key, byte[]> latencyLabel = new HashMap<>();
+    private final Map<String, byte[]> loopLabel = new HashMap<>();
+
+    // ─── scratch (render 스레드 전용) ─────────────────────────────────────────
+
+    private final long[][] sums;
+    private final int[][] activityCounts;
+    private final TreeMap<LatencyStats.Key, LogLinearHistogram> latencyScratch = new TreeMap<>(LatencyStats.Key.ORDER);
+    private final long[] bucketScratch = new long[LATENCY_BOUNDS_US.length];
+    private final byte[] digits = new byte[20];
+
+    public PrometheusRenderer(EqpRuntimeRegistry registry,
+                              LatencyStats latencyStats,
+                              EventLoopLagMonitor lagMonitor,
+                              Map<String, AtomicInteger> passiveOpenByEndpoint) {
+        this.traffic = registry.getTraffic();
+        this.latencyStats = latencyStats;
+        this.lagMonitor = lagMonitor;
+
+        // PASSIVE는 bind 목록 기준 (EQP가 없는 endpoint도 포함). 생성 후 endpoint가 늘지 않는다.
+        this.passiveOpen = new AtomicInteger[passiveOpenByEndpoint.size()];
+        this.passiveLabel = new byte[passiveOpen.length][];
+        int p = 0;
+        for (Map.Entry<String, AtomicInteger> en : passiveOpenByEndpoint.entrySet()) {
+            passiveOpen[p] = en.getValue();
+            passiveLabel[p++] = ascii("{endpoint=\"" + escape(en.getKey()) + "\"");
+        }
+
+        List<String> endpoints = traffic.getEndpointIds();
+        this.eqps = registry.getEqps().toArray(new EqpRuntime[0]);
+        this.endpointOfEqp = new int[eqps.length];
+        this.activeEndpoint = new boolean[endpoints.size()];
+        this.activeConnectorsByEndpoint = new int[endpoints.size()];
+        for (int i = 0; i < eqps.length; i++) {
+            int e = endpoints.indexOf(eqps[i].getEndpointId());
+            endpointOfEqp[i] = e;
+            if (eqps[i].getMode() == EqpProperties.Mode.ACTIVE) {
+                activeEndpoint[e] = true;
+                activeConnectorsByEndpoint[e]++;
+            }
+        }
+
+        this.endpointLabel = new byte[endpoints.size()][];
+        for (int e = 0; e < endpoints.size(); e++) {
+            endpointLabel[e] = ascii("{endpoint=\"" + escape(endpoints.get(e)) + "\"");
+        }
+
+        for (Counter c : COUNTERS) {
+            String snake = c.name().toLowerCase();
+            if (!snake.startsWith("fault_")) {
+                String name = "eqpsim_" + snake + "_total";
+                counterHeader[c.ordinal()] = ascii("# HELP " + name + " " + help(c) + "\n# TYPE " + name + " counter\n");
+                counterName[c.ordinal()] = ascii(name);
+            } else {
+                faultType[c.ordinal()] = ascii(",type=\"" + snake.substring("fault_".length()) + "\"");
+            }
+        }
+        this.faultHeader = ascii("# HELP eqpsim_faults_total Fault injections applied, by type\n"
+                + "# TYPE eqpsim_faults_total counter\n");
+        this.faultName = ascii("eqpsim_faults_total");
+
+        this.sums = new long[endpoints.size()][TrafficCounters.COUNTER_COUNT];
+        this.activityCounts = new int[endpoints.size()][EqpRuntime.Activity.values().length];
+    }
+
+    // ─── render ───────────────────────────────────────────────────────────────
+
+    public void render(ByteBuf out) {
+        renderCounters(out);
+        renderGauges(out);
+        renderLatency(out);
+        renderEventLoops(out);
+    }
+
+    private void renderCounters(ByteBuf out) {
+        traffic.sumByEndpoint(sums);
+        for (Counter c : COUNTERS) {
+            byte[] header = counterHeader[c.ordinal()];
+            if (header == null) continue;
+            out.writeBytes(header);
+            for (int e = 0; e < sums.length; e++) {
+                out.writeBytes(counterName[c.ordinal()]).writeBytes(endpointLabel[e]).writeBytes(CLOSE_SP);
+                num(out, sums[e][c.ordinal()]);
+                out.writeBytes(NL);
+            }
+        }
+        out.writeBytes(faultHeader);
+        for (Counter c : COUNTERS) {
+            byte[] type = faultType[c.ordinal()];
+            if (type == null) continue;
+            for (int e = 0; e < sums.length; e++) {
+                out.writeBytes(faultName).writeBytes(endpointLabel[e]).writeBytes(type).writeBytes(CLOSE_SP);
+                num(out, sums[e][c.ordinal()]);
+                out.writeBytes(NL);
+            }
+        }
+    }
+
+    private static final byte[] OPEN_HEADER = ascii("# HELP eqpsim_open_channels Open TC connections\n"
+            + "# TYPE eqpsim_open_channels gauge\n");
+    private static final byte[] OPEN_NAME = ascii("eqpsim_open_channels");
+    private static final byte[] MODE_PASSIVE = ascii(",mode=\"passive\"} ");
+    private static final byte[] MODE_ACTIVE = ascii(",mode=\"active\"} ");
+    private static final byte[] CONNECTORS_HEADER = ascii("# HELP eqpsim_active_connectors ACTIVE EQP connectors\n"
+            + "# TYPE eqpsim_active_connectors gauge\n");
+    private static final byte[] CONNECTORS_NAME = ascii("eqpsim_active_connectors");
+    private static final byte[] EQPS_HEADER = ascii("# HELP eqpsim_eqps EQPs by current activity\n"
+            + "# TYPE eqpsim_eqps gauge\n");
+    private static final byte[] EQPS_NAME = ascii("eqpsim_eqps");
+    private static final byte[][] STATE_LABEL = stateLabels();
+
+    private void renderGauges(ByteBuf out) {
+        out.writeBytes(OPEN_HEADER);
+        for (int p = 0; p < passiveOpen.length; p++) {
+            out.writeBytes(OPEN_NAME).writeBytes(passiveLabel[p]).writeBytes(MODE_PASSIVE);
+            num(out, passiveOpen[p].get());
+            out.writeBytes(NL);
+        }
+        for (int e = 0; e < sums.length; e++) {
+            if (!activeEndpoint[e]) continue;
+            long open = sums[e][Counter.CONNECTS.ordinal()] - sums[e][Counter.DISCONNECTS.ordinal()];
+            out.writeBytes(OPEN_NAME).writeBytes(endpointLabel[e]).writeBytes(MODE_ACTIVE);
+            num(out, Math.max(0L, open));
+            out.writeBytes(NL);
+        }
+
+        out.writeBytes(CONNECTORS_HEADER);
+        for (int e = 0; e < sums.length; e++) {
+            if (!activeEndpoint[e]) continue;
+            out.writeBytes(CONNECTORS_NAME).writeBytes(endpointLabel[e]).writeBytes(CLOSE_SP);
+            num(out, activeConnectorsByEndpoint[e]);
+            out.writeBytes(NL);
+        }
+
+        for (int[] row : activityCounts) {
+            Arrays.fill(row, 0);
+        }
+        for (int i = 0; i < eqps.length; i++) {
+            activityCounts[endpointOfEqp[i]][eqps[i].getActivity().ordinal()]++;
+        }
+        out.writeBytes(EQPS_HEADER);
+        for (int e = 0; e < activityCounts.length; e++) {
+            for (int a = 0; a < STATE_LABEL.length; a++) {
+                out.writeBytes(EQPS_NAME).writeBytes(endpointLabel[e]).writeBytes(STATE_LABEL[a]);
+                num(out, activityCounts[e][a]);
+                out.writeBytes(NL);
+            }
+        }
+    }
+
+    private static final byte[] LATENCY_HEADER = ascii("# HELP eqpsim_latency_seconds Handshake and WAIT response latency\n"
+            + "# TYPE eqpsim_latency_seconds histogram\n");
+    private static final byte[] LATENCY_BUCKET = ascii("eqpsim_latency_seconds_bucket");
+    private static final byte[] LATENCY_SUM = ascii("eqpsim_latency_seconds_sum");
+    private static final byte[] LATENCY_COUNT = ascii("eqpsim_latency_seconds_count");
+
+    private void renderLatency(ByteBuf out) {
+        for (LogLinearHistogram h : latencyScratch.values()) {
+            h.clear();
+        }
+        latencyStats.mergeInto(latencyScratch);
+
+        out.writeBytes(LATENCY_HEADER);
+        for (Map.Entry<LatencyStats.Key, LogLinearHistogram> en : latencyScratch.entrySet()) {
+            LogLinearHistogram h = en.getValue();
+            if (h.getCount() == 0) continue;
+            byte[] label = latencyLabel.computeIfAbsent(en.getKey(), PrometheusRenderer::latencyLabelOf);
+            histogram(out, LATENCY_BUCKET, LATENCY_SUM, LATENCY_COUNT, label, h);
+        }
+    }
+
+    private static final byte[] LAG_HEADER = ascii("# HELP eqpsim_event_loop_lag_seconds Worker event loop probe scheduling lag\n"
+            + "# TYPE eqpsim_event_loop_lag_seconds histogram\n");
+    private static final byte[] LAG_BUCKET = ascii("eqpsim_event_loop_lag_seconds_bucket");
+    private static final byte[] LAG_SUM = ascii("eqpsim_event_loop_lag_seconds_sum");
+    private static final byte[] LAG_COUNT = ascii("eqpsim_event_loop_lag_seconds_count");
+    private static final byte[] OVER_HEADER = ascii("# HELP eqpsim_event_loop_lag_over_threshold_total Probes later than lag-warn-ms\n"
+            + "# TYPE eqpsim_event_loop_lag_over_threshold_total counter\n");
+    private static final byte[] OVER_NAME = ascii("eqpsim_event_loop_lag_over_threshold_total");
+    private static final byte[] PENDING_HEADER = ascii("# HELP eqpsim_event_loop_pending_tasks_max Largest task queue seen by the probe\n"
+            + "# TYPE eqpsim_event_loop_pending_tasks_max gauge\n");
+    private static final byte[] PENDING_NAME = ascii("eqpsim_event_loop_pending_tasks_max");
+
+    private void renderEventLoops(ByteBuf out) {
+        List<EventLoopLagMonitor.LoopStats> loops = lagMonitor.snapshot();
+        if (loops.isEmpty()) return;
+
+        out.writeBytes(LAG_HEADER);
+        for (EventLoopLagMonitor.LoopStats s : loops) {
+            histogram(out, LAG_BUCKET, LAG_SUM, LAG_COUNT, loopLabelOf(s.loop()), s.lagUs());
+        }
+        out.writeBytes(OVER_HEADER);
+        for (EventLoopLagMonitor.LoopStats s : loops) {
+            out.writeBytes(OVER_NAME).writeBytes(loopLabelOf(s.loop())).writeBytes(CLOSE_SP);
+            num(out, s.overThreshold());
+            out.writeBytes(NL);
+        }
+        out.writeBytes(PENDING_HEADER);
+        for (EventLoopLagMonitor.LoopStats s : loops) {
+            out.writeBytes(PENDING_NAME).writeBytes(loopLabelOf(s.loop())).writeBytes(CLOSE_SP);
+            num(out, s.pendingTasks().getMax());
+            out.writeBytes(NL);
+        }
+    }
+
+    /**
+     * histogram 1개 (µs 기록 → 초 단위 le/sum)
+     */
+    private void histogram(ByteBuf out, byte[] bucket, byte[] sum, byte[] count, byte[] label, LogLinearHistogram h) {
+        long n = h.getCount();
+        h.cumulativeCounts(LATENCY_BOUNDS_US, bucketScratch);
+        for (int b = 0; b < LATENCY_BOUNDS_US.length; b++) {
+            out.writeBytes(bucket).writeBytes(label).writeBytes(LE_OPEN).writeBytes(LE_VALUES[b]);
+            num(out, Math.min(bucketScratch[b], n));
+            out.writeBytes(NL);
+        }
+        out.writeBytes(bucket).writeBytes(label).writeBytes(LE_INF);
+        num(out, n);
+        out.writeBytes(NL);
+
+        out.writeBytes(sum).writeBytes(label).writeBytes(CLOSE_SP);
+        seconds(out, h.getSum());
+        out.writeBytes(NL);
+        out.writeBytes(count).writeBytes(label).writeBytes(CLOSE_SP);
+        num(out, n);
+        out.writeBytes(NL);
+    }
+
+    // ─── 숫자 쓰기 (String 없이) ─────────────────────────────────────────────
+
+    private void num(ByteBuf out, long v) {
+        if (v < 0) {
+            // 카운터/gauge는 음수가 아니다. (방어용, 할당 허용)
+            out.writeBytes(ascii(Long.toString(v)));
+            return;
+        }
+        int p = digits.length;
+        do {
+            digits[--p] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        out.writeBytes(digits, p, digits.length - p);
+    }
+
+    /** µs → "초.6자리" */
+    private void seconds(ByteBuf out, long micros) {
+        num(out, micros / 1_000_000L);
+        out.writeByte('.');
+        long frac = micros % 1_000_000L;
+        for (long d = 100_000L; d > 0; d /= 10) {
+            out.writeByte((int) ('0' + (frac / d) % 10));
+        }
+    }
+
+    // ─── label ────────────────────────────────────────────────────────────────
+
+    private byte[] loopLabelOf(String loop) {
+        byte[] label = loopLabel.get(loop);
+        if (label == null) {
+            label = ascii("{loop=\"" + escape(loop) + "\"");
+            loopLabel.put(loop, label);
+        }
+        return label;
+    }
+
+    private static byte[] latencyLabelOf(LatencyStats.Key k) {
+        return ("{kind=\"" + k.kind().label()
+                + "\",endpoint=\"" + escape(k.endpointId())
+                + "\",cmd=\"" + escape(k.cmd()) + "\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] stateLabels() {
+        EqpRuntime.Activity[] states = EqpRuntime.Activity.values();
+        byte[][] labels = new byte[states.length][];
+        for (EqpRuntime.Activity a : states) {
+            labels[a.ordinal()] = ascii(",state=\"" + a.name().toLowerCase() + "\"} ");
+        }
+        return labels;
+    }
+
+    /** label 값 escape: \ " 줄바꿈 */
+    static String escape(String v) {
+        if (v.indexOf('\\') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0) return v;
+        StringBuilder sb = new StringBuilder(v.length() + 8);
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '"' -> sb.append("\\\"");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String help(Counter c) {
+        return switch (c) {
+            case FRAMES_IN -> "Frames received from TC";
+            case BYTES_IN -> "Bytes received from TC (framing removed)";
+            case FRAMES_OUT -> "Frames sent to TC";
+            case BYTES_OUT -> "Bytes sent to TC (framing included)";
+            case UNEXPECTED_IN -> "Frames received while not waiting";
+            case WAIT_TIMEOUTS -> "WAIT steps that timed out";
+            case CONNECTS -> "Connections established";
+            case DISCONNECTS -> "Connections closed";
+            case CONNECT_FAILURES -> "ACTIVE connect attempts that failed";
+            default -> c.name();
+        };
+    }
+
+    private static String secondsText(long micros) {
+        String s = String.format(Locale.ROOT, "%d.%06d", micros / 1_000_000L, micros % 1_000_000L);
+        // 뒤쪽 0 제거 (0.000100 → 0.0001, 1.000000 → 1.0)
+        int end = s.length();
+        while (s.charAt(end - 1) == '0' && s.charAt(end - 2) != '.') end--;
+        return s.substring(0, end);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,316 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters.Counter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * RunSummary
+ *
+ * 역할:
+ * - 실행 1회의 결과 요약. 프로세스 종료 직전에 JSON(CI 파싱용)과 사람이 읽는 텍스트로 남긴다.
+ *   - 실행 시간, 연결/재연결/끊김/연결 실패
+ *   - 프레임·바이트 송수신 합계와 초당 값 (전체 + endpoint별)
+ *   - 장애주입 적용 수(type별), WAIT 타임아웃, 예상 외 수신
+ *   - 핸드셰이크/WAIT 응답 지연 백분위수 (LatencyStats 키별)
+ *   - worker event loop probe 지연/queue 길이 (EventLoopLagMonitor)
+ *
+ * 값의 정의:
+ * - 카운터 키는 traffic_stats 로그와 같다. (framesOut, waitTimeouts, faultDrop ...)
+ * - reconnects = EQP별 max(0, connects - 1)의 합
+ * - 초당 값 = 합계 / durationSec
+ *
+ * 파일:
+ * - {dir}/run-summary.json, {dir}/run-summary.txt (매 실행 덮어씀)
+ * - 임시 파일에 쓴 뒤 move하므로 읽는 쪽이 반쯤 쓰인 파일을 보지 않는다.
+ */
+public final class RunSummary {
+
+    public static final String JSON_FILE = "run-summary.json";
+    public static final String TEXT_FILE = "run-summary.txt";
+
+    private static final Counter[] COUNTERS = Counter.values();
+
+    /** values 행에서 Counter 뒤 칸 */
+    private static final int RECONNECTS = COUNTERS.length;
+
+    private final Instant startedAt;
+    private final Instant endedAt;
+    private final long durationNanos;
+    private final int eqpCount;
+    private final int completedEqpCount;
+
+    /** [0] = 전체, [1..] = endpoint 순서. 값은 Counter.ordinal() + RECONNECTS 칸 */
+    private final String[] scopeNames;
+    private final long[][] values;
+    private final SortedMap<LatencyStats.Key, LogLinearHistogram> latency;
+    private final List<EventLoopLagMonitor.LoopStats> loops;
+
+    /**
+     * @param traffic 실행 전체 구간의 카운터 (표 생성 이후 누적 또는 시작 시점과의 차)
+     */
+    public RunSummary(Instant startedAt,
+                      Instant endedAt,
+                      long durationNanos,
+                      int completedEqpCount,
+                      TrafficCounters.Snapshot traffic,
+                      SortedMap<LatencyStats.Key, LogLinearHistogram> latency,
+                      List<EventLoopLagMonitor.LoopStats> loops) {
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.durationNanos = Math.max(0L, durationNanos);
+        this.eqpCount = traffic.eqpCount();
+        this.completedEqpCount = completedEqpCount;
+        this.latency = latency;
+        this.loops = loops;
+
+        List<String> endpoints = traffic.endpointIds();
+        this.scopeNames = new String[endpoints.size() + 1];
+        scopeNames[0] = "";
+        for (int e = 0; e < endpoints.size(); e++) {
+            scopeNames[e + 1] = endpoints.get(e);
+        }
+
+        this.values = new long[scopeNames.length][COUNTERS.length + 1];
+        long[][] byEndpoint = traffic.endpointTotals();
+        for (int e = 0; e < byEndpoint.length; e++) {
+            System.arraycopy(byEndpoint[e], 0, values[e + 1], 0, COUNTERS.length);
+            for (int c = 0; c < COUNTERS.length; c++) {
+                values[0][c] += byEndpoint[e][c];
+            }
+        }
+        for (int i = 0; i < eqpCount; i++) {
+            long reconnects = Math.max(0L, traffic.get(i, Counter.CONNECTS) - 1);
+            values[0][RECONNECTS] += reconnects;
+            values[endpoints.indexOf(traffic.endpointIdOf(i)) + 1][RECONNECTS] += reconnects;
+        }
+    }
+
+    public double durationSec() {
+        return durationNanos / 1e9;
+    }
+
+    public long total(Counter c) {
+        return values[0][c.ordinal()];
+    }
+
+    public long totalReconnects() {
+        return values[0][RECONNECTS];
+    }
+
+    // ─── 파일 ──────────────────────────────────────────────────────────────────
+
+    /**
+     * dir 아래 JSON/텍스트 요약을 쓴다. (dir이 없으면 만든다)
+     *
+     * @return JSON 파일 경로
+     */
+    public Path writeTo(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        writeAtomically(dir.resolve(TEXT_FILE), toText());
+        Path json = dir.resolve(JSON_FILE);
+        writeAtomically(json, toJson());
+        return json;
+    }
+
+    private static void writeAtomically(Path target, String content) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ─── JSON ─────────────────────────────────────────────────────────────────
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("{\n");
+        sb.append("  \"startedAt\": ");
+        str(sb, startedAt.toString()).append(",\n");
+        sb.append("  \"endedAt\": ");
+        str(sb, endedAt.toString()).append(",\n");
+        sb.append("  \"durationSec\": ").append(fixed(durationSec(), 3)).append(",\n");
+        sb.append("  \"eqpCount\": ").append(eqpCount).append(",\n");
+        sb.append("  \"completedEqpCount\": ").append(completedEqpCount).append(",\n");
+
+        sb.append("  \"totals\": ");
+        jsonCounters(sb, values[0], null);
+        sb.append(",\n");
+
+        sb.append("  \"endpoints\": [");
+        for (int e = 1; e < scopeNames.length; e++) {
+            sb.append(e == 1 ? "\n    " : ",\n    ");
+            jsonCounters(sb, values[e], scopeNames[e]);
+        }
+        sb.append(scopeNames.length > 1 ? "\n  ],\n" : "],\n");
+
+        sb.append("  \"latency\": [");
+        boolean first = true;
+        for (Map.Entry<LatencyStats.Key, LogLinearHistogram> en : latency.entrySet()) {
+            LatencyStats.Key k = en.getKey();
+            LogLinearHistogram h = en.getValue();
+            sb.append(first ? "\n    {" : ",\n    {");
+            first = false;
+            sb.append("\"kind\": ");
+            str(sb, k.kind().label());
+            sb.append(", \"endpointId\": ");
+            str(sb, k.endpointId());
+            sb.append(", \"cmd\": ");
+            str(sb, k.cmd());
+            sb.append(", \"count\": ").append(h.getCount());
+            sb.append(", \"meanUs\": ").append(fixed(h.getMean(), 1));
+            sb.append(", \"p50Us\": ").append(h.valueAtPercentile(50.0));
+            sb.append(", \"p90Us\": ").append(h.valueAtPercentile(90.0));
+            sb.append(", \"p99Us\": ").append(h.valueAtPercentile(99.0));
+            sb.append(", \"p999Us\": ").append(h.valueAtPercentile(99.9));
+            sb.append(", \"maxUs\": ").append(h.getMax());
+            sb.append('}');
+        }
+        sb.append(first ? "],\n" : "\n  ],\n");
+
+        sb.append("  \"eventLoops\": [");
+        first = true;
+        for (EventLoopLagMonitor.LoopStats s : loops) {
+            sb.append(first ? "\n    {" : ",\n    {");
+            first = false;
+            sb.append("\"loop\": ");
+            str(sb, s.loop());
+            sb.append(", \"probes\": ").append(s.lagUs().getCount());
+            sb.append(", \"lagP50Us\": ").append(s.lagUs().valueAtPercentile(50.0));
+            sb.append(", \"lagP99Us\": ").append(s.lagUs().valueAtPercentile(99.0));
+            sb.append(", \"lagMaxUs\": ").append(s.lagUs().getMax());
+            sb.append(", \"pendingP99\": ").append(s.pendingTasks().valueAtPercentile(99.0));
+            sb.append(", \"pendingMax\": ").append(s.pendingTasks().getMax());
+            sb.append(", \"overThreshold\": ").append(s.overThreshold());
+            sb.append('}');
+        }
+        sb.append(first ? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void jsonCounters(StringBuilder sb, long[] v, String endpointId) {
+        sb.append('{');
+        if (endpointId != null) {
+            sb.append("\"endpointId\": ");
+            str(sb, endpointId).append(", ");
+        }
+        for (Counter c : COUNTERS) {
+            sb.append('"').append(TrafficCounters.camel(c)).append("\": ").append(v[c.ordinal()]).append(", ");
+        }
+        sb.append("\"reconnects\": ").append(v[RECONNECTS]);
+        sb.append(", \"framesInPerSec\": ").append(fixed(perSec(v[Counter.FRAMES_IN.ordinal()]), 1));
+        sb.append(", \"framesOutPerSec\": ").append(fixed(perSec(v[Counter.FRAMES_OUT.ordinal()]), 1));
+        sb.append(", \"bytesInPerSec\": ").append(fixed(perSec(v[Counter.BYTES_IN.ordinal()]), 1));
+        sb.append(", \"bytesOutPerSec\": ").append(fixed(perSec(v[Counter.BYTES_OUT.ordinal()]), 1));
+        sb.append('}');
+    }
+
+    private static StringBuilder str(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"');
+    }
+
+    // ─── 텍스트 ───────────────────────────────────────────────────────────────
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("=== tc-eqp-socket-sim run summary ===\n");
+        sb.append("started   : ").append(startedAt).append('\n');
+        sb.append("ended     : ").append(endedAt).append('\n');
+        sb.append("duration  : ").append(fixed(durationSec(), 3)).append(" s\n");
+        sb.append("EQPs      : ").append(completedEqpCount).append(" / ").append(eqpCount).append(" completed\n");
+
+        sb.append("\n-- traffic --\n");
+        sb.append(String.format(Locale.ROOT, "%-12s %10s %10s %12s %12s %14s %14s %8s %8s %8s %8s %8s%n",
+                "endpoint", "frames_in", "frames_out", "in/s", "out/s", "bytes_in", "bytes_out",
+                "connect", "reconn", "discon", "wait_to", "unexp"));
+        for (int e = 0; e < scopeNames.length; e++) {
+            long[] v = values[e];
+            sb.append(String.format(Locale.ROOT, "%-12s %10d %10d %12s %12s %14d %14d %8d %8d %8d %8d %8d%n",
+                    e == 0 ? "(all)" : scopeNames[e],
+                    v[Counter.FRAMES_IN.ordinal()], v[Counter.FRAMES_OUT.ordinal()],
+                    fixed(perSec(v[Counter.FRAMES_IN.ordinal()]), 1), fixed(perSec(v[Counter.FRAMES_OUT.ordinal()]), 1),
+                    v[Counter.BYTES_IN.ordinal()], v[Counter.BYTES_OUT.ordinal()],
+                    v[Counter.CONNECTS.ordinal()], v[RECONNECTS], v[Counter.DISCONNECTS.ordinal()],
+                    v[Counter.WAIT_TIMEOUTS.ordinal()], v[Counter.UNEXPECTED_IN.ordinal()]));
+        }
+        long[] all = values[0];
+        sb.append("connect failures: ").append(all[Counter.CONNECT_FAILURES.ordinal()]).append('\n');
+        sb.append("faults: delay=").append(all[Counter.FAULT_DELAY.ordinal()])
+                .append(" drop=").append(all[Counter.FAULT_DROP.ordinal()])
+                .append(" corrupt=").append(all[Counter.FAULT_CORRUPT.ordinal()])
+                .append(" fragment=").append(all[Counter.FAULT_FRAGMENT.ordinal()])
+                .append(" disconnect=").append(all[Counter.FAULT_DISCONNECT.ordinal()]).append('\n');
+
+        sb.append("\n-- latency (ms) --\n");
+        if (latency.isEmpty()) {
+            sb.append("(no samples)\n");
+        } else {
+            sb.append(String.format(Locale.ROOT, "%-22s %-10s %-20s %8s %9s %9s %9s %9s%n",
+                    "kind", "endpoint", "cmd", "count", "p50", "p99", "p99.9", "max"));
+            for (Map.Entry<LatencyStats.Key, LogLinearHistogram> en : latency.entrySet()) {
+                LatencyStats.Key k = en.getKey();
+                LogLinearHistogram h = en.getValue();
+                sb.append(String.format(Locale.ROOT, "%-22s %-10s %-20s %8d %9s %9s %9s %9s%n",
+                        k.kind().label(), k.endpointId(), k.cmd(), h.getCount(),
+                        ms(h.valueAtPercentile(50.0)), ms(h.valueAtPercentile(99.0)),
+                        ms(h.valueAtPercentile(99.9)), ms(h.getMax())));
+            }
+        }
+
+        sb.append("\n-- event loop lag (ms) --\n");
+        if (loops.isEmpty()) {
+            sb.append("(probe disabled)\n");
+        } else {
+            sb.append(String.format(Locale.ROOT, "%-12s %8s %9s %9s %9s %10s %10s%n",
+                    "loop", "probes", "p50", "p99", "max", "queue_max", "over_warn"));
+            for (EventLoopLagMonitor.LoopStats s : loops) {
+                sb.append(String.format(Locale.ROOT, "%-12s %8d %9s %9s %9s %10d %10d%n",
+                        s.loop(), s.lagUs().getCount(),
+                        ms(s.lagUs().valueAtPercentile(50.0)), ms(s.lagUs().valueAtPercentile(99.0)),
+                        ms(s.lagUs().getMax()), s.pendingTasks().getMax(), s.overThreshold()));
+            }
+        }
+        return sb.toString();
+    }
+
+    // ─── 숫자 ─────────────────────────────────────────────────────────────────
+
+    private double perSec(long total) {
+        return durationNanos > 0 ? total / durationSec() : 0.0;
+    }
+
+    private static String ms(long micros) {
+        return fixed(micros / 1000.0, 3);
+    }
+
+    private static String fixed(double v, int digits) {
+        return String.format(Locale.ROOT, "%." + digits + "f", v);
+    }
+}
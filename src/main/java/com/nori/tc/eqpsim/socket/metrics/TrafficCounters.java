@@ -0,0 +1,334 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TrafficCounters
+ *
+ * 역할:
+ * - EQP별 송수신/이상 카운터 표. (항상 켜져 있음)
+ *   프레임/바이트 수신·송신, 예상 외 수신, WAIT 타임아웃, 연결/끊김, 장애주입 적용 수(type별)
+ * - endpoint별 값은 조회 시 그 endpoint에 속한 EQP 행을 더해 만든다. (기록 경로에 endpoint 공유 셀이 없음)
+ *
+ * 메모리 배치:
+ * - long[] 1개에 EQP 번호(EqpRuntime.getIndex()) 순서로 행을 놓는다.
+ *   행 사이에 64B 이상 빈 칸을 두어 서로 다른 event loop가 갱신하는 두 EQP가 cache line을 공유하지 않는다.
+ * - 행 1개 = STRIDE long (카운터 수를 8의 배수로 올림 + 8)
+ *
+ * 동시성:
+ * - 한 EQP는 동시에 채널 1개에만 묶이므로 행 1개를 갱신하는 스레드는 사실상 하나다.
+ *   (PASSIVE 재접속 직후 이전 채널의 close 처리가 겹칠 수 있어 갱신은 atomic add로 한다. 경합이 없으면 lock xadd 1회)
+ * - 기록은 lock/할당 없음. snapshot은 아무 스레드에서나 호출 가능하다.
+ *
+ * snapshot / delta:
+ * - snapshot()은 모든 셀을 한 번씩 읽어 복사한다. 카운터는 단조 증가이므로
+ *   두 snapshot의 차(minus)는 항상 0 이상이고, 같은 셀을 두 번 세거나 빠뜨리지 않는다.
+ * - 다만 셀 단위로 읽으므로 같은 snapshot 안의 frames/bytes가 진행 중인 송신 1건만큼 어긋날 수 있다.
+ */
+public final class TrafficCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficCounters.class);
+
+    public enum Counter {
+        FRAMES_IN,
+        BYTES_IN,
+        FRAMES_OUT,
+        BYTES_OUT,
+        /** WAIT 상태가 아닐 때 수신한 프레임 */
+        UNEXPECTED_IN,
+        WAIT_TIMEOUTS,
+        CONNECTS,
+        DISCONNECTS,
+        /** ACTIVE connect 실패 */
+        CONNECT_FAILURES,
+        FAULT_DELAY,
+        FAULT_DROP,
+        FAULT_CORRUPT,
+        FAULT_FRAGMENT,
+        FAULT_DISCONNECT
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    static final int COUNTER_COUNT = COUNTERS.length;
+
+    /** 행 사이 최소 간격 (long 8개 = 64B) */
+    private static final int PAD_LONGS = 8;
+    static final int STRIDE = ((COUNTER_COUNT + 7) & ~7) + PAD_LONGS;
+
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final String[] eqpIds;
+    private final int[] endpointOrdinal;
+    private final String[] endpointIds;
+    private final long[] cells;
+    private final Row[] rows;
+
+    /**
+     * @param eqpIds      EQP 번호 순서의 eqpId
+     * @param endpointIds 같은 순서의 endpointId (EQP마다 1개)
+     */
+    public TrafficCounters(List<String> eqpIds, List<String> endpointIds) {
+        if (eqpIds.size() != endpointIds.size()) {
+            throw new IllegalArgumentException("eqpIds/endpointIds size mismatch");
+        }
+        int n = eqpIds.size();
+        this.eqpIds = eqpIds.toArray(new String[0]);
+        this.endpointOrdinal = new int[n];
+
+        Map<String, Integer> ordinalById = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            endpointOrdinal[i] = ordinalById.computeIfAbsent(endpointIds.get(i), k -> ordinalById.size());
+        }
+        this.endpointIds = ordinalById.keySet().toArray(new String[0]);
+
+        // 앞쪽에도 PAD_LONGS: 배열 header와 첫 행이 같은 line에 걸리지 않도록
+        this.cells = new long[PAD_LONGS + n * STRIDE];
+        this.rows = new Row[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = new Row(cells, PAD_LONGS + i * STRIDE);
+        }
+    }
+
+    /**
+     * 표에 속하지 않는 단독 행 (EqpRuntimeRegistry 밖에서 만든 EqpRuntime 기본값)
+     */
+    public static Row standaloneRow() {
+        return new Row(new long[PAD_LONGS + STRIDE], PAD_LONGS);
+    }
+
+    public Row row(int eqpIndex) {
+        return rows[eqpIndex];
+    }
+
+    public int eqpCount() {
+        return eqpIds.length;
+    }
+
+    public List<String> getEndpointIds() {
+        return List.of(endpointIds);
+    }
+
+    // ─── 행 (EQP 1개) ────────────────────────────────────────────────────────
+
+    /**
+     * EQP 1개의 카운터. EqpRuntime.getTraffic()으로 얻어 기록한다.
+     */
+    public static final class Row {
+
+        private final long[] cells;
+        private final int base;
+
+        private Row(long[] cells, int base) {
+            this.cells = cells;
+            this.base = base;
+        }
+
+        public void increment(Counter c) {
+            CELLS.getAndAdd(cells, base + c.ordinal(), 1L);
+        }
+
+        public void add(Counter c, long delta) {
+            CELLS.getAndAdd(cells, base + c.ordinal(), delta);
+        }
+
+        /** 수신 프레임 1개 (프레이밍 제거 후 길이) */
+        public void recordRx(int bytes) {
+            CELLS.getAndAdd(cells, base + Counter.FRAMES_IN.ordinal(), 1L);
+            CELLS.getAndAdd(cells, base + Counter.BYTES_IN.ordinal(), (long) bytes);
+        }
+
+        /** 송신 프레임 1개 (프레이밍 포함 길이) */
+        public void recordTx(int bytes) {
+            CELLS.getAndAdd(cells, base + Counter.FRAMES_OUT.ordinal(), 1L);
+            CELLS.getAndAdd(cells, base + Counter.BYTES_OUT.ordinal(), (long) bytes);
+        }
+
+        public long get(Counter c) {
+            return (long) CELLS.getAcquire(cells, base + c.ordinal());
+        }
+    }
+
+    // ─── snapshot ─────────────────────────────────────────────────────────────
+
+    /**
+     * 현재 값 사본 (nanoTime = 조회 시각)
+     */
+    public Snapshot snapshot() {
+        long[] values = new long[eqpIds.length * COUNTER_COUNT];
+        for (int i = 0; i < eqpIds.length; i++) {
+            int src = PAD_LONGS + i * STRIDE;
+            int dst = i * COUNTER_COUNT;
+            for (int c = 0; c < COUNTER_COUNT; c++) {
+                values[dst + c] = (long) CELLS.getAcquire(cells, src + c);
+            }
+        }
+        return new Snapshot(this, System.nanoTime(), 0L, values);
+    }
+
+    /**
+     * endpoint별 합계를 into[endpoint 순서][Counter.ordinal()]에 쓴다. (snapshot 없이 셀을 직접 합산, 할당 없음)
+     * 주기적인 외부 조회(scrape)용. 셀 단위 읽기이므로 snapshot과 같은 정도로 근사값이다.
+     */
+    public void sumByEndpoint(long[][] into) {
+        for (long[] row : into) {
+            Arrays.fill(row, 0L);
+        }
+        for (int i = 0; i < eqpIds.length; i++) {
+            long[] sum = into[endpointOrdinal[i]];
+            int src = PAD_LONGS + i * STRIDE;
+            for (int c = 0; c < COUNTER_COUNT; c++) {
+                sum[c] += (long) CELLS.getAcquire(cells, src + c);
+            }
+        }
+    }
+
+    /**
+     * 카운터 값 사본. snapshot() 결과이거나 두 snapshot의 차(minus)이다.
+     */
+    public static final class Snapshot {
+
+        private final TrafficCounters table;
+        private final long nanoTime;
+        private final long intervalNanos;
+        private final long[] values;
+
+        private Snapshot(TrafficCounters table, long nanoTime, long intervalNanos, long[] values) {
+            this.table = table;
+            this.nanoTime = nanoTime;
+            this.intervalNanos = intervalNanos;
+            this.values = values;
+        }
+
+        /**
+         * this - earlier. 결과의 intervalNanos는 두 조회 사이 시간. earlier가 null이면 this 그대로(표 생성 이후 누적).
+         */
+        public Snapshot minus(Snapshot earlier) {
+            if (earlier == null) return this;
+            if (earlier.table != table) {
+                throw new IllegalArgumentException("snapshot of another table");
+            }
+            long[] delta = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                delta[i] = values[i] - earlier.values[i];
+            }
+            return new Snapshot(table, nanoTime, nanoTime - earlier.nanoTime, delta);
+        }
+
+        /** minus 결과일 때 구간 길이, snapshot()이면 0 */
+        public long intervalNanos() {
+            return intervalNanos;
+        }
+
+        public int eqpCount() {
+            return table.eqpIds.length;
+        }
+
+        public String eqpId(int eqpIndex) {
+            return table.eqpIds[eqpIndex];
+        }
+
+        public String endpointIdOf(int eqpIndex) {
+            return table.endpointIds[table.endpointOrdinal[eqpIndex]];
+        }
+
+        public List<String> endpointIds() {
+            return table.getEndpointIds();
+        }
+
+        public long get(int eqpIndex, Counter c) {
+            return values[eqpIndex * COUNTER_COUNT + c.ordinal()];
+        }
+
+        public long endpointTotal(String endpointId, Counter c) {
+            long sum = 0;
+            for (int i = 0; i < table.eqpIds.length; i++) {
+                if (table.endpointIds[table.endpointOrdinal[i]].equals(endpointId)) {
+                    sum += values[i * COUNTER_COUNT + c.ordinal()];
+                }
+            }
+            return sum;
+        }
+
+        public long total(Counter c) {
+            long sum = 0;
+            for (int i = c.ordinal(); i < values.length; i += COUNTER_COUNT) {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+        /**
+         * endpoint별 합계 [endpoint 순서][Counter.ordinal()]
+         */
+        public long[][] endpointTotals() {
+            long[][] sums = new long[table.endpointIds.length][COUNTER_COUNT];
+            for (int i = 0; i < table.eqpIds.length; i++) {
+                long[] row = sums[table.endpointOrdinal[i]];
+                int src = i * COUNTER_COUNT;
+                for (int c = 0; c < COUNTER_COUNT; c++) {
+                    row[c] += values[src + c];
+                }
+            }
+            return sums;
+        }
+    }
+
+    // ─── 로그 ─────────────────────────────────────────────────────────────────
+
+    /**
+     * endpoint별 합계를 traffic_stats 이벤트로 남긴다. (값이 모두 0인 endpoint는 생략)
+     *
+     * @param scope periodic(직전 보고 이후 증가분) / final(전체 누적)
+     */
+    public static void logEndpointStats(String scope, Snapshot s) {
+        long[][] sums = s.endpointTotals();
+        List<String> endpoints = s.endpointIds();
+        double sec = s.intervalNanos() > 0 ? s.intervalNanos() / 1e9 : 0.0;
+        for (int e = 0; e < sums.length; e++) {
+            long[] v = sums[e];
+            if (isZero(v)) continue;
+
+            List<Object> kv = new ArrayList<>(4 + COUNTER_COUNT * 2 + 4);
+            Collections.addAll(kv, "scope", scope, "endpointId", endpoints.get(e));
+            for (Counter c : COUNTERS) {
+                kv.add(camel(c));
+                kv.add(v[c.ordinal()]);
+            }
+            if (sec > 0) {
+                kv.add("framesOutPerSec");
+                kv.add(Math.round(v[Counter.FRAMES_OUT.ordinal()] / sec));
+                kv.add("framesInPerSec");
+                kv.add(Math.round(v[Counter.FRAMES_IN.ordinal()] / sec));
+            }
+            log.info(StructuredLog.event("traffic_stats", kv.toArray()));
+        }
+    }
+
+    private static boolean isZero(long[] v) {
+        for (long x : v) {
+            if (x != 0) return false;
+        }
+        return true;
+    }
+
+    /** FRAMES_OUT → framesOut (로그 키) */
+    static String camel(Counter c) {
+        String[] parts = c.name().toLowerCase().split("_");
+        StringBuilder sb = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            sb.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i], 1, parts[i].length());
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,6 @@
 package com.nori.tc.eqpsim.socket.netty;
 
-import com.nori.tc.eqpsim.socket.framing.SocketFramerFactory;
+import com.nori.tc.eqpsim.socket.capture.WireCaptureRxHandler;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.scenario.ScenarioRegistry;
@@ -31,8 +31,9 @@ public class ActiveChannelInitializer extends ChannelInitializer<SocketChannel>
 
         ch.pipeline().addLast("rawRx", new RawInboundBytesLoggingHandler(5));
 
-        ByteToMessageDecoder framer = SocketFramerFactory.create(eqp.getSocketType());
+        ByteToMessageDecoder framer = eqp.getSocketCodec().newDecoder();
         ch.pipeline().addLast("framer", framer);
+        WireCaptureRxHandler.addAfterFramer(ch, "framer", eqp);
 
         ch.pipeline().addLast("handshake", new HandshakeHandler(scenarioRegistry, tracker));
     }
@@ -1,17 +1,23 @@
 package com.nori.tc.eqpsim.socket.netty;
 
+import com.nori.tc.eqpsim.socket.capture.WireCaptureService;
+import com.nori.tc.eqpsim.socket.config.BackpressureProperties;
 import com.nori.tc.eqpsim.socket.config.EndpointsProperties;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.runtime.HostPort;
 import com.nori.tc.eqpsim.socket.scenario.ScenarioRegistry;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -36,6 +42,7 @@ public final class ActiveClientConnector {
     private final EqpRuntime eqp;
     private final EventLoopGroup group;
     private final EndpointsProperties.ActiveBackoffProperties backoffProps;
+    private final TimerService timerService;
     private final Bootstrap bootstrap;
 
     /** 비정상 close 이후 재연결 시도 횟수. 성공 시 0으로 초기화됩니다. */
@@ -57,17 +64,28 @@ public final class ActiveClientConnector {
      * @param eqp             연결할 EQP의 런타임 정보
      * @param group           Netty EventLoopGroup (NettyTransportLifecycle의 workerGroup 공유)
      * @param backoffProps    재연결 backoff 설정
+     * @param backpressureProps 송신 water mark / unwritable 처리 정책
+     * @param timerService    재연결 예약 및 채널 타이머 공급자
+     * @param wireCapture     송수신 프레임 바이너리 기록 (사용하지 않으면 null)
+     * @param latencyStats    핸드셰이크/WAIT 응답 지연 기록 (사용하지 않으면 null)
+     * @param replayIo        REPLAY 로그 파일 읽기 실행기
      * @param scenarioRegistry 시나리오 plan 조회용 레지스트리
      * @param tracker         시나리오 완료/채널 open-close 추적기
      */
     public ActiveClientConnector(EqpRuntime eqp,
                                  EventLoopGroup group,
                                  EndpointsProperties.ActiveBackoffProperties backoffProps,
+                                 BackpressureProperties backpressureProps,
+                                 TimerService timerService,
+                                 WireCaptureService wireCapture,
+                                 LatencyStats latencyStats,
+                                 Executor replayIo,
                                  ScenarioRegistry scenarioRegistry,
                                  ScenarioCompletionTracker tracker) {
         this.eqp = eqp;
         this.group = group;
         this.backoffProps = backoffProps;
+        this.timerService = timerService;
 
         // Bootstrap은 재사용 가능하므로 생성자에서 1회 구성합니다.
         this.bootstrap = new Bootstrap();
@@ -75,6 +93,12 @@ public final class ActiveClientConnector {
                 .channel(NioSocketChannel.class)
                 .option(ChannelOption.TCP_NODELAY, true)
                 .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyTransportLifecycle.writeBufferWaterMark(backpressureProps))
+                .attr(ChannelAttributes.BACKPRESSURE_POLICY, backpressureProps.getPolicy())
+                .attr(ChannelAttributes.TIMER_SERVICE, timerService)
+                .attr(ChannelAttributes.WIRE_CAPTURE, wireCapture)
+                .attr(ChannelAttributes.LATENCY_STATS, latencyStats)
+                .attr(ChannelAttributes.REPLAY_IO, replayIo)
                 .handler(new ActiveChannelInitializer(eqp, scenarioRegistry, tracker));
     }
 
@@ -113,6 +137,7 @@ public final class ActiveClientConnector {
             }
 
             if (!future.isSuccess()) {
+                eqp.getTraffic().increment(TrafficCounters.Counter.CONNECT_FAILURES);
                 scheduleReconnect("connect_failed");
                 return;
             }
@@ -120,6 +145,7 @@ public final class ActiveClientConnector {
             // 연결 성공
             activeChannel = future.channel();
             reconnectAttempt = 0;
+            eqp.getTraffic().increment(TrafficCounters.Counter.CONNECTS);
 
             log.info(StructuredLog.event("active_connected",
                     "eqpId", eqp.getEqpId(),
@@ -128,7 +154,10 @@ public final class ActiveClientConnector {
                     "local", String.valueOf(activeChannel.localAddress())));
 
             // 채널 종료 감지: 정상 종료(SCENARIO_COMPLETED) vs 비정상 종료
-            activeChannel.closeFuture().addListener((ChannelFutureListener) closeFuture -> onChannelClosed());
+            activeChannel.closeFuture().addListener((ChannelFutureListener) closeFuture -> {
+                eqp.getTraffic().increment(TrafficCounters.Counter.DISCONNECTS);
+                onChannelClosed();
+            });
         });
     }
 
@@ -177,7 +206,7 @@ public final class ActiveClientConnector {
     /**
      * backoff 정책으로 재연결을 예약합니다.
      * - 지연 시간: initialSec * multiplier^(attempt-1), 최대 maxSec
-     * - Netty EventLoop(group.next())에서 스케줄링합니다.
+     * - Netty EventLoop(group.next())의 타이머로 예약합니다.
      *
      * @param reason 재연결 원인 (로그용)
      */
@@ -196,7 +225,7 @@ public final class ActiveClientConnector {
                 "attempt", reconnectAttempt,
                 "delaySec", delaySec));
 
-        group.next().schedule(this::connectNow, delaySec, TimeUnit.SECONDS);
+        timerService.timerFor(group.next()).schedule(this::connectNow, delaySec, TimeUnit.SECONDS);
     }
 
     /**
@@ -1,9 +1,16 @@
 package com.nori.tc.eqpsim.socket.netty;
 
+import com.nori.tc.eqpsim.socket.capture.WireCaptureService;
+import com.nori.tc.eqpsim.socket.config.BackpressureProperties;
+import com.nori.tc.eqpsim.socket.logging.FrameLogSampler;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.scenario.runtime.FaultState;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
 import io.netty.util.AttributeKey;
 
+import java.util.concurrent.Executor;
+
 /**
  * Netty Channel Attribute Keys
  */
@@ -21,6 +28,38 @@ public final class ChannelAttributes {
      */
     public static final AttributeKey<FaultState> FAULT_STATE = AttributeKey.valueOf("tc.eqpsim.faultState");
 
+    /**
+     * 채널이 unwritable일 때의 EMIT/SEND 처리 정책 (Bootstrap attr로 설정, 없으면 PAUSE)
+     */
+    public static final AttributeKey<BackpressureProperties.Policy> BACKPRESSURE_POLICY =
+            AttributeKey.valueOf("tc.eqpsim.backpressurePolicy");
+
+    /**
+     * event loop별 타이머 공급자 (Bootstrap attr로 설정, 없으면 ctx.executor().schedule 사용)
+     */
+    public static final AttributeKey<TimerService> TIMER_SERVICE = AttributeKey.valueOf("tc.eqpsim.timerService");
+
+    /**
+     * 프레임 로그 샘플러 (연결 단위, FrameLogSampler.of(channel)이 처음 호출될 때 생성)
+     */
+    public static final AttributeKey<FrameLogSampler> FRAME_LOG_SAMPLER =
+            AttributeKey.valueOf("tc.eqpsim.frameLogSampler");
+
+    /**
+     * 송수신 프레임 바이너리 기록 (Bootstrap attr로 설정, 없으면 기록하지 않음)
+     */
+    public static final AttributeKey<WireCaptureService> WIRE_CAPTURE = AttributeKey.valueOf("tc.eqpsim.wireCapture");
+
+    /**
+     * 핸드셰이크/WAIT 응답 지연 histogram (Bootstrap attr로 설정, 없으면 기록하지 않음)
+     */
+    public static final AttributeKey<LatencyStats> LATENCY_STATS = AttributeKey.valueOf("tc.eqpsim.latencyStats");
+
+    /**
+     * REPLAY 로그 파일 읽기 실행기 (Bootstrap attr로 설정, NettyTransportLifecycle이 소유)
+     */
+    public static final AttributeKey<Executor> REPLAY_IO = AttributeKey.valueOf("tc.eqpsim.replayIo");
+
     /**
      * 채널 종료 사유(정상/비정상)
      * - ScenarioRunner가 정상 완료 후 close 시 값을 넣는다.
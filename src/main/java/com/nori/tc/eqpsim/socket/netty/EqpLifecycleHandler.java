@@ -3,6 +3,7 @@ package com.nori.tc.eqpsim.socket.netty;
 import com.nori.tc.eqpsim.socket.config.EqpProperties;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
 import io.netty.channel.ChannelHandlerContext;
@@ -12,6 +13,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
 
+/**
+ * EqpLifecycleHandler
+ *
+ * 역할:
+ * - PASSIVE 채널의 EQP 할당 해제(pool 반환)와 close 추적.
+ * - 연결/끊김 수를 EQP 카운터(TrafficCounters)에 더한다. (ACTIVE는 ActiveClientConnector가 기록)
+ */
 public class EqpLifecycleHandler extends ChannelInboundHandlerAdapter {
 
     private static final Logger log = LoggerFactory.getLogger(EqpLifecycleHandler.class);
@@ -29,11 +37,23 @@ public class EqpLifecycleHandler extends ChannelInboundHandlerAdapter {
         this.tracker = tracker == null ? ScenarioCompletionTracker.NOOP : tracker;
     }
 
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+        if (eqp != null) {
+            eqp.getTraffic().increment(TrafficCounters.Counter.CONNECTS);
+        }
+        ctx.fireChannelActive();
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         try {
             EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
             String endpointId = ctx.channel().attr(ChannelAttributes.ENDPOINT_ID).get();
+            if (eqp != null) {
+                eqp.getTraffic().increment(TrafficCounters.Counter.DISCONNECTS);
+            }
 
             if (eqp != null && eqp.getMode() == EqpProperties.Mode.PASSIVE) {
                 registry.releasePassiveEqpId(endpointId, eqp.getEqpId());
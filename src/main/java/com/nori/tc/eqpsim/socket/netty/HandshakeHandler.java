@@ -2,20 +2,29 @@ package com.nori.tc.eqpsim.socket.netty;
 
 import com.nori.tc.eqpsim.socket.config.EqpProperties;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
+import com.nori.tc.eqpsim.socket.logging.FrameLogSampler;
+import com.nori.tc.eqpsim.socket.logging.LogEventType;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
-import com.nori.tc.eqpsim.socket.protocol.FrameTokenParser;
+import com.nori.tc.eqpsim.socket.logging.StructuredLogEvent;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
+import com.nori.tc.eqpsim.socket.protocol.FrameCmdScanner;
+import com.nori.tc.eqpsim.socket.rate.RateGeneratorHandler;
+import com.nori.tc.eqpsim.socket.rate.RatePlan;
+import com.nori.tc.eqpsim.socket.replay.ReplayGeneratorHandler;
+import com.nori.tc.eqpsim.socket.replay.ReplayPlan;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.scenario.PayloadTemplate;
 import com.nori.tc.eqpsim.socket.scenario.ScenarioPlan;
 import com.nori.tc.eqpsim.socket.scenario.ScenarioRegistry;
 import com.nori.tc.eqpsim.socket.scenario.runtime.ScenarioRunnerHandler;
+import com.nori.tc.eqpsim.socket.timer.SimTimer;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -24,7 +33,9 @@ import java.util.concurrent.TimeUnit;
  * 역할:
  * - TC → EqpSim 방향의 CMD=INITIALIZE를 수신하면
  *   CMD=INITIALIZE_REP EQPID=<eqpId> 를 응답한다.
- * - 완료 후 ScenarioRunnerHandler로 pipeline을 replace한다.
+ * - 완료 후 ScenarioRunnerHandler(RATE profile은 RateGeneratorHandler, REPLAY profile은 ReplayGeneratorHandler)로
+ *   pipeline을 replace한다.
+ * - 연결 → INITIALIZE 수신, INITIALIZE 수신 → INITIALIZE_REP 송신 지연을 LatencyStats에 기록한다. (채널 attr이 있을 때)
  *
  * ✅ [B3 수정] eqp == null 시 close 전 타이머 취소 누락
  *   - ctx.close() 호출 전 cancelTimeout() 추가
@@ -41,7 +52,15 @@ import java.util.concurrent.TimeUnit;
 public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
     private static final Logger log = LoggerFactory.getLogger(HandshakeHandler.class);
+
+    private static final LogEventType HANDSHAKE_RX = LogEventType.of("handshake_rx");
+    private static final LogEventType HANDSHAKE_TX = LogEventType.of("handshake_tx");
+
     private static final String CMD_INITIALIZE = "INITIALIZE";
+    private static final String CMD_INITIALIZE_REP = "INITIALIZE_REP";
+
+    /** 응답 payload: 컴파일된 템플릿으로 송신 버퍼에 직접 기록 */
+    private static final PayloadTemplate INITIALIZE_REP = PayloadTemplate.compile("CMD=INITIALIZE_REP EQPID={eqpid}");
 
     private final ScenarioRegistry scenarioRegistry;
     private final ScenarioCompletionTracker tracker;
@@ -49,7 +68,13 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
     private volatile boolean handshaked = false;
 
     /** 핸드셰이크 타임아웃 타이머 핸들. null이면 타이머 없음 */
-    private ScheduledFuture<?> timeoutFuture;
+    private SimTimer.Timeout timeoutFuture;
+
+    /** channelActive 시각 (event loop ticker, 0이면 미기록) */
+    private long activeNanos;
+
+    /** 채널 전용 CMD 스캐너 (프레임마다 재사용, 수신 CMD를 String 없이 판정) */
+    private final FrameCmdScanner cmdScanner = new FrameCmdScanner();
 
     // ─── 생성자 ─────────────────────────────────────────────────────────────────
 
@@ -82,11 +107,13 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
             return;
         }
 
+        activeNanos = ctx.executor().ticker().nanoTime();
+
         long configured = eqp.getHandshakeTimeoutSec();
         final long handshakeTimeoutSec = (configured > 0) ? configured : 60;
 
         // 타임아웃 타이머 설정
-        timeoutFuture = ctx.executor().schedule(() -> {
+        timeoutFuture = TimerService.of(ctx).schedule(() -> {
             if (!handshaked) {
                 log.warn(StructuredLog.event("handshake_timeout",
                         "eqpId", eqp.getEqpId(),
@@ -132,35 +159,39 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
             return;
         }
 
-        String frame = msg.toString(StandardCharsets.UTF_8);
-        String cmdUpper = FrameTokenParser.extractCmdUpper(frame);
-
-        log.info(StructuredLog.event("handshake_rx",
-                "eqpId", eqp.getEqpId(),
-                "mode", eqp.getMode(),
-                "endpointId", eqp.getEndpointId(),
-                "connId", ctx.channel().id().asShortText(),
-                "cmd", cmdUpper,
-                "payload", frame));
-
-        // CMD 없음: 유효하지 않은 프레임 → 타이머 유지, 계속 대기
-        if (cmdUpper == null) return;
+        long cmd = cmdScanner.scan(msg);
+        eqp.getTraffic().recordRx(msg.readableBytes());
+
+        StructuredLogEvent rx = StructuredLog.info(log, HANDSHAKE_RX, FrameLogSampler.of(ctx.channel()));
+        if (rx.isEnabled()) {
+            rx.kv("eqpId", eqp.getEqpId())
+                    .kv("mode", eqp.getMode())
+                    .kv("endpointId", eqp.getEndpointId())
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("cmd", FrameCmdScanner.cmdUpper(msg, cmd))
+                    .kvUtf8("payload", msg)
+                    .log();
+        }
 
-        // INITIALIZE 아님: 예상 외 CMD → 타이머 유지, 계속 대기
-        if (!CMD_INITIALIZE.equals(cmdUpper)) return;
+        // CMD 없음(유효하지 않은 프레임) / INITIALIZE 아님(예상 외 CMD) → 타이머 유지, 계속 대기
+        if (!FrameCmdScanner.cmdEquals(msg, cmd, CMD_INITIALIZE)) return;
 
         // ─── 핸드셰이크 완료 처리 ───────────────────────────────────────────────
 
-        String rep = "CMD=INITIALIZE_REP EQPID=" + eqp.getEqpId();
+        long initNanos = ctx.executor().ticker().nanoTime();
 
-        log.info(StructuredLog.event("handshake_tx",
-                "eqpId", eqp.getEqpId(),
-                "mode", eqp.getMode(),
-                "endpointId", eqp.getEndpointId(),
-                "connId", ctx.channel().id().asShortText(),
-                "payload", rep));
+        StructuredLogEvent tx = StructuredLog.info(log, HANDSHAKE_TX, FrameLogSampler.of(ctx.channel()));
+        if (tx.isEnabled()) {
+            tx.kv("eqpId", eqp.getEqpId())
+                    .kv("mode", eqp.getMode())
+                    .kv("endpointId", eqp.getEndpointId())
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("payload", INITIALIZE_REP.render(eqp))
+                    .log();
+        }
 
-        OutboundFrameSender.send(ctx, eqp, rep);
+        OutboundFrameSender.send(ctx, eqp, INITIALIZE_REP);
+        recordLatency(ctx, eqp, initNanos);
 
         handshaked = true;
         cancelTimeout(); // 정상 완료: 타이머 취소
@@ -176,6 +207,20 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
             tracker.markPassiveChannelOpened(eqp.getEqpId());
         }
 
+        // RATE profile: open-loop 부하 생성기로 교체
+        RatePlan ratePlan = scenarioRegistry.getRatePlanByProfileId(eqp.getProfileId());
+        if (ratePlan != null) {
+            ctx.pipeline().replace(this, "runner", new RateGeneratorHandler(ratePlan, tracker));
+            return;
+        }
+
+        // REPLAY profile: 기록된 송신 로그 재생기로 교체
+        ReplayPlan replayPlan = scenarioRegistry.getReplayPlanByProfileId(eqp.getProfileId());
+        if (replayPlan != null) {
+            ctx.pipeline().replace(this, "runner", new ReplayGeneratorHandler(replayPlan, tracker));
+            return;
+        }
+
         // ScenarioPlan 조회
         ScenarioPlan plan = scenarioRegistry.getPlanByProfileId(eqp.getProfileId());
         if (plan == null) {
@@ -206,14 +251,30 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
     // ─── 유틸리티 ─────────────────────────────────────────────────────────────
 
+    /**
+     * 연결 → INITIALIZE, INITIALIZE → INITIALIZE_REP 지연 기록.
+     * REP는 송신 호출이 끝난 시점(event loop가 write/flush를 넘긴 시점)까지로 잰다.
+     */
+    private void recordLatency(ChannelHandlerContext ctx, EqpRuntime eqp, long initNanos) {
+        LatencyStats latency = LatencyStats.of(ctx.channel());
+        if (latency == null) return;
+
+        if (activeNanos != 0) {
+            latency.recordNanos(ctx.executor(), LatencyStats.Kind.CONNECT_TO_INITIALIZE,
+                    eqp.getEndpointId(), CMD_INITIALIZE, initNanos - activeNanos);
+        }
+        latency.recordNanos(ctx.executor(), LatencyStats.Kind.INITIALIZE_TO_REP,
+                eqp.getEndpointId(), CMD_INITIALIZE_REP, ctx.executor().ticker().nanoTime() - initNanos);
+    }
+
     /**
      * 핸드셰이크 타임아웃 타이머를 취소한다.
      * - 이미 null이거나 완료된 경우 무시한다.
      */
     private void cancelTimeout() {
-        ScheduledFuture<?> f = timeoutFuture;
+        SimTimer.Timeout f = timeoutFuture;
         if (f != null) {
-            f.cancel(false);
+            f.cancel();
             timeoutFuture = null;
         }
     }
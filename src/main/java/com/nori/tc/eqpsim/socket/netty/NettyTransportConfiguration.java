@@ -2,6 +2,8 @@ package com.nori.tc.eqpsim.socket.netty;
 
 import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
+import com.nori.tc.eqpsim.socket.metrics.EventLoopLagMonitor;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
 import com.nori.tc.eqpsim.socket.scenario.ScenarioRegistry;
 import org.springframework.context.annotation.Bean;
@@ -20,11 +22,25 @@ public class NettyTransportConfiguration {
         return new ScenarioRegistry(props);
     }
 
+    @Bean
+    public LatencyStats latencyStats() {
+        return new LatencyStats();
+    }
+
+    @Bean
+    public EventLoopLagMonitor eventLoopLagMonitor(TcEqpSimProperties props) {
+        return new EventLoopLagMonitor(props.getMetrics());
+    }
+
     @Bean
     public NettyTransportLifecycle nettyTransportLifecycle(EqpRuntimeRegistry registry,
                                                            TcEqpSimProperties props,
                                                            ScenarioRegistry scenarioRegistry,
-                                                           ScenarioCompletionTracker tracker) {
-        return new NettyTransportLifecycle(registry, props.getEndpoints().getActiveBackoff(), scenarioRegistry, tracker);
+                                                           ScenarioCompletionTracker tracker,
+                                                           LatencyStats latencyStats,
+                                                           EventLoopLagMonitor lagMonitor) {
+        return new NettyTransportLifecycle(registry, props.getEndpoints().getActiveBackoff(),
+                props.getBackpressure(), props.getTimer(), props.getCapture(), props.getMetrics(), latencyStats,
+                lagMonitor, scenarioRegistry, tracker);
     }
 }
\ No newline at end of file
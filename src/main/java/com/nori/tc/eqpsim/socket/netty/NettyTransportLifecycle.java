@@ -1,17 +1,30 @@
 package com.nori.tc.eqpsim.socket.netty;
 
+import com.nori.tc.eqpsim.socket.capture.WireCaptureService;
+import com.nori.tc.eqpsim.socket.config.BackpressureProperties;
+import com.nori.tc.eqpsim.socket.config.CaptureProperties;
 import com.nori.tc.eqpsim.socket.config.EndpointsProperties;
+import com.nori.tc.eqpsim.socket.config.MetricsProperties;
+import com.nori.tc.eqpsim.socket.config.TimerProperties;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.metrics.EventLoopLagMonitor;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
+import com.nori.tc.eqpsim.socket.metrics.PrometheusEndpoint;
+import com.nori.tc.eqpsim.socket.metrics.PrometheusRenderer;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
+import com.nori.tc.eqpsim.socket.replay.ReplayGeneratorHandler;
 import com.nori.tc.eqpsim.socket.runtime.HostPort;
 import com.nori.tc.eqpsim.socket.scenario.ScenarioRegistry;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.SmartLifecycle;
@@ -19,6 +32,8 @@ import org.springframework.context.SmartLifecycle;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -32,6 +47,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - EqpRuntimeRegistry: EQP 런타임 정보 및 PASSIVE pool 관리
  * - ScenarioRegistry:   시나리오 plan 조회
  * - ScenarioCompletionTracker: 완료/open-close 추적 → 프로세스 종료 판단
+ * - TimerService: event loop별 타이머 (채널 attr로 전달)
+ * - LatencyStats: 핸드셰이크/WAIT 응답 지연 (채널 attr로 전달, metrics.report-interval-sec마다 로그)
+ * - TrafficCounters: EQP별 송수신/이상 카운터 (EqpRuntimeRegistry 소유, 같은 주기로 endpoint별 증가분 로그)
+ * - EventLoopLagMonitor: workerGroup event loop별 probe 지연/queue 길이 (같은 주기로 로그)
+ * - REPLAY I/O 실행기: 재생 로그 파일 읽기 (start에서 생성해 채널 attr로 전달, stop에서 종료)
+ * - PrometheusEndpoint: metrics.prometheus-enabled일 때 위 계측값과 열린 채널 수를 /metrics로 노출 (전용 스레드)
  *
  * 변경 이력:
  * - ActiveClientConnector가 별도 파일로 분리되었습니다.
@@ -44,8 +65,14 @@ public class NettyTransportLifecycle implements SmartLifecycle {
 
     private final EqpRuntimeRegistry registry;
     private final EndpointsProperties.ActiveBackoffProperties activeBackoffProps;
+    private final BackpressureProperties backpressureProps;
     private final ScenarioRegistry scenarioRegistry;
     private final ScenarioCompletionTracker tracker;
+    private final TimerService timerService;
+    private final CaptureProperties captureProps;
+    private final MetricsProperties metricsProps;
+    private final LatencyStats latencyStats;
+    private final EventLoopLagMonitor lagMonitor;
 
     // ─── Netty 리소스 ────────────────────────────────────────────────
 
@@ -63,6 +90,22 @@ public class NettyTransportLifecycle implements SmartLifecycle {
     /** endpointId → PASSIVE 현재 연결 수 카운터 (ConnectionLimitHandler 공유) */
     private final Map<String, AtomicInteger> passiveConnectionCounterById = new ConcurrentHashMap<>();
 
+    /** 송수신 프레임 바이너리 기록 (capture.enabled=false면 null) */
+    private WireCaptureService wireCapture;
+
+    /** REPLAY 로그 파일 읽기 실행기 (start에서 생성, stop에서 종료) */
+    private ExecutorService replayIo;
+
+    /** GET /metrics listener (prometheus-enabled=false면 null) */
+    private PrometheusEndpoint prometheus;
+
+    /** latency_stats / traffic_stats 주기 보고 (report-interval-sec=0이면 null) */
+    private ScheduledFuture<?> metricsReport;
+
+    /** transport 시작 시점 / 직전 주기 보고 시점의 카운터 (보고 스레드에서만 갱신) */
+    private TrafficCounters.Snapshot trafficAtStart;
+    private TrafficCounters.Snapshot trafficAtLastReport;
+
     /** eqpId → ACTIVE 커넥터 */
     private final Map<String, ActiveClientConnector> activeConnectorById = new LinkedHashMap<>();
 
@@ -72,12 +115,24 @@ public class NettyTransportLifecycle implements SmartLifecycle {
 
     public NettyTransportLifecycle(EqpRuntimeRegistry registry,
                                    EndpointsProperties.ActiveBackoffProperties activeBackoffProps,
+                                   BackpressureProperties backpressureProps,
+                                   TimerProperties timerProps,
+                                   CaptureProperties captureProps,
+                                   MetricsProperties metricsProps,
+                                   LatencyStats latencyStats,
+                                   EventLoopLagMonitor lagMonitor,
                                    ScenarioRegistry scenarioRegistry,
                                    ScenarioCompletionTracker tracker) {
         this.registry = registry;
         this.activeBackoffProps = activeBackoffProps;
+        this.backpressureProps = (backpressureProps == null) ? new BackpressureProperties() : backpressureProps;
         this.scenarioRegistry = scenarioRegistry;
         this.tracker = (tracker == null) ? ScenarioCompletionTracker.NOOP : tracker;
+        this.timerService = new TimerService(timerProps);
+        this.captureProps = (captureProps == null) ? new CaptureProperties() : captureProps;
+        this.metricsProps = (metricsProps == null) ? new MetricsProperties() : metricsProps;
+        this.latencyStats = (latencyStats == null) ? new LatencyStats() : latencyStats;
+        this.lagMonitor = (lagMonitor == null) ? new EventLoopLagMonitor(this.metricsProps) : lagMonitor;
     }
 
     // ─── SmartLifecycle ──────────────────────────────────────────────
@@ -89,9 +144,51 @@ public class NettyTransportLifecycle implements SmartLifecycle {
         bossGroup = new NioEventLoopGroup(1);
         workerGroup = new NioEventLoopGroup();
 
+        if (captureProps.isEnabled()) {
+            wireCapture = new WireCaptureService(captureProps, registry.getEqps(),
+                    scenarioRegistry.getCommandDictionary());
+        }
+
+        replayIo = ReplayGeneratorHandler.newIoExecutor();
+
+        lagMonitor.start("worker", workerGroup);
+
         startPassiveServers();
+
+        if (metricsProps.isPrometheusEnabled()) {
+            // PASSIVE bind 후(열린 채널 카운터 목록 확정), ACTIVE 연결 전: bind 실패 시 송신을 시작하기 전에 중단한다.
+            try {
+                prometheus = new PrometheusEndpoint(HostPort.parse(metricsProps.getPrometheusBind()),
+                        new PrometheusRenderer(registry, latencyStats, lagMonitor, passiveConnectionCounterById));
+                prometheus.start();
+            } catch (RuntimeException e) {
+                // running=false라 stop()이 불리지 않으므로 여기서 정리한다. (비-데몬 event loop 스레드 잔류 방지)
+                prometheus = null;
+                lagMonitor.stop();
+                stopPassiveServers();
+                timerService.shutdown();
+                shutdownEventLoopGroups();
+                shutdownReplayIo();
+                if (wireCapture != null) {
+                    wireCapture.close();
+                    wireCapture = null;
+                }
+                throw e;
+            }
+        }
+
         startActiveClients();
 
+        trafficAtStart = registry.getTraffic().snapshot();
+        trafficAtLastReport = trafficAtStart;
+        tracker.markTransportStarted();
+        long reportSec = metricsProps.getReportIntervalSec();
+        if (reportSec > 0) {
+            // accept 전용 bossGroup에서 보고: worker event loop의 송수신을 방해하지 않는다.
+            metricsReport = bossGroup.next().scheduleAtFixedRate(
+                    this::reportMetrics, reportSec, reportSec, TimeUnit.SECONDS);
+        }
+
         running = true;
 
         log.info(StructuredLog.event("transport_started",
@@ -105,12 +202,36 @@ public class NettyTransportLifecycle implements SmartLifecycle {
 
         log.info(StructuredLog.event("transport_stopping"));
 
+        if (metricsReport != null) {
+            metricsReport.cancel(false);
+            metricsReport = null;
+        }
+        if (prometheus != null) {
+            prometheus.stop();
+            prometheus = null;
+        }
+        lagMonitor.stop();
         stopActiveClients();
         stopPassiveServers();
+        timerService.shutdown();
         shutdownEventLoopGroups();
+        // event loop 종료 후: 재생 batch를 넘겨받을 채널이 더 없다. (읽는 중인 batch는 interrupt)
+        shutdownReplayIo();
+        if (wireCapture != null) {
+            // event loop 종료 후: writer를 쓰는 스레드가 더 없을 때 segment를 닫는다.
+            wireCapture.close();
+            wireCapture = null;
+        }
 
         running = false;
 
+        registry.clearFrameCaches();
+        registry.logBackpressureStats();
+        registry.logEmitLatenessStats();
+        latencyStats.logStats("final");
+        TrafficCounters.logEndpointStats("final", registry.getTraffic().snapshot().minus(trafficAtStart));
+        lagMonitor.logStats("final");
+        scenarioRegistry.logCommandRxStats();
         log.info(StructuredLog.event("transport_stopped"));
     }
 
@@ -181,7 +302,13 @@ public class NettyTransportLifecycle implements SmartLifecycle {
                 .channel(NioServerSocketChannel.class)
                 .childHandler(new PassiveChildInitializer(endpointId, maxConn, connectionCounter))
                 .childOption(ChannelOption.TCP_NODELAY, true)
-                .childOption(ChannelOption.SO_KEEPALIVE, true);
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark(backpressureProps))
+                .childAttr(ChannelAttributes.BACKPRESSURE_POLICY, backpressureProps.getPolicy())
+                .childAttr(ChannelAttributes.TIMER_SERVICE, timerService)
+                .childAttr(ChannelAttributes.WIRE_CAPTURE, wireCapture)
+                .childAttr(ChannelAttributes.LATENCY_STATS, latencyStats)
+                .childAttr(ChannelAttributes.REPLAY_IO, replayIo);
     }
 
     /** 모든 PASSIVE 서버 채널을 close합니다. */
@@ -209,6 +336,11 @@ public class NettyTransportLifecycle implements SmartLifecycle {
                     eqp,
                     workerGroup,
                     activeBackoffProps,
+                    backpressureProps,
+                    timerService,
+                    wireCapture,
+                    latencyStats,
+                    replayIo,
                     scenarioRegistry,
                     tracker
             );
@@ -230,7 +362,32 @@ public class NettyTransportLifecycle implements SmartLifecycle {
         activeConnectorById.clear();
     }
 
+    /**
+     * 주기 보고: 지연 분포는 누적, 카운터는 직전 보고 이후 증가분.
+     */
+    private void reportMetrics() {
+        latencyStats.logStats("periodic");
+        TrafficCounters.Snapshot now = registry.getTraffic().snapshot();
+        TrafficCounters.logEndpointStats("periodic", now.minus(trafficAtLastReport));
+        trafficAtLastReport = now;
+        lagMonitor.logStats("periodic");
+    }
+
+    /**
+     * backpressure 설정의 water mark를 Netty 옵션 값으로 변환합니다. (PASSIVE/ACTIVE 공용)
+     */
+    static WriteBufferWaterMark writeBufferWaterMark(BackpressureProperties props) {
+        return new WriteBufferWaterMark(props.getWriteBufferLowWaterMark(), props.getWriteBufferHighWaterMark());
+    }
+
     /** Boss/Worker EventLoopGroup을 graceful shutdown합니다. */
+    private void shutdownReplayIo() {
+        if (replayIo != null) {
+            replayIo.shutdownNow();
+            replayIo = null;
+        }
+    }
+
     private void shutdownEventLoopGroups() {
         if (workerGroup != null) {
             workerGroup.shutdownGracefully().syncUninterruptibly();
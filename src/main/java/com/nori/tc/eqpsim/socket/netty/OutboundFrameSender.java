@@ -1,17 +1,23 @@
 package com.nori.tc.eqpsim.socket.netty;
 
-import com.nori.tc.eqpsim.socket.framing.HexByteSequenceParser;
-import com.nori.tc.eqpsim.socket.framing.SocketFrameEncoderFactory;
+import com.nori.tc.eqpsim.socket.capture.WireCaptureService;
+import com.nori.tc.eqpsim.socket.framing.SocketTypeCodec;
+import com.nori.tc.eqpsim.socket.logging.FrameLogSampler;
+import com.nori.tc.eqpsim.socket.logging.LogEventType;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
+import com.nori.tc.eqpsim.socket.runtime.EncodedFrameCache;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.scenario.FaultStep;
+import com.nori.tc.eqpsim.socket.scenario.PayloadTemplate;
 import com.nori.tc.eqpsim.socket.scenario.runtime.FaultState;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -41,13 +47,23 @@ import java.util.concurrent.TimeUnit;
  *             └─ delay 없음 → sendNow()
  *
  *   sendNow() → drop 판정
- *                ├─ drop → return (폐기)
- *                └─ corrupt 판정 → fragment 판정 → writeBytes()
+ *                ├─ drop → release (폐기)
+ *                └─ corrupt 판정 → (카운터 / wire capture) → fragment 판정 → write
+ *
+ * 버퍼 처리:
+ * - 인코딩 버퍼 1개가 끝까지 간다. (byte[] 변환/재복사 없음)
+ * - corrupt는 버퍼를 제자리 변조, fragment는 retainedSlice 조각을 write 후 1회 flush.
+ *
+ * 카운터:
+ * - 실제로 write 하는 프레임마다 EqpRuntime.getTraffic()에 frames/bytes out을 더한다. (drop된 프레임 제외)
+ * - delay/drop/corrupt/fragment는 실제로 적용된 경우에만 FAULT_* 카운터를 올린다.
  */
 public final class OutboundFrameSender {
 
     private static final Logger log = LoggerFactory.getLogger(OutboundFrameSender.class);
 
+    private static final LogEventType FAULT_DROP = LogEventType.of("fault_drop");
+
     private OutboundFrameSender() {
         // utility class
     }
@@ -63,18 +79,72 @@ public final class OutboundFrameSender {
         if (ctx == null || eqp == null || payloadUtf8 == null) return;
         if (!ctx.channel().isActive()) return;
 
-        // 1) socketType 기반 프레이밍 적용
-        ByteBuf encoded = SocketFrameEncoderFactory.encodeUtf8(eqp.getSocketType(), ctx.alloc(), payloadUtf8);
+        // socketType 기반 프레이밍 적용 (컴파일된 코덱: hex 파싱 없음)
+        sendEncoded(ctx, eqp, eqp.getSocketCodec().encodeUtf8(ctx.alloc(), payloadUtf8), true);
+    }
+
+    /**
+     * 컴파일된 payload 템플릿을 치환 + 프레이밍하여 송신한다.
+     * - 치환 결과를 String으로 만들지 않고 송신 버퍼에 직접 기록한다.
+     * - fault가 없고 EQP 단위 상수 템플릿이면 EncodedFrameCache의 프레임을 retainedDuplicate로 write 한다.
+     *   (첫 송신에서 1회 인코딩 후 캐시, 이후 tick은 인코딩/복사 없음)
+     */
+    public static void send(ChannelHandlerContext ctx, EqpRuntime eqp, PayloadTemplate payload) {
+        send(ctx, eqp, payload, true);
+    }
+
+    /**
+     * {@link #send(ChannelHandlerContext, EqpRuntime, PayloadTemplate)}와 같지만 정상 경로는 write만 한다.
+     * - 호출자가 같은 tick의 write를 모은 뒤 채널별로 1회 flush 한다. (FleetEmitTicker)
+     * - fault 경로(delay/drop/corrupt/fragment)는 송신 시점이 따로 정해지므로 기존대로 즉시 flush 한다.
+     */
+    public static void write(ChannelHandlerContext ctx, EqpRuntime eqp, PayloadTemplate payload) {
+        send(ctx, eqp, payload, false);
+    }
+
+    private static void send(ChannelHandlerContext ctx, EqpRuntime eqp, PayloadTemplate payload, boolean flush) {
+        if (ctx == null || eqp == null || payload == null) return;
+        if (!ctx.channel().isActive()) return;
+
+        FaultState fs = ctx.channel().attr(ChannelAttributes.FAULT_STATE).get();
+        if (FaultState.anyActive(fs)) {
+            sendEncoded(ctx, eqp, payload.encode(ctx.alloc(), eqp), flush);
+            return;
+        }
+
+        EncodedFrameCache cache = eqp.getFrameCache();
+        ByteBuf frame = cache.get(payload);
+        if (frame == null) {
+            ByteBuf encoded = payload.encode(ctx.alloc(), eqp);
+            frame = cache.putIfAbsent(payload, encoded);
+            if (frame == null) {
+                // 캐시 상한 초과: 이번 프레임은 그대로 송신
+                write(ctx, eqp, encoded, flush);
+                return;
+            }
+        }
+        write(ctx, eqp, frame.retainedDuplicate(), flush);
+    }
 
-        // 2) ByteBuf → byte[] 변환 (fault 적용/분절 전송을 위해)
-        byte[] bytes = new byte[encoded.readableBytes()];
-        encoded.getBytes(encoded.readerIndex(), bytes);
-        encoded.release();
+    private static void write(ChannelHandlerContext ctx, EqpRuntime eqp, ByteBuf buf, boolean flush) {
+        recordTx(ctx, eqp, buf);
+        if (flush) {
+            ctx.writeAndFlush(buf);
+        } else {
+            ctx.write(buf);
+        }
+    }
 
-        // 3) fault 상태 조회 (없으면 정상 송신)
+    /**
+     * 프레이밍까지 끝난 버퍼에 장애주입을 적용해 송신한다. (encoded의 소유권을 가져간다)
+     * - fault 경로도 byte[]로 옮기지 않고 인코딩 버퍼 자체를 지연/변조/분절한다.
+     *   (encoded는 송신마다 새로 인코딩한 버퍼이므로 제자리 변조해도 캐시/다른 송신에 영향 없음)
+     */
+    private static void sendEncoded(ChannelHandlerContext ctx, EqpRuntime eqp, ByteBuf encoded, boolean flush) {
+        // fault 상태 조회 (없으면 정상 송신: 인코딩 버퍼를 그대로 write, 복사 없음)
         FaultState fs = ctx.channel().attr(ChannelAttributes.FAULT_STATE).get();
-        if (fs == null) {
-            writeBytes(ctx, bytes);
+        if (!FaultState.anyActive(fs)) {
+            write(ctx, eqp, encoded, flush);
             return;
         }
 
@@ -87,38 +157,53 @@ public final class OutboundFrameSender {
         if (FaultState.isActive(delay)) {
             boolean consume = (delay.mode == FaultStep.ScopeMode.NEXT) ? delay.next.tryConsumeOne() : true;
             if (consume) {
+                eqp.getTraffic().increment(TrafficCounters.Counter.FAULT_DELAY);
                 long d = delay.delayMs;
                 if (delay.jitterMs > 0) {
                     d += ThreadLocalRandom.current().nextLong(0, delay.jitterMs + 1);
                 }
-                final byte[] sendBytes = bytes;
                 // delay 후 sendNow: sendNow 내부에서 drop/corrupt/fragment 순서로 처리
-                ctx.executor().schedule(() -> sendNow(ctx, eqp, fs, sendBytes), d, TimeUnit.MILLISECONDS);
+                try {
+                    // 실행되지 못하고 취소된 경우(채널/event loop/타이머 종료) 버퍼만 반환
+                    TimerService.of(ctx).schedule(() -> sendNow(ctx, eqp, fs, encoded), encoded::release,
+                            d, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // event loop 종료 중: 송신하지 않고 버퍼만 반환
+                    encoded.release();
+                }
                 return;
             }
         }
 
         // delay 없음 → 즉시 sendNow
-        sendNow(ctx, eqp, fs, bytes);
+        sendNow(ctx, eqp, fs, encoded);
     }
 
     /**
-     * 실제 송신 직전 처리: drop → corrupt → fragment → writeBytes
+     * 실제 송신 직전 처리: drop → corrupt → fragment → write
      *
      * delay가 없거나 delay 후 스케줄된 경우 모두 이 메서드를 통과한다.
      * → delay된 메시지도 drop/corrupt 판정을 받는다. ✅
+     *
+     * 소유권: buf는 이 메서드가 write 하거나 release 한다. (모든 분기에서 정확히 1회)
      */
-    private static void sendNow(ChannelHandlerContext ctx, EqpRuntime eqp, FaultState fs, byte[] bytes) {
-        if (!ctx.channel().isActive()) return;
+    private static void sendNow(ChannelHandlerContext ctx, EqpRuntime eqp, FaultState fs, ByteBuf buf) {
+        if (!ctx.channel().isActive()) {
+            buf.release();
+            return;
+        }
 
         // ✅ [S3 수정] drop: sendNow에서 판정 (delay 후에도 drop 적용)
         FaultState.Drop drop = fs.getDrop();
         if (FaultState.isActive(drop)) {
             boolean consume = (drop.mode == FaultStep.ScopeMode.NEXT) ? drop.next.tryConsumeOne() : true;
             if (consume && ThreadLocalRandom.current().nextDouble() < drop.rate) {
-                log.debug(StructuredLog.event("fault_drop",
-                        "connId", ctx.channel().id().asShortText(),
-                        "rate", drop.rate));
+                StructuredLog.debug(log, FAULT_DROP, FrameLogSampler.of(ctx.channel()))
+                        .kv("connId", ctx.channel().id().asShortText())
+                        .kv("rate", drop.rate)
+                        .log();
+                eqp.getTraffic().increment(TrafficCounters.Counter.FAULT_DROP);
+                buf.release();
                 return; // 폐기
             }
         }
@@ -128,110 +213,108 @@ public final class OutboundFrameSender {
         if (FaultState.isActive(corrupt)) {
             boolean consume = (corrupt.mode == FaultStep.ScopeMode.NEXT) ? corrupt.next.tryConsumeOne() : true;
             if (consume && ThreadLocalRandom.current().nextDouble() < corrupt.rate) {
-                corruptBytes(bytes, eqp, corrupt.protectFraming);
+                corruptInPlace(buf, eqp, corrupt.protectFraming);
+                eqp.getTraffic().increment(TrafficCounters.Counter.FAULT_CORRUPT);
             }
         }
 
+        // 카운터/wire capture: 변조까지 반영된 프레임 1개로 기록 (분절과 무관)
+        recordTx(ctx, eqp, buf);
+
         // fragment: 물리적 전송 직전 분절
         FaultState.Fragment frag = fs.getFragment();
         if (FaultState.isActive(frag)) {
             boolean consume = (frag.mode == FaultStep.ScopeMode.NEXT) ? frag.next.tryConsumeOne() : true;
             if (consume) {
+                eqp.getTraffic().increment(TrafficCounters.Counter.FAULT_FRAGMENT);
                 int parts = ThreadLocalRandom.current().nextInt(frag.minParts, frag.maxParts + 1);
-                List<byte[]> chunks = splitBytes(bytes, parts);
-
-                for (byte[] c : chunks) {
-                    ByteBuf buf = ctx.alloc().buffer(c.length);
-                    buf.writeBytes(c);
-                    ctx.write(buf);
-                }
-                ctx.flush();
+                writeFragments(ctx, buf, parts);
                 return;
             }
         }
 
-        writeBytes(ctx, bytes);
+        ctx.writeAndFlush(buf);
     }
 
-    private static void writeBytes(ChannelHandlerContext ctx, byte[] bytes) {
-        if (!ctx.channel().isActive()) return;
-        ByteBuf buf = ctx.alloc().buffer(bytes.length);
-        buf.writeBytes(bytes);
-        ctx.writeAndFlush(buf);
+    /**
+     * 송신 프레임 1개를 EQP 카운터에 더하고, 채널에 wire capture가 설정돼 있으면 기록한다. (buf 소유권/index 변경 없음)
+     */
+    private static void recordTx(ChannelHandlerContext ctx, EqpRuntime eqp, ByteBuf buf) {
+        eqp.getTraffic().recordTx(buf.readableBytes());
+        WireCaptureService capture = WireCaptureService.of(ctx.channel());
+        if (capture != null) {
+            capture.captureTx(ctx, eqp, buf);
+        }
     }
 
     /**
-     * 바이트 배열을 parts개 조각으로 랜덤 분절한다.
+     * buf를 parts개 조각(retainedSlice)으로 나눠 write 하고 마지막에 1회 flush 한다.
      * - framing 바이트를 포함하여 분절 (결정 18)
+     * - 조각은 원본 메모리를 공유하므로 복사가 없다. 원본 참조는 여기서 release 한다.
      */
-    private static List<byte[]> splitBytes(byte[] bytes, int parts) {
-        int len = bytes.length;
-        if (parts <= 1 || len <= 1) return List.of(bytes);
+    static void writeFragments(ChannelHandlerContext ctx, ByteBuf buf, int parts) {
+        int[] sizes = splitSizes(buf.readableBytes(), parts);
+        if (sizes.length == 1) {
+            ctx.writeAndFlush(buf);
+            return;
+        }
+        try {
+            int pos = buf.readerIndex();
+            for (int sz : sizes) {
+                ctx.write(buf.retainedSlice(pos, sz));
+                pos += sz;
+            }
+        } finally {
+            buf.release();
+        }
+        ctx.flush();
+    }
+
+    /**
+     * len 바이트를 parts개 조각 크기로 랜덤 분할한다. (각 조각 최소 1바이트)
+     */
+    static int[] splitSizes(int len, int parts) {
+        if (parts <= 1 || len <= 1) return new int[]{len};
 
         parts = Math.min(parts, len); // 각 파트 최소 1바이트
         int base = len / parts;
         int rem = len % parts;
 
-        List<Integer> sizes = new ArrayList<>(parts);
+        int[] sizes = new int[parts];
         for (int i = 0; i < parts; i++) {
-            sizes.add(base + (i < rem ? 1 : 0));
+            sizes[i] = base + (i < rem ? 1 : 0);
         }
 
         // 간단 랜덤성: 인접 swap
         ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        for (int i = 0; i < sizes.size() - 1; i++) {
+        for (int i = 0; i < sizes.length - 1; i++) {
             if (rnd.nextBoolean()) {
-                int a = sizes.get(i);
-                int b = sizes.get(i + 1);
-                sizes.set(i, b);
-                sizes.set(i + 1, a);
+                int t = sizes[i];
+                sizes[i] = sizes[i + 1];
+                sizes[i + 1] = t;
             }
         }
-
-        List<byte[]> out = new ArrayList<>(parts);
-        int pos = 0;
-        for (int sz : sizes) {
-            out.add(Arrays.copyOfRange(bytes, pos, pos + sz));
-            pos += sz;
-        }
-        return out;
+        return sizes;
     }
 
     /**
-     * corrupt: protectFraming=true이면 prefix/suffix 영역을 제외하고 중간만 변조.
+     * corrupt: protectFraming=true이면 prefix/suffix 영역을 제외하고 중간만 변조. (버퍼 제자리 XOR)
      */
-    private static void corruptBytes(byte[] bytes, EqpRuntime eqp, boolean protectFraming) {
+    static void corruptInPlace(ByteBuf buf, EqpRuntime eqp, boolean protectFraming) {
+        int len = buf.readableBytes();
         int from = 0;
-        int to = bytes.length;
+        int to = len;
 
         if (protectFraming) {
-            int[] ps = computePrefixSuffix(eqp);
-            from = Math.min(bytes.length, ps[0]);
-            to = Math.max(from, bytes.length - ps[1]);
+            // prefix/suffix 길이는 socketType 컴파일 시 계산됨 (송신마다 hex 파싱 없음)
+            SocketTypeCodec codec = eqp.getSocketCodec();
+            from = Math.min(len, codec.protectedPrefixLength());
+            to = Math.max(from, len - codec.protectedSuffixLength());
         }
 
         if (to - from <= 0) return;
 
-        int idx = ThreadLocalRandom.current().nextInt(from, to);
-        bytes[idx] = (byte) (bytes[idx] ^ 0x5A);
-    }
-
-    private static int[] computePrefixSuffix(EqpRuntime eqp) {
-        var st = eqp.getSocketType();
-        return switch (st.getKind()) {
-            case REGEX -> new int[]{0, 0};
-            case LINE_END -> {
-                int suffix = switch (st.getLineEnding()) {
-                    case LF, CR -> 1;
-                    case CRLF -> 2;
-                };
-                yield new int[]{0, suffix};
-            }
-            case START_END -> {
-                int prefix = HexByteSequenceParser.parseHexSequence(st.getStartHex()).length;
-                int suffix = HexByteSequenceParser.parseHexSequence(st.getEndHex()).length;
-                yield new int[]{prefix, suffix};
-            }
-        };
+        int idx = buf.readerIndex() + ThreadLocalRandom.current().nextInt(from, to);
+        buf.setByte(idx, buf.getByte(idx) ^ 0x5A);
     }
-}
\ No newline at end of file
+}
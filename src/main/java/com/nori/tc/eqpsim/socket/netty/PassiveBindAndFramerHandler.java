@@ -1,6 +1,6 @@
 package com.nori.tc.eqpsim.socket.netty;
 
-import com.nori.tc.eqpsim.socket.framing.SocketFramerFactory;
+import com.nori.tc.eqpsim.socket.capture.WireCaptureRxHandler;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
  *
  * 올바른 pipeline 순서:
  *   connLimit → rawRx → framer → handshake → eqpLifecycle
+ *   (wire capture 사용 시 framer 바로 뒤에 captureRx)
  *
  * 역순 삽입 원리:
  *   각 addAfter(selfName, ...) 호출이 selfName(passiveBind) 바로 뒤에 삽입되므로,
@@ -96,8 +97,9 @@ public class PassiveBindAndFramerHandler extends ChannelInboundHandlerAdapter {
         ctx.pipeline().addAfter(selfName, "handshake",
                 new HandshakeHandler(scenarioRegistry, tracker));
 
-        ByteToMessageDecoder framer = SocketFramerFactory.create(eqp.getSocketType());
+        ByteToMessageDecoder framer = eqp.getSocketCodec().newDecoder();
         ctx.pipeline().addAfter(selfName, "framer", framer);
+        WireCaptureRxHandler.addAfterFramer(ctx.channel(), "framer", eqp);
 
         ctx.pipeline().addAfter(selfName, "rawRx",
                 new RawInboundBytesLoggingHandler(5));
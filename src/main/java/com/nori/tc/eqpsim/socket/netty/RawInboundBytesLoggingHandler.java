@@ -16,6 +16,7 @@ import java.nio.charset.StandardCharsets;
  * 목적:
  * - framer(디코더) 이전 단계에서 "실제 수신 바이트"를 확인한다.
  * - 연결 초기 N번만 출력하여 로그 폭주를 방지한다.
+ *   (디코딩 이후 프레임 단위 로그는 FrameLogSampler가 같은 방식을 event type별로 적용한다)
  *
  * ✅ [M5 수정] slice retain 누락
  * - 기존: buf.slice() → 참조 카운트를 공유하므로,
@@ -0,0 +1,262 @@
+package com.nori.tc.eqpsim.socket.protocol;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.*;
+
+/**
+ * CommandDictionary
+ *
+ * 역할:
+ * - 시나리오에 등장하는 CMD 이름을 dense int id(0..size-1)로 intern 한다.
+ * - 수신 프레임의 CMD 값(FrameCmdScanner 결과)을 String 생성 없이 raw byte trie로 id에 매핑한다.
+ * - WAIT 매칭 / 예상 외 프레임 집계 / CMD별 카운터({@link CommandRxStats})가 모두 이 id를 쓴다.
+ *
+ * 생명주기:
+ * - 로드 단계: ScenarioMdParser가 plan을 읽으며 {@link #intern(String)}으로 id를 받는다.
+ *   (ScenarioRegistry는 모든 plan에 같은 사전을 넘겨 전역 id를 만든다.)
+ * - {@link #seal()} 이후: intern 불가, classify/name 조회만 가능. (불변, 모든 event loop 공유)
+ *
+ * 설계 의도(trie):
+ * - 상태 전이표는 "CMD에 실제로 등장하는 바이트"만 class로 압축한 2차원 int 배열이다.
+ *   (A-Z/0-9/_ 위주라 class 수가 작고, 소문자는 대문자와 같은 class로 접어 대소문자 무시 비교가 된다.)
+ * - 바이트 1개당 배열 조회 2회. 사전에 없는 바이트를 만나면 즉시 UNKNOWN.
+ *
+ * 주의:
+ * - 비ASCII 바이트가 섞인 CMD 값은 trie 대신 디코드 + toUpperCase + HashMap 조회로 판정한다.
+ *   (FrameTokenParser의 String 규칙과 결과를 맞추기 위함. 실제 장비 CMD는 ASCII이므로 hot path가 아니다.)
+ */
+public final class CommandDictionary {
+
+    /** 프레임에 CMD 토큰이 없음 */
+    public static final int NO_CMD = -2;
+
+    /** CMD 토큰은 있으나 사전에 없는 이름 */
+    public static final int UNKNOWN = -1;
+
+    /** 핸드셰이크 CMD. 모든 사전에서 id 0으로 예약된다. */
+    public static final String INITIALIZE = "INITIALIZE";
+    public static final int INITIALIZE_ID = 0;
+
+    // ─── 로드 단계 상태 ─────────────────────────────────────────────────────────
+
+    private final Map<String, Integer> idByName = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    // ─── seal 이후 상태 (불변) ──────────────────────────────────────────────────
+
+    private volatile Trie trie;
+
+    /** seal 시 사전 크기로 생성되는 CMD별 수신 카운터 */
+    private volatile CommandRxStats rxStats;
+
+    public CommandDictionary() {
+        intern(INITIALIZE);
+    }
+
+    /**
+     * CMD 이름(upper)을 등록하고 id를 반환한다. 이미 있으면 기존 id.
+     *
+     * @throws IllegalStateException seal 이후 호출 시
+     */
+    public synchronized int intern(String cmdUpper) {
+        Objects.requireNonNull(cmdUpper, "cmdUpper must not be null");
+        if (trie != null) {
+            throw new IllegalStateException("command dictionary is sealed: " + cmdUpper);
+        }
+        Integer id = idByName.get(cmdUpper);
+        if (id != null) {
+            return id;
+        }
+        int newId = names.size();
+        names.add(cmdUpper);
+        idByName.put(cmdUpper, newId);
+        return newId;
+    }
+
+    /**
+     * 등록을 마감하고 trie를 만든다. (중복 호출 무시)
+     */
+    public synchronized CommandDictionary seal() {
+        if (trie == null) {
+            rxStats = new CommandRxStats(names.size());
+            trie = Trie.build(names);
+        }
+        return this;
+    }
+
+    public boolean isSealed() {
+        return trie != null;
+    }
+
+    public synchronized int size() {
+        return names.size();
+    }
+
+    /**
+     * CMD id별 수신 카운터 (seal 이후).
+     */
+    public CommandRxStats getRxStats() {
+        sealedTrie();
+        return rxStats;
+    }
+
+    /**
+     * id → CMD 이름(upper). 로그/리포트용. 범위 밖이면 null.
+     */
+    public String name(int id) {
+        return sealedTrie().nameOf(id);
+    }
+
+    /**
+     * CMD 이름(upper) → id. 없으면 {@link #UNKNOWN}.
+     */
+    public int idOf(String cmdUpper) {
+        if (cmdUpper == null) {
+            return NO_CMD;
+        }
+        Integer id = sealedTrie().idByName.get(cmdUpper);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * 수신 프레임의 CMD를 id로 분류한다.
+     *
+     * @param frame 수신 프레임
+     * @param cmd   {@link FrameCmdScanner#scan(ByteBuf)} 결과
+     * @return id, {@link #UNKNOWN}, 또는 {@link #NO_CMD}
+     */
+    public int classify(ByteBuf frame, long cmd) {
+        Trie t = sealedTrie();
+        if (cmd == FrameCmdScanner.NOT_FOUND) {
+            return NO_CMD;
+        }
+        int index = FrameCmdScanner.valueIndex(cmd);
+        int end = index + FrameCmdScanner.valueLength(cmd);
+        int state = 0;
+        for (int i = index; i < end; i++) {
+            int b = frame.getByte(i) & 0xFF;
+            if (b >= 0x80) {
+                Integer id = t.idByName.get(FrameCmdScanner.cmdUpper(frame, cmd));
+                return id != null ? id : UNKNOWN;
+            }
+            int c = t.classOf[b];
+            state = c == 0 ? 0 : t.next[state * t.classCount + c];
+            if (state == 0) {
+                // ASCII 접두가 이미 어긋남: toUpperCase(ROOT)도 ASCII는 같은 결과이므로 확정
+                return UNKNOWN;
+            }
+        }
+        return t.acceptId[state];
+    }
+
+    private Trie sealedTrie() {
+        Trie t = trie;
+        if (t == null) {
+            throw new IllegalStateException("command dictionary is not sealed");
+        }
+        return t;
+    }
+
+    // ─── trie ───────────────────────────────────────────────────────────────────
+
+    /**
+     * seal 시점 스냅샷. (state 0 = root, 전이값 0 = 전이 없음: root로 돌아오는 전이는 없으므로 안전)
+     */
+    private static final class Trie {
+
+        private final String[] names;
+        private final Map<String, Integer> idByName;
+        private final byte[] classOf;
+        private final int classCount;
+        private final int[] next;
+        private final int[] acceptId;
+
+        private Trie(String[] names, Map<String, Integer> idByName,
+                     byte[] classOf, int classCount, int[] next, int[] acceptId) {
+            this.names = names;
+            this.idByName = idByName;
+            this.classOf = classOf;
+            this.classCount = classCount;
+            this.next = next;
+            this.acceptId = acceptId;
+        }
+
+        String nameOf(int id) {
+            return (id >= 0 && id < names.length) ? names[id] : null;
+        }
+
+        static Trie build(List<String> nameList) {
+            String[] names = nameList.toArray(new String[0]);
+            Map<String, Integer> idByName = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                idByName.put(names[i], i);
+            }
+
+            // 1) byte class: 이름에 등장하는 ASCII 바이트만 1..n, 소문자는 대문자 class 공유
+            byte[] classOf = new byte[128];
+            int classCount = 1;
+            int stateBudget = 1;
+            for (String name : names) {
+                if (!isAscii(name)) {
+                    continue;
+                }
+                stateBudget += name.length();
+                for (int k = 0; k < name.length(); k++) {
+                    int b = name.charAt(k);
+                    if (classOf[b] == 0) {
+                        if (classCount == 127) {
+                            throw new IllegalStateException("too many distinct command bytes");
+                        }
+                        classOf[b] = (byte) classCount;
+                        if (b >= 'A' && b <= 'Z') {
+                            classOf[b + 32] = (byte) classCount;
+                        }
+                        classCount++;
+                    }
+                }
+            }
+
+            // 2) 전이표: 최대 상태 수(=ASCII 이름 길이 합 + root)로 잡고 실제 사용분만 남긴다.
+            int[] next = new int[stateBudget * classCount];
+            int[] acceptId = new int[stateBudget];
+            Arrays.fill(acceptId, UNKNOWN);
+            int states = 1;
+            for (int id = 0; id < names.length; id++) {
+                String name = names[id];
+                if (!isAscii(name)) {
+                    continue;
+                }
+                int state = 0;
+                for (int k = 0; k < name.length(); k++) {
+                    int slot = state * classCount + classOf[name.charAt(k)];
+                    if (next[slot] == 0) {
+                        next[slot] = states++;
+                    }
+                    state = next[slot];
+                }
+                acceptId[state] = id;
+            }
+
+            byte[] classOf256 = Arrays.copyOf(classOf, 256);
+            return new Trie(names, Collections.unmodifiableMap(idByName), classOf256, classCount,
+                    Arrays.copyOf(next, states * classCount), Arrays.copyOf(acceptId, states));
+        }
+
+        private static boolean isAscii(String s) {
+            for (int k = 0; k < s.length(); k++) {
+                if (s.charAt(k) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        Trie t = trie;
+        return "CommandDictionary{size=" + (t != null ? t.names.length : names.size())
+                + ", sealed=" + (t != null) + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package com.nori.tc.eqpsim.socket.protocol;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandRxStats
+ *
+ * 역할:
+ * - 수신 프레임을 CMD id × 결과(Outcome)별로 센다. (CommandDictionary.seal 시 1회 생성, 전역 공유)
+ * - 배열 index 계산만으로 기록하므로 프레임마다 String/Map 조회가 없다.
+ *
+ * 슬롯:
+ * - 0: NO_CMD, 1: UNKNOWN, 2..: 사전 id
+ *
+ * 동시성:
+ * - 여러 event loop가 동시에 기록하므로 LongAdder를 쓴다. 조회는 근사 스냅샷이다.
+ */
+public final class CommandRxStats {
+
+    public enum Outcome {
+        /** WAIT 중 기대 CMD와 일치 */
+        MATCHED,
+        /** WAIT 중이지만 다른 CMD (계속 대기) */
+        MISMATCHED,
+        /** WAIT 상태가 아닐 때 수신 */
+        UNEXPECTED
+    }
+
+    private static final int OUTCOMES = Outcome.values().length;
+    private static final int SLOT_OFFSET = -CommandDictionary.NO_CMD;
+
+    private final LongAdder[] counters;
+
+    CommandRxStats(int commandCount) {
+        this.counters = new LongAdder[(commandCount + SLOT_OFFSET) * OUTCOMES];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param cmdId CommandDictionary.classify 결과 (id / UNKNOWN / NO_CMD)
+     */
+    public void record(int cmdId, Outcome outcome) {
+        counters[slot(cmdId, outcome)].increment();
+    }
+
+    public long count(int cmdId, Outcome outcome) {
+        return counters[slot(cmdId, outcome)].sum();
+    }
+
+    /** 특정 결과의 전체 합계 (모든 CMD) */
+    public long total(Outcome outcome) {
+        long sum = 0;
+        for (int i = outcome.ordinal(); i < counters.length; i += OUTCOMES) {
+            sum += counters[i].sum();
+        }
+        return sum;
+    }
+
+    private int slot(int cmdId, Outcome outcome) {
+        return (cmdId + SLOT_OFFSET) * OUTCOMES + outcome.ordinal();
+    }
+}
@@ -0,0 +1,207 @@
+package com.nori.tc.eqpsim.socket.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ByteProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * FrameCmdScanner
+ *
+ * 목적
+ * - 수신 프레임(ByteBuf, framing 제거된 payload)에서 CMD 토큰 값을 String 생성 없이 찾는다.
+ * - {@link FrameTokenParser#extractCmdUpper(String)}와 같은 토큰 규칙을 바이트 위에서 적용한다.
+ *   (toString(UTF_8) + substring + toUpperCase 가 프레임마다 만들던 String 여러 개를 없앤다.)
+ *
+ * 사용
+ * - {@link #scan(ByteBuf)}: CMD 값 위치를 long(index/length packed)으로 반환. 없으면 {@link #NOT_FOUND}.
+ * - {@link #cmdEquals(ByteBuf, long, String)}: 기대 CMD(upper)와 대소문자 무시 비교. (할당 없음)
+ * - {@link #cmdUpper(ByteBuf, long)}: 로그 출력용 String. 실제로 로그를 남길 때만 호출한다.
+ *
+ * 토큰 규칙(FrameTokenParser와 동일)
+ * - ASCII 공백(Character.isWhitespace 대상: SP, \t, \n, \u000B, \f, \r, 0x1C~0x1F)으로 토큰을 나눈다.
+ * - 토큰의 첫 '=' 앞이 NAME, 뒤가 VALUE. NAME/VALUE 양끝의 제어문자(<= 0x20)는 trim과 동일하게 무시한다.
+ * - NAME이 CMD(대소문자 무시)인 첫 토큰에서 멈춘다. VALUE가 비어 있으면("CMD=") 다음 토큰을 계속 본다.
+ *
+ * 주의
+ * - 비ASCII 공백(U+3000 등)은 토큰 구분자로 취급하지 않는다. (장비 프로토콜은 ASCII 공백만 사용)
+ * - 인스턴스는 스캔 상태를 가지므로 채널(핸들러)마다 1개를 두고 event loop 스레드에서만 사용한다.
+ */
+public final class FrameCmdScanner implements ByteProcessor {
+
+    /** CMD 토큰 없음 */
+    public static final long NOT_FOUND = -1L;
+
+    // ─── 스캔 상태 (scan 1회 동안만 유효) ───────────────────────────────────────
+
+    private ByteBuf buf;
+
+    /** 다음 process() 호출이 보는 바이트의 절대 index */
+    private int pos;
+
+    /** 현재 토큰 시작 index. -1이면 공백 구간 */
+    private int tokenStart;
+
+    /** 현재 토큰의 첫 '=' index. -1이면 아직 없음 */
+    private int eqIndex;
+
+    /** 현재 토큰 NAME이 CMD인지 여부 ('=' 시점에 판정) */
+    private boolean cmdToken;
+
+    private long result;
+
+    /**
+     * 프레임 [readerIndex, writerIndex)에서 CMD 값 위치를 찾는다.
+     *
+     * @return packed(valueIndex, valueLength) 또는 {@link #NOT_FOUND}
+     */
+    public long scan(ByteBuf frame) {
+        if (frame == null || !frame.isReadable()) {
+            return NOT_FOUND;
+        }
+        buf = frame;
+        pos = frame.readerIndex();
+        tokenStart = -1;
+        eqIndex = -1;
+        cmdToken = false;
+        result = NOT_FOUND;
+        try {
+            int end = frame.writerIndex();
+            int stopped = frame.forEachByte(pos, end - pos, this);
+            if (stopped == -1 && tokenStart >= 0) {
+                // 마지막 토큰은 공백 없이 프레임 끝에서 닫힌다.
+                endToken(end);
+            }
+            return result;
+        } finally {
+            buf = null;
+        }
+    }
+
+    @Override
+    public boolean process(byte value) {
+        int i = pos++;
+        if (isAsciiWhitespace(value)) {
+            // 토큰 종료. CMD 토큰이 확정되면(result 설정 또는 빈 VALUE) 스캔 중지.
+            return tokenStart < 0 || !endToken(i);
+        }
+        if (tokenStart < 0) {
+            tokenStart = i;
+            eqIndex = -1;
+            cmdToken = false;
+        } else if (value == '=' && eqIndex < 0) {
+            eqIndex = i;
+            cmdToken = isCmdName(buf, tokenStart, i);
+        }
+        return true;
+    }
+
+    /**
+     * 토큰 [tokenStart, end)를 닫는다.
+     *
+     * @return true면 스캔 종료(CMD 확정 또는 "CMD=<제어문자만>"으로 없음 확정)
+     */
+    private boolean endToken(int end) {
+        int eq = eqIndex;
+        boolean cmd = cmdToken;
+        tokenStart = -1;
+        eqIndex = -1;
+        cmdToken = false;
+
+        // '=' 없음 / VALUE 없음("CMD=") → 무시하고 다음 토큰
+        if (!cmd || eq == end - 1) {
+            return false;
+        }
+        int vs = eq + 1;
+        int ve = end;
+        while (vs < ve && (buf.getByte(vs) & 0xFF) <= 0x20) {
+            vs++;
+        }
+        while (ve > vs && (buf.getByte(ve - 1) & 0xFF) <= 0x20) {
+            ve--;
+        }
+        result = vs == ve ? NOT_FOUND : pack(vs, ve - vs);
+        return true;
+    }
+
+    // ─── 결과 조회 (static: 할당/상태 없음) ─────────────────────────────────────
+
+    public static int valueIndex(long cmd) {
+        return (int) (cmd >>> 32);
+    }
+
+    public static int valueLength(long cmd) {
+        return (int) cmd;
+    }
+
+    /**
+     * CMD 값이 expectedUpper와 같은지(대소문자 무시) 비교한다.
+     * - 양쪽 모두 ASCII면 바이트 단위 비교로 끝낸다. (할당 없음)
+     * - 비ASCII가 섞이면 FrameTokenParser와 같은 결과를 위해 디코드 후 toUpperCase 비교로 폴백한다.
+     */
+    public static boolean cmdEquals(ByteBuf frame, long cmd, String expectedUpper) {
+        if (cmd == NOT_FOUND || expectedUpper == null) {
+            return false;
+        }
+        int index = valueIndex(cmd);
+        int length = valueLength(cmd);
+        int n = expectedUpper.length();
+        for (int k = 0; k < n; k++) {
+            if (expectedUpper.charAt(k) >= 0x80) {
+                return expectedUpper.equals(cmdUpper(frame, cmd));
+            }
+        }
+        for (int k = 0; k < length; k++) {
+            int b = frame.getByte(index + k) & 0xFF;
+            if (b >= 0x80) {
+                // 'ı'(U+0131) → 'I' 처럼 비ASCII가 ASCII로 upper 되는 경우까지 기존 규칙과 동일하게
+                return expectedUpper.equals(cmdUpper(frame, cmd));
+            }
+            if (k >= n || toUpperAscii(b) != expectedUpper.charAt(k)) {
+                return false;
+            }
+        }
+        return length == n;
+    }
+
+    /**
+     * 로그 출력용 CMD 문자열(upper). CMD 없으면 null.
+     */
+    public static String cmdUpper(ByteBuf frame, long cmd) {
+        if (cmd == NOT_FOUND) {
+            return null;
+        }
+        return frame.toString(valueIndex(cmd), valueLength(cmd), StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+    }
+
+    // ─── 내부 유틸 ──────────────────────────────────────────────────────────────
+
+    private static long pack(int index, int length) {
+        return ((long) index << 32) | (length & 0xFFFFFFFFL);
+    }
+
+    /** NAME [start, eq) 을 trim(<= 0x20)한 결과가 "CMD"(대소문자 무시)인지 */
+    private static boolean isCmdName(ByteBuf buf, int start, int eq) {
+        int s = start;
+        int e = eq;
+        while (s < e && (buf.getByte(s) & 0xFF) <= 0x20) {
+            s++;
+        }
+        while (e > s && (buf.getByte(e - 1) & 0xFF) <= 0x20) {
+            e--;
+        }
+        return e - s == 3
+                && toUpperAscii(buf.getByte(s) & 0xFF) == 'C'
+                && toUpperAscii(buf.getByte(s + 1) & 0xFF) == 'M'
+                && toUpperAscii(buf.getByte(s + 2) & 0xFF) == 'D';
+    }
+
+    private static int toUpperAscii(int b) {
+        return (b >= 'a' && b <= 'z') ? b - 32 : b;
+    }
+
+    private static boolean isAsciiWhitespace(byte b) {
+        return (b >= 0x09 && b <= 0x0D) || (b >= 0x1C && b <= 0x20);
+    }
+}
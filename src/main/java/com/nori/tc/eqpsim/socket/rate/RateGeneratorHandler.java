@@ -0,0 +1,215 @@
+package com.nori.tc.eqpsim.socket.rate;
+
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.netty.OutboundFrameSender;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.timer.SimTimer;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.concurrent.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateGeneratorHandler
+ *
+ * 역할:
+ * - RATE profile EQP의 open-loop 부하 생성기. (핸드셰이크 완료 후 HandshakeHandler가 교체 설치)
+ * - {@link RateSchedule}이 정한 의도 시각마다 payload mix에서 1개를 골라 송신한다.
+ * - TC 수신 프레임은 부하 대상이 아니므로 읽고 버린다.
+ *
+ * 정책 (coordinated omission 방지):
+ * - 송신 시각은 시작 시각 + 의도 시각으로만 정해진다. event loop가 늦게 깨어나면
+ *   밀린 송신을 한 tick에 몰아 보내 제시 부하를 유지한다. (tick당 {@link #MAX_SENDS_PER_TICK} 상한)
+ * - 채널이 unwritable이면 해당 송신은 보내지 않고 suppressed로 센다.
+ *   스케줄은 늦추지 않는다. (backpressure 정책과 무관하게 RATE는 DROP과 같이 동작)
+ * - maxLagMs: 의도 시각 대비 실제 송신 시각의 최대 지연 (생성기 자체의 포화 지표)
+ *
+ * 동시성:
+ * - 모든 상태는 채널 event loop에서만 접근한다. (stopped만 volatile)
+ */
+public class RateGeneratorHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+    private static final Logger log = LoggerFactory.getLogger(RateGeneratorHandler.class);
+
+    /** ACTIVE 부하 완료 후 채널 close까지 대기 시간(ms) */
+    private static final long CLOSE_GRACE_MS = 100;
+
+    /** tick 1회에 몰아 보낼 최대 송신 수 (밀린 분량이 커도 event loop를 독점하지 않도록) */
+    static final int MAX_SENDS_PER_TICK = 256;
+
+    private final RatePlan plan;
+    private final ScenarioCompletionTracker tracker;
+    private final SplittableRandom rnd = new SplittableRandom();
+
+    // ─── 실행 상태 ──────────────────────────────────────────────────────────────
+
+    private boolean started = false;
+    private volatile boolean stopped = false;
+
+    private RateSchedule schedule;
+    private SimTimer timer;
+    private Ticker ticker;
+    private long startNanos;
+
+    /** 다음 송신 의도 시각 (시작 기준 nanos, END면 완료) */
+    private long nextDueNanos;
+
+    private long offered;
+    private long sent;
+    private long suppressed;
+    private long maxLagNanos;
+
+    public RateGeneratorHandler(RatePlan plan, ScenarioCompletionTracker tracker) {
+        this.plan = plan;
+        this.tracker = tracker == null ? ScenarioCompletionTracker.NOOP : tracker;
+    }
+
+    // ─── Netty 채널 이벤트 ──────────────────────────────────────────────────────
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        if (ctx.channel().isActive()) {
+            ctx.executor().execute(() -> startIfNeeded(ctx, "handlerAdded"));
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        startIfNeeded(ctx, "channelActive");
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
+        // open-loop: TC 응답은 송신 스케줄에 영향을 주지 않는다. (수신 카운터만 갱신)
+        EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+        if (eqp != null) {
+            eqp.getTraffic().recordRx(msg.readableBytes());
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        try {
+            stopped = true;
+            EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+            if (eqp != null) eqp.setActivity(EqpRuntime.Activity.IDLE);
+        } finally {
+            ctx.fireChannelInactive();
+        }
+    }
+
+    // ─── 부하 생성 ────────────────────────────────────────────────────────────
+
+    private void startIfNeeded(ChannelHandlerContext ctx, String trigger) {
+        if (started) return;
+        started = true;
+
+        EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+        if (eqp == null) {
+            log.error(StructuredLog.event("rate_eqp_attr_missing",
+                    "connId", ctx.channel().id().asShortText(),
+                    "profileId", plan.getProfileId()));
+            ctx.close();
+            return;
+        }
+
+        schedule = plan.newSchedule(rnd);
+        timer = TimerService.of(ctx);
+        ticker = ctx.executor().ticker();
+        startNanos = ticker.nanoTime();
+        nextDueNanos = schedule.nextSendNanos();
+        eqp.setActivity(EqpRuntime.Activity.EMITTING);
+
+        log.info(StructuredLog.event("rate_started",
+                "trigger", trigger,
+                "eqpId", eqp.getEqpId(),
+                "mode", eqp.getMode(),
+                "connId", ctx.channel().id().asShortText(),
+                "profileId", plan.getProfileId(),
+                "arrival", plan.getArrival(),
+                "perSec", plan.getPerSec(),
+                "payloadCount", plan.getPayloadCount(),
+                "forever", plan.isForever()));
+
+        tick(ctx, eqp);
+    }
+
+    private void tick(ChannelHandlerContext ctx, EqpRuntime eqp) {
+        if (stopped || !ctx.channel().isActive()) return;
+
+        long now = ticker.nanoTime() - startNanos;
+        int n = 0;
+        while (nextDueNanos != RateSchedule.END && nextDueNanos <= now && n < MAX_SENDS_PER_TICK) {
+            maxLagNanos = Math.max(maxLagNanos, now - nextDueNanos);
+            offered++;
+            if (ctx.channel().isWritable()) {
+                OutboundFrameSender.send(ctx, eqp, plan.pick(rnd));
+                sent++;
+            } else {
+                suppressed++;
+                eqp.getBackpressureStats().recordSuppressed();
+            }
+            nextDueNanos = schedule.nextSendNanos();
+            n++;
+        }
+
+        if (nextDueNanos == RateSchedule.END) {
+            handleCompleted(ctx, eqp);
+            return;
+        }
+
+        long delayNanos = Math.max(0L, nextDueNanos - now);
+        timer.schedule(() -> tick(ctx, eqp), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ─── 완료 ────────────────────────────────────────────────────────────────
+
+    private void handleCompleted(ChannelHandlerContext ctx, EqpRuntime eqp) {
+        log.info(StructuredLog.event("rate_completed",
+                "eqpId", eqp.getEqpId(),
+                "mode", eqp.getMode(),
+                "connId", ctx.channel().id().asShortText(),
+                "profileId", plan.getProfileId(),
+                "offered", offered,
+                "sent", sent,
+                "suppressed", suppressed,
+                "maxLagMs", TimeUnit.NANOSECONDS.toMillis(maxLagNanos)));
+
+        eqp.setActivity(EqpRuntime.Activity.IDLE);
+        tracker.markScenarioCompleted(eqp.getEqpId());
+
+        if (eqp.getMode() == EqpProperties.Mode.ACTIVE) {
+            ctx.channel().attr(ChannelAttributes.CLOSE_REASON)
+                    .set(ChannelAttributes.CLOSE_REASON_SCENARIO_COMPLETED);
+            timer.schedule(() -> {
+                if (ctx.channel().isActive()) {
+                    ctx.close();
+                }
+            }, CLOSE_GRACE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ─── 조회 (테스트/집계용) ─────────────────────────────────────────────────
+
+    long getOffered() {
+        return offered;
+    }
+
+    long getSent() {
+        return sent;
+    }
+
+    long getSuppressed() {
+        return suppressed;
+    }
+}
@@ -0,0 +1,184 @@
+package com.nori.tc.eqpsim.socket.rate;
+
+import com.nori.tc.eqpsim.socket.config.RateProperties;
+import com.nori.tc.eqpsim.socket.scenario.PayloadTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * RatePlan
+ *
+ * 역할:
+ * - RATE profile(RateProperties)을 로드 시 1회 검증/컴파일한 불변 plan.
+ *   (payload 템플릿 컴파일, 가중치 누적 배열, 부하 곡선 파라미터)
+ * - 같은 profile을 쓰는 모든 EQP/채널이 공유한다. 채널별 상태는 {@link RateSchedule}이 가진다.
+ *
+ * 부하 곡선 (EQP 1개 기준 순간 송신률 λ(t)):
+ * - ramp-up   [0, U)        : λ · t/U
+ * - steady    [U, U+S)      : λ            (S ≤ 0 이면 무한)
+ * - ramp-down [U+S, U+S+D)  : λ · (1 - (t-U-S)/D)
+ * - 누적 기대 송신 수 Λ(t) = ∫λ(t)dt 의 역함수로 k번째 송신 시각을 구한다. ({@link #onTimeAtLoad})
+ */
+public final class RatePlan {
+
+    private final String profileId;
+    private final RateProperties.Arrival arrival;
+    private final double perSec;
+
+    /** 곡선 구간 길이 (초, BURST는 on 시간 기준) */
+    private final double rampUpSec;
+    private final double steadySec;
+    private final double rampDownSec;
+    private final boolean forever;
+
+    /** BURST on/off 길이 (초) */
+    private final double burstOnSec;
+    private final double burstOffSec;
+
+    private final PayloadTemplate[] payloads;
+
+    /** 누적 가중치: cumulativeWeights[i] = weight[0..i] 합 */
+    private final int[] cumulativeWeights;
+
+    private RatePlan(String profileId, RateProperties props, PayloadTemplate[] payloads, int[] cumulativeWeights) {
+        this.profileId = profileId;
+        this.arrival = props.getArrival();
+        this.perSec = props.getPerSec();
+        this.rampUpSec = props.getRampUpSec();
+        this.forever = props.getSteadySec() <= 0;
+        this.steadySec = forever ? Double.POSITIVE_INFINITY : props.getSteadySec();
+        this.rampDownSec = forever ? 0 : props.getRampDownSec();
+        this.burstOnSec = props.getBurstOnMs() / 1000.0;
+        this.burstOffSec = props.getBurstOffMs() / 1000.0;
+        this.payloads = payloads;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * 설정을 검증하고 컴파일한다.
+     *
+     * @throws IllegalArgumentException 설정 오류 (registry는 해당 profile을 등록하지 않는다)
+     */
+    public static RatePlan compile(String profileId, RateProperties props) {
+        Objects.requireNonNull(props, "rate must not be null");
+        if (props.getArrival() == null) {
+            throw new IllegalArgumentException("rate.arrival is required (profile=" + profileId + ")");
+        }
+        if (!(props.getPerSec() > 0) || Double.isInfinite(props.getPerSec())) {
+            throw new IllegalArgumentException("rate.per-sec must be > 0 (profile=" + profileId + ")");
+        }
+        if (props.getRampUpSec() < 0 || props.getRampDownSec() < 0) {
+            throw new IllegalArgumentException("rate.ramp-*-sec must be >= 0 (profile=" + profileId + ")");
+        }
+        if (props.getArrival() == RateProperties.Arrival.BURST
+                && (props.getBurstOnMs() <= 0 || props.getBurstOffMs() < 0)) {
+            throw new IllegalArgumentException("rate.burst-on-ms must be > 0, burst-off-ms >= 0 (profile=" + profileId + ")");
+        }
+
+        List<RateProperties.PayloadMix> mix = props.getPayloads();
+        if (mix == null || mix.isEmpty()) {
+            throw new IllegalArgumentException("rate.payloads is empty (profile=" + profileId + ")");
+        }
+        PayloadTemplate[] templates = new PayloadTemplate[mix.size()];
+        int[] cumulative = new int[mix.size()];
+        long sum = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            RateProperties.PayloadMix m = mix.get(i);
+            if (m == null || m.getPayload() == null || m.getPayload().isBlank()) {
+                throw new IllegalArgumentException("rate.payloads[" + i + "].payload is blank (profile=" + profileId + ")");
+            }
+            if (m.getWeight() <= 0) {
+                throw new IllegalArgumentException("rate.payloads[" + i + "].weight must be > 0 (profile=" + profileId + ")");
+            }
+            sum += m.getWeight();
+            if (sum > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("rate.payloads weight sum overflow (profile=" + profileId + ")");
+            }
+            templates[i] = PayloadTemplate.compile(m.getPayload().trim());
+            cumulative[i] = (int) sum;
+        }
+        return new RatePlan(profileId, props, templates, cumulative);
+    }
+
+    public String getProfileId() {
+        return profileId;
+    }
+
+    public RateProperties.Arrival getArrival() {
+        return arrival;
+    }
+
+    public double getPerSec() {
+        return perSec;
+    }
+
+    /** steady 구간이 무한이면 true (완료되지 않음) */
+    public boolean isForever() {
+        return forever;
+    }
+
+    public int getPayloadCount() {
+        return payloads.length;
+    }
+
+    /**
+     * 누적 기대 송신 수 전체. (forever면 무한대)
+     */
+    public double totalLoad() {
+        return perSec * (rampUpSec / 2 + steadySec + rampDownSec / 2);
+    }
+
+    /**
+     * 채널 1개의 송신 시각 생성기를 만든다.
+     */
+    public RateSchedule newSchedule(RandomGenerator rnd) {
+        return new RateSchedule(this, rnd);
+    }
+
+    /**
+     * 가중치에 따라 payload 1개를 고른다.
+     */
+    public PayloadTemplate pick(RandomGenerator rnd) {
+        if (payloads.length == 1) return payloads[0];
+        int r = rnd.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int idx = Arrays.binarySearch(cumulativeWeights, r + 1);
+        return payloads[idx >= 0 ? idx : -idx - 1];
+    }
+
+    /**
+     * Λ(t) = load 를 만족하는 t(초, on 시간 기준). 곡선이 끝나 도달할 수 없으면 -1.
+     */
+    double onTimeAtLoad(double load) {
+        double rampUpLoad = perSec * rampUpSec / 2;
+        if (load <= rampUpLoad) {
+            // λ t²/(2U) = load
+            return Math.sqrt(2 * rampUpSec * load / perSec);
+        }
+        double steadyLoad = rampUpLoad + perSec * steadySec;
+        if (load <= steadyLoad) {
+            return rampUpSec + (load - rampUpLoad) / perSec;
+        }
+        // ramp-down: λ (v - v²/(2D)) = r
+        double r = (load - steadyLoad) / perSec;
+        if (rampDownSec <= 0 || r > rampDownSec / 2) {
+            return -1;
+        }
+        double v = rampDownSec - Math.sqrt(rampDownSec * rampDownSec - 2 * rampDownSec * r);
+        return rampUpSec + steadySec + v;
+    }
+
+    /**
+     * on 시간 기준 시각을 실제 경과 시각으로 바꾼다. (BURST: off 구간을 끼워 넣음)
+     */
+    double wallTimeOf(double onTimeSec) {
+        if (arrival != RateProperties.Arrival.BURST || burstOffSec <= 0) {
+            return onTimeSec;
+        }
+        // on 구간 끝 경계(u = k·on)는 다음 주기 시작이 아니라 같은 주기의 끝으로 본다.
+        double cycles = Math.max(0, Math.ceil(onTimeSec / burstOnSec) - 1);
+        return cycles * (burstOnSec + burstOffSec) + (onTimeSec - cycles * burstOnSec);
+    }
+}
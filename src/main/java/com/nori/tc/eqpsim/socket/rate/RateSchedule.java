@@ -0,0 +1,54 @@
+package com.nori.tc.eqpsim.socket.rate;
+
+import com.nori.tc.eqpsim.socket.config.RateProperties;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * RateSchedule
+ *
+ * 역할:
+ * - 채널 1개의 "의도된 송신 시각" 수열을 만든다. (시작 시각 기준 경과 nanos)
+ *
+ * coordinated omission 방지:
+ * - k번째 송신 시각은 누적 기대 송신 수 Λ(t)=k 로만 정해지며, 실제 송신이 늦었는지와 무관하다.
+ *   (이전 송신 완료 시각 + 간격 방식이 아니므로 TC가 밀려도 제시 부하가 줄지 않는다)
+ *
+ * arrival:
+ * - CONSTANT: Λ 증분 1 (곡선 위의 등간격)
+ * - POISSON : Λ 증분 ~ Exp(1) (비균질 포아송 과정, 시간 변환법)
+ * - BURST   : CONSTANT를 on 시간축에서 만들고 off 구간을 끼워 넣는다.
+ *
+ * 동시성:
+ * - 채널 event loop 스레드에서만 사용한다.
+ */
+public final class RateSchedule {
+
+    /** 곡선이 끝나 더 이상 송신이 없음 */
+    public static final long END = -1L;
+
+    private final RatePlan plan;
+    private final RandomGenerator rnd;
+    private final boolean poisson;
+
+    /** 지금까지 소비한 누적 기대 송신 수 */
+    private double load;
+
+    RateSchedule(RatePlan plan, RandomGenerator rnd) {
+        this.plan = plan;
+        this.rnd = rnd;
+        this.poisson = plan.getArrival() == RateProperties.Arrival.POISSON;
+    }
+
+    /**
+     * 다음 송신의 의도 시각(시작 기준 nanos). 끝났으면 {@link #END}.
+     */
+    public long nextSendNanos() {
+        load += poisson ? -Math.log(1.0 - rnd.nextDouble()) : 1.0;
+        double onTime = plan.onTimeAtLoad(load);
+        if (onTime < 0) {
+            return END;
+        }
+        return (long) (plan.wallTimeOf(onTime) * 1_000_000_000L);
+    }
+}
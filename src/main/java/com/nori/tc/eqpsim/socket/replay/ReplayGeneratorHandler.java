@@ -0,0 +1,398 @@
+package com.nori.tc.eqpsim.socket.replay;
+
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.netty.OutboundFrameSender;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.timer.SimTimer;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReplayGeneratorHandler
+ *
+ * 역할:
+ * - REPLAY profile EQP의 트래픽 재생기. (핸드셰이크 완료 후 HandshakeHandler가 교체 설치)
+ * - 로그 줄을 기록 간격 / speed 시각에 OutboundFrameSender로 송신한다. (framing/fault/capture 동일 경로)
+ * - TC 수신 프레임은 재생 대상이 아니므로 읽고 버린다.
+ *
+ * 디스크 읽기 (메모리 상한):
+ * - 파일 읽기/파싱은 event loop가 아닌 I/O 실행기에서 batch-lines줄씩 한다.
+ *   실행기는 NettyTransportLifecycle이 {@link #newIoExecutor()}로 만들어 채널 attr(REPLAY_IO)로 넘기고 stop 때 종료한다.
+ * - 채널당 "재생 중 batch 1개 + 미리 읽은 batch 1개"만 둔다. 재생 중 batch로 넘어가는 순간 다음 batch를 요청한다.
+ *   다음 batch가 아직 없으면 도착 callback에서 재개한다. (I/O가 재생 속도를 못 따라가면 lag로 드러난다)
+ *
+ * 시간 정책:
+ * - 재생 시각은 시작 시각 + 로그 경과 시간 / speed로만 정해진다. event loop가 늦게 깨어나면
+ *   밀린 줄을 한 tick에 몰아 보낸다. (tick당 {@link #MAX_SENDS_PER_TICK} 상한, RATE와 같음)
+ * - 로그 timestamp가 거꾸로 가면 직전 줄과 같은 시각으로 본다.
+ * - 채널이 unwritable이면 해당 줄은 보내지 않고 suppressed로 센다. (RATE와 같이 시간축 보존)
+ * - as-fast-as-possible: 간격을 무시하고 writable인 동안 tick당 상한만큼 보낸 뒤 event loop에 양보한다.
+ *   unwritable이면 줄을 버리지 않고 writable 복귀까지 멈춘다.
+ *
+ * 동시성:
+ * - 재생 상태는 채널 event loop에서만 접근한다. I/O 결과는 ctx.executor()로 넘겨 처리한다.
+ */
+public class ReplayGeneratorHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayGeneratorHandler.class);
+
+    /** ACTIVE 재생 완료 후 채널 close까지 대기 시간(ms) */
+    private static final long CLOSE_GRACE_MS = 100;
+
+    /** tick 1회에 몰아 보낼 최대 송신 수 (밀린 분량이 커도 event loop를 독점하지 않도록) */
+    static final int MAX_SENDS_PER_TICK = 256;
+
+    private final ReplayPlan plan;
+    private final ScenarioCompletionTracker tracker;
+
+    /** 파일 읽기 실행기 (생성자에서 받지 않았으면 시작 시 채널 attr REPLAY_IO) */
+    private Executor io;
+
+    // ─── 실행 상태 ──────────────────────────────────────────────────────────────
+
+    private boolean started = false;
+    private volatile boolean stopped = false;
+
+    private EqpRuntime eqp;
+    private ReplayReader reader;
+    private SimTimer timer;
+    private Ticker ticker;
+    private long startNanos;
+
+    /** 재생 중 batch / 미리 읽은 batch (없으면 null) */
+    private ArrayDeque<ReplayLine> current = new ArrayDeque<>();
+    private ArrayDeque<ReplayLine> prefetched;
+    private boolean readPending;
+    private boolean eof;
+
+    /** 다음 batch 도착 / writable 복귀를 기다리는 중이면 true (해당 이벤트에서 tick 재개) */
+    private boolean waitingIo;
+    private boolean waitingWritable;
+
+    /** 첫 줄 timestamp (재생 기준), 직전 줄의 재생 시각 (시작 기준 nanos) */
+    private long firstTimestampNanos;
+    private boolean firstSeen;
+    private long lastDueNanos;
+
+    private long sent;
+    private long suppressed;
+    private long maxLagNanos;
+
+    public ReplayGeneratorHandler(ReplayPlan plan, ScenarioCompletionTracker tracker) {
+        this(plan, tracker, null);
+    }
+
+    /**
+     * @param io 파일 읽기 실행기 (테스트는 호출 스레드에서 바로 읽도록 Runnable::run 사용)
+     */
+    ReplayGeneratorHandler(ReplayPlan plan, ScenarioCompletionTracker tracker, Executor io) {
+        this.plan = plan;
+        this.tracker = tracker == null ? ScenarioCompletionTracker.NOOP : tracker;
+        this.io = io;
+    }
+
+    /**
+     * 재생 로그 읽기 실행기 (daemon 2 스레드, 파일 I/O가 event loop를 막지 않도록).
+     * 소유자(NettyTransportLifecycle)가 stop 때 shutdown 한다.
+     */
+    public static ExecutorService newIoExecutor() {
+        return Executors.newFixedThreadPool(2, new DefaultThreadFactory("replay-io", true));
+    }
+
+    // ─── Netty 채널 이벤트 ──────────────────────────────────────────────────────
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        if (ctx.channel().isActive()) {
+            ctx.executor().execute(() -> startIfNeeded(ctx, "handlerAdded"));
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        startIfNeeded(ctx, "channelActive");
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
+        // 재생은 open-loop: TC 응답은 송신 시각에 영향을 주지 않는다. (수신 카운터만 갱신)
+        EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+        if (eqp != null) {
+            eqp.getTraffic().recordRx(msg.readableBytes());
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (waitingWritable && ctx.channel().isWritable()) {
+            waitingWritable = false;
+            tick(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        try {
+            stopped = true;
+            closeReader();
+            if (eqp != null) eqp.setActivity(EqpRuntime.Activity.IDLE);
+        } finally {
+            ctx.fireChannelInactive();
+        }
+    }
+
+    // ─── 재생 ─────────────────────────────────────────────────────────────────
+
+    private void startIfNeeded(ChannelHandlerContext ctx, String trigger) {
+        if (started) return;
+        started = true;
+
+        eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+        if (eqp == null) {
+            log.error(StructuredLog.event("replay_eqp_attr_missing",
+                    "connId", ctx.channel().id().asShortText(),
+                    "profileId", plan.getProfileId()));
+            ctx.close();
+            return;
+        }
+
+        if (io == null) {
+            io = ctx.channel().attr(ChannelAttributes.REPLAY_IO).get();
+        }
+        if (io == null) {
+            log.error(StructuredLog.event("replay_io_executor_missing",
+                    "eqpId", eqp.getEqpId(),
+                    "connId", ctx.channel().id().asShortText(),
+                    "profileId", plan.getProfileId()));
+            ctx.close();
+            return;
+        }
+
+        reader = new ReplayReader(plan.fileFor(eqp.getEqpId()));
+        timer = TimerService.of(ctx);
+        ticker = ctx.executor().ticker();
+        startNanos = ticker.nanoTime();
+        eqp.setActivity(EqpRuntime.Activity.EMITTING);
+
+        log.info(StructuredLog.event("replay_started",
+                "trigger", trigger,
+                "eqpId", eqp.getEqpId(),
+                "mode", eqp.getMode(),
+                "connId", ctx.channel().id().asShortText(),
+                "profileId", plan.getProfileId(),
+                "file", reader.getFile(),
+                "speed", plan.isAsFastAsPossible() ? "max" : plan.getSpeed()));
+
+        waitingIo = true;
+        requestBatch(ctx);
+    }
+
+    private void tick(ChannelHandlerContext ctx) {
+        if (stopped || !ctx.channel().isActive()) return;
+
+        long now = ticker.nanoTime() - startNanos;
+        int n = 0;
+        ReplayLine line;
+        while ((line = peekLine(ctx)) != null && n < MAX_SENDS_PER_TICK) {
+            long due = dueOf(line);
+            if (plan.isAsFastAsPossible()) {
+                if (!ctx.channel().isWritable()) {
+                    waitingWritable = true;
+                    return;
+                }
+                OutboundFrameSender.send(ctx, eqp, line.payload());
+                sent++;
+            } else {
+                if (due > now) break;
+                maxLagNanos = Math.max(maxLagNanos, now - due);
+                if (ctx.channel().isWritable()) {
+                    OutboundFrameSender.send(ctx, eqp, line.payload());
+                    sent++;
+                } else {
+                    suppressed++;
+                    eqp.getBackpressureStats().recordSuppressed();
+                }
+            }
+            lastDueNanos = due;
+            current.poll();
+            n++;
+        }
+
+        if (line == null) {
+            if (eof && prefetched == null && !readPending) {
+                handleCompleted(ctx);
+            } else {
+                // 다음 batch 도착 callback에서 재개
+                waitingIo = true;
+            }
+            return;
+        }
+
+        if (plan.isAsFastAsPossible()) {
+            // tick 상한까지 보냈으면 다른 채널에 양보 후 이어서 송신
+            ctx.executor().execute(() -> tick(ctx));
+            return;
+        }
+        long delayNanos = Math.max(0L, dueOf(line) - now);
+        timer.schedule(() -> tick(ctx), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 재생 시각 (시작 기준 nanos). 첫 줄이 0, timestamp가 거꾸로 가면 직전 줄 시각.
+     */
+    private long dueOf(ReplayLine line) {
+        if (!firstSeen) {
+            firstSeen = true;
+            firstTimestampNanos = line.timestampNanos();
+        }
+        if (plan.isAsFastAsPossible()) return 0L;
+        return Math.max(lastDueNanos, plan.scaledNanos(line.timestampNanos() - firstTimestampNanos));
+    }
+
+    /**
+     * 재생 중 batch의 다음 줄. 비었으면 미리 읽은 batch로 넘어가고 그 다음 batch를 요청한다.
+     */
+    private ReplayLine peekLine(ChannelHandlerContext ctx) {
+        if (current.isEmpty() && prefetched != null) {
+            current = prefetched;
+            prefetched = null;
+            requestBatch(ctx);
+        }
+        return current.peek();
+    }
+
+    // ─── 디스크 읽기 (I/O 스레드 → event loop) ───────────────────────────────────
+
+    private void requestBatch(ChannelHandlerContext ctx) {
+        if (readPending || eof || prefetched != null) return;
+        readPending = true;
+        ReplayReader r = reader;
+        int batchLines = plan.getBatchLines();
+        try {
+            io.execute(() -> {
+                ArrayDeque<ReplayLine> batch;
+                try {
+                    batch = r.readBatch(batchLines);
+                } catch (IOException | RuntimeException e) {
+                    ctx.executor().execute(() -> onReadFailed(ctx, e));
+                    return;
+                }
+                boolean end = r.isEof();
+                ctx.executor().execute(() -> onBatch(ctx, batch, end));
+            });
+        } catch (RejectedExecutionException e) {
+            onReadFailed(ctx, e);
+        }
+    }
+
+    private void onBatch(ChannelHandlerContext ctx, ArrayDeque<ReplayLine> batch, boolean end) {
+        readPending = false;
+        eof = end;
+        if (stopped) return;
+
+        if (!batch.isEmpty()) {
+            prefetched = batch;
+        }
+        if (current.isEmpty() && prefetched != null) {
+            current = prefetched;
+            prefetched = null;
+        }
+        // 빈 batch(주석/오류 줄만 있었음)면 바로 다음 batch
+        requestBatch(ctx);
+
+        if (waitingIo) {
+            waitingIo = false;
+            tick(ctx);
+        }
+    }
+
+    private void onReadFailed(ChannelHandlerContext ctx, Exception e) {
+        readPending = false;
+        if (stopped) return;
+        log.error(StructuredLog.event("replay_read_failed",
+                "eqpId", eqp.getEqpId(),
+                "connId", ctx.channel().id().asShortText(),
+                "profileId", plan.getProfileId(),
+                "file", reader.getFile(),
+                "lineNo", reader.getLineNo(),
+                "error", e.toString()));
+        stopped = true;
+        closeReader();
+        ctx.close();
+    }
+
+    private void closeReader() {
+        ReplayReader r = reader;
+        if (r == null) return;
+        try {
+            io.execute(() -> {
+                try {
+                    r.close();
+                } catch (IOException ignore) {
+                    // 읽기 종료 상태
+                }
+            });
+        } catch (RejectedExecutionException ignore) {
+            // 종료 중: 파일 핸들은 GC/프로세스 종료 시 반환
+        }
+    }
+
+    // ─── 완료 ────────────────────────────────────────────────────────────────
+
+    private void handleCompleted(ChannelHandlerContext ctx) {
+        log.info(StructuredLog.event("replay_completed",
+                "eqpId", eqp.getEqpId(),
+                "mode", eqp.getMode(),
+                "connId", ctx.channel().id().asShortText(),
+                "profileId", plan.getProfileId(),
+                "lines", reader.getLineNo(),
+                "malformed", reader.getMalformed(),
+                "sent", sent,
+                "suppressed", suppressed,
+                "maxLagMs", TimeUnit.NANOSECONDS.toMillis(maxLagNanos)));
+
+        stopped = true;
+        closeReader();
+        eqp.setActivity(EqpRuntime.Activity.IDLE);
+        tracker.markScenarioCompleted(eqp.getEqpId());
+
+        if (eqp.getMode() == EqpProperties.Mode.ACTIVE) {
+            ctx.channel().attr(ChannelAttributes.CLOSE_REASON)
+                    .set(ChannelAttributes.CLOSE_REASON_SCENARIO_COMPLETED);
+            timer.schedule(() -> {
+                if (ctx.channel().isActive()) {
+                    ctx.close();
+                }
+            }, CLOSE_GRACE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ─── 조회 (테스트/집계용) ─────────────────────────────────────────────────
+
+    long getSent() {
+        return sent;
+    }
+
+    long getSuppressed() {
+        return suppressed;
+    }
+}
@@ -0,0 +1,10 @@
+package com.nori.tc.eqpsim.socket.replay;
+
+/**
+ * 재생 로그 1줄
+ *
+ * @param timestampNanos 줄의 기록 시각 (epoch 기준 nanos, 오프셋 없는 시각은 UTC로 간주 — 간격만 사용)
+ * @param payload        송신할 payload (치환 없음)
+ */
+public record ReplayLine(long timestampNanos, String payload) {
+}
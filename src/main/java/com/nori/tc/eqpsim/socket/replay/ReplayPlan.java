@@ -0,0 +1,102 @@
+package com.nori.tc.eqpsim.socket.replay;
+
+import com.nori.tc.eqpsim.socket.config.ReplayProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * ReplayPlan
+ *
+ * 역할:
+ * - REPLAY profile(ReplayProperties)을 로드 시 1회 검증한 불변 plan.
+ * - 같은 profile을 쓰는 모든 EQP/채널이 공유한다. 채널별 읽기 상태는 {@link ReplayReader}가 가진다.
+ *
+ * 시간 변환:
+ * - 재생 시각 = 시작 시각 + (줄 timestamp - 첫 줄 timestamp) / speed
+ */
+public final class ReplayPlan {
+
+    public static final double MIN_SPEED = 0.1;
+    public static final double MAX_SPEED = 100.0;
+
+    private static final String EQPID_PLACEHOLDER = "{eqpid}";
+
+    private final String profileId;
+    private final String fileTemplate;
+    private final double speed;
+    private final boolean asFastAsPossible;
+    private final int batchLines;
+
+    private ReplayPlan(String profileId, ReplayProperties props) {
+        this.profileId = profileId;
+        this.fileTemplate = props.getFile().trim();
+        this.speed = props.getSpeed();
+        this.asFastAsPossible = props.isAsFastAsPossible();
+        this.batchLines = props.getBatchLines();
+    }
+
+    /**
+     * 설정을 검증한다.
+     *
+     * @throws IllegalArgumentException 설정 오류 (registry는 해당 profile을 등록하지 않는다)
+     */
+    public static ReplayPlan compile(String profileId, ReplayProperties props) {
+        Objects.requireNonNull(props, "replay must not be null");
+        if (props.getFile() == null || props.getFile().trim().isEmpty()) {
+            throw new IllegalArgumentException("replay.file is required (profile=" + profileId + ")");
+        }
+        if (!props.isAsFastAsPossible() && !(props.getSpeed() >= MIN_SPEED && props.getSpeed() <= MAX_SPEED)) {
+            throw new IllegalArgumentException("replay.speed must be " + MIN_SPEED + " ~ " + MAX_SPEED
+                    + " (profile=" + profileId + "): " + props.getSpeed());
+        }
+        if (props.getBatchLines() <= 0) {
+            throw new IllegalArgumentException("replay.batch-lines must be > 0 (profile=" + profileId + ")");
+        }
+        ReplayPlan plan = new ReplayPlan(profileId, props);
+        // EQP 공용 파일은 로드 시점에 확인 (EQP별 파일은 연결 시 열 때 확인)
+        if (!plan.isPerEqpFile() && !Files.isReadable(Path.of(plan.fileTemplate))) {
+            throw new IllegalArgumentException("replay.file not readable (profile=" + profileId + "): " + plan.fileTemplate);
+        }
+        return plan;
+    }
+
+    /**
+     * EQP가 재생할 파일 ({eqpid} 치환)
+     */
+    public Path fileFor(String eqpId) {
+        return Path.of(isPerEqpFile() ? fileTemplate.replace(EQPID_PLACEHOLDER, eqpId) : fileTemplate);
+    }
+
+    /**
+     * 로그상 경과 시간 → 재생 경과 시간 (배속 적용)
+     */
+    public long scaledNanos(long logElapsedNanos) {
+        return (long) (logElapsedNanos / speed);
+    }
+
+    public boolean isPerEqpFile() {
+        return fileTemplate.contains(EQPID_PLACEHOLDER);
+    }
+
+    public String getProfileId() {
+        return profileId;
+    }
+
+    public String getFileTemplate() {
+        return fileTemplate;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public boolean isAsFastAsPossible() {
+        return asFastAsPossible;
+    }
+
+    public int getBatchLines() {
+        return batchLines;
+    }
+}
@@ -0,0 +1,202 @@
+package com.nori.tc.eqpsim.socket.replay;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+
+/**
+ * ReplayReader
+ *
+ * 역할:
+ * - 재생 로그 파일을 앞에서부터 batch 단위로 읽어 {@link ReplayLine}으로 파싱한다.
+ *   파일 전체를 메모리에 올리지 않는다. (수 GB 로그도 batch 크기만큼만 사용)
+ * - 형식이 맞지 않는 줄은 건너뛰고 센다. (첫 1건만 replay_line_malformed로 남김)
+ *
+ * 동시성:
+ * - ReplayGeneratorHandler가 I/O 스레드에서 readBatch, 채널 종료 시 close를 호출한다.
+ *   둘이 겹칠 수 있으므로 메서드를 synchronized로 둔다. (채널당 1개, 경합 거의 없음)
+ */
+public final class ReplayReader implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayReader.class);
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L};
+
+    private final Path file;
+    private BufferedReader in;
+    private boolean eof;
+    private boolean closed;
+
+    private long lineNo;
+    private long malformed;
+
+    public ReplayReader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 최대 maxLines줄을 읽는다. 파일 끝이면 {@link #isEof()}=true (반환 batch는 비어 있을 수 있음)
+     */
+    public synchronized ArrayDeque<ReplayLine> readBatch(int maxLines) throws IOException {
+        ArrayDeque<ReplayLine> batch = new ArrayDeque<>(Math.min(maxLines, 1024));
+        if (eof || closed) {
+            eof = true;
+            return batch;
+        }
+        if (in == null) {
+            in = new BufferedReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+        }
+        while (batch.size() < maxLines) {
+            String line = in.readLine();
+            if (line == null) {
+                eof = true;
+                break;
+            }
+            lineNo++;
+            try {
+                ReplayLine parsed = parseLine(line);
+                if (parsed != null) {
+                    batch.add(parsed);
+                }
+            } catch (IllegalArgumentException e) {
+                if (malformed++ == 0) {
+                    log.warn(StructuredLog.event("replay_line_malformed",
+                            "file", file,
+                            "lineNo", lineNo,
+                            "reason", e.getMessage()));
+                }
+            }
+        }
+        return batch;
+    }
+
+    public synchronized boolean isEof() {
+        return eof;
+    }
+
+    public synchronized long getMalformed() {
+        return malformed;
+    }
+
+    public synchronized long getLineNo() {
+        return lineNo;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (in != null) {
+            in.close();
+            in = null;
+        }
+    }
+
+    // ─── 줄 파싱 ────────────────────────────────────────────────────────────
+
+    /**
+     * "<timestamp><TAB 또는 공백><payload>" 한 줄을 파싱한다.
+     *
+     * @return 빈 줄/주석('#')이면 null
+     * @throws IllegalArgumentException timestamp/payload 형식 오류
+     */
+    static ReplayLine parseLine(String line) {
+        int start = 0;
+        int len = line.length();
+        while (start < len && (line.charAt(start) == ' ' || line.charAt(start) == '\t')) start++;
+        if (start == len || line.charAt(start) == '#') {
+            return null;
+        }
+
+        int sep = line.indexOf('\t', start);
+        if (sep < 0) {
+            sep = line.indexOf(' ', start);
+            // "2026-10-16 12:34:56.789 payload": 날짜와 시각 사이 공백은 timestamp의 일부
+            if (sep == start + 10 && isDate(line, start) && sep + 1 < len && Character.isDigit(line.charAt(sep + 1))) {
+                sep = line.indexOf(' ', sep + 1);
+            }
+        }
+        if (sep < 0 || sep + 1 >= len) {
+            throw new IllegalArgumentException("payload missing");
+        }
+        return new ReplayLine(parseTimestampNanos(line.substring(start, sep)), line.substring(sep + 1));
+    }
+
+    /**
+     * timestamp → epoch nanos. 오프셋 없는 날짜/시각은 UTC로 본다. (재생은 줄 사이 간격만 쓴다)
+     */
+    static long parseTimestampNanos(String ts) {
+        boolean digits = true;
+        int dot = -1;
+        for (int i = 0; i < ts.length(); i++) {
+            char c = ts.charAt(i);
+            if (c == '.' && dot < 0) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                digits = false;
+                break;
+            }
+        }
+        if (digits && ts.length() > 0) {
+            try {
+                if (dot < 0) {
+                    return Math.multiplyExact(Long.parseLong(ts), 1_000_000L); // epoch millis
+                }
+                // epoch seconds + 소수 (nanos까지)
+                long sec = Long.parseLong(ts.substring(0, dot));
+                String frac = ts.substring(dot + 1);
+                if (frac.length() > 9) frac = frac.substring(0, 9);
+                long nanos = frac.isEmpty() ? 0 : Long.parseLong(frac) * POW10[9 - frac.length()];
+                return Math.addExact(Math.multiplyExact(sec, 1_000_000_000L), nanos);
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new IllegalArgumentException("bad timestamp: " + ts);
+            }
+        }
+
+        String iso = ts.replace(',', '.');
+        if (iso.length() > 10 && iso.charAt(10) == ' ') {
+            iso = iso.substring(0, 10) + 'T' + iso.substring(11);
+        }
+        try {
+            TemporalAccessor t = DateTimeFormatter.ISO_DATE_TIME.parseBest(iso, OffsetDateTime::from, LocalDateTime::from);
+            Instant instant = (t instanceof OffsetDateTime odt)
+                    ? odt.toInstant()
+                    : ((LocalDateTime) t).toInstant(ZoneOffset.UTC);
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (DateTimeParseException | ArithmeticException e) {
+            throw new IllegalArgumentException("bad timestamp: " + ts);
+        }
+    }
+
+    /** line[start..start+10) 이 yyyy-MM-dd 모양인지 */
+    private static boolean isDate(String line, int start) {
+        if (line.length() < start + 10) return false;
+        for (int i = 0; i < 10; i++) {
+            char c = line.charAt(start + i);
+            boolean ok = (i == 4 || i == 7) ? c == '-' : Character.isDigit(c);
+            if (!ok) return false;
+        }
+        return true;
+    }
+}
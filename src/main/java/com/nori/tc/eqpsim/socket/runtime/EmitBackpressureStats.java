@@ -0,0 +1,46 @@
+package com.nori.tc.eqpsim.socket.runtime;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EmitBackpressureStats
+ *
+ * 역할:
+ * - EQP 1개의 송신 backpressure(채널 unwritable) 처리 결과를 센다.
+ *   - suppressed: DROP 정책으로 보내지 않은 EMIT 프레임 수
+ *   - deferred  : PAUSE/BLOCK 정책으로 writable 복귀까지 보류한 프레임(EMIT tick/SEND) 수
+ *   - pauses    : unwritable로 emit/step 진행을 멈춘 횟수
+ *
+ * 동시성:
+ * - PASSIVE EQP는 재접속 시 다른 event loop에서 기록할 수 있으므로 LongAdder를 쓴다.
+ */
+public final class EmitBackpressureStats {
+
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder pauses = new LongAdder();
+
+    public void recordSuppressed() {
+        suppressed.increment();
+    }
+
+    public void recordDeferred() {
+        deferred.increment();
+    }
+
+    public void recordPause() {
+        pauses.increment();
+    }
+
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    public long getDeferred() {
+        return deferred.sum();
+    }
+
+    public long getPauses() {
+        return pauses.sum();
+    }
+}
@@ -0,0 +1,58 @@
+package com.nori.tc.eqpsim.socket.runtime;
+
+import com.nori.tc.eqpsim.socket.metrics.LogLinearHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EmitLatenessStats
+ *
+ * 역할:
+ * - EQP 1개의 fixed-rate EMIT tick 지연(lateness = 실제 송신 시각 - 의도 송신 시각)을 기록한다.
+ *   - lateness : µs 단위 log-linear histogram
+ *   - skipped  : late=skip 정책으로 건너뛴 tick 수
+ *
+ * 메모리:
+ * - histogram(약 4KB)은 첫 기록 시점에 만든다. fixed-rate를 쓰지 않는 EQP는 비용이 없다.
+ *
+ * 동시성:
+ * - PASSIVE EQP는 재접속 시 다른 event loop에서 기록할 수 있으므로 histogram 생성은 double-checked로 한다.
+ */
+public final class EmitLatenessStats {
+
+    private volatile LogLinearHistogram latenessUs;
+    private final LongAdder skipped = new LongAdder();
+
+    public void recordLatenessNanos(long latenessNanos) {
+        histogram().record(latenessNanos / 1_000L);
+    }
+
+    public void recordSkipped(long ticks) {
+        if (ticks > 0) skipped.add(ticks);
+    }
+
+    /**
+     * @return 기록이 없으면 null
+     */
+    public LogLinearHistogram getLatenessUs() {
+        return latenessUs;
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    private LogLinearHistogram histogram() {
+        LogLinearHistogram h = latenessUs;
+        if (h == null) {
+            synchronized (this) {
+                h = latenessUs;
+                if (h == null) {
+                    h = new LogLinearHistogram();
+                    latenessUs = h;
+                }
+            }
+        }
+        return h;
+    }
+}
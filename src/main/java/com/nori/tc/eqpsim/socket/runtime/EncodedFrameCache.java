@@ -0,0 +1,139 @@
+package com.nori.tc.eqpsim.socket.runtime;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EncodedFrameCache
+ *
+ * 역할:
+ * - EQP 1개의 "치환 + 프레이밍까지 끝난" 송신 프레임을 step(PayloadTemplate) 단위로 보관한다.
+ *   (키 = (EqpRuntime, step): 캐시 인스턴스가 EqpRuntime마다 1개, 내부 키가 step의 템플릿)
+ * - 정상 송신(fault 없음) 경로는 캐시 버퍼의 retainedDuplicate()만 write 하므로
+ *   EMIT tick마다 치환/인코딩/복사가 없다.
+ *
+ * 불변 약속:
+ * - 캐시에 들어간 버퍼는 누구도 내용을 수정하지 않는다. (외부에는 duplicate만 나간다)
+ * - 바이트 변조(corrupt)/분절(fragment) 등 fault 경로는 캐시를 쓰지 않는다.
+ *
+ * 메모리 상한:
+ * - 프레임 1개가 {@link Budget#maxFrameBytes}를 넘으면 캐시하지 않는다.
+ * - EQP당 항목 수 {@link Budget#maxEntriesPerEqp}, 프로세스 전체 바이트 {@link Budget#maxTotalBytes} 초과 시
+ *   새 항목을 받지 않는다. (축출 없음: 이미 들어간 항목은 계속 재사용, 초과분은 매번 인코딩)
+ *
+ * 동시성:
+ * - PASSIVE EQP는 여러 연결(다른 event loop)에서 같은 캐시를 볼 수 있으므로 ConcurrentHashMap을 쓴다.
+ */
+public final class EncodedFrameCache {
+
+    /**
+     * 캐시 메모리 예산. (기본값은 프로세스 전역 1개를 모든 EQP가 공유)
+     */
+    public static final class Budget {
+
+        public static final Budget DEFAULT = new Budget(64L * 1024 * 1024, 16 * 1024, 64);
+
+        private final long maxTotalBytes;
+        private final int maxFrameBytes;
+        private final int maxEntriesPerEqp;
+        private final AtomicLong usedBytes = new AtomicLong();
+
+        public Budget(long maxTotalBytes, int maxFrameBytes, int maxEntriesPerEqp) {
+            this.maxTotalBytes = maxTotalBytes;
+            this.maxFrameBytes = maxFrameBytes;
+            this.maxEntriesPerEqp = maxEntriesPerEqp;
+        }
+
+        public long usedBytes() {
+            return usedBytes.get();
+        }
+
+        private boolean tryReserve(int bytes) {
+            while (true) {
+                long cur = usedBytes.get();
+                if (cur + bytes > maxTotalBytes) {
+                    return false;
+                }
+                if (usedBytes.compareAndSet(cur, cur + bytes)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release(int bytes) {
+            usedBytes.addAndGet(-bytes);
+        }
+    }
+
+    private final Budget budget;
+    private final ConcurrentHashMap<Object, ByteBuf> frames = new ConcurrentHashMap<>(4);
+
+    public EncodedFrameCache(Budget budget) {
+        this.budget = Objects.requireNonNull(budget, "budget must not be null");
+    }
+
+    /**
+     * 캐시된 프레임. 없으면 null. (반환 버퍼는 write 전에 반드시 retainedDuplicate 할 것)
+     */
+    public ByteBuf get(Object key) {
+        return frames.get(key);
+    }
+
+    /**
+     * 인코딩된 프레임을 캐시에 넣는다.
+     *
+     * 소유권:
+     * - 반환값 != null: frame의 소유권은 캐시로 넘어갔다. (반환값은 캐시 버퍼: 자신 또는 먼저 들어간 항목)
+     * - 반환값 == null: 상한 초과로 거절. frame은 호출자 소유 그대로다.
+     */
+    public ByteBuf putIfAbsent(Object key, ByteBuf frame) {
+        Objects.requireNonNull(key, "key must not be null");
+        ByteBuf existing = frames.get(key);
+        if (existing != null) {
+            frame.release();
+            return existing;
+        }
+
+        int bytes = frame.readableBytes();
+        if (bytes > budget.maxFrameBytes || frames.size() >= budget.maxEntriesPerEqp || !budget.tryReserve(bytes)) {
+            return null;
+        }
+
+        // 캐시 버퍼는 장기 보관되므로 정확한 크기의 direct 버퍼로 둔다. (heap이면 write마다 direct 복사 발생)
+        ByteBuf stored = frame;
+        if (!frame.isDirect() || frame.capacity() != bytes) {
+            stored = PooledByteBufAllocator.DEFAULT.directBuffer(bytes, bytes).writeBytes(frame, frame.readerIndex(), bytes);
+            frame.release();
+        }
+
+        existing = frames.putIfAbsent(key, stored);
+        if (existing != null) {
+            // 다른 event loop가 먼저 넣음
+            budget.release(bytes);
+            stored.release();
+            return existing;
+        }
+        return stored;
+    }
+
+    public int size() {
+        return frames.size();
+    }
+
+    /**
+     * 모든 항목을 release 하고 예산을 반환한다. (transport 종료 시)
+     */
+    public void clear() {
+        for (Object key : frames.keySet()) {
+            ByteBuf buf = frames.remove(key);
+            if (buf != null) {
+                budget.release(buf.readableBytes());
+                buf.release();
+            }
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.nori.tc.eqpsim.socket.runtime;
 import com.nori.tc.eqpsim.socket.config.EqpProperties;
 import com.nori.tc.eqpsim.socket.config.ProfileProperties;
 import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.framing.SocketTypeCodec;
+import com.nori.tc.eqpsim.socket.logging.TokenBucket;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -38,6 +41,11 @@ public final class EqpRuntime {
 
     private final SocketTypeProperties socketType;
 
+    /**
+     * socketType을 컴파일한 불변 코덱 (같은 socketType id를 쓰는 EQP끼리 공유)
+     */
+    private final SocketTypeCodec socketCodec;
+
     private final String profileId;
     private final ProfileProperties profile;
 
@@ -46,6 +54,74 @@ public final class EqpRuntime {
 
     private final Map<String, String> varsLowerKey;
 
+    /**
+     * step별 인코딩 완료 프레임 캐시 (EQP 단위 상수 payload 전용, 전역 예산 공유)
+     */
+    private final EncodedFrameCache frameCache = new EncodedFrameCache(EncodedFrameCache.Budget.DEFAULT);
+
+    /**
+     * 송신 backpressure 처리 카운터 (연결이 바뀌어도 EQP 단위로 누적)
+     */
+    private final EmitBackpressureStats backpressureStats = new EmitBackpressureStats();
+
+    /**
+     * fixed-rate EMIT 지연/skip 기록 (연결이 바뀌어도 EQP 단위로 누적)
+     */
+    private final EmitLatenessStats latenessStats = new EmitLatenessStats();
+
+    /**
+     * 프레임 로그 출력량 상한 (샘플링 활성 시 FrameLogSampler가 사용, 연결이 바뀌어도 EQP 단위)
+     */
+    private final TokenBucket frameLogBucket = new TokenBucket();
+
+    /**
+     * 설정 순서대로 0부터 매기는 EQP 번호 (EqpRuntimeRegistry가 부여, 미등록이면 -1)
+     * - 바이너리 기록(wire capture), 카운터 표(TrafficCounters) 등에서 eqpId 문자열 대신 쓴다.
+     */
+    private int index = -1;
+
+    /**
+     * 송수신/이상 카운터 행 (EqpRuntimeRegistry가 공용 표의 index번 행으로 연결, 미등록이면 단독 행)
+     */
+    private TrafficCounters.Row traffic = TrafficCounters.standaloneRow();
+
+    /**
+     * 현재 하고 있는 일 (외부 조회용 gauge). 스텝이 바뀔 때만 쓰고 프레임마다 쓰지 않는다.
+     */
+    private volatile Activity activity = Activity.IDLE;
+
+    /**
+     * EQP 동작 상태
+     * - IDLE    : 연결 없음 / 시나리오 시작 전 / 완료
+     * - WAITING : WAIT 스텝에서 TC 메시지 대기 (핸드셰이크 대기 포함하지 않음)
+     * - EMITTING: EMIT 스텝, RATE/REPLAY 송신 중
+     * - SLEEPING: SLEEP 스텝
+     */
+    public enum Activity {
+        IDLE,
+        WAITING,
+        EMITTING,
+        SLEEPING
+    }
+
+    public EqpRuntime(
+            String eqpId,
+            EqpProperties.Mode mode,
+            String endpointId,
+            HostPort endpointAddress,
+            int passiveMaxConn,
+            SocketTypeProperties socketType,
+            String profileId,
+            ProfileProperties profile,
+            long waitTimeoutSec,
+            long handshakeTimeoutSec,
+            Map<String, String> varsLowerKey
+    ) {
+        this(eqpId, mode, endpointId, endpointAddress, passiveMaxConn,
+                socketType, SocketTypeCodec.compile(Objects.requireNonNull(socketType, "socketType must not be null")),
+                profileId, profile, waitTimeoutSec, handshakeTimeoutSec, varsLowerKey);
+    }
+
     public EqpRuntime(
             String eqpId,
             EqpProperties.Mode mode,
@@ -53,6 +129,7 @@ public final class EqpRuntime {
             HostPort endpointAddress,
             int passiveMaxConn,
             SocketTypeProperties socketType,
+            SocketTypeCodec socketCodec,
             String profileId,
             ProfileProperties profile,
             long waitTimeoutSec,
@@ -65,6 +142,7 @@ public final class EqpRuntime {
         this.endpointAddress = Objects.requireNonNull(endpointAddress, "endpointAddress must not be null");
         this.passiveMaxConn = passiveMaxConn;
         this.socketType = Objects.requireNonNull(socketType, "socketType must not be null");
+        this.socketCodec = Objects.requireNonNull(socketCodec, "socketCodec must not be null");
         this.profileId = requireNotBlank(profileId, "profileId");
         this.profile = Objects.requireNonNull(profile, "profile must not be null");
         this.waitTimeoutSec = waitTimeoutSec;
@@ -104,6 +182,10 @@ public final class EqpRuntime {
         return socketType;
     }
 
+    public SocketTypeCodec getSocketCodec() {
+        return socketCodec;
+    }
+
     public String getProfileId() {
         return profileId;
     }
@@ -124,6 +206,52 @@ public final class EqpRuntime {
         return varsLowerKey;
     }
 
+    public EncodedFrameCache getFrameCache() {
+        return frameCache;
+    }
+
+    public EmitBackpressureStats getBackpressureStats() {
+        return backpressureStats;
+    }
+
+    public EmitLatenessStats getLatenessStats() {
+        return latenessStats;
+    }
+
+    public TokenBucket getFrameLogBucket() {
+        return frameLogBucket;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    void assignIndex(int index) {
+        this.index = index;
+    }
+
+    public TrafficCounters.Row getTraffic() {
+        return traffic;
+    }
+
+    void bindTraffic(TrafficCounters.Row traffic) {
+        this.traffic = traffic;
+    }
+
+    public Activity getActivity() {
+        return activity;
+    }
+
+    /**
+     * 채널 event loop에서 호출. 같은 값이면 쓰지 않는다.
+     * (PASSIVE 재접속 직후 이전 채널의 close가 늦게 IDLE을 쓸 수 있어 근사값이다)
+     */
+    public void setActivity(Activity activity) {
+        if (this.activity != activity) {
+            this.activity = activity;
+        }
+    }
+
     private static String requireNotBlank(String v, String name) {
         if (v == null || v.trim().isEmpty()) {
             throw new IllegalArgumentException(name + " is blank");
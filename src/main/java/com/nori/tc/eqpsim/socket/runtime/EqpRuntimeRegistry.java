@@ -5,7 +5,10 @@ import com.nori.tc.eqpsim.socket.config.EqpProperties;
 import com.nori.tc.eqpsim.socket.config.ProfileProperties;
 import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
 import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
+import com.nori.tc.eqpsim.socket.framing.SocketTypeCodec;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.metrics.LogLinearHistogram;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +48,9 @@ public final class EqpRuntimeRegistry {
 
     private final List<EqpRuntime> activeEqps;
 
+    /** EQP 번호 순서의 송수신/이상 카운터 표 (EqpRuntime.getTraffic()이 각 행) */
+    private final TrafficCounters traffic;
+
     private final Map<String, HostPort> passiveBindById;
     private final Map<String, Integer> passiveMaxConnById;
     private final Map<String, HostPort> activeTargetById;
@@ -82,6 +88,9 @@ public final class EqpRuntimeRegistry {
         List<EqpRuntime> activeTmp = new ArrayList<>();
         Map<String, Integer> activeCountTmp = new LinkedHashMap<>();
 
+        // socketType id별 1회 컴파일 (EQP 간 공유, 잘못된 설정은 기동 시 fail-fast)
+        Map<String, SocketTypeCodec> codecBySocketType = new HashMap<>();
+
         long defaultWait = props.getDefaults().getDefaultWaitTimeoutSec();
         long defaultHs = props.getDefaults().getDefaultHandshakeTimeoutSec();
 
@@ -101,6 +110,8 @@ public final class EqpRuntimeRegistry {
             if (socketType == null) {
                 throw new IllegalStateException("eqp " + eqpId + " references missing socketType: " + eqp.getSocketType());
             }
+            SocketTypeCodec socketCodec = codecBySocketType.computeIfAbsent(eqp.getSocketType(),
+                    id -> compileSocketType(id, socketType));
             ProfileProperties profile = profiles.get(eqp.getProfile());
             if (profile == null) {
                 throw new IllegalStateException("eqp " + eqpId + " references missing profile: " + eqp.getProfile());
@@ -136,6 +147,7 @@ public final class EqpRuntimeRegistry {
                     addr,
                     passiveMaxConn,
                     socketType,
+                    socketCodec,
                     eqp.getProfile(),
                     profile,
                     waitTimeout,
@@ -143,6 +155,7 @@ public final class EqpRuntimeRegistry {
                     eqp.getVars()
             );
 
+            rt.assignIndex(eqpTmp.size());
             eqpTmp.put(eqpId, rt);
             if (eqp.getMode() == EqpProperties.Mode.ACTIVE) {
                 activeTmp.add(rt);
@@ -150,6 +163,17 @@ public final class EqpRuntimeRegistry {
         }
 
         this.eqpById = Collections.unmodifiableMap(eqpTmp);
+
+        List<String> eqpIds = new ArrayList<>(eqpTmp.size());
+        List<String> endpointIds = new ArrayList<>(eqpTmp.size());
+        for (EqpRuntime rt : eqpTmp.values()) {
+            eqpIds.add(rt.getEqpId());
+            endpointIds.add(rt.getEndpointId());
+        }
+        this.traffic = new TrafficCounters(eqpIds, endpointIds);
+        for (EqpRuntime rt : eqpTmp.values()) {
+            rt.bindTraffic(traffic.row(rt.getIndex()));
+        }
         this.passiveAvailableByEndpoint = passiveQueueTmp;
         this.activeEqps = Collections.unmodifiableList(activeTmp);
         this.activeEqpCountByEndpoint = Collections.unmodifiableMap(activeCountTmp);
@@ -164,7 +188,8 @@ public final class EqpRuntimeRegistry {
         log.info(StructuredLog.event("runtime_registry_ready",
                 "eqpCount", eqpById.size(),
                 "passiveEndpointCount", passiveAvailableByEndpoint.size(),
-                "activeEqpCount", activeEqps.size()));
+                "activeEqpCount", activeEqps.size(),
+                "socketCodecCount", codecBySocketType.size()));
 
         for (Map.Entry<String, EndpointsProperties.ActiveEndpointProperties> e : orEmpty(endpoints.getActive()).entrySet()) {
             String endpointId = e.getKey();
@@ -205,6 +230,64 @@ public final class EqpRuntimeRegistry {
         return eqpById.get(eqpId);
     }
 
+    /**
+     * 전체 EQP (설정 순서 = EqpRuntime.getIndex() 순서)
+     */
+    public Collection<EqpRuntime> getEqps() {
+        return eqpById.values();
+    }
+
+    /**
+     * EQP별 송수신/이상 카운터 표
+     */
+    public TrafficCounters getTraffic() {
+        return traffic;
+    }
+
+    /**
+     * 모든 EQP의 인코딩 프레임 캐시를 비운다. (transport 종료 후 direct 메모리 반환)
+     */
+    public void clearFrameCaches() {
+        for (EqpRuntime eqp : eqpById.values()) {
+            eqp.getFrameCache().clear();
+        }
+    }
+
+    /**
+     * backpressure가 한 번이라도 발생한 EQP의 카운터를 로그로 남긴다. (transport 종료 시)
+     */
+    public void logBackpressureStats() {
+        for (EqpRuntime eqp : eqpById.values()) {
+            EmitBackpressureStats stats = eqp.getBackpressureStats();
+            if (stats.getPauses() + stats.getSuppressed() + stats.getDeferred() == 0) continue;
+
+            log.info(StructuredLog.event("emit_backpressure_stats",
+                    "eqpId", eqp.getEqpId(),
+                    "pauses", stats.getPauses(),
+                    "deferred", stats.getDeferred(),
+                    "suppressed", stats.getSuppressed()));
+        }
+    }
+
+    /**
+     * fixed-rate EMIT를 쓴 EQP의 지연 분포를 로그로 남긴다. (transport 종료 시)
+     */
+    public void logEmitLatenessStats() {
+        for (EqpRuntime eqp : eqpById.values()) {
+            EmitLatenessStats stats = eqp.getLatenessStats();
+            LogLinearHistogram h = stats.getLatenessUs();
+            if (h == null && stats.getSkipped() == 0) continue;
+
+            log.info(StructuredLog.event("emit_lateness_stats",
+                    "eqpId", eqp.getEqpId(),
+                    "count", h == null ? 0 : h.getCount(),
+                    "p50Us", h == null ? 0 : h.valueAtPercentile(50.0),
+                    "p99Us", h == null ? 0 : h.valueAtPercentile(99.0),
+                    "maxUs", h == null ? 0 : h.getMax(),
+                    "skipped", stats.getSkipped()));
+        }
+    }
+
     /**
      * PASSIVE EQP ID를 pool에서 1개 예약(할당)한다.
      *
@@ -268,6 +351,14 @@ public final class EqpRuntimeRegistry {
         return (m == null) ? Collections.emptyMap() : m;
     }
 
+    private static SocketTypeCodec compileSocketType(String socketTypeId, SocketTypeProperties socketType) {
+        try {
+            return SocketTypeCodec.compile(socketType);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("tc.eqpsim.socket-types." + socketTypeId + " is invalid: " + e.getMessage(), e);
+        }
+    }
+
     private static void requireNotBlank(String v, String name) {
         if (v == null || v.trim().isEmpty()) {
             throw new IllegalStateException(name + " is blank");
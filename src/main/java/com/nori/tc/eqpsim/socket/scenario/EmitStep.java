@@ -5,26 +5,61 @@ import java.util.Objects;
 /**
  * [EqpToTc] every=1s count=60 <payload...>
  * [EqpToTc] window=10s count=2 <payload...>
+ * [EqpToTc] every=100ms count=forever schedule=fixed-rate late=skip <payload...>
+ * - schedule/late: INTERVAL 전용 (기본 fixed-delay / catch-up)
+ * - payload: plan 로드 시 1회 컴파일된 PayloadTemplate (emit tick마다 정규식 치환 없음)
  */
 public final class EmitStep implements ScenarioStep {
 
     public enum Mode { INTERVAL, WINDOW }
 
+    /**
+     * INTERVAL tick 기준 시각
+     * - FIXED_DELAY: 직전 tick 실행 시각 + interval (지연이 누적된다, 기존 동작)
+     * - FIXED_RATE : step 시작 시각(anchor) + k*interval (지연이 누적되지 않는다)
+     */
+    public enum Schedule { FIXED_DELAY, FIXED_RATE }
+
+    /**
+     * FIXED_RATE에서 이벤트 루프 정체 등으로 여러 tick이 밀렸을 때의 처리
+     * - CATCH_UP: 밀린 tick을 즉시 모두 송신 (프레임 수 보존)
+     * - SKIP    : 가장 최근 tick 1개만 송신하고 나머지는 skipped로 센다 (순간 폭주 방지)
+     */
+    public enum LatePolicy { CATCH_UP, SKIP }
+
     private final Mode mode;
     private final long intervalOrWindowMs;
     private final Count count;
-    private final String payloadTemplate;
+    private final PayloadTemplate payload;
     private final Long jitterMs; // interval only (optional)
+    private final Schedule schedule;
+    private final LatePolicy latePolicy;
 
     public EmitStep(Mode mode, long intervalOrWindowMs, Count count, String payloadTemplate, Long jitterMs) {
+        this(mode, intervalOrWindowMs, count,
+                PayloadTemplate.compile(Objects.requireNonNull(payloadTemplate, "payloadTemplate must not be null")),
+                jitterMs);
+    }
+
+    public EmitStep(Mode mode, long intervalOrWindowMs, Count count, PayloadTemplate payload, Long jitterMs) {
+        this(mode, intervalOrWindowMs, count, payload, jitterMs, Schedule.FIXED_DELAY, LatePolicy.CATCH_UP);
+    }
+
+    public EmitStep(Mode mode, long intervalOrWindowMs, Count count, PayloadTemplate payload, Long jitterMs,
+                    Schedule schedule, LatePolicy latePolicy) {
         this.mode = Objects.requireNonNull(mode, "mode must not be null");
         if (intervalOrWindowMs <= 0) {
             throw new IllegalArgumentException("interval/window must be > 0");
         }
         this.intervalOrWindowMs = intervalOrWindowMs;
         this.count = Objects.requireNonNull(count, "count must not be null");
-        this.payloadTemplate = Objects.requireNonNull(payloadTemplate, "payloadTemplate must not be null");
+        this.payload = Objects.requireNonNull(payload, "payload must not be null");
         this.jitterMs = jitterMs;
+        this.schedule = Objects.requireNonNull(schedule, "schedule must not be null");
+        this.latePolicy = Objects.requireNonNull(latePolicy, "latePolicy must not be null");
+        if (mode == Mode.WINDOW && schedule != Schedule.FIXED_DELAY) {
+            throw new IllegalArgumentException("schedule is only supported for INTERVAL emit");
+        }
     }
 
     public Mode getMode() {
@@ -40,13 +75,25 @@ public final class EmitStep implements ScenarioStep {
     }
 
     public String getPayloadTemplate() {
-        return payloadTemplate;
+        return payload.getSource();
+    }
+
+    public PayloadTemplate getPayload() {
+        return payload;
     }
 
     public Long getJitterMs() {
         return jitterMs;
     }
 
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public LatePolicy getLatePolicy() {
+        return latePolicy;
+    }
+
     public sealed interface Count permits CountFixed, CountForever {}
 
     public static final class CountFixed implements Count {
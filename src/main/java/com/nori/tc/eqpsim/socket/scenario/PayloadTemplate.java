@@ -0,0 +1,243 @@
+package com.nori.tc.eqpsim.socket.scenario;
+
+import com.nori.tc.eqpsim.socket.framing.SocketTypeCodec;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * PayloadTemplate
+ *
+ * 역할:
+ * - SEND/EMIT payload 문자열을 plan 로드 시 1회 "컴파일"한 불변 세그먼트 목록.
+ *   (literal 바이트 / {eqpid} 슬롯 / {var.xxx} 슬롯)
+ * - 송신 시에는 정규식/StringBuffer/toLowerCase 없이 세그먼트를 순서대로 ByteBuf에 기록한다.
+ *
+ * 치환 규칙 (기존 ScenarioTemplateResolver와 동일):
+ * - placeholder는 '{' + '}'가 아닌 문자 1개 이상 + '}' (정규식 \{([^}]+)\})
+ * - key = trim + lower(ROOT)
+ *   - "eqpid"      → eqp.getEqpId()
+ *   - "var.xxx"    → eqp.getVarsLowerKey().get("xxx"), 값이 없으면 원문 "{...}" 유지
+ *   - 그 외        → 원문 유지 (컴파일 시 literal로 합쳐짐)
+ *
+ * 인코딩:
+ * - literal은 UTF-8 byte[]로 미리 인코딩해 writeBytes로 복사한다.
+ * - 슬롯 값(String)은 ByteBufUtil.reserveAndWriteUtf8로 정확한 길이만 예약해 직접 기록한다.
+ *   (ByteBufUtil.writeUtf8은 문자당 3바이트를 예약하며 버퍼를 키우므로 사용하지 않는다.)
+ *
+ * 공유:
+ * - 불변 객체이므로 같은 plan을 쓰는 모든 EQP/채널/event loop가 공유한다.
+ *
+ * 캐시:
+ * - 모든 세그먼트(literal / {eqpid} / {var.xxx})가 EqpRuntime(불변) 기준 상수이므로
+ *   같은 EQP에서는 항상 같은 바이트가 나온다. → EncodedFrameCache(EQP별)에 그대로 담을 수 있다.
+ * - 송신마다 값이 바뀌는 슬롯을 추가한다면 OutboundFrameSender에 캐시 우회 조건도 함께 추가해야 한다.
+ */
+public final class PayloadTemplate {
+
+    private static final int LITERAL = 0;
+    private static final int EQPID = 1;
+    private static final int VAR = 2;
+
+    /** 원본 템플릿 문자열 (로그/디버깅용) */
+    private final String source;
+
+    /** 세그먼트 종류 (LITERAL / EQPID / VAR) */
+    private final int[] kinds;
+
+    /** LITERAL: 원문, VAR: 값이 없을 때 쓰는 원문 "{keyRaw}" */
+    private final String[] texts;
+
+    /** LITERAL/VAR fallback의 UTF-8 바이트 */
+    private final byte[][] bytes;
+
+    /** VAR: 조회 키 (lower) */
+    private final String[] varKeys;
+
+    /** literal 세그먼트 UTF-8 길이 합 */
+    private final int literalBytes;
+
+    private PayloadTemplate(String source, int[] kinds, String[] texts, byte[][] bytes, String[] varKeys) {
+        this.source = source;
+        this.kinds = kinds;
+        this.texts = texts;
+        this.bytes = bytes;
+        this.varKeys = varKeys;
+        int sum = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == LITERAL) {
+                sum += bytes[i].length;
+            }
+        }
+        this.literalBytes = sum;
+    }
+
+    /**
+     * 템플릿 문자열을 세그먼트로 컴파일한다.
+     */
+    public static PayloadTemplate compile(String template) {
+        Objects.requireNonNull(template, "template must not be null");
+
+        List<Integer> kinds = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        List<String> varKeys = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int len = template.length();
+        int i = 0;
+        while (i < len) {
+            char c = template.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            int close = template.indexOf('}', i + 1);
+            if (close < 0) {
+                // 이후에 '}'가 없으므로 더 이상 placeholder가 없다.
+                literal.append(template, i, len);
+                break;
+            }
+            if (close == i + 1) {
+                // "{}": 정규식 [^}]+ 불일치 → '{'는 literal
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            String keyRaw = template.substring(i + 1, close);
+            String key = keyRaw.trim().toLowerCase(Locale.ROOT);
+            String original = template.substring(i, close + 1);
+            if (key.equals("eqpid") || key.startsWith("var.")) {
+                if (!literal.isEmpty()) {
+                    kinds.add(LITERAL);
+                    texts.add(literal.toString());
+                    varKeys.add(null);
+                    literal.setLength(0);
+                }
+                boolean eqpId = key.equals("eqpid");
+                kinds.add(eqpId ? EQPID : VAR);
+                texts.add(original);
+                varKeys.add(eqpId ? null : key.substring("var.".length()));
+            } else {
+                // 모르는 placeholder는 원문 유지
+                literal.append(original);
+            }
+            i = close + 1;
+        }
+        if (!literal.isEmpty()) {
+            kinds.add(LITERAL);
+            texts.add(literal.toString());
+            varKeys.add(null);
+        }
+
+        int n = kinds.size();
+        int[] kindArr = new int[n];
+        byte[][] byteArr = new byte[n][];
+        for (int k = 0; k < n; k++) {
+            kindArr[k] = kinds.get(k);
+            byteArr[k] = kindArr[k] == EQPID ? null : texts.get(k).getBytes(StandardCharsets.UTF_8);
+        }
+        return new PayloadTemplate(template, kindArr, texts.toArray(new String[0]), byteArr,
+                varKeys.toArray(new String[0]));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /** 슬롯 없이 literal만으로 구성되었는지 */
+    public boolean isLiteral() {
+        return kinds.length == 0 || (kinds.length == 1 && kinds[0] == LITERAL);
+    }
+
+    /**
+     * eqp 기준 치환 결과의 UTF-8 바이트 수.
+     */
+    public int utf8Length(EqpRuntime eqp) {
+        int total = literalBytes;
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case EQPID -> total += ByteBufUtil.utf8Bytes(eqp.getEqpId());
+                case VAR -> {
+                    String v = eqp.getVarsLowerKey().get(varKeys[i]);
+                    total += v != null ? ByteBufUtil.utf8Bytes(v) : bytes[i].length;
+                }
+                default -> { }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 치환 결과를 out에 UTF-8로 기록한다. (중간 String 없음)
+     */
+    public void writeUtf8(ByteBuf out, EqpRuntime eqp) {
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case LITERAL -> out.writeBytes(bytes[i]);
+                case EQPID -> writeValue(out, eqp.getEqpId());
+                default -> {
+                    String v = eqp.getVarsLowerKey().get(varKeys[i]);
+                    if (v != null) {
+                        writeValue(out, v);
+                    } else {
+                        out.writeBytes(bytes[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 치환 + socketType 프레이밍까지 끝낸 송신 버퍼를 만든다. (할당은 결과 버퍼 1개)
+     */
+    public ByteBuf encode(ByteBufAllocator alloc, EqpRuntime eqp) {
+        SocketTypeCodec codec = eqp.getSocketCodec();
+        ByteBuf out = codec.beginFrame(alloc, utf8Length(eqp));
+        try {
+            writeUtf8(out, eqp);
+            return codec.endFrame(out);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 치환 결과 문자열. 로그 출력 등 String이 꼭 필요한 경우에만 사용한다.
+     */
+    public String render(EqpRuntime eqp) {
+        if (isLiteral()) {
+            return kinds.length == 0 ? "" : texts[0];
+        }
+        StringBuilder sb = new StringBuilder(literalBytes + 16);
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case LITERAL -> sb.append(texts[i]);
+                case EQPID -> sb.append(eqp.getEqpId());
+                default -> {
+                    String v = eqp.getVarsLowerKey().get(varKeys[i]);
+                    sb.append(v != null ? v : texts[i]);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void writeValue(ByteBuf out, String value) {
+        ByteBufUtil.reserveAndWriteUtf8(out, value, ByteBufUtil.utf8Bytes(value));
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
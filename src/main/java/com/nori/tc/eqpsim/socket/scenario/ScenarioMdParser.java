@@ -1,5 +1,6 @@
 package com.nori.tc.eqpsim.socket.scenario;
 
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
 import com.nori.tc.eqpsim.socket.protocol.FrameTokenParser;
 
 import java.io.BufferedReader;
@@ -15,6 +16,7 @@ import java.util.*;
  * - [TcToEqp] CMD=XXXX [timeout=15s optional]
  * - [EqpToTc] <payload tokens...>
  * - [EqpToTc] every=1s count=60 [jitter=200ms optional] <payload tokens...>
+ * - [EqpToTc] every=1s count=60 [schedule=fixed-delay|fixed-rate] [late=catch-up|skip] <payload tokens...>
  * - [EqpToTc] window=10s count=2 <payload tokens...>
  * - [Sim] sleep=500ms
  * - [Sim] label=MAIN
@@ -27,6 +29,14 @@ import java.util.*;
  * - '#' 시작 줄 무시
  * - "1) " 같은 번호 프리픽스는 무시(선택적)
  *
+ * CMD 사전:
+ * - [TcToEqp]의 CMD는 CommandDictionary에 intern 되어 WaitCmdStep이 int id를 가진다.
+ * - parseFile(path): plan 전용 사전을 만들고 seal 한다.
+ * - parseFile(path, commands): 공유 사전에 등록만 한다. (seal은 호출자 책임 — ScenarioRegistry)
+ *
+ * payload:
+ * - SEND/EMIT payload는 여기서 PayloadTemplate으로 1회 컴파일한다. (plan 공유 → EQP 수와 무관)
+ *
  * 오류 정책:
  * - 파싱 오류는 IllegalArgumentException으로 throw (상위에서 EQP disable 처리)
  */
@@ -35,6 +45,14 @@ public final class ScenarioMdParser {
     private ScenarioMdParser() {}
 
     public static ScenarioPlan parseFile(String scenarioFilePath) throws IOException {
+        CommandDictionary commands = new CommandDictionary();
+        ScenarioPlan plan = parseFile(scenarioFilePath, commands);
+        commands.seal();
+        return plan;
+    }
+
+    public static ScenarioPlan parseFile(String scenarioFilePath, CommandDictionary commands) throws IOException {
+        Objects.requireNonNull(commands, "commands must not be null");
         Path p = Paths.get(scenarioFilePath);
         if (!Files.exists(p)) {
             throw new IllegalArgumentException("scenario file not found: " + scenarioFilePath);
@@ -64,7 +82,7 @@ public final class ScenarioMdParser {
                 String body = trimmed.substring(rb + 1).trim();
 
                 if (tag.equalsIgnoreCase("TcToEqp")) {
-                    steps.add(parseWaitStep(scenarioFilePath, lineNo, body));
+                    steps.add(parseWaitStep(scenarioFilePath, lineNo, body, commands));
                 } else if (tag.equalsIgnoreCase("EqpToTc")) {
                     steps.add(parseEqpToTcStep(scenarioFilePath, lineNo, body));
                 } else if (tag.equalsIgnoreCase("Sim")) {
@@ -97,10 +115,10 @@ public final class ScenarioMdParser {
             }
         }
 
-        return new ScenarioPlan(p.toString(), steps, labelIndex);
+        return new ScenarioPlan(p.toString(), steps, labelIndex, commands);
     }
 
-    private static ScenarioStep parseWaitStep(String file, int lineNo, String body) {
+    private static ScenarioStep parseWaitStep(String file, int lineNo, String body, CommandDictionary commands) {
         Map<String, String> map = FrameTokenParser.parseToUpperKeyMap(body);
         String cmd = map.get("CMD");
         if (cmd == null || cmd.isBlank()) {
@@ -116,7 +134,7 @@ public final class ScenarioMdParser {
                 throw new IllegalArgumentException("timeout must be >0 at " + file + ":" + lineNo);
             }
         }
-        return new WaitCmdStep(expectedCmdUpper, timeoutOverrideSec);
+        return new WaitCmdStep(expectedCmdUpper, commands.intern(expectedCmdUpper), timeoutOverrideSec);
     }
 
     private static ScenarioStep parseEqpToTcStep(String file, int lineNo, String body) {
@@ -134,7 +152,7 @@ public final class ScenarioMdParser {
         if (body.isBlank()) {
             throw new IllegalArgumentException("SEND step payload is blank at " + file + ":" + lineNo);
         }
-        return new SendStep(body);
+        return new SendStep(PayloadTemplate.compile(body));
     }
 
     private static ScenarioStep parseEmitStep(String file, int lineNo, String body, Map<String, String> mapUpper) {
@@ -179,13 +197,39 @@ public final class ScenarioMdParser {
             if (jitterMs < 0) jitterMs = 0L;
         }
 
+        EmitStep.Schedule schedule = EmitStep.Schedule.FIXED_DELAY;
+        String scheduleStr = mapUpper.get("SCHEDULE");
+        if (scheduleStr != null) {
+            schedule = switch (scheduleStr.trim().toLowerCase(Locale.ROOT)) {
+                case "fixed-delay" -> EmitStep.Schedule.FIXED_DELAY;
+                case "fixed-rate" -> EmitStep.Schedule.FIXED_RATE;
+                default -> throw new IllegalArgumentException("invalid schedule at " + file + ":" + lineNo + " -> " + scheduleStr);
+            };
+        }
+
+        EmitStep.LatePolicy latePolicy = EmitStep.LatePolicy.CATCH_UP;
+        String lateStr = mapUpper.get("LATE");
+        if (lateStr != null) {
+            latePolicy = switch (lateStr.trim().toLowerCase(Locale.ROOT)) {
+                case "catch-up" -> EmitStep.LatePolicy.CATCH_UP;
+                case "skip" -> EmitStep.LatePolicy.SKIP;
+                default -> throw new IllegalArgumentException("invalid late at " + file + ":" + lineNo + " -> " + lateStr);
+            };
+        }
+
+        if (mode == EmitStep.Mode.WINDOW && (scheduleStr != null || lateStr != null)) {
+            throw new IllegalArgumentException("schedule/late is only supported with every=... at " + file + ":" + lineNo);
+        }
+
         // payloadTemplate = control 토큰(every/window/count/jitter 등) 제외하고 다시 join
-        String payload = buildPayloadExcludingControlTokens(body, Set.of("every", "window", "count", "jitter"));
+        String payload = buildPayloadExcludingControlTokens(body,
+                Set.of("every", "window", "count", "jitter", "schedule", "late"));
         if (payload.isBlank()) {
             throw new IllegalArgumentException("EMIT payload is blank at " + file + ":" + lineNo);
         }
 
-        return new EmitStep(mode, intervalOrWindowMs, count, payload, jitterMs);
+        return new EmitStep(mode, intervalOrWindowMs, count, PayloadTemplate.compile(payload), jitterMs,
+                schedule, latePolicy);
     }
 
     private static ScenarioStep parseSimStep(String file, int lineNo, String body) {
@@ -1,5 +1,7 @@
 package com.nori.tc.eqpsim.socket.scenario;
 
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -10,17 +12,21 @@ import java.util.Objects;
  *
  * - steps: 순차 실행 스텝 목록
  * - labelIndex: label -> stepIndex
+ * - commands: WaitCmdStep id를 발급한 CMD 사전 (registry 로드 시 모든 plan이 같은 사전을 공유)
  */
 public final class ScenarioPlan {
 
     private final String sourceFile;
     private final List<ScenarioStep> steps;
     private final Map<String, Integer> labelIndex;
+    private final CommandDictionary commands;
 
-    public ScenarioPlan(String sourceFile, List<ScenarioStep> steps, Map<String, Integer> labelIndex) {
+    public ScenarioPlan(String sourceFile, List<ScenarioStep> steps, Map<String, Integer> labelIndex,
+                        CommandDictionary commands) {
         this.sourceFile = Objects.requireNonNull(sourceFile, "sourceFile must not be null");
         this.steps = Collections.unmodifiableList(Objects.requireNonNull(steps, "steps must not be null"));
         this.labelIndex = Collections.unmodifiableMap(Objects.requireNonNull(labelIndex, "labelIndex must not be null"));
+        this.commands = Objects.requireNonNull(commands, "commands must not be null");
     }
 
     public String getSourceFile() {
@@ -34,4 +40,8 @@ public final class ScenarioPlan {
     public Map<String, Integer> getLabelIndex() {
         return labelIndex;
     }
+
+    public CommandDictionary getCommands() {
+        return commands;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,10 @@ import com.nori.tc.eqpsim.socket.config.EqpProperties;
 import com.nori.tc.eqpsim.socket.config.ProfileProperties;
 import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+import com.nori.tc.eqpsim.socket.protocol.CommandRxStats;
+import com.nori.tc.eqpsim.socket.rate.RatePlan;
+import com.nori.tc.eqpsim.socket.replay.ReplayPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,14 +17,18 @@ import java.util.*;
 /**
  * ScenarioRegistry
  *
- * - EQP가 참조하는 SCENARIO profile만 로드한다.
+ * - EQP가 참조하는 SCENARIO profile을 로드하고, RATE profile은 RatePlan, REPLAY profile은 ReplayPlan으로 컴파일한다.
  * - 오류 시 해당 profile은 registry에 등록하지 않는다(결정 10-B).
+ * - 모든 plan은 하나의 CommandDictionary를 공유한다. (로드 완료 후 seal → CMD id 전역 고유)
  */
 public final class ScenarioRegistry {
 
     private static final Logger log = LoggerFactory.getLogger(ScenarioRegistry.class);
 
     private final Map<String, ScenarioPlan> planByProfileId;
+    private final Map<String, RatePlan> ratePlanByProfileId;
+    private final Map<String, ReplayPlan> replayPlanByProfileId;
+    private final CommandDictionary commandDictionary = new CommandDictionary();
 
     public ScenarioRegistry(TcEqpSimProperties props) {
         Objects.requireNonNull(props, "props must not be null");
@@ -39,6 +47,8 @@ public final class ScenarioRegistry {
 
         Map<String, ScenarioPlan> tmp = new LinkedHashMap<>();
         Map<String, ScenarioPlan> cacheByFile = new HashMap<>();
+        Map<String, RatePlan> rateTmp = new LinkedHashMap<>();
+        Map<String, ReplayPlan> replayTmp = new LinkedHashMap<>();
 
         for (String profileId : usedProfileIds) {
             ProfileProperties profile = profiles.get(profileId);
@@ -46,6 +56,35 @@ public final class ScenarioRegistry {
                 log.warn(StructuredLog.event("scenario_profile_missing", "profileId", profileId));
                 continue;
             }
+            if (profile.getType() == ProfileProperties.Type.RATE) {
+                try {
+                    RatePlan ratePlan = RatePlan.compile(profileId, profile.getRate());
+                    rateTmp.put(profileId, ratePlan);
+                    log.info(StructuredLog.event("rate_plan_loaded",
+                            "profileId", profileId,
+                            "arrival", ratePlan.getArrival(),
+                            "perSec", ratePlan.getPerSec(),
+                            "payloadCount", ratePlan.getPayloadCount(),
+                            "forever", ratePlan.isForever()));
+                } catch (RuntimeException ex) {
+                    log.error(StructuredLog.event("rate_plan_load_failed", "profileId", profileId), ex);
+                }
+                continue;
+            }
+            if (profile.getType() == ProfileProperties.Type.REPLAY) {
+                try {
+                    ReplayPlan replayPlan = ReplayPlan.compile(profileId, profile.getReplay());
+                    replayTmp.put(profileId, replayPlan);
+                    log.info(StructuredLog.event("replay_plan_loaded",
+                            "profileId", profileId,
+                            "file", replayPlan.getFileTemplate(),
+                            "speed", replayPlan.isAsFastAsPossible() ? "max" : replayPlan.getSpeed(),
+                            "batchLines", replayPlan.getBatchLines()));
+                } catch (RuntimeException ex) {
+                    log.error(StructuredLog.event("replay_plan_load_failed", "profileId", profileId), ex);
+                }
+                continue;
+            }
             if (profile.getType() != ProfileProperties.Type.SCENARIO) {
                 log.info(StructuredLog.event("scenario_profile_skip_non_scenario",
                         "profileId", profileId, "type", profile.getType()));
@@ -60,7 +99,7 @@ public final class ScenarioRegistry {
             try {
                 ScenarioPlan plan = cacheByFile.get(file);
                 if (plan == null) {
-                    plan = ScenarioMdParser.parseFile(file);
+                    plan = ScenarioMdParser.parseFile(file, commandDictionary);
                     cacheByFile.put(file, plan);
                     log.info(StructuredLog.event("scenario_loaded", "file", file, "stepCount", plan.getSteps().size()));
                 }
@@ -71,13 +110,56 @@ public final class ScenarioRegistry {
         }
 
         this.planByProfileId = Collections.unmodifiableMap(tmp);
+        this.ratePlanByProfileId = Collections.unmodifiableMap(rateTmp);
+        this.replayPlanByProfileId = Collections.unmodifiableMap(replayTmp);
+        commandDictionary.seal();
 
         log.info(StructuredLog.event("scenario_registry_ready",
                 "usedProfileCount", usedProfileIds.size(),
-                "loadedPlanCount", planByProfileId.size()));
+                "loadedPlanCount", planByProfileId.size(),
+                "loadedRatePlanCount", ratePlanByProfileId.size(),
+                "loadedReplayPlanCount", replayPlanByProfileId.size(),
+                "commandCount", commandDictionary.size()));
     }
 
     public ScenarioPlan getPlanByProfileId(String profileId) {
         return planByProfileId.get(profileId);
     }
+
+    public RatePlan getRatePlanByProfileId(String profileId) {
+        return ratePlanByProfileId.get(profileId);
+    }
+
+    public ReplayPlan getReplayPlanByProfileId(String profileId) {
+        return replayPlanByProfileId.get(profileId);
+    }
+
+    public CommandDictionary getCommandDictionary() {
+        return commandDictionary;
+    }
+
+    /**
+     * CMD별 수신 집계를 로그로 남긴다. (transport 종료 시 1회)
+     * - 수신이 1건 이상인 CMD만 출력한다.
+     */
+    public void logCommandRxStats() {
+        CommandRxStats stats = commandDictionary.getRxStats();
+        for (int id = CommandDictionary.NO_CMD; id < commandDictionary.size(); id++) {
+            long matched = stats.count(id, CommandRxStats.Outcome.MATCHED);
+            long mismatched = stats.count(id, CommandRxStats.Outcome.MISMATCHED);
+            long unexpected = stats.count(id, CommandRxStats.Outcome.UNEXPECTED);
+            if (matched + mismatched + unexpected == 0) continue;
+
+            String cmd = switch (id) {
+                case CommandDictionary.NO_CMD -> "<none>";
+                case CommandDictionary.UNKNOWN -> "<unknown>";
+                default -> commandDictionary.name(id);
+            };
+            log.info(StructuredLog.event("command_rx_stats",
+                    "cmd", cmd,
+                    "matched", matched,
+                    "mismatched", mismatched,
+                    "unexpected", unexpected));
+        }
+    }
 }
\ No newline at end of file
@@ -4,16 +4,25 @@ import java.util.Objects;
 
 /**
  * [EqpToTc] <payload...>
+ * - payload: plan 로드 시 1회 컴파일된 PayloadTemplate (송신마다 정규식 치환 없음)
  */
 public final class SendStep implements ScenarioStep {
 
-    private final String payloadTemplate;
+    private final PayloadTemplate payload;
 
     public SendStep(String payloadTemplate) {
-        this.payloadTemplate = Objects.requireNonNull(payloadTemplate, "payloadTemplate must not be null");
+        this(PayloadTemplate.compile(Objects.requireNonNull(payloadTemplate, "payloadTemplate must not be null")));
+    }
+
+    public SendStep(PayloadTemplate payload) {
+        this.payload = Objects.requireNonNull(payload, "payload must not be null");
     }
 
     public String getPayloadTemplate() {
-        return payloadTemplate;
+        return payload.getSource();
+    }
+
+    public PayloadTemplate getPayload() {
+        return payload;
     }
 }
\ No newline at end of file
@@ -4,16 +4,22 @@ import java.util.Objects;
 
 /**
  * [TcToEqp] CMD=XXXX
- * - expectedCmdUpper: 대문자 비교용
+ * - expectedCmdUpper: 대문자 이름 (로그/리포트용)
+ * - expectedCmdId: plan 로드 시 CommandDictionary에 intern된 id (수신 CMD 비교용)
  * - timeoutOverrideSec: null이면 EQP 기본 waitTimeoutSec 사용
  */
 public final class WaitCmdStep implements ScenarioStep {
 
     private final String expectedCmdUpper;
+    private final int expectedCmdId;
     private final Long timeoutOverrideSec;
 
-    public WaitCmdStep(String expectedCmdUpper, Long timeoutOverrideSec) {
+    public WaitCmdStep(String expectedCmdUpper, int expectedCmdId, Long timeoutOverrideSec) {
         this.expectedCmdUpper = Objects.requireNonNull(expectedCmdUpper, "expectedCmdUpper must not be null");
+        if (expectedCmdId < 0) {
+            throw new IllegalArgumentException("expectedCmdId must be >= 0: " + expectedCmdId);
+        }
+        this.expectedCmdId = expectedCmdId;
         this.timeoutOverrideSec = timeoutOverrideSec;
     }
 
@@ -21,6 +27,10 @@ public final class WaitCmdStep implements ScenarioStep {
         return expectedCmdUpper;
     }
 
+    public int getExpectedCmdId() {
+        return expectedCmdId;
+    }
+
     public Long getTimeoutOverrideSec() {
         return timeoutOverrideSec;
     }
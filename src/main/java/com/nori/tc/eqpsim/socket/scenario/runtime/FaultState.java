@@ -148,6 +148,15 @@ public final class FaultState {
         }
     }
 
+    /**
+     * 송신 fault(delay/fragment/drop/corrupt) 중 하나라도 활성인지.
+     * - false면 송신 경로는 fault 판정 없이 인코딩 프레임(캐시 포함)을 그대로 write 한다.
+     */
+    public static boolean anyActive(FaultState fs) {
+        return fs != null
+                && (isActive(fs.delay) || isActive(fs.fragment) || isActive(fs.drop) || isActive(fs.corrupt));
+    }
+
     public static boolean isActive(Delay d) {
         long now = System.currentTimeMillis();
         if (d == null) return false;
@@ -1,21 +1,32 @@
 package com.nori.tc.eqpsim.socket.scenario.runtime;
 
+import com.nori.tc.eqpsim.socket.config.BackpressureProperties;
 import com.nori.tc.eqpsim.socket.config.EqpProperties;
 import com.nori.tc.eqpsim.socket.lifecycle.ScenarioCompletionTracker;
+import com.nori.tc.eqpsim.socket.logging.FrameLogSampler;
+import com.nori.tc.eqpsim.socket.logging.LogEventType;
 import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.logging.StructuredLogEvent;
+import com.nori.tc.eqpsim.socket.metrics.LatencyStats;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters;
 import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
 import com.nori.tc.eqpsim.socket.netty.OutboundFrameSender;
-import com.nori.tc.eqpsim.socket.protocol.FrameTokenParser;
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+import com.nori.tc.eqpsim.socket.protocol.CommandRxStats;
+import com.nori.tc.eqpsim.socket.protocol.FrameCmdScanner;
+import com.nori.tc.eqpsim.socket.runtime.EmitBackpressureStats;
 import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
 import com.nori.tc.eqpsim.socket.scenario.*;
+import com.nori.tc.eqpsim.socket.timer.FleetEmitTicker;
+import com.nori.tc.eqpsim.socket.timer.SimTimer;
+import com.nori.tc.eqpsim.socket.timer.TimerService;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.util.concurrent.ScheduledFuture;
+import io.netty.util.concurrent.Ticker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -44,17 +55,44 @@ import java.util.concurrent.atomic.AtomicInteger;
  *   - scenario_emit_send: log.debug → log.info (emit 송신 로그 복원)
  *   - eqp_rx: 설비가 수신한 모든 프레임 로그 (WAIT 매칭/불일치 구분)
  *   - eqp_tx: 설비가 송신한 모든 프레임 로그 (SEND/EMIT 통합)
+ *   - 프레임 단위 event는 StructuredLog.info(log, type, FrameLogSampler)로 남긴다.
+ *     (level/event별 verbosity 선확인, 할당 최소화, 샘플링 활성 시 연결별 first-N + 1-in-K + EQP별 token bucket)
+ *
+ * 송신 backpressure (채널 unwritable, WRITE_BUFFER_WATER_MARK 기준):
+ *   - EMIT tick마다 Channel.isWritable()을 확인하고 BACKPRESSURE_POLICY에 따라 처리한다.
+ *     PAUSE: tick 보류 + emit 루프 정지 → channelWritabilityChanged(writable)에서 보류분 송신 후 재개
+ *     DROP : tick 미송신(suppressed 집계), 스케줄은 그대로 진행
+ *     BLOCK: PAUSE + SEND 스텝도 writable 복귀까지 진행 보류
+ *   - 보류/미송신 수는 EqpRuntime.getBackpressureStats()에 EQP 단위로 누적된다.
+ *
+ * 타이머:
+ *   - WAIT 타임아웃/SLEEP/EMIT tick/DISCONNECT/완료 close는 모두 TimerService.of(ctx)로 예약한다.
+ *     (채널 attr TIMER_SERVICE가 있으면 event loop별 hashed wheel, 없으면 ctx.executor())
+ *   - jitter 없는 INTERVAL EMIT은 (event loop, 주기)별 FleetEmitTicker에 참여해 tick 1개로 묶어 실행한다.
+ *     (write는 tick 안에서, flush는 tick 끝에 채널별 1회) jitter가 있으면 EQP별로 재예약한다.
+ *   - schedule=fixed-rate INTERVAL EMIT은 step 시작 시각 기준 격자로 송신해 지연이 누적되지 않는다.
+ *     (FleetEmitTicker를 쓰지 않음, lateness/skip은 EqpRuntime.getLatenessStats()에 누적)
  */
 public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
     private static final Logger log = LoggerFactory.getLogger(ScenarioRunnerHandler.class);
 
+    // 프레임 단위 event (tc.eqpsim.logging.events로 개별 OFF/level 조정, logging.sampling으로 샘플링)
+    private static final LogEventType EQP_RX = LogEventType.of("eqp_rx");
+    private static final LogEventType EQP_TX = LogEventType.of("eqp_tx");
+    private static final LogEventType SCENARIO_SEND = LogEventType.of("scenario_send");
+    private static final LogEventType SCENARIO_EMIT_SEND = LogEventType.of("scenario_emit_send");
+
     /** ACTIVE 시나리오 완료 후 채널 close까지 대기 시간(ms) */
     private static final long CLOSE_GRACE_MS = 100;
 
     private final ScenarioPlan plan;
     private final ScenarioCompletionTracker tracker;
 
+    /** plan의 CMD 사전(전역 공유)과 CMD별 수신 카운터 */
+    private final CommandDictionary commands;
+    private final CommandRxStats rxStats;
+
     // ─── 실행 상태 ──────────────────────────────────────────────────────────────
 
     /** handlerAdded/channelActive 중복 실행 방지 */
@@ -73,13 +111,46 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
      */
     private volatile boolean emitStopped = false;
 
+    // ─── BACKPRESSURE 상태 ──────────────────────────────────────────────────────
+
+    /** 채널 unwritable 시 처리 정책 (시작 시 채널 attribute에서 결정) */
+    private BackpressureProperties.Policy backpressurePolicy = BackpressureProperties.Policy.PAUSE;
+
+    /** writable 복귀 시 실행할 보류 작업. null이면 보류 중이 아님 */
+    private Runnable resumeOnWritable;
+
+    /** EMIT tick 처리 판정 결과 */
+    private enum EmitGate {
+        /** 지금 송신 */
+        SEND,
+        /** 송신하지 않고 tick 소비 (DROP) */
+        SKIP,
+        /** 보류: writable 복귀 시 resume 작업이 이어서 처리 (PAUSE/BLOCK) */
+        PARK
+    }
+
     // ─── WAIT 상태 ──────────────────────────────────────────────────────────────
 
     /** 현재 대기 중인 WAIT 스텝. null이면 대기 중이 아님 */
     private WaitCmdStep waitingStep;
 
     /** WAIT 타임아웃 타이머 핸들 */
-    private ScheduledFuture<?> waitTimeoutFuture;
+    private SimTimer.Timeout waitTimeoutFuture;
+
+    /** 채널 event loop의 타이머 (최초 예약 시 조회) */
+    private SimTimer timer;
+
+    /**
+     * 마지막 EqpToTc 송신(SEND/EMIT) 시각 (event loop ticker).
+     * WAIT 매칭 시 (수신 시각 - 이 값)을 WAIT_RESPONSE 지연으로 기록한다.
+     */
+    private long lastTxNanos;
+
+    /** 직전 WAIT 매칭 이후 송신이 있었는지 (없으면 WAIT_RESPONSE 기준점 없음) */
+    private boolean txSinceWait;
+
+    /** stepIndex → WAIT_RESPONSE recorder (WAIT 스텝별 최초 매칭 때 조회, 이후 재사용) */
+    private LatencyStats.Recorder[] waitRecorders;
 
     // ─── LOOP 상태 ──────────────────────────────────────────────────────────────
 
@@ -89,6 +160,11 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
      */
     private final Map<String, Integer> loopIterationCount = new HashMap<>();
 
+    // ─── 수신 CMD 스캐너 ────────────────────────────────────────────────────────
+
+    /** 채널 전용 CMD 스캐너 (event loop 스레드에서만 사용, 프레임마다 재사용) */
+    private final FrameCmdScanner cmdScanner = new FrameCmdScanner();
+
     // ─── 생성자 ─────────────────────────────────────────────────────────────────
 
     public ScenarioRunnerHandler(ScenarioPlan plan) {
@@ -99,6 +175,8 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
         super(true); // autoRelease=true
         this.plan = Objects.requireNonNull(plan, "plan must not be null");
         this.tracker = tracker == null ? ScenarioCompletionTracker.NOOP : tracker;
+        this.commands = plan.getCommands();
+        this.rxStats = commands.getRxStats();
     }
 
     // ─── Netty 채널 이벤트 ──────────────────────────────────────────────────────
@@ -123,33 +201,50 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
      * - WAIT 매칭 성공: matched=true
      * - WAIT 매칭 실패(불일치/무관 CMD): matched=false (계속 대기)
      * - WAIT 상태 아닐 때 수신된 프레임: unexpected=true
+     *
+     * CMD 판정은 ByteBuf 위에서 바로 한다(FrameCmdScanner → CommandDictionary id).
+     * WAIT 매칭과 CMD별 집계(CommandRxStats)는 int id 비교이며, payload/cmd 문자열은 로그를 실제로 남길 때만 만든다.
      */
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
         EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
-        String frame = msg.toString(StandardCharsets.UTF_8);
-        String cmdUpper = FrameTokenParser.extractCmdUpper(frame);
+        long cmd = cmdScanner.scan(msg);
+        int cmdId = commands.classify(msg, cmd);
+        if (eqp != null) {
+            eqp.getTraffic().recordRx(msg.readableBytes());
+        }
 
         if (waitingStep == null) {
             // WAIT 상태가 아닌데 프레임이 수신됨(예상 외)
-            log.info(StructuredLog.event("eqp_rx",
-                    "eqpId", eqp != null ? eqp.getEqpId() : "null",
-                    "connId", ctx.channel().id().asShortText(),
-                    "cmd", cmdUpper,
-                    "payload", frame,
-                    "unexpected", true));
+            rxStats.record(cmdId, CommandRxStats.Outcome.UNEXPECTED);
+            if (eqp != null) {
+                eqp.getTraffic().increment(TrafficCounters.Counter.UNEXPECTED_IN);
+            }
+            StructuredLogEvent rx = StructuredLog.info(log, EQP_RX, FrameLogSampler.of(ctx.channel()));
+            if (rx.isEnabled()) {
+                rx.kv("eqpId", eqp != null ? eqp.getEqpId() : "null")
+                        .kv("connId", ctx.channel().id().asShortText())
+                        .kv("cmd", cmdName(msg, cmd, cmdId))
+                        .kvUtf8("payload", msg)
+                        .kv("unexpected", true)
+                        .log();
+            }
             return;
         }
 
         // ✅ [로깅 복원] 설비 수신 로그
-        boolean matched = cmdUpper != null && waitingStep.getExpectedCmdUpper().equals(cmdUpper);
-        log.info(StructuredLog.event("eqp_rx",
-                "eqpId", eqp != null ? eqp.getEqpId() : "null",
-                "connId", ctx.channel().id().asShortText(),
-                "cmd", cmdUpper,
-                "payload", frame,
-                "expected", waitingStep.getExpectedCmdUpper(),
-                "matched", matched));
+        boolean matched = cmdId == waitingStep.getExpectedCmdId();
+        rxStats.record(cmdId, matched ? CommandRxStats.Outcome.MATCHED : CommandRxStats.Outcome.MISMATCHED);
+        StructuredLogEvent rx = StructuredLog.info(log, EQP_RX, FrameLogSampler.of(ctx.channel()));
+        if (rx.isEnabled()) {
+            rx.kv("eqpId", eqp != null ? eqp.getEqpId() : "null")
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("cmd", cmdName(msg, cmd, cmdId))
+                    .kvUtf8("payload", msg)
+                    .kv("expected", waitingStep.getExpectedCmdUpper())
+                    .kv("matched", matched)
+                    .log();
+        }
 
         if (!matched) return; // CMD 불일치 → 계속 대기
 
@@ -157,6 +252,7 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
         cancelWaitTimeout();
         WaitCmdStep done = waitingStep;
         waitingStep = null;
+        recordWaitLatency(ctx, eqp, done);
 
         log.info(StructuredLog.event("scenario_wait_matched",
                 "eqpId", eqp != null ? eqp.getEqpId() : "null",
@@ -169,6 +265,40 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
         advance(ctx);
     }
 
+    private void markTx(ChannelHandlerContext ctx) {
+        lastTxNanos = ctx.executor().ticker().nanoTime();
+        txSinceWait = true;
+    }
+
+    /**
+     * WAIT 응답 지연: WAIT 직전 마지막 송신 → 매칭 프레임 수신.
+     * 직전 WAIT 이후 송신이 없었으면(WAIT 연속, 첫 스텝 WAIT) 기준점이 없으므로 기록하지 않는다.
+     */
+    private void recordWaitLatency(ChannelHandlerContext ctx, EqpRuntime eqp, WaitCmdStep done) {
+        if (!txSinceWait || eqp == null) return;
+        txSinceWait = false;
+
+        if (waitRecorders == null) {
+            LatencyStats latency = LatencyStats.of(ctx.channel());
+            if (latency == null) return;
+            waitRecorders = new LatencyStats.Recorder[plan.getSteps().size()];
+        }
+        LatencyStats.Recorder recorder = waitRecorders[stepIndex];
+        if (recorder == null) {
+            recorder = LatencyStats.of(ctx.channel()).recorder(ctx.executor(), LatencyStats.Kind.WAIT_RESPONSE,
+                    eqp.getEndpointId(), done.getExpectedCmdUpper());
+            waitRecorders[stepIndex] = recorder;
+        }
+        recorder.recordNanos(ctx.executor().ticker().nanoTime() - lastTxNanos);
+    }
+
+    /**
+     * 로그용 CMD 이름: 사전에 있으면 intern된 이름을 그대로 쓰고, 없을 때만 디코드한다.
+     */
+    private String cmdName(ByteBuf msg, long cmd, int cmdId) {
+        return cmdId >= 0 ? commands.name(cmdId) : FrameCmdScanner.cmdUpper(msg, cmd);
+    }
+
     /**
      * 채널 비활성화 처리.
      *
@@ -178,12 +308,39 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
     public void channelInactive(ChannelHandlerContext ctx) {
         try {
             emitStopped = true; // emit 체인 중지 플래그
+            resumeOnWritable = null;
             cancelWaitTimeout();
+            EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+            if (eqp != null) eqp.setActivity(EqpRuntime.Activity.IDLE);
         } finally {
             ctx.fireChannelInactive();
         }
     }
 
+    /**
+     * 채널 writable 복귀 시 보류된 emit/step을 재개한다.
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        try {
+            if (ctx.channel().isWritable() && resumeOnWritable != null && !emitStopped) {
+                Runnable resume = resumeOnWritable;
+                resumeOnWritable = null;
+
+                if (log.isDebugEnabled()) {
+                    EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+                    log.debug(StructuredLog.event("emit_backpressure_resumed",
+                            "eqpId", eqp != null ? eqp.getEqpId() : "null",
+                            "connId", ctx.channel().id().asShortText(),
+                            "stepIndex", stepIndex));
+                }
+                resume.run();
+            }
+        } finally {
+            ctx.fireChannelWritabilityChanged();
+        }
+    }
+
     // ─── 시나리오 시작 ────────────────────────────────────────────────────────
 
     private void startIfNeeded(ChannelHandlerContext ctx, String trigger) {
@@ -191,6 +348,10 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
         started = true;
 
         EqpRuntime eqp = ctx.channel().attr(ChannelAttributes.EQP).get();
+        BackpressureProperties.Policy policy = ctx.channel().attr(ChannelAttributes.BACKPRESSURE_POLICY).get();
+        if (policy != null) {
+            backpressurePolicy = policy;
+        }
 
         log.info(StructuredLog.event("scenario_started",
                 "trigger", trigger,
@@ -229,6 +390,12 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
                 return;
 
             } else if (step instanceof SendStep s) {
+                if (backpressurePolicy == BackpressureProperties.Policy.BLOCK && !ctx.channel().isWritable()) {
+                    // BLOCK: writable 복귀 후 이 SEND부터 다시 진행
+                    eqp.getBackpressureStats().recordDeferred();
+                    parkUntilWritable(ctx, eqp, () -> advance(ctx));
+                    return;
+                }
                 handleSendStep(ctx, eqp, s);
                 stepIndex++;
                 continue;
@@ -284,6 +451,7 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
 
     private void handleWaitStep(ChannelHandlerContext ctx, EqpRuntime eqp, WaitCmdStep w) {
         waitingStep = w;
+        eqp.setActivity(EqpRuntime.Activity.WAITING);
         long timeoutSec = resolveWaitTimeout(w, eqp);
 
         log.info(StructuredLog.event("scenario_wait_started",
@@ -294,7 +462,8 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
                 "expectedCmd", w.getExpectedCmdUpper(),
                 "timeoutSec", timeoutSec));
 
-        waitTimeoutFuture = ctx.executor().schedule(() -> {
+        waitTimeoutFuture = timer(ctx).schedule(() -> {
+            eqp.getTraffic().increment(TrafficCounters.Counter.WAIT_TIMEOUTS);
             log.warn(StructuredLog.event("scenario_wait_timeout",
                     "eqpId", eqp.getEqpId(),
                     "connId", ctx.channel().id().asShortText(),
@@ -318,29 +487,39 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
      * SEND: 즉시 1회 송신.
      *
      * ✅ [로깅 복원] eqp_tx 이벤트로 송신 내용 INFO 로그
+     * - 송신은 컴파일된 PayloadTemplate을 버퍼에 직접 기록한다. 문자열은 로그용으로만 만든다.
      */
     private void handleSendStep(ChannelHandlerContext ctx, EqpRuntime eqp, SendStep s) {
-        String resolved = ScenarioTemplateResolver.resolve(s.getPayloadTemplate(), eqp);
+        String resolved = null;
 
         // ✅ 설비 송신 로그
-        log.info(StructuredLog.event("eqp_tx",
-                "eqpId", eqp.getEqpId(),
-                "connId", ctx.channel().id().asShortText(),
-                "type", "SEND",
-                "stepIndex", stepIndex,
-                "payload", resolved));
-
-        OutboundFrameSender.send(ctx, eqp, resolved);
+        StructuredLogEvent tx = StructuredLog.info(log, EQP_TX, FrameLogSampler.of(ctx.channel()));
+        if (tx.isEnabled()) {
+            resolved = s.getPayload().render(eqp);
+            tx.kv("eqpId", eqp.getEqpId())
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("type", "SEND")
+                    .kv("stepIndex", stepIndex)
+                    .kv("payload", resolved)
+                    .log();
+        }
 
-        log.info(StructuredLog.event("scenario_send",
-                "eqpId", eqp.getEqpId(),
-                "connId", ctx.channel().id().asShortText(),
-                "scenarioFile", plan.getSourceFile(),
-                "stepIndex", stepIndex,
-                "payload", resolved));
+        OutboundFrameSender.send(ctx, eqp, s.getPayload());
+        markTx(ctx);
+
+        StructuredLogEvent sent = StructuredLog.info(log, SCENARIO_SEND, FrameLogSampler.of(ctx.channel()));
+        if (sent.isEnabled()) {
+            sent.kv("eqpId", eqp.getEqpId())
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("scenarioFile", plan.getSourceFile())
+                    .kv("stepIndex", stepIndex)
+                    .kv("payload", resolved != null ? resolved : s.getPayload().render(eqp))
+                    .log();
+        }
     }
 
     private void handleEmitStep(ChannelHandlerContext ctx, EqpRuntime eqp, EmitStep e) {
+        eqp.setActivity(EqpRuntime.Activity.EMITTING);
         boolean isForever = e.getCount() instanceof EmitStep.CountForever;
         int totalCount = isForever ? 0 : ((EmitStep.CountFixed) e.getCount()).getValue();
 
@@ -352,9 +531,12 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
                 "mode", e.getMode(),
                 "intervalOrWindowMs", e.getIntervalOrWindowMs(),
                 "count", isForever ? "forever" : totalCount,
-                "jitterMs", e.getJitterMs() != null ? e.getJitterMs() : 0));
+                "jitterMs", e.getJitterMs() != null ? e.getJitterMs() : 0,
+                "schedule", e.getSchedule()));
 
-        if (isForever) {
+        if (e.getSchedule() == EmitStep.Schedule.FIXED_RATE) {
+            new FixedRateEmitter(ctx, eqp, e, isForever ? -1 : totalCount).start();
+        } else if (isForever) {
             scheduleIntervalForever(ctx, eqp, e);
         } else if (e.getMode() == EmitStep.Mode.INTERVAL) {
             scheduleIntervalFinite(ctx, eqp, e, totalCount);
@@ -372,20 +554,30 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
         long intervalMs = e.getIntervalOrWindowMs();
         long jitterMs = e.getJitterMs() != null ? e.getJitterMs() : 0L;
 
+        FleetEmitTicker fleet = jitterMs == 0 ? TimerService.emitTickerOf(ctx, intervalMs) : null;
+        if (fleet != null) {
+            fleet.add(new FleetEmitter(ctx, eqp, e, fleet, -1));
+            return;
+        }
+
         Runnable[] selfRef = new Runnable[1];
         selfRef[0] = () -> {
             // [M1 수정] emitStopped 또는 채널 비활성 시 체인 중지
             if (emitStopped || !ctx.channel().isActive()) return;
 
-            sendEmitPayload(ctx, eqp, e);
+            EmitGate gate = gateEmit(ctx, eqp, selfRef[0]);
+            if (gate == EmitGate.PARK) return; // writable 복귀 시 이 tick부터 재개
+            if (gate == EmitGate.SEND) {
+                sendEmitPayload(ctx, eqp, e);
+            }
 
             // 다음 스케줄 (채널 active 상태에서만)
             long nextDelayMs = intervalMs + randomJitter(jitterMs);
-            ctx.executor().schedule(selfRef[0], nextDelayMs, TimeUnit.MILLISECONDS);
+            timer(ctx).schedule(selfRef[0], nextDelayMs, TimeUnit.MILLISECONDS);
         };
 
         long firstDelayMs = intervalMs + randomJitter(jitterMs);
-        ctx.executor().schedule(selfRef[0], firstDelayMs, TimeUnit.MILLISECONDS);
+        timer(ctx).schedule(selfRef[0], firstDelayMs, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -397,6 +589,12 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
         long intervalMs = e.getIntervalOrWindowMs();
         long jitterMs = e.getJitterMs() != null ? e.getJitterMs() : 0L;
 
+        FleetEmitTicker fleet = jitterMs == 0 ? TimerService.emitTickerOf(ctx, intervalMs) : null;
+        if (fleet != null) {
+            fleet.add(new FleetEmitter(ctx, eqp, e, fleet, totalCount));
+            return;
+        }
+
         AtomicInteger remaining = new AtomicInteger(totalCount);
 
         Runnable[] selfRef = new Runnable[1];
@@ -404,28 +602,202 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
             // [M2 수정] emitStopped 또는 채널 비활성 시 중지
             if (emitStopped || !ctx.channel().isActive()) return;
 
-            sendEmitPayload(ctx, eqp, e);
+            EmitGate gate = gateEmit(ctx, eqp, selfRef[0]);
+            if (gate == EmitGate.PARK) return; // writable 복귀 시 이 tick부터 재개
+            if (gate == EmitGate.SEND) {
+                sendEmitPayload(ctx, eqp, e);
+            }
 
+            // DROP으로 건너뛴 tick도 1회로 센다 (완료 시점 보존)
             int left = remaining.decrementAndGet();
             if (left > 0) {
                 long nextDelayMs = intervalMs + randomJitter(jitterMs);
-                ctx.executor().schedule(selfRef[0], nextDelayMs, TimeUnit.MILLISECONDS);
+                timer(ctx).schedule(selfRef[0], nextDelayMs, TimeUnit.MILLISECONDS);
             } else {
-                log.info(StructuredLog.event("scenario_emit_completed",
-                        "eqpId", eqp.getEqpId(),
-                        "connId", ctx.channel().id().asShortText(),
-                        "scenarioFile", plan.getSourceFile(),
-                        "stepIndex", stepIndex,
-                        "totalSent", totalCount,
-                        "mode", "INTERVAL"));
-
-                stepIndex++;
-                advance(ctx);
+                completeIntervalEmit(ctx, eqp, totalCount);
             }
         };
 
         long firstDelayMs = intervalMs + randomJitter(jitterMs);
-        ctx.executor().schedule(selfRef[0], firstDelayMs, TimeUnit.MILLISECONDS);
+        timer(ctx).schedule(selfRef[0], firstDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void completeIntervalEmit(ChannelHandlerContext ctx, EqpRuntime eqp, int totalCount) {
+        log.info(StructuredLog.event("scenario_emit_completed",
+                "eqpId", eqp.getEqpId(),
+                "connId", ctx.channel().id().asShortText(),
+                "scenarioFile", plan.getSourceFile(),
+                "stepIndex", stepIndex,
+                "totalSent", totalCount,
+                "mode", "INTERVAL"));
+
+        stepIndex++;
+        advance(ctx);
+    }
+
+    /**
+     * jitter 없는 EMIT INTERVAL의 FleetEmitTicker 참여자.
+     * - tick 판정/집계는 자기 재예약 방식과 같다. (gateEmit, DROP tick도 1회로 셈)
+     * - PAUSE/BLOCK 보류 시 bucket에서 빠지고, writable 복귀 시 보류 tick을 즉시 송신한 뒤 다시 참여한다.
+     */
+    private final class FleetEmitter implements FleetEmitTicker.Emitter {
+
+        private final ChannelHandlerContext ctx;
+        private final EqpRuntime eqp;
+        private final EmitStep step;
+        private final FleetEmitTicker fleet;
+        private final Runnable resume = this::resume;
+
+        /** 남은 tick 수. -1이면 forever */
+        private int remaining;
+
+        FleetEmitter(ChannelHandlerContext ctx, EqpRuntime eqp, EmitStep step, FleetEmitTicker fleet, int totalCount) {
+            this.ctx = ctx;
+            this.eqp = eqp;
+            this.step = step;
+            this.fleet = fleet;
+            this.remaining = totalCount;
+        }
+
+        @Override
+        public int onTick() {
+            if (emitStopped || !ctx.channel().isActive()) return REMOVE;
+
+            EmitGate gate = gateEmit(ctx, eqp, resume);
+            if (gate == EmitGate.PARK) return REMOVE;
+
+            int result = KEEP;
+            if (gate == EmitGate.SEND) {
+                sendEmitPayload(ctx, eqp, step, false);
+                result = WROTE;
+            }
+            if (remaining > 0 && --remaining == 0) {
+                // write 후 advance: 다음 스텝의 송신은 이 write 뒤에 줄 선다.
+                completeIntervalEmit(ctx, eqp, ((EmitStep.CountFixed) step.getCount()).getValue());
+                return result | REMOVE;
+            }
+            return result;
+        }
+
+        @Override
+        public ChannelHandlerContext context() {
+            return ctx;
+        }
+
+        private void resume() {
+            int r = onTick();
+            if ((r & WROTE) != 0) ctx.flush();
+            if ((r & REMOVE) == 0) fleet.add(this);
+        }
+    }
+
+    /**
+     * schedule=fixed-rate EMIT INTERVAL.
+     * - k번째 tick 의도 시각 = step 시작 시각(anchor) + k*interval + U(0, jitter)
+     *   (jitter는 격자 기준 offset이라 누적되지 않는다)
+     * - 대기 중인 타이머는 항상 1개이며, 깨어날 때마다 의도 시각이 지난 tick을 처리한다.
+     *   late=catch-up: 밀린 tick을 모두 즉시 송신 (1회 최대 {@link #MAX_SENDS_PER_FIRE}개, 나머지는 즉시 재예약)
+     *   late=skip    : 이후 격자 시각이 이미 지난 tick은 송신하지 않고 skipped로 센다 (count에는 포함)
+     * - 송신한 tick의 lateness(실제 - 의도)는 EqpRuntime.getLatenessStats()에 µs로 기록한다.
+     * - backpressure 판정은 다른 EMIT과 같다. (PARK 후 재개 시 보류 시간도 lateness에 포함)
+     */
+    private final class FixedRateEmitter {
+
+        /** 타이머 1회에 몰아 보낼 최대 tick 수 (밀린 분량이 커도 event loop를 독점하지 않도록) */
+        private static final int MAX_SENDS_PER_FIRE = 256;
+
+        private final ChannelHandlerContext ctx;
+        private final EqpRuntime eqp;
+        private final EmitStep step;
+        private final Ticker ticker;
+        private final long intervalNanos;
+        private final long jitterMs;
+        private final boolean skipLate;
+        private final Runnable fire = this::fire;
+
+        /** 전체 tick 수. -1이면 forever */
+        private final int totalCount;
+
+        private long anchorNanos;
+        /** 다음 tick 번호 (1부터) */
+        private long tick;
+        /** 다음 tick 의도 시각 (ticker 기준 절대값) */
+        private long dueNanos;
+        /** 소비한 tick 수 (송신 + DROP + skip) */
+        private int consumed;
+
+        FixedRateEmitter(ChannelHandlerContext ctx, EqpRuntime eqp, EmitStep step, int totalCount) {
+            this.ctx = ctx;
+            this.eqp = eqp;
+            this.step = step;
+            this.ticker = ctx.executor().ticker();
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(step.getIntervalOrWindowMs());
+            this.jitterMs = step.getJitterMs() != null ? step.getJitterMs() : 0L;
+            this.skipLate = step.getLatePolicy() == EmitStep.LatePolicy.SKIP;
+            this.totalCount = totalCount;
+        }
+
+        void start() {
+            anchorNanos = ticker.nanoTime();
+            tick = 1;
+            dueNanos = dueOf(tick);
+            timer(ctx).schedule(fire, dueNanos - anchorNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void fire() {
+            if (emitStopped || !ctx.channel().isActive()) return;
+
+            long now = ticker.nanoTime();
+            int n = 0;
+            while (true) {
+                if (skipLate) skipSuperseded(now);
+                if (dueNanos > now || n >= MAX_SENDS_PER_FIRE) break;
+
+                EmitGate gate = gateEmit(ctx, eqp, fire);
+                if (gate == EmitGate.PARK) return; // writable 복귀 시 이 tick부터 재개
+                if (gate == EmitGate.SEND) {
+                    sendEmitPayload(ctx, eqp, step);
+                    eqp.getLatenessStats().recordLatenessNanos(now - dueNanos);
+                }
+                n++;
+                if (consume(1)) return;
+                tick++;
+                dueNanos = dueOf(tick);
+            }
+            timer(ctx).schedule(fire, Math.max(0L, dueNanos - now), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * 다음 격자 시각까지 지난 tick은 건너뛴다. (유한 count면 마지막 1개는 남긴다)
+         */
+        private void skipSuperseded(long now) {
+            long latest = (now - anchorNanos) / intervalNanos;
+            long skip = latest - tick;
+            if (skip <= 0) return;
+            if (totalCount > 0) {
+                skip = Math.min(skip, totalCount - consumed - 1L);
+                if (skip <= 0) return;
+                consumed += (int) skip;
+            }
+            eqp.getLatenessStats().recordSkipped(skip);
+            tick += skip;
+            dueNanos = dueOf(tick);
+        }
+
+        /**
+         * @return 유한 count를 모두 소비해 다음 스텝으로 진행했으면 true
+         */
+        private boolean consume(int ticks) {
+            if (totalCount < 0) return false;
+            consumed += ticks;
+            if (consumed < totalCount) return false;
+            completeIntervalEmit(ctx, eqp, totalCount);
+            return true;
+        }
+
+        private long dueOf(long k) {
+            return anchorNanos + k * intervalNanos + TimeUnit.MILLISECONDS.toNanos(randomJitter(jitterMs));
+        }
     }
 
     /**
@@ -437,43 +809,126 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
      *   - done == totalCount 로 변경하여 정확히 1회만 advance() 호출을 보장
      *
      * ✅ [M2 수정] emitStopped 플래그로 채널 close 후 실행 방지
+     *
+     * 송신 시각은 WindowArrivals가 오름차순으로 하나씩 뽑는다. (정렬된 균등 난수 N개와 같은 분포)
+     * - 대기 중인 타이머는 항상 1개: 도착 시각이 된 송신을 모두 처리한 뒤 다음 도착 시각에 재예약한다.
+     * - 시각은 step 시작 기준으로 계산하므로 콜백 처리 지연이 누적되지 않는다.
      */
     private void scheduleWindowEmit(ChannelHandlerContext ctx, EqpRuntime eqp, EmitStep e, int totalCount) {
         long windowMs = e.getIntervalOrWindowMs();
-
-        List<Long> delayList = new ArrayList<>(totalCount);
-        for (int i = 0; i < totalCount; i++) {
-            delayList.add(ThreadLocalRandom.current().nextLong(0, windowMs + 1));
-        }
-        Collections.sort(delayList);
+        WindowArrivals arrivals = new WindowArrivals(windowMs, totalCount, ThreadLocalRandom.current());
+        long startNanos = ctx.executor().ticker().nanoTime();
 
         // 완료 카운터: 마지막 emit 1회만 advance()를 호출하도록 보장
         AtomicInteger doneCount = new AtomicInteger(0);
 
-        for (long delayMs : delayList) {
-            ctx.executor().schedule(() -> {
-                // [M2 수정] emitStopped 또는 채널 비활성 시 중지
+        Runnable completeTick = () -> {
+            // [B2 수정] done == totalCount: 정확히 마지막 1회만 advance() 호출
+            int done = doneCount.incrementAndGet();
+            if (done == totalCount) {
+                log.info(StructuredLog.event("scenario_emit_completed",
+                        "eqpId", eqp.getEqpId(),
+                        "connId", ctx.channel().id().asShortText(),
+                        "scenarioFile", plan.getSourceFile(),
+                        "stepIndex", stepIndex,
+                        "totalSent", totalCount,
+                        "mode", "WINDOW",
+                        "windowMs", windowMs));
+
+                stepIndex++;
+                advance(ctx);
+            }
+        };
+
+        // PAUSE/BLOCK: unwritable 동안 도착한 tick 수. writable 복귀 시 순서대로 송신한다.
+        int[] parked = {0};
+        Runnable[] drain = new Runnable[1];
+        drain[0] = () -> {
+            while (parked[0] > 0) {
                 if (emitStopped || !ctx.channel().isActive()) return;
+                if (!ctx.channel().isWritable()) {
+                    parkUntilWritable(ctx, eqp, drain[0]);
+                    return;
+                }
+                parked[0]--;
+                sendEmitPayload(ctx, eqp, e);
+                completeTick.run();
+            }
+        };
 
+        Runnable arrive = () -> {
+            if (parked[0] > 0) {
+                // 이미 보류 중인 tick 뒤에 줄 세운다 (송신 순서 유지)
+                eqp.getBackpressureStats().recordDeferred();
+                parked[0]++;
+                return;
+            }
+
+            EmitGate gate = gateEmit(ctx, eqp, drain[0]);
+            if (gate == EmitGate.PARK) {
+                parked[0]++;
+                return;
+            }
+            if (gate == EmitGate.SEND) {
                 sendEmitPayload(ctx, eqp, e);
+            }
+            completeTick.run();
+        };
 
-                // [B2 수정] done == totalCount: 정확히 마지막 1회만 advance() 호출
-                int done = doneCount.incrementAndGet();
-                if (done == totalCount) {
-                    log.info(StructuredLog.event("scenario_emit_completed",
-                            "eqpId", eqp.getEqpId(),
-                            "connId", ctx.channel().id().asShortText(),
-                            "scenarioFile", plan.getSourceFile(),
-                            "stepIndex", stepIndex,
-                            "totalSent", totalCount,
-                            "mode", "WINDOW",
-                            "windowMs", windowMs));
+        if (!arrivals.hasNext()) return;
+        long[] nextAtMs = {arrivals.nextOffsetMs()};
+        Runnable[] fire = new Runnable[1];
+        fire[0] = () -> {
+            // [M2 수정] emitStopped 또는 채널 비활성 시 중지
+            if (emitStopped || !ctx.channel().isActive()) return;
 
-                    stepIndex++;
-                    advance(ctx);
-                }
-            }, delayMs, TimeUnit.MILLISECONDS);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(ctx.executor().ticker().nanoTime() - startNanos);
+            while (nextAtMs[0] <= elapsedMs) {
+                arrive.run();
+                if (!arrivals.hasNext()) return; // 마지막 도착: 완료/advance는 completeTick(또는 drain)이 처리
+                nextAtMs[0] = arrivals.nextOffsetMs();
+                if (emitStopped || !ctx.channel().isActive()) return;
+            }
+            timer(ctx).schedule(fire[0], nextAtMs[0] - elapsedMs, TimeUnit.MILLISECONDS);
+        };
+        timer(ctx).schedule(fire[0], nextAtMs[0], TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * EMIT tick 송신 여부를 채널 writability와 backpressure 정책으로 판정한다.
+     *
+     * @param resume PARK 시 writable 복귀 후 실행할 작업
+     */
+    private EmitGate gateEmit(ChannelHandlerContext ctx, EqpRuntime eqp, Runnable resume) {
+        if (ctx.channel().isWritable()) return EmitGate.SEND;
+
+        EmitBackpressureStats stats = eqp.getBackpressureStats();
+        if (backpressurePolicy == BackpressureProperties.Policy.DROP) {
+            stats.recordSuppressed();
+            return EmitGate.SKIP;
+        }
+
+        stats.recordDeferred();
+        parkUntilWritable(ctx, eqp, resume);
+        return EmitGate.PARK;
+    }
+
+    /**
+     * writable 복귀 시 resume을 실행하도록 보류한다. (pause는 보류 시작 시 1회만 집계)
+     */
+    private void parkUntilWritable(ChannelHandlerContext ctx, EqpRuntime eqp, Runnable resume) {
+        if (resumeOnWritable == null) {
+            eqp.getBackpressureStats().recordPause();
+            if (log.isDebugEnabled()) {
+                log.debug(StructuredLog.event("emit_backpressure_paused",
+                        "eqpId", eqp.getEqpId(),
+                        "connId", ctx.channel().id().asShortText(),
+                        "stepIndex", stepIndex,
+                        "policy", backpressurePolicy,
+                        "bytesBeforeWritable", ctx.channel().bytesBeforeWritable()));
+            }
         }
+        resumeOnWritable = resume;
     }
 
     /**
@@ -482,29 +937,50 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
      * ✅ [로깅 복원] scenario_emit_send: log.debug → log.info
      *   - 기존 DEBUG 레벨로 인해 기본 설정(INFO)에서 로그가 출력되지 않던 문제 수정
      *   - eqp_tx 이벤트로 설비 송신 내용을 명시적으로 기록
+     * - 송신은 컴파일된 PayloadTemplate을 버퍼에 직접 기록한다. 문자열은 로그용으로만 만든다.
      */
     private void sendEmitPayload(ChannelHandlerContext ctx, EqpRuntime eqp, EmitStep e) {
-        String resolved = ScenarioTemplateResolver.resolve(e.getPayloadTemplate(), eqp);
+        sendEmitPayload(ctx, eqp, e, true);
+    }
+
+    /**
+     * @param flush false면 write만 한다. (FleetEmitTicker가 tick 끝에 채널별로 flush)
+     */
+    private void sendEmitPayload(ChannelHandlerContext ctx, EqpRuntime eqp, EmitStep e, boolean flush) {
+        String resolved = null;
 
         // ✅ [로깅 복원] 설비 송신 로그 (INFO 레벨)
-        log.info(StructuredLog.event("eqp_tx",
-                "eqpId", eqp.getEqpId(),
-                "connId", ctx.channel().id().asShortText(),
-                "type", "EMIT",
-                "stepIndex", stepIndex,
-                "payload", resolved));
+        StructuredLogEvent tx = StructuredLog.info(log, EQP_TX, FrameLogSampler.of(ctx.channel()));
+        if (tx.isEnabled()) {
+            resolved = e.getPayload().render(eqp);
+            tx.kv("eqpId", eqp.getEqpId())
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("type", "EMIT")
+                    .kv("stepIndex", stepIndex)
+                    .kv("payload", resolved)
+                    .log();
+        }
 
-        OutboundFrameSender.send(ctx, eqp, resolved);
+        if (flush) {
+            OutboundFrameSender.send(ctx, eqp, e.getPayload());
+        } else {
+            OutboundFrameSender.write(ctx, eqp, e.getPayload());
+        }
+        markTx(ctx);
 
         // 기존 scenario_emit_send 이벤트 유지 (DEBUG → INFO 변경)
-        log.info(StructuredLog.event("scenario_emit_send",
-                "eqpId", eqp.getEqpId(),
-                "connId", ctx.channel().id().asShortText(),
-                "stepIndex", stepIndex,
-                "payload", resolved));
+        StructuredLogEvent sent = StructuredLog.info(log, SCENARIO_EMIT_SEND, FrameLogSampler.of(ctx.channel()));
+        if (sent.isEnabled()) {
+            sent.kv("eqpId", eqp.getEqpId())
+                    .kv("connId", ctx.channel().id().asShortText())
+                    .kv("stepIndex", stepIndex)
+                    .kv("payload", resolved != null ? resolved : e.getPayload().render(eqp))
+                    .log();
+        }
     }
 
     private void handleSleepStep(ChannelHandlerContext ctx, EqpRuntime eqp, SleepStep sl) {
+        eqp.setActivity(EqpRuntime.Activity.SLEEPING);
         long sleepMs = sl.getSleepMs();
 
         log.info(StructuredLog.event("scenario_sleep",
@@ -514,7 +990,7 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
                 "stepIndex", stepIndex,
                 "sleepMs", sleepMs));
 
-        ctx.executor().schedule(() -> {
+        timer(ctx).schedule(() -> {
             if (emitStopped || !ctx.channel().isActive()) return;
             stepIndex++;
             advance(ctx);
@@ -632,9 +1108,10 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
                 "afterMs", afterMs,
                 "downMs", downMs));
 
-        ctx.executor().schedule(() -> {
+        timer(ctx).schedule(() -> {
             if (!ctx.channel().isActive()) return;
 
+            eqp.getTraffic().increment(TrafficCounters.Counter.FAULT_DISCONNECT);
             log.info(StructuredLog.event("scenario_disconnect_executing",
                     "eqpId", eqp.getEqpId(),
                     "connId", ctx.channel().id().asShortText(),
@@ -647,6 +1124,7 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
     // ─── 시나리오 완료 ─────────────────────────────────────────────────────────
 
     private void handleScenarioCompleted(ChannelHandlerContext ctx, EqpRuntime eqp) {
+        eqp.setActivity(EqpRuntime.Activity.IDLE);
         log.info(StructuredLog.event("scenario_completed",
                 "eqpId", eqp.getEqpId(),
                 "mode", eqp.getMode(),
@@ -679,7 +1157,7 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
                 "delayMs", CLOSE_GRACE_MS,
                 "closeReason", ChannelAttributes.CLOSE_REASON_SCENARIO_COMPLETED));
 
-        ctx.executor().schedule(() -> {
+        timer(ctx).schedule(() -> {
             if (ctx.channel().isActive()) {
                 ctx.close();
             }
@@ -690,11 +1168,19 @@ public class ScenarioRunnerHandler extends SimpleChannelInboundHandler<ByteBuf>
 
     private void cancelWaitTimeout() {
         if (waitTimeoutFuture != null) {
-            waitTimeoutFuture.cancel(false);
+            waitTimeoutFuture.cancel();
             waitTimeoutFuture = null;
         }
     }
 
+    private SimTimer timer(ChannelHandlerContext ctx) {
+        SimTimer t = timer;
+        if (t == null) {
+            t = timer = TimerService.of(ctx);
+        }
+        return t;
+    }
+
     private static long randomJitter(long jitterMs) {
         if (jitterMs <= 0) return 0L;
         return ThreadLocalRandom.current().nextLong(0, jitterMs + 1);
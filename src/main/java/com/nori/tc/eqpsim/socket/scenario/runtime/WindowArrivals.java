@@ -0,0 +1,68 @@
+package com.nori.tc.eqpsim.socket.scenario.runtime;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * WindowArrivals
+ *
+ * 역할:
+ * - EMIT WINDOW(window=W, count=N)의 송신 시각(step 시작 기준 ms)을 오름차순으로 하나씩 뽑는다.
+ * - "0..W ms 균등 난수 N개를 정렬한 수열"과 같은 분포를 O(1) 메모리로 만든다.
+ *
+ * 방법 (균등분포 순서통계량):
+ * - 연속 구간 [x, S)에 남은 m개의 균등 표본 중 최솟값은 x + (S - x)·(1 - V^(1/m)), V ~ U(0,1].
+ *   이를 m = N, N-1, ..., 1로 반복하면 정렬된 N개 표본을 앞에서부터 얻는다.
+ * - 기존 구현은 정수 ms 균등 난수 nextLong(0, W+1)를 썼다. floor(U(0, W+1))는 {0..W} 균등이고
+ *   floor는 순서를 보존하므로, S = W+1 연속 표본을 floor 하면 분포가 정확히 같다.
+ *
+ * 동시성:
+ * - 채널 event loop 스레드에서만 사용한다.
+ */
+public final class WindowArrivals {
+
+    private final double span;
+    private final RandomGenerator rnd;
+
+    /** 아직 뽑지 않은 표본 수 */
+    private int remaining;
+
+    /** 직전 표본 (연속값) */
+    private double position;
+
+    public WindowArrivals(long windowMs, int count, RandomGenerator rnd) {
+        if (windowMs < 0) {
+            throw new IllegalArgumentException("windowMs must be >= 0: " + windowMs);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0: " + count);
+        }
+        this.span = windowMs + 1.0;
+        this.remaining = count;
+        this.rnd = rnd;
+    }
+
+    public boolean hasNext() {
+        return remaining > 0;
+    }
+
+    /** 남은 송신 수 */
+    public int remaining() {
+        return remaining;
+    }
+
+    /**
+     * 다음 송신 시각 (step 시작 기준 ms, 0..windowMs, 비감소)
+     *
+     * @throws IllegalStateException 남은 표본이 없을 때
+     */
+    public long nextOffsetMs() {
+        if (remaining <= 0) {
+            throw new IllegalStateException("no more arrivals");
+        }
+        double v = 1.0 - rnd.nextDouble(); // (0, 1]
+        position += (span - position) * (1.0 - Math.pow(v, 1.0 / remaining));
+        remaining--;
+        // 부동소수 오차로 span에 닿는 경우 windowMs로 고정
+        return Math.min((long) position, (long) span - 1);
+    }
+}
@@ -0,0 +1,313 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * EventLoopWheelTimer
+ *
+ * 역할:
+ * - event loop 1개 전용 hashed wheel 타이머.
+ * - 예약은 bucket(deadline tick & mask)의 이중 연결 리스트에 O(1)로 붙고, 취소도 O(1)로 떼어낸다.
+ *   (EventExecutor.schedule은 예약마다 ScheduledFutureTask를 우선순위 큐에 O(log n) 삽입/삭제)
+ * - wheel 전진은 event loop에 등록한 주기 task 1개(driver)가 담당한다.
+ *   예약이 하나도 없으면 driver를 멈추고, 다음 예약 때 다시 건다.
+ *
+ * 정밀도:
+ * - task는 deadline 이후 첫 tick에 실행된다. (최대 tick 1개 늦음, 이르게 실행되지 않음)
+ * - event loop가 밀려 driver가 늦게 돌면 밀린 tick을 순서대로 모두 처리한다.
+ *
+ * 동시성:
+ * - wheel 구조(bucket/pending/driver)는 event loop 스레드에서만 변경한다.
+ *   다른 스레드의 schedule/cancel은 event loop로 넘겨 처리한다.
+ * - Timeout 상태 전이(PENDING → EXPIRED/CANCELLED)만 CAS로 스레드 안전하게 한다.
+ */
+public final class EventLoopWheelTimer implements SimTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLoopWheelTimer.class);
+
+    private final EventExecutor executor;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long originNanos;
+
+    // ─── event loop 전용 상태 ────────────────────────────────────────────────
+
+    /** 마지막으로 처리한 tick 번호 (originNanos 기준) */
+    private long currentTick;
+
+    /** wheel에 걸린 예약 수 */
+    private int pending;
+
+    private ScheduledFuture<?> driver;
+
+    private boolean shutdown;
+
+    /**
+     * @param executor  전용 event loop
+     * @param tickNanos tick 간격 (정밀도)
+     * @param wheelSize bucket 수 (2의 거듭제곱으로 올림)
+     */
+    public EventLoopWheelTimer(EventExecutor executor, long tickNanos, int wheelSize) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be > 0: " + tickNanos);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("wheelSize must be in 1..2^20: " + wheelSize);
+        }
+        this.executor = executor;
+        this.tickNanos = tickNanos;
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.originNanos = nanoTime();
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, Runnable onCancel, long delay, TimeUnit unit) {
+        WheelTimeout t = new WheelTimeout(this, task, onCancel, nanoTime() + Math.max(0L, unit.toNanos(delay)));
+        if (executor.inEventLoop()) {
+            add(t);
+        } else {
+            try {
+                executor.execute(() -> add(t));
+            } catch (RejectedExecutionException e) {
+                t.expireCancelled();
+            }
+        }
+        return t;
+    }
+
+    /**
+     * 남은 예약을 모두 취소(onCancel 호출)하고 driver를 멈춘다. 이후 예약은 즉시 취소된다.
+     * (event loop 밖에서 호출하면 event loop로 넘긴다)
+     */
+    public void shutdown() {
+        if (!executor.inEventLoop()) {
+            try {
+                executor.execute(this::shutdown);
+            } catch (RejectedExecutionException ignore) {
+                // event loop 이미 종료: 남은 예약은 실행될 수 없다
+            }
+            return;
+        }
+        shutdown = true;
+        stopDriver();
+        for (Bucket b : wheel) {
+            WheelTimeout t;
+            while ((t = b.head) != null) {
+                b.remove(t);
+                pending--;
+                t.expireCancelled();
+            }
+        }
+    }
+
+    /** wheel에 걸린 예약 수 (event loop 스레드에서 호출) */
+    int pendingCount() {
+        return pending;
+    }
+
+    // ─── event loop 내부 ────────────────────────────────────────────────────
+
+    private void add(WheelTimeout t) {
+        if (t.state != WheelTimeout.ST_PENDING) return;
+        if (shutdown) {
+            t.expireCancelled();
+            return;
+        }
+
+        if (driver == null) {
+            // 유휴 후 재시작: 처리할 예약이 없으므로 tick을 현재 시각으로 맞춘다.
+            currentTick = Math.max(currentTick, (nanoTime() - originNanos) / tickNanos);
+        }
+        long deadlineTick = Math.ceilDiv(t.deadlineNanos - originNanos, tickNanos);
+        t.deadlineTick = Math.max(deadlineTick, currentTick + 1);
+        wheel[(int) (t.deadlineTick & mask)].add(t);
+        pending++;
+
+        if (driver == null) {
+            driver = executor.scheduleAtFixedRate(this::onTick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void remove(WheelTimeout t) {
+        if (t.bucket != null) {
+            t.bucket.remove(t);
+            pending--;
+            if (pending == 0) {
+                stopDriver();
+            }
+        }
+    }
+
+    private void onTick() {
+        long targetTick = (nanoTime() - originNanos) / tickNanos;
+        while (currentTick < targetTick && pending > 0) {
+            currentTick++;
+            expireBucket(wheel[(int) (currentTick & mask)], currentTick);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        if (pending == 0) {
+            stopDriver();
+        }
+    }
+
+    private void expireBucket(Bucket b, long tick) {
+        // 1) 만기된 예약을 먼저 모두 bucket에서 떼어 낸다.
+        //    task 실행 중 같은 bucket의 다른 예약이 취소/추가되어도 순회가 깨지지 않도록 실행과 분리한다.
+        WheelTimeout due = null;
+        WheelTimeout dueTail = null;
+        WheelTimeout t = b.head;
+        while (t != null) {
+            WheelTimeout next = t.next;
+            if (t.deadlineTick <= tick) {
+                b.remove(t);
+                pending--;
+                if (due == null) due = t;
+                else dueTail.next = t;
+                dueTail = t;
+            }
+            t = next;
+        }
+
+        // 2) 실행. 앞선 task가 취소한 예약은 expire() CAS에서 걸러진다. (bucket == null이라 remove도 no-op)
+        while (due != null) {
+            WheelTimeout next = due.next;
+            due.next = null;
+            if (shutdown) {
+                due.expireCancelled();
+            } else if (due.expire()) {
+                try {
+                    due.task.run();
+                } catch (Throwable ex) {
+                    log.warn(StructuredLog.event("timer_task_failed", "task", due.task.getClass().getName()), ex);
+                }
+            }
+            due = next;
+        }
+    }
+
+    private void stopDriver() {
+        if (driver != null) {
+            driver.cancel(false);
+            driver = null;
+        }
+    }
+
+    private long nanoTime() {
+        return executor.ticker().nanoTime();
+    }
+
+    // ─── 자료구조 ────────────────────────────────────────────────────────────
+
+    /** 같은 (tick & mask)를 갖는 예약의 이중 연결 리스트 */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout t) {
+            t.bucket = this;
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        void remove(WheelTimeout t) {
+            if (t.prev != null) t.prev.next = t.next;
+            else head = t.next;
+            if (t.next != null) t.next.prev = t.prev;
+            else tail = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+        }
+    }
+
+    private static final class WheelTimeout implements Timeout {
+
+        static final int ST_PENDING = 0;
+        static final int ST_EXPIRED = 1;
+        static final int ST_CANCELLED = 2;
+
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final EventLoopWheelTimer timer;
+        private final Runnable task;
+        private final Runnable onCancel;
+        private final long deadlineNanos;
+
+        private volatile int state = ST_PENDING;
+
+        // event loop 전용
+        private long deadlineTick;
+        private Bucket bucket;
+        private WheelTimeout prev;
+        private WheelTimeout next;
+
+        WheelTimeout(EventLoopWheelTimer timer, Runnable task, Runnable onCancel, long deadlineNanos) {
+            this.timer = timer;
+            this.task = task;
+            this.onCancel = onCancel;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_PENDING, ST_CANCELLED)) {
+                return false;
+            }
+            if (timer.executor.inEventLoop()) {
+                timer.remove(this);
+            } else {
+                try {
+                    timer.executor.execute(() -> timer.remove(this));
+                } catch (RejectedExecutionException ignore) {
+                    // event loop 종료: wheel도 더 이상 돌지 않는다
+                }
+            }
+            runOnCancel();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        boolean expire() {
+            return STATE.compareAndSet(this, ST_PENDING, ST_EXPIRED);
+        }
+
+        /** 실행 기회 없이 종료 (shutdown/거절) */
+        void expireCancelled() {
+            if (STATE.compareAndSet(this, ST_PENDING, ST_CANCELLED)) {
+                runOnCancel();
+            }
+        }
+
+        private void runOnCancel() {
+            if (onCancel != null) {
+                onCancel.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecutorSimTimer
+ *
+ * 역할:
+ * - EventExecutor.schedule 위임 구현. (예약마다 ScheduledFutureTask 1개 + 우선순위 큐 O(log n))
+ * - TimerService가 없는 채널(단위 테스트의 EmbeddedChannel 등)과 timer.type=EXECUTOR에서 사용한다.
+ */
+public final class ExecutorSimTimer implements SimTimer {
+
+    private final EventExecutor executor;
+
+    public ExecutorSimTimer(EventExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, Runnable onCancel, long delay, TimeUnit unit) {
+        ScheduledFuture<?> f = executor.schedule(task, delay, unit);
+        if (onCancel != null) {
+            f.addListener(done -> {
+                if (done.isCancelled()) onCancel.run();
+            });
+        }
+        return new FutureTimeout(f);
+    }
+
+    private record FutureTimeout(ScheduledFuture<?> future) implements Timeout {
+
+        @Override
+        public boolean cancel() {
+            return future.cancel(false);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FleetEmitTicker
+ *
+ * 역할:
+ * - event loop 1개 + EMIT 주기 1개(period)당 하나씩 두고, 같은 주기의 jitter 없는 EMIT을 tick 1번에 모아 실행한다.
+ *   (EQP마다 tick을 스스로 재예약하던 방식 대비 타이머 예약 수: EQP 수 → bucket 수)
+ * - tick 안에서 각 emitter는 write만 하고, ticker가 tick 끝에 채널별로 1회 flush 한다.
+ *
+ * 정책:
+ * - tick 시각은 bucket 시작 시각 + k·period로 고정한다. (송신 처리 시간만큼 밀리지 않음)
+ * - 새 emitter는 (add 시각 + period) 이후 첫 bucket tick부터 참여한다. (첫 송신까지 [period, 2·period))
+ *   EQP별 재예약과 같이 첫 송신이 period보다 이르지 않다. (finite EMIT이 일찍 끝나지 않음)
+ * - event loop가 밀려 tick 시각을 넘기면 밀린 tick을 몰아 실행하지 않고, 실행 시각 + period로 격자를 다시 잡는다.
+ *   (fixed-delay: 기본 EMIT 의미와 같음. 밀린 분량 보충은 schedule=fixed-rate EMIT만 한다)
+ * - emitter가 {@link Emitter#REMOVE}를 돌려주면 bucket에서 빠진다. (채널 종료/완료/backpressure 보류)
+ * - bucket이 비면 tick 예약을 멈추고, 다음 add 때 그 시각을 새 기준으로 다시 시작한다.
+ *
+ * 동시성:
+ * - event loop 스레드에서만 사용한다. (add/tick 모두)
+ * - tick 도중 add된 emitter는 이번 tick에는 실행되지 않는다.
+ */
+public final class FleetEmitTicker {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetEmitTicker.class);
+
+    /**
+     * bucket에 참여하는 EMIT 1개
+     */
+    public interface Emitter {
+
+        /** tick 결과: 계속 참여, write 없음 */
+        int KEEP = 0;
+        /** tick 결과 bit: write 했음 (tick 끝에 flush 필요) */
+        int WROTE = 1;
+        /** tick 결과 bit: bucket에서 제거 */
+        int REMOVE = 2;
+
+        /**
+         * tick 1회 실행. 송신은 write만 하고 flush 하지 않는다.
+         *
+         * @return KEEP / WROTE / REMOVE 조합
+         */
+        int onTick();
+
+        /** flush 대상 채널 */
+        ChannelHandlerContext context();
+    }
+
+    private final SimTimer timer;
+    private final Ticker ticker;
+    private final long periodNanos;
+    private final long periodMs;
+
+    private Emitter[] emitters = new Emitter[16];
+    /** emitters[i]가 처음 실행될 수 있는 시각 (add 시각 + period) */
+    private long[] joinNanos = new long[16];
+    private int size;
+
+    /** tick 끝에 flush 할 채널 (tick마다 재사용) */
+    private final List<ChannelHandlerContext> toFlush = new ArrayList<>();
+
+    private boolean ticking;
+    private long nextTickNanos;
+    private long ticks;
+
+    FleetEmitTicker(SimTimer timer, Ticker ticker, long periodMs) {
+        if (periodMs <= 0) {
+            throw new IllegalArgumentException("periodMs must be > 0: " + periodMs);
+        }
+        this.timer = timer;
+        this.ticker = ticker;
+        this.periodMs = periodMs;
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMs);
+    }
+
+    /**
+     * emitter를 다음 tick부터 참여시킨다. (event loop 스레드에서 호출)
+     */
+    public void add(Emitter emitter) {
+        if (size == emitters.length) {
+            emitters = Arrays.copyOf(emitters, size * 2);
+            joinNanos = Arrays.copyOf(joinNanos, size * 2);
+        }
+        long join = ticker.nanoTime() + periodNanos;
+        emitters[size] = emitter;
+        joinNanos[size] = join;
+        size++;
+
+        if (!ticking) {
+            ticking = true;
+            nextTickNanos = join;
+            timer.schedule(this::tick, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public long getPeriodMs() {
+        return periodMs;
+    }
+
+    /** 현재 참여 중인 emitter 수 */
+    public int size() {
+        return size;
+    }
+
+    /** 지금까지 실행한 tick 수 */
+    public long getTicks() {
+        return ticks;
+    }
+
+    private void tick() {
+        ticks++;
+        long tickNanos = nextTickNanos;
+        int n = size;
+        int w = 0;
+        for (int i = 0; i < n; i++) {
+            Emitter em = emitters[i];
+            long join = joinNanos[i];
+            if (join - tickNanos > 0) {
+                // 아직 period가 지나지 않은 새 emitter: 다음 tick부터
+                emitters[w] = em;
+                joinNanos[w++] = join;
+                continue;
+            }
+            int r;
+            try {
+                r = em.onTick();
+            } catch (RuntimeException ex) {
+                // emitter 1개의 오류가 bucket 전체를 멈추지 않도록 해당 emitter만 제외
+                r = Emitter.REMOVE;
+                logEmitterFailed(em, ex);
+            }
+            if ((r & Emitter.WROTE) != 0) {
+                ChannelHandlerContext ctx = em.context();
+                if (toFlush.isEmpty() || toFlush.get(toFlush.size() - 1) != ctx) {
+                    toFlush.add(ctx);
+                }
+            }
+            if ((r & Emitter.REMOVE) == 0) {
+                emitters[w] = em;
+                joinNanos[w++] = join;
+            }
+        }
+
+        // tick 도중 add된 emitter를 compact 위치로 당긴다.
+        int added = size - n;
+        if (w != n) {
+            System.arraycopy(emitters, n, emitters, w, added);
+            System.arraycopy(joinNanos, n, joinNanos, w, added);
+            Arrays.fill(emitters, w + added, size, null);
+        }
+        size = w + added;
+
+        for (int i = 0; i < toFlush.size(); i++) {
+            toFlush.get(i).flush();
+        }
+        toFlush.clear();
+
+        if (size == 0) {
+            ticking = false;
+            return;
+        }
+        long now = ticker.nanoTime();
+        nextTickNanos += periodNanos;
+        if (nextTickNanos - now < 0) {
+            // 지연(stall)으로 다음 격자 시각도 지남: 몰아 실행하지 않고 지금부터 period 뒤로 다시 잡는다.
+            nextTickNanos = now + periodNanos;
+        }
+        timer.schedule(this::tick, nextTickNanos - now, TimeUnit.NANOSECONDS);
+    }
+
+    private void logEmitterFailed(Emitter em, RuntimeException ex) {
+        ChannelHandlerContext ctx = em.context();
+        EqpRuntime eqp = ctx != null ? ctx.channel().attr(ChannelAttributes.EQP).get() : null;
+        log.warn(StructuredLog.event("fleet_emitter_failed",
+                "eqpId", eqp != null ? eqp.getEqpId() : "null",
+                "periodMs", periodMs,
+                "emitter", em.getClass().getName()), ex);
+    }
+}
@@ -0,0 +1,38 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimTimer
+ *
+ * 역할:
+ * - 시나리오/핸드셰이크/장애주입/재연결 타이머의 공통 추상화.
+ * - 구현은 event loop 1개에 묶이며, task는 항상 그 event loop 스레드에서 실행된다.
+ *   - {@link EventLoopWheelTimer}: event loop별 hashed wheel (기본)
+ *   - {@link ExecutorSimTimer}   : EventExecutor.schedule 위임 (기존 동작, 테스트/비교용)
+ *
+ * 정책:
+ * - onCancel은 task가 실행되지 못하고 끝난 경우(cancel, 타이머/event loop 종료)에 1회 호출된다.
+ *   task가 소유한 자원(예: 지연 송신 ByteBuf)을 반환하는 용도다.
+ */
+public interface SimTimer {
+
+    default Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, null, delay, unit);
+    }
+
+    Timeout schedule(Runnable task, Runnable onCancel, long delay, TimeUnit unit);
+
+    /**
+     * 예약 핸들
+     */
+    interface Timeout {
+
+        /**
+         * 아직 실행 전이면 취소하고 true. (이미 실행/취소된 경우 false)
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+    }
+}
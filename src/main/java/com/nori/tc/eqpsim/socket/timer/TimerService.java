@@ -0,0 +1,113 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import com.nori.tc.eqpsim.socket.config.TimerProperties;
+import com.nori.tc.eqpsim.socket.logging.StructuredLog;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimerService
+ *
+ * 역할:
+ * - event loop별 SimTimer를 1개씩 만들어 공유한다. (tc.eqpsim.timer.*)
+ * - NettyTransportLifecycle이 1개 생성하고 채널 attr(TIMER_SERVICE)로 전달한다.
+ *
+ * 조회 규칙 ({@link #of}):
+ * - 채널 attr이 있으면 채널 event loop의 타이머
+ * - 없으면(EmbeddedChannel 단위 테스트 등) ctx.executor() 위임 타이머 → 기존 동작과 동일
+ *
+ * EMIT 묶음 실행 ({@link #emitTickerOf}):
+ * - timer.batch-emit=true면 (event loop, period)별 FleetEmitTicker를 공유한다.
+ *   attr이 없거나 꺼져 있으면 null → 호출자는 EQP별 자기 재예약 방식을 쓴다.
+ */
+public final class TimerService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerService.class);
+
+    private final TimerProperties props;
+    private final Map<EventExecutor, SimTimer> timerByExecutor = new ConcurrentHashMap<>();
+    private final Map<TickerKey, FleetEmitTicker> emitTickerByKey = new ConcurrentHashMap<>();
+
+    public TimerService(TimerProperties props) {
+        this.props = props == null ? new TimerProperties() : props;
+        if (this.props.getTickMs() <= 0) {
+            throw new IllegalArgumentException("tc.eqpsim.timer.tick-ms must be > 0: " + this.props.getTickMs());
+        }
+    }
+
+    /**
+     * 채널 핸들러용 타이머 조회.
+     */
+    public static SimTimer of(ChannelHandlerContext ctx) {
+        return of(ctx.channel(), ctx.executor());
+    }
+
+    public static SimTimer of(Channel channel, EventExecutor executor) {
+        TimerService service = channel.attr(ChannelAttributes.TIMER_SERVICE).get();
+        return service != null ? service.timerFor(executor) : new ExecutorSimTimer(executor);
+    }
+
+    /**
+     * 채널 event loop의 period 묶음 ticker. 묶음 실행을 쓰지 않으면 null.
+     */
+    public static FleetEmitTicker emitTickerOf(ChannelHandlerContext ctx, long periodMs) {
+        TimerService service = ctx.channel().attr(ChannelAttributes.TIMER_SERVICE).get();
+        return service != null ? service.emitTickerFor(ctx.executor(), periodMs) : null;
+    }
+
+    /**
+     * executor + period 전용 FleetEmitTicker (없으면 생성). batch-emit=false면 null.
+     */
+    public FleetEmitTicker emitTickerFor(EventExecutor executor, long periodMs) {
+        if (!props.isBatchEmit() || periodMs <= 0) return null;
+        TickerKey key = new TickerKey(executor, periodMs);
+        FleetEmitTicker ticker = emitTickerByKey.get(key);
+        if (ticker != null) return ticker;
+        return emitTickerByKey.computeIfAbsent(key,
+                k -> new FleetEmitTicker(timerFor(executor), executor.ticker(), periodMs));
+    }
+
+    /**
+     * executor 전용 타이머 (없으면 생성). task는 항상 해당 executor에서 실행된다.
+     */
+    public SimTimer timerFor(EventExecutor executor) {
+        SimTimer timer = timerByExecutor.get(executor);
+        if (timer != null) return timer;
+        return timerByExecutor.computeIfAbsent(executor, this::newTimer);
+    }
+
+    /**
+     * 모든 wheel의 남은 예약을 취소(onCancel 호출)한다. event loop group 종료 전에 호출한다.
+     */
+    public void shutdown() {
+        for (SimTimer timer : timerByExecutor.values()) {
+            if (timer instanceof EventLoopWheelTimer wheel) {
+                wheel.shutdown();
+            }
+        }
+        log.info(StructuredLog.event("timer_service_stopped",
+                "type", props.getType(),
+                "timerCount", timerByExecutor.size(),
+                "emitTickerCount", emitTickerByKey.size()));
+        timerByExecutor.clear();
+        emitTickerByKey.clear();
+    }
+
+    private record TickerKey(EventExecutor executor, long periodMs) {
+    }
+
+    private SimTimer newTimer(EventExecutor executor) {
+        return switch (props.getType()) {
+            case WHEEL -> new EventLoopWheelTimer(executor, TimeUnit.MILLISECONDS.toNanos(props.getTickMs()), props.getWheelSize());
+            case EXECUTOR -> new ExecutorSimTimer(executor);
+        };
+    }
+}
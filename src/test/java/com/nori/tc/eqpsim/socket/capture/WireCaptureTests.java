@@ -0,0 +1,163 @@
+package com.nori.tc.eqpsim.socket.capture;
+
+import com.nori.tc.eqpsim.socket.config.CaptureProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.netty.OutboundFrameSender;
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.scenario.PayloadTemplate;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireCapture 테스트
+ *
+ * - 송신(OutboundFrameSender)/수신(WireCaptureRxHandler) 프레임이 framing 없이 기록되고 reader로 되읽히는지
+ * - segment 회전, 보존 수 초과 삭제, payload 상한 truncated 표시
+ * - CLI 필터(방향/CMD)
+ */
+class WireCaptureTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void records_tx_and_rx_frames_and_reads_them_back() throws Exception {
+        CommandDictionary dictionary = new CommandDictionary();
+        int toolEventId = dictionary.intern("TOOL_EVENT");
+        dictionary.seal();
+        WireCaptureService service = new WireCaptureService(props(4096), 64 * 1024, List.of(), dictionary);
+
+        EqpRuntime eqp = eqp(stxEtx());
+        EmbeddedChannel ch = frozenChannel(eqp, new ChannelInboundHandlerAdapter());
+        ch.attr(ChannelAttributes.WIRE_CAPTURE).set(service);
+        ch.pipeline().addLast("framer", new ChannelInboundHandlerAdapter());
+        WireCaptureRxHandler.addAfterFramer(ch, "framer", eqp);
+
+        OutboundFrameSender.send(ch.pipeline().firstContext(), eqp, PayloadTemplate.compile("CMD=TOOL_EVENT EQPID={eqpid}"));
+        OutboundFrameSender.send(ch.pipeline().firstContext(), eqp, PayloadTemplate.compile("CMD=TOOL_EVENT EQPID={eqpid}"));
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=PING SEQ=1", StandardCharsets.US_ASCII));
+
+        ByteBuf sent = ch.readOutbound();
+        assertEquals("\u0002CMD=TOOL_EVENT EQPID=EQP_01\u0003", sent.toString(StandardCharsets.UTF_8),
+                "송신 프레임은 기록 후에도 그대로");
+        sent.release();
+        ch.finishAndReleaseAll();
+        eqp.getFrameCache().clear();
+        service.close();
+
+        List<WireCaptureReader.Record> records = readAll(dir);
+        assertEquals(3, records.size());
+        assertEquals("TX", records.get(0).directionName());
+        assertEquals("CMD=TOOL_EVENT EQPID=EQP_01", records.get(0).payloadUtf8(), "framing 제외");
+        assertEquals(toolEventId, records.get(0).cmdId());
+        assertEquals("CMD=TOOL_EVENT EQPID=EQP_01", records.get(1).payloadUtf8(), "캐시 프레임 경로도 기록");
+        assertEquals("RX", records.get(2).directionName());
+        assertEquals("CMD=PING SEQ=1", records.get(2).payloadUtf8());
+        assertEquals(CommandDictionary.UNKNOWN, records.get(2).cmdId());
+        assertTrue(records.get(0).epochNanos() <= records.get(2).epochNanos());
+
+        WireCaptureReader.Meta meta = WireCaptureReader.readMeta(dir, null);
+        assertEquals("TOOL_EVENT", meta.cmd(records.get(0)));
+        assertEquals("PING", meta.cmd(records.get(2)), "사전에 없는 CMD는 payload에서 찾는다");
+    }
+
+    @Test
+    void rotates_segments_and_keeps_only_max_segments() throws Exception {
+        CaptureProperties props = props(16);
+        props.setMaxSegments(2);
+        WireCaptureService service = new WireCaptureService(props, 256, List.of(), null);
+        WireCaptureWriter writer = service.writerFor(new EmbeddedChannel().eventLoop());
+
+        for (int i = 0; i < 40; i++) {
+            ByteBuf frame = Unpooled.copiedBuffer(String.format("CMD=EV SEQ=%04d", i), StandardCharsets.US_ASCII);
+            writer.append(WireCaptureWriter.DIR_TX, 7, frame, frame.readerIndex(), frame.writerIndex());
+            assertEquals(0, frame.readerIndex(), "frame index 복원");
+            frame.release();
+        }
+        ByteBuf big = Unpooled.copiedBuffer("CMD=BIG " + "X".repeat(40), StandardCharsets.US_ASCII);
+        writer.append(WireCaptureWriter.DIR_RX, 7, big, big.readerIndex(), big.writerIndex());
+        big.release();
+        service.close();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.filter(f -> f.toString().endsWith(WireCaptureWriter.SEGMENT_SUFFIX)).count());
+        }
+
+        List<WireCaptureReader.Record> records = readAll(dir);
+        assertFalse(records.isEmpty());
+        assertTrue(records.size() < 41, "오래된 segment는 삭제됨");
+        WireCaptureReader.Record last = records.get(records.size() - 1);
+        assertTrue(last.isTruncated());
+        assertEquals(16, last.payload().length);
+        assertEquals(7, last.eqpIndex());
+        for (int i = 0; i < records.size() - 1; i++) {
+            assertEquals(String.format("CMD=EV SEQ=%04d", 40 - (records.size() - 1) + i), records.get(i).payloadUtf8(),
+                    "남은 레코드는 연속된 마지막 구간");
+        }
+    }
+
+    @Test
+    void cli_filters_by_direction_and_cmd() throws Exception {
+        WireCaptureService service = new WireCaptureService(props(4096), 64 * 1024, List.of(), null);
+        WireCaptureWriter writer = service.writerFor(new EmbeddedChannel().eventLoop());
+        append(writer, WireCaptureWriter.DIR_TX, "CMD=A N=1");
+        append(writer, WireCaptureWriter.DIR_RX, "CMD=A N=2");
+        append(writer, WireCaptureWriter.DIR_TX, "CMD=B N=3");
+        append(writer, WireCaptureWriter.DIR_TX, "cmd=a N=4");
+        service.close();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WireCaptureReader.Options opt = WireCaptureReader.Options.parse(
+                new String[]{dir.toString(), "--dir=tx", "--cmd=a"});
+        long matched = WireCaptureReader.print(opt, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+        assertEquals(2, matched);
+        String out = bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(out.contains("N=1"));
+        assertTrue(out.contains("N=4"));
+        assertFalse(out.contains("N=2"));
+        assertTrue(out.startsWith("event=wire_frame"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> WireCaptureReader.Options.parse(new String[]{dir.toString(), "--dir=UP"}));
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private CaptureProperties props(int maxPayloadBytes) {
+        CaptureProperties props = new CaptureProperties();
+        props.setEnabled(true);
+        props.setDirectory(dir.toString());
+        props.setMaxPayloadBytes(maxPayloadBytes);
+        return props;
+    }
+
+    private static void append(WireCaptureWriter writer, int direction, String payload) {
+        ByteBuf frame = Unpooled.copiedBuffer(payload, StandardCharsets.US_ASCII);
+        writer.append(direction, 0, frame, frame.readerIndex(), frame.writerIndex());
+        frame.release();
+    }
+
+    private static List<WireCaptureReader.Record> readAll(Path dir) throws Exception {
+        List<WireCaptureReader.Record> out = new ArrayList<>();
+        WireCaptureReader.forEach(dir, null, out::add);
+        return out;
+    }
+}
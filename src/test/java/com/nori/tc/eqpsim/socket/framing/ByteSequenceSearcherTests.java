@@ -0,0 +1,97 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ByteSequenceSearcher / ByteBufSearch 테스트
+ *
+ * - 단순 O(n*m) 검색 결과와 동일한지 heap/direct 버퍼에서 무작위 비교한다.
+ */
+class ByteSequenceSearcherTests {
+
+    @Test
+    void single_byte_found_in_swar_and_tail_ranges() {
+        ByteBuf buf = Unpooled.copiedBuffer(new byte[]{'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H',
+                'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', '\n', 'S'});
+        try {
+            assertEquals(18, ByteBufSearch.indexOfByte(buf, 0, buf.writerIndex(), (byte) '\n'));
+            assertEquals(3, ByteBufSearch.indexOfByte(buf, 0, buf.writerIndex(), (byte) 'D'));
+            assertEquals(-1, ByteBufSearch.indexOfByte(buf, 4, buf.writerIndex(), (byte) 'D'));
+            assertEquals(-1, ByteBufSearch.indexOfByte(buf, 0, 18, (byte) '\n'));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void crlf_requires_both_bytes_in_range() {
+        ByteBuf buf = Unpooled.copiedBuffer(new byte[]{'A', '\r', 'B', '\r', '\n'});
+        try {
+            ByteSequenceSearcher crlf = ByteSequenceSearcher.of(new byte[]{0x0D, 0x0A});
+            assertEquals(3, crlf.indexOf(buf, 0, 5));
+            assertEquals(-1, crlf.indexOf(buf, 0, 4));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void matches_naive_search_on_random_heap_and_direct_buffers() {
+        Random rnd = new Random(20240521L);
+        for (int round = 0; round < 2_000; round++) {
+            int size = rnd.nextInt(300);
+            byte[] data = new byte[size];
+            for (int i = 0; i < size; i++) {
+                // 작은 알파벳을 사용해 부분 일치/반복 패턴이 자주 생기도록 한다.
+                data[i] = (byte) ('a' + rnd.nextInt(3));
+            }
+            // 1~20바이트: 단일 byte / SWAR anchor / Horspool 경로를 모두 거친다.
+            byte[] seq = new byte[1 + rnd.nextInt(20)];
+            for (int i = 0; i < seq.length; i++) {
+                seq[i] = (byte) ('a' + rnd.nextInt(3));
+            }
+            if (seq.length > 4 && size > seq.length && rnd.nextBoolean()) {
+                // 긴 시퀀스는 무작위로는 거의 매칭되지 않으므로 데이터에 심어 둔다.
+                System.arraycopy(seq, 0, data, rnd.nextInt(size - seq.length), seq.length);
+            }
+            int from = size == 0 ? 0 : rnd.nextInt(size + 1);
+            int to = from + rnd.nextInt(size - from + 1);
+
+            ByteSequenceSearcher searcher = ByteSequenceSearcher.of(seq);
+            int expected = naiveIndexOf(data, from, to, seq);
+
+            ByteBuf heap = Unpooled.wrappedBuffer(data);
+            ByteBuf direct = Unpooled.directBuffer(size).writeBytes(data);
+            try {
+                assertEquals(expected, searcher.indexOf(heap, from, to), "heap round=" + round);
+                assertEquals(expected, searcher.indexOf(direct, from, to), "direct round=" + round);
+                assertEquals(expected, ByteBufSearch.indexOf(direct, from, to, seq), "static round=" + round);
+            } finally {
+                heap.release();
+                direct.release();
+            }
+        }
+    }
+
+    private static int naiveIndexOf(byte[] data, int from, int to, byte[] seq) {
+        for (int i = from; i <= to - seq.length; i++) {
+            boolean match = true;
+            for (int j = 0; j < seq.length; j++) {
+                if (data[i + j] != seq[j]) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,147 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LENGTH_FIELD 프레이머 테스트
+ *
+ * - 인코더(SocketFrameEncoderFactory)로 만든 프레임을 디코더가 그대로 복원하는지(round trip) 확인한다.
+ */
+class LengthFieldFrameDecoderTests {
+
+    @Test
+    void two_byte_big_endian_with_prefix_round_trip_one_byte_fragments() {
+        SocketTypeProperties st = lengthField(2, 2, SocketTypeProperties.Endian.BIG, false);
+        st.setLengthFieldPrefixHex("AA 55");
+
+        ByteBuf f1 = SocketFrameEncoderFactory.encodeUtf8(st, UnpooledByteBufAllocator.DEFAULT, "CMD=A");
+        ByteBuf f2 = SocketFrameEncoderFactory.encodeUtf8(st, UnpooledByteBufAllocator.DEFAULT, "CMD=장비");
+        byte[] wire = concat(f1, f2);
+
+        assertArrayEquals(new byte[]{(byte) 0xAA, 0x55, 0x00, 0x05, 'C'}, Arrays.copyOf(wire, 5));
+
+        EmbeddedChannel ch = new EmbeddedChannel(SocketFramerFactory.create(st));
+        for (byte b : wire) {
+            ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{b}));
+        }
+
+        ByteBuf m1 = ch.readInbound();
+        ByteBuf m2 = ch.readInbound();
+        try {
+            assertEquals("CMD=A", m1.toString(StandardCharsets.UTF_8));
+            assertEquals("CMD=장비", m2.toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+        } finally {
+            ReferenceCountUtil.release(m1);
+            ReferenceCountUtil.release(m2);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void four_byte_little_endian_length_includes_header() {
+        SocketTypeProperties st = lengthField(0, 4, SocketTypeProperties.Endian.LITTLE, true);
+
+        ByteBuf f1 = SocketFrameEncoderFactory.encodeUtf8(st, UnpooledByteBufAllocator.DEFAULT, "HELLO");
+        byte[] wire = concat(f1);
+        // 길이 = header(4) + payload(5) = 9, little-endian
+        assertArrayEquals(new byte[]{0x09, 0x00, 0x00, 0x00}, Arrays.copyOf(wire, 4));
+
+        EmbeddedChannel ch = new EmbeddedChannel(SocketFramerFactory.create(st));
+        ch.writeInbound(Unpooled.wrappedBuffer(wire));
+
+        ByteBuf m1 = ch.readInbound();
+        try {
+            assertEquals("HELLO", m1.toString(StandardCharsets.UTF_8));
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void too_long_frame_is_skipped_and_next_frame_decoded() {
+        LengthFieldFrameDecoder decoder = new LengthFieldFrameDecoder(
+                LengthFieldSpec.from(lengthField(0, 1, SocketTypeProperties.Endian.BIG, false)), 3);
+        EmbeddedChannel ch = new EmbeddedChannel(decoder);
+
+        // [5]ABCDE (초과) 를 두 번에 나눠 보내고, 이어서 [2]OK
+        ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{0x05, 'A', 'B'}));
+        ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{'C', 'D', 'E', 0x02, 'O', 'K'}));
+
+        ByteBuf m1 = ch.readInbound();
+        try {
+            assertEquals("OK", m1.toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+            assertEquals(1, decoder.getTooLongFrameCount());
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void length_smaller_than_header_closes_channel() {
+        EmbeddedChannel ch = new EmbeddedChannel(
+                SocketFramerFactory.create(lengthField(0, 2, SocketTypeProperties.Endian.BIG, true)));
+
+        ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{0x00, 0x01, 'X'}));
+
+        assertNull(ch.readInbound());
+        assertFalse(ch.isActive());
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void invalid_spec_fails_fast() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LengthFieldSpec.from(lengthField(0, 3, SocketTypeProperties.Endian.BIG, false)));
+
+        SocketTypeProperties prefixMismatch = lengthField(2, 2, SocketTypeProperties.Endian.BIG, false);
+        prefixMismatch.setLengthFieldPrefixHex("AA");
+        assertThrows(IllegalArgumentException.class, () -> LengthFieldSpec.from(prefixMismatch));
+
+        // 1바이트 길이 필드에 256바이트 payload
+        SocketTypeProperties oneByte = lengthField(0, 1, SocketTypeProperties.Endian.BIG, false);
+        assertThrows(IllegalArgumentException.class,
+                () -> SocketFrameEncoderFactory.encodeUtf8(oneByte, UnpooledByteBufAllocator.DEFAULT, "x".repeat(256)));
+    }
+
+    private static SocketTypeProperties lengthField(int offset, int width,
+                                                    SocketTypeProperties.Endian endian, boolean includesHeader) {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LENGTH_FIELD);
+        st.setLengthFieldOffset(offset);
+        st.setLengthFieldLength(width);
+        st.setLengthFieldEndian(endian);
+        st.setLengthIncludesHeader(includesHeader);
+        return st;
+    }
+
+    private static byte[] concat(ByteBuf... bufs) {
+        ByteBuf all = Unpooled.buffer();
+        for (ByteBuf b : bufs) {
+            all.writeBytes(b);
+            b.release();
+        }
+        byte[] bytes = ByteBufUtil.getBytes(all);
+        all.release();
+        return bytes;
+    }
+}
@@ -56,4 +56,70 @@ class LineEndingFrameDecoderTests {
         }
         ch.finishAndReleaseAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void crlf_frames_fed_one_byte_at_a_time() {
+        EmbeddedChannel ch = new EmbeddedChannel(new LineEndingFrameDecoder(SocketTypeProperties.LineEnding.CRLF));
+
+        // 중간에 단독 CR이 섞여도 CRLF 전체가 있어야 프레임이 끝난다.
+        writeOneByteAtATime(ch, "AB\rC\r\nDE\r\n".getBytes(StandardCharsets.UTF_8));
+
+        Object m1 = ch.readInbound();
+        Object m2 = ch.readInbound();
+        try {
+            assertEquals("AB\rC", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertEquals("DE", ((io.netty.buffer.ByteBuf) m2).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+        } finally {
+            ReferenceCountUtil.release(m1);
+            ReferenceCountUtil.release(m2);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void too_long_frame_fed_one_byte_at_a_time_is_discarded_and_resyncs() {
+        LineEndingFrameDecoder decoder = new LineEndingFrameDecoder(SocketTypeProperties.LineEnding.CRLF, 4);
+        EmbeddedChannel ch = new EmbeddedChannel(decoder);
+
+        writeOneByteAtATime(ch, "TOO_LONG_FRAME\r\nOK\r\n".getBytes(StandardCharsets.UTF_8));
+
+        Object m1 = ch.readInbound();
+        try {
+            assertEquals("OK", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+            assertEquals(1, decoder.getTooLongFrameCount());
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void too_long_frame_in_single_buffer_is_discarded() {
+        LineEndingFrameDecoder decoder = new LineEndingFrameDecoder(SocketTypeProperties.LineEnding.LF, 4);
+        EmbeddedChannel ch = new EmbeddedChannel(decoder);
+
+        ch.writeInbound(Unpooled.copiedBuffer("ABCD\nABCDE\nXY\n", StandardCharsets.UTF_8));
+
+        Object m1 = ch.readInbound();
+        Object m2 = ch.readInbound();
+        try {
+            // 정확히 maxFrameLength인 프레임은 허용
+            assertEquals("ABCD", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertEquals("XY", ((io.netty.buffer.ByteBuf) m2).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+            assertEquals(1, decoder.getTooLongFrameCount());
+        } finally {
+            ReferenceCountUtil.release(m1);
+            ReferenceCountUtil.release(m2);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    private static void writeOneByteAtATime(EmbeddedChannel ch, byte[] bytes) {
+        for (byte b : bytes) {
+            ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{b}));
+        }
+    }
+}
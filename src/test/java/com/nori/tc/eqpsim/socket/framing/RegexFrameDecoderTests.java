@@ -1,13 +1,17 @@
 package com.nori.tc.eqpsim.socket.framing;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.util.ReferenceCountUtil;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -17,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
  * 테스트 패턴:
  * - "\\{[^}]+\\}" : 중괄호로 감싼 1개 프레임을 매칭
  * - 입력 "{A}{B}" -> 프레임 "{A}", "{B}"
+ * - 비-ASCII(MS949/UTF-8 한글) 프레임은 char index가 아닌 실제 바이트 범위로 잘려야 한다.
  */
 class RegexFrameDecoderTests {
 
@@ -58,4 +63,149 @@ class RegexFrameDecoderTests {
         }
         ch.finishAndReleaseAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void korean_frames_are_sliced_by_byte_offsets_ms949_and_utf8() {
+        for (Charset cs : new Charset[]{Charset.forName("MS949"), StandardCharsets.UTF_8}) {
+            Pattern p = Pattern.compile("\\{[^}]+\\}");
+            EmbeddedChannel ch = new EmbeddedChannel(new RegexFrameDecoder(p, cs));
+
+            // "잡음" prefix + 한글 프레임 2개 → 바이트 범위가 정확해야 다음 프레임도 맞는다.
+            byte[] bytes = "잡음{장비=가나다}x{B한}".getBytes(cs);
+            ch.writeInbound(Unpooled.wrappedBuffer(bytes));
+
+            ByteBuf m1 = ch.readInbound();
+            ByteBuf m2 = ch.readInbound();
+            try {
+                assertArrayEquals("{장비=가나다}".getBytes(cs), ByteBufUtil.getBytes(m1), cs.name());
+                assertArrayEquals("{B한}".getBytes(cs), ByteBufUtil.getBytes(m2), cs.name());
+            } finally {
+                ReferenceCountUtil.release(m1);
+                ReferenceCountUtil.release(m2);
+            }
+            ch.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void multibyte_chars_split_across_one_byte_fragments() {
+        for (Charset cs : new Charset[]{Charset.forName("MS949"), StandardCharsets.UTF_8}) {
+            Pattern p = Pattern.compile("<한[^>]*>");
+            EmbeddedChannel ch = new EmbeddedChannel(new RegexFrameDecoder(p, cs));
+
+            byte[] bytes = "가<한A>나<한글BC>".getBytes(cs);
+            for (byte b : bytes) {
+                ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{b}));
+            }
+
+            ByteBuf m1 = ch.readInbound();
+            ByteBuf m2 = ch.readInbound();
+            try {
+                assertEquals("<한A>", m1.toString(cs), cs.name());
+                assertEquals("<한글BC>", m2.toString(cs), cs.name());
+                assertNull(ch.readInbound());
+            } finally {
+                ReferenceCountUtil.release(m1);
+                ReferenceCountUtil.release(m2);
+            }
+            ch.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void supplementary_chars_and_single_byte_charset() {
+        Pattern p = Pattern.compile("\\{[^}]+\\}");
+
+        // UTF-8 4바이트 문자(surrogate pair) 뒤 프레임
+        EmbeddedChannel utf8 = new EmbeddedChannel(new RegexFrameDecoder(p, StandardCharsets.UTF_8));
+        utf8.writeInbound(Unpooled.copiedBuffer("\uD83D\uDE00{\uD83D\uDE00A}", StandardCharsets.UTF_8));
+        ByteBuf m1 = utf8.readInbound();
+        try {
+            assertEquals("{\uD83D\uDE00A}", m1.toString(StandardCharsets.UTF_8));
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        utf8.finishAndReleaseAll();
+
+        // ISO-8859-1: 0x80 이상 바이트도 문자 1개 = 바이트 1개
+        EmbeddedChannel latin1 = new EmbeddedChannel(new RegexFrameDecoder(p, StandardCharsets.ISO_8859_1));
+        latin1.writeInbound(Unpooled.wrappedBuffer(new byte[]{(byte) 0xE9, '{', (byte) 0xFF, '}'}));
+        ByteBuf m2 = latin1.readInbound();
+        try {
+            assertArrayEquals(new byte[]{'{', (byte) 0xFF, '}'}, ByteBufUtil.getBytes(m2));
+        } finally {
+            ReferenceCountUtil.release(m2);
+        }
+        latin1.finishAndReleaseAll();
+    }
+
+    @Test
+    void malformed_bytes_do_not_shift_following_frames() {
+        Pattern p = Pattern.compile("\\{[^}]+\\}");
+        EmbeddedChannel ch = new EmbeddedChannel(new RegexFrameDecoder(p, StandardCharsets.UTF_8));
+
+        // 0xE3 0x41: 잘린 UTF-8 시퀀스 뒤에 ASCII → U+FFFD + 'A'
+        ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{(byte) 0xE3, 'A', '{', 'O', 'K', '}'}));
+
+        ByteBuf m1 = ch.readInbound();
+        try {
+            assertEquals("{OK}", m1.toString(StandardCharsets.UTF_8));
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void burst_of_many_frames_in_one_read() {
+        Pattern p = Pattern.compile("\\{[^}]+\\}");
+        EmbeddedChannel ch = new EmbeddedChannel(new RegexFrameDecoder(p, StandardCharsets.UTF_8));
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            sb.append("{F").append(i).append('}');
+        }
+        // 마지막 프레임은 미완성으로 남긴다.
+        sb.append("{TAIL");
+        ch.writeInbound(Unpooled.copiedBuffer(sb, StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 2_000; i++) {
+            ByteBuf m = ch.readInbound();
+            try {
+                assertEquals("{F" + i + "}", m.toString(StandardCharsets.UTF_8));
+            } finally {
+                ReferenceCountUtil.release(m);
+            }
+        }
+        assertNull(ch.readInbound());
+
+        ch.writeInbound(Unpooled.copiedBuffer("}", StandardCharsets.UTF_8));
+        ByteBuf tail = ch.readInbound();
+        try {
+            assertEquals("{TAIL}", tail.toString(StandardCharsets.UTF_8));
+        } finally {
+            ReferenceCountUtil.release(tail);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void lookbehind_sees_context_before_scan_position() {
+        // scanFrom이 '#' 뒤로 전진해도 lookbehind는 이전 문맥을 봐야 한다.
+        // 매칭 시작 위치 이전 문맥을 보는 패턴도 기존(String 전체 매칭)과 동일하게 동작해야 한다.
+        Pattern p = Pattern.compile("(?<=#)[A-Z]+;");
+        EmbeddedChannel ch = new EmbeddedChannel(new RegexFrameDecoder(p, StandardCharsets.UTF_8));
+
+        ch.writeInbound(Unpooled.copiedBuffer("xAB;#CD", StandardCharsets.UTF_8));
+        assertNull(ch.readInbound());
+        ch.writeInbound(Unpooled.copiedBuffer("E;", StandardCharsets.UTF_8));
+
+        ByteBuf m1 = ch.readInbound();
+        try {
+            assertEquals("CDE;", m1.toString(StandardCharsets.UTF_8));
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,85 @@
+package com.nori.tc.eqpsim.socket.framing;
+
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * SocketTypeCodec 테스트
+ *
+ * - 1회 컴파일한 코덱으로 encode한 프레임을 같은 코덱의 디코더가 복원하는지 확인한다.
+ * - 디코더는 채널별 상태를 가지므로 newDecoder()마다 새 인스턴스여야 한다.
+ */
+class SocketTypeCodecTests {
+
+    @Test
+    void start_end_encode_and_protected_lengths() {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.START_END);
+        st.setStartHex("1B 02");
+        st.setEndHex("03");
+
+        SocketTypeCodec codec = SocketTypeCodec.compile(st);
+        assertEquals(2, codec.protectedPrefixLength());
+        assertEquals(1, codec.protectedSuffixLength());
+
+        ByteBuf encoded = codec.encodeUtf8(UnpooledByteBufAllocator.DEFAULT, "장비A");
+        try {
+            byte[] payload = "장비A".getBytes(StandardCharsets.UTF_8);
+            assertEquals(2 + payload.length + 1, encoded.readableBytes());
+            // 정확한 크기로 1회 할당
+            assertEquals(encoded.readableBytes(), encoded.capacity());
+            assertArrayEquals(new byte[]{0x1B, 0x02}, ByteBufUtil.getBytes(encoded, 0, 2));
+        } finally {
+            encoded.release();
+        }
+    }
+
+    @Test
+    void shared_codec_creates_independent_decoders() {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LINE_END);
+        st.setLineEnding(SocketTypeProperties.LineEnding.CRLF);
+        SocketTypeCodec codec = SocketTypeCodec.compile(st);
+
+        assertNotSame(codec.newDecoder(), codec.newDecoder());
+
+        EmbeddedChannel ch1 = new EmbeddedChannel(codec.newDecoder());
+        EmbeddedChannel ch2 = new EmbeddedChannel(codec.newDecoder());
+
+        // ch1에 미완성 프레임이 남아 있어도 ch2는 영향 없음
+        ch1.writeInbound(Unpooled.copiedBuffer("PARTIAL", StandardCharsets.UTF_8));
+        ch2.writeInbound(codec.encodeUtf8(UnpooledByteBufAllocator.DEFAULT, "CMD=PING"));
+
+        ByteBuf m = ch2.readInbound();
+        try {
+            assertEquals("CMD=PING", m.toString(StandardCharsets.UTF_8));
+        } finally {
+            ReferenceCountUtil.release(m);
+        }
+        ch1.finishAndReleaseAll();
+        ch2.finishAndReleaseAll();
+    }
+
+    @Test
+    void invalid_settings_fail_at_compile_time() {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.START_END);
+        st.setStartHex("02");
+        st.setEndHex("ZZ");
+
+        assertThrows(IllegalArgumentException.class, () -> SocketTypeCodec.compile(st));
+    }
+}
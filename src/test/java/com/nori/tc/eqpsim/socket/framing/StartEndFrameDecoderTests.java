@@ -65,4 +65,109 @@ class StartEndFrameDecoderTests {
         }
         ch.finishAndReleaseAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void multi_byte_start_end_fed_one_byte_at_a_time() {
+        byte[] start = new byte[]{0x1B, 0x02};
+        byte[] end = new byte[]{0x03, 0x1C};
+
+        EmbeddedChannel ch = new EmbeddedChannel(new StartEndFrameDecoder(start, end));
+
+        // 쓰레기 + start + payload(단독 0x03 포함) + end + start + payload + end
+        byte[] bytes = new byte[]{
+                'x', 0x1B,
+                0x1B, 0x02, 'H', 0x03, 'I', 0x03, 0x1C,
+                0x1B, 0x02, 'O', 'K', 0x03, 0x1C
+        };
+        for (byte b : bytes) {
+            ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{b}));
+        }
+
+        Object m1 = ch.readInbound();
+        Object m2 = ch.readInbound();
+        try {
+            assertEquals("H\u0003I", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertEquals("OK", ((io.netty.buffer.ByteBuf) m2).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+        } finally {
+            ReferenceCountUtil.release(m1);
+            ReferenceCountUtil.release(m2);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void too_long_frame_without_end_resyncs_on_next_start() {
+        byte[] stx = new byte[]{0x02};
+        byte[] etx = new byte[]{0x03};
+
+        StartEndFrameDecoder decoder = new StartEndFrameDecoder(stx, etx, 3);
+        EmbeddedChannel ch = new EmbeddedChannel(decoder);
+
+        // ETX가 유실된 긴 프레임 뒤에 정상 프레임
+        byte[] bytes = new byte[]{
+                0x02, 'L', 'O', 'N', 'G', 'E', 'R',
+                0x02, 'O', 'K', 0x03
+        };
+        for (byte b : bytes) {
+            ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{b}));
+        }
+
+        Object m1 = ch.readInbound();
+        try {
+            assertEquals("OK", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+            assertEquals(1, decoder.getTooLongFrameCount());
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void too_long_complete_frame_is_dropped() {
+        byte[] stx = new byte[]{0x02};
+        byte[] etx = new byte[]{0x03};
+
+        StartEndFrameDecoder decoder = new StartEndFrameDecoder(stx, etx, 3);
+        EmbeddedChannel ch = new EmbeddedChannel(decoder);
+
+        ch.writeInbound(Unpooled.wrappedBuffer(new byte[]{
+                0x02, 'A', 'B', 'C', 'D', 0x03,
+                0x02, 'O', 'K', 0x03
+        }));
+
+        Object m1 = ch.readInbound();
+        try {
+            assertEquals("OK", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+            assertEquals(1, decoder.getTooLongFrameCount());
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void leading_garbage_then_partial_frame_waits_for_rest() {
+        byte[] stx = new byte[]{0x02};
+        byte[] etx = new byte[]{0x03};
+
+        EmbeddedChannel ch = new EmbeddedChannel(new StartEndFrameDecoder(stx, etx));
+
+        // 쓰레기 + STX + payload 일부 (쓰레기 discard 후 end 재검사 위치가 writerIndex를 넘지 않아야 함)
+        ch.writeInbound(Unpooled.copiedBuffer("GARBAGE\u0002AB", StandardCharsets.US_ASCII));
+        assertNull(ch.readInbound());
+
+        ch.writeInbound(Unpooled.copiedBuffer("CD\u0003", StandardCharsets.US_ASCII));
+
+        Object m1 = ch.readInbound();
+        try {
+            assertEquals("ABCD", ((io.netty.buffer.ByteBuf) m1).toString(StandardCharsets.UTF_8));
+            assertNull(ch.readInbound());
+        } finally {
+            ReferenceCountUtil.release(m1);
+        }
+        ch.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,162 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.config.ProfileProperties;
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.runtime.HostPort;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FrameLogSampler 테스트
+ *
+ * - 연결별 first-N + 1-in-K, EQP별 token bucket, frame_log_suppressed 요약
+ * - 시간은 EmbeddedChannel freezeTime/advanceTimeBy로 진행한다.
+ */
+class FrameLogSamplerTests {
+
+    private static final LogEventType TX = LogEventType.of("sampler_test_tx");
+    private static final LogEventType RX = LogEventType.of("sampler_test_rx");
+
+    private final Logger frameLogger = (Logger) LoggerFactory.getLogger("frame-log-sampler-test");
+    private final Logger samplerLogger = (Logger) LoggerFactory.getLogger(FrameLogSampler.class);
+    private final ListAppender<ILoggingEvent> frames = new ListAppender<>();
+    private final ListAppender<ILoggingEvent> summaries = new ListAppender<>();
+
+    private EmbeddedChannel ch;
+
+    @BeforeEach
+    void setUp() {
+        frames.start();
+        summaries.start();
+        frameLogger.addAppender(frames);
+        frameLogger.setLevel(Level.INFO);
+        samplerLogger.addAppender(summaries);
+        samplerLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        frameLogger.detachAppender(frames);
+        samplerLogger.detachAppender(summaries);
+        FrameLogSampler.configure(FrameLogSampler.Settings.DISABLED);
+        LogEventType.configureSampling(LogEventType.Sampling.ALL, Map.of());
+        if (ch != null) ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void disabled_sampling_returns_null_sampler() {
+        ch = channel();
+        assertNull(FrameLogSampler.of(ch));
+    }
+
+    @Test
+    void sampling_configured_before_first_of_keeps_canonical_name() {
+        LogEventType.configureSampling(LogEventType.Sampling.ALL,
+                Map.of("late-sampled-rx", new LogEventType.Sampling(0, 1)));
+        LogEventType late = LogEventType.of("late_sampled_rx");
+
+        assertEquals("late_sampled_rx", late.getName());
+        assertEquals(new LogEventType.Sampling(0, 1), late.getSampling());
+        assertTrue(LogEventType.all().stream().noneMatch(t -> t.getName().equals("latesampledrx")));
+    }
+
+    @Test
+    void first_n_then_one_in_k_per_event_type() {
+        LogEventType.configureSampling(new LogEventType.Sampling(3, 5),
+                Map.of("sampler-test-rx", new LogEventType.Sampling(1, 0)));
+        FrameLogSampler.configure(new FrameLogSampler.Settings(true, 0, 0, 0));
+        ch = channel();
+
+        for (int i = 0; i < 20; i++) {
+            log(TX, i);
+            log(RX, i);
+        }
+
+        // TX: 0,1,2 + 3,8,13,18 / RX: 0만
+        assertEquals(List.of("0", "1", "2", "3", "8", "13", "18"), seqOf(TX));
+        assertEquals(List.of("0"), seqOf(RX));
+        assertEquals(13 + 19, FrameLogSampler.of(ch).getSuppressedTotal());
+    }
+
+    @Test
+    void eqp_token_bucket_limits_admitted_frames() {
+        LogEventType.configureSampling(LogEventType.Sampling.ALL, Map.of());
+        FrameLogSampler.configure(new FrameLogSampler.Settings(true, 2.0, 3, 0));
+        ch = channel();
+
+        for (int i = 0; i < 10; i++) log(TX, i);
+        assertEquals(3, frames.list.size(), "burst");
+
+        ch.advanceTimeBy(1, TimeUnit.SECONDS);
+        for (int i = 10; i < 20; i++) log(TX, i);
+        assertEquals(5, frames.list.size(), "1초에 2개 보충");
+    }
+
+    @Test
+    void suppressed_summary_is_periodic_and_on_close() {
+        LogEventType.configureSampling(new LogEventType.Sampling(1, 0), Map.of());
+        FrameLogSampler.configure(new FrameLogSampler.Settings(true, 0, 0, 1_000));
+        ch = channel();
+
+        for (int i = 0; i < 5; i++) log(TX, i);
+        assertTrue(summaries.list.isEmpty(), "주기 전에는 요약 없음");
+
+        ch.advanceTimeBy(1, TimeUnit.SECONDS);
+        log(TX, 5);
+        assertEquals(1, summaries.list.size());
+        String periodic = summaries.list.get(0).getFormattedMessage();
+        assertTrue(periodic.contains("event=frame_log_suppressed"), periodic);
+        assertTrue(periodic.contains("eqpId=EQP_01"), periodic);
+        assertTrue(periodic.contains("suppressed=5"), periodic);
+        assertTrue(periodic.contains("events=sampler_test_tx:5"), periodic);
+
+        log(TX, 6);
+        ch.close();
+        assertEquals(2, summaries.list.size());
+        String closing = summaries.list.get(1).getFormattedMessage();
+        assertTrue(closing.contains("suppressed=1 suppressedTotal=6"), closing);
+        assertTrue(closing.contains("closing=true"), closing);
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private void log(LogEventType type, int seq) {
+        StructuredLog.info(frameLogger, type, FrameLogSampler.of(ch)).kv("seq", seq).log();
+    }
+
+    private List<String> seqOf(LogEventType type) {
+        String prefix = "event=" + type.getName() + " seq=";
+        return frames.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(m -> m.startsWith(prefix))
+                .map(m -> m.substring(prefix.length()))
+                .toList();
+    }
+
+    private static EmbeddedChannel channel() {
+        EmbeddedChannel ch = new EmbeddedChannel();
+        ch.freezeTime();
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LINE_END);
+        st.setLineEnding(SocketTypeProperties.LineEnding.LF);
+        ch.attr(ChannelAttributes.EQP).set(new EqpRuntime("EQP_01", EqpProperties.Mode.PASSIVE, "L1",
+                HostPort.parse("0.0.0.0:31001"), 20, st, "p1", new ProfileProperties(), 60, 60, Map.of()));
+        return ch;
+    }
+}
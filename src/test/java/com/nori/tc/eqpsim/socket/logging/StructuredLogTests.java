@@ -0,0 +1,131 @@
+package com.nori.tc.eqpsim.socket.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StructuredLog level guard API 테스트
+ *
+ * - 출력 형식이 기존 event(...)와 같은지 (escape 포함)
+ * - level/verbosity 재정의로 꺼진 event는 DISABLED를 돌려주는지
+ */
+class StructuredLogTests {
+
+    private static final LogEventType TYPE = LogEventType.of("test_frame");
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("structured-log-test");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        LogEventType.configure(Map.of());
+    }
+
+    @Test
+    void builder_output_matches_varargs_event() {
+        ByteBuf rx = Unpooled.copiedBuffer("CMD=PING \"q\"\t\u0001", StandardCharsets.UTF_8);
+        StructuredLog.info(logger, TYPE)
+                .kv("eqpId", "EQP_01")
+                .kv("stepIndex", 3)
+                .kv("matched", true)
+                .kv("mode", Thread.State.NEW)
+                .kv("payload", "A=1 B=\\x")
+                .kvUtf8("rx", rx)
+                .log();
+
+        String expected = StructuredLog.event("test_frame",
+                "eqpId", "EQP_01",
+                "stepIndex", 3,
+                "matched", true,
+                "mode", Thread.State.NEW,
+                "payload", "A=1 B=\\x",
+                "rx", rx.toString(StandardCharsets.UTF_8));
+        rx.release();
+
+        assertEquals(1, appender.list.size());
+        assertEquals(expected, appender.list.get(0).getFormattedMessage());
+        assertEquals("event=test_frame eqpId=EQP_01 stepIndex=3 matched=true mode=NEW payload=\"A=1 B=\\\\x\" "
+                + "rx=\"CMD=PING \\\"q\\\"\\t\\u0001\"", expected);
+    }
+
+    @Test
+    void non_ascii_buffer_is_decoded_as_utf8() {
+        ByteBuf rx = Unpooled.copiedBuffer("MSG=설비", StandardCharsets.UTF_8);
+        StructuredLog.info(logger, TYPE).kvUtf8("payload", rx).log();
+        rx.release();
+
+        assertEquals("event=test_frame payload=\"MSG=설비\"", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void disabled_level_and_off_override_return_disabled() {
+        logger.setLevel(Level.WARN);
+        StructuredLogEvent e = StructuredLog.info(logger, TYPE);
+        assertSame(StructuredLogEvent.DISABLED, e);
+        e.kv("k", 1).kv("s", "v").log();
+        assertTrue(appender.list.isEmpty());
+
+        logger.setLevel(Level.INFO);
+        LogEventType.configure(Map.of("testframe", LogEventType.Verbosity.OFF));
+        assertFalse(StructuredLog.info(logger, TYPE).isEnabled());
+        assertFalse(StructuredLog.isInfoEnabled(logger, TYPE));
+    }
+
+    @Test
+    void override_changes_level_per_event() {
+        LogEventType.configure(Map.of("test-frame", LogEventType.Verbosity.DEBUG));
+        assertFalse(StructuredLog.info(logger, TYPE).isEnabled(), "INFO 로거에서 DEBUG로 내린 event는 꺼짐");
+
+        logger.setLevel(Level.DEBUG);
+        StructuredLog.info(logger, TYPE).kv("k", 1).log();
+        assertEquals(Level.DEBUG, appender.list.get(0).getLevel());
+
+        LogEventType.configure(Map.of());
+        assertNull(TYPE.getOverride());
+    }
+
+    @Test
+    void override_configured_before_first_of_keeps_canonical_name() {
+        // 설정 바인딩이 호출부 static 상수 초기화보다 먼저 오는 경우
+        LogEventType.configure(Map.of("late-frame", LogEventType.Verbosity.DEBUG));
+        LogEventType late = LogEventType.of("late_frame");
+
+        assertEquals("late_frame", late.getName());
+        assertEquals(LogEventType.Verbosity.DEBUG, late.getOverride());
+
+        logger.setLevel(Level.DEBUG);
+        StructuredLog.info(logger, late).kv("k", 1).log();
+        assertEquals("event=late_frame k=1", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void nested_event_while_building_uses_separate_instance() {
+        StructuredLogEvent outer = StructuredLog.info(logger, TYPE).kv("outer", 1);
+        StructuredLog.info(logger, TYPE).kv("inner", 2).log();
+        outer.kv("after", 3).log();
+
+        assertEquals("event=test_frame inner=2", appender.list.get(0).getFormattedMessage());
+        assertEquals("event=test_frame outer=1 after=3", appender.list.get(1).getFormattedMessage());
+    }
+}
@@ -0,0 +1,99 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.config.MetricsProperties;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventLoopLagMonitor 테스트
+ *
+ * - probe가 예정 시각 대비 지연을 기록하고 임계값 초과를 세는지 (freezeTime으로 시간 진행)
+ * - 실제 single-thread loop가 막혔을 때 lag가 잡히는지
+ */
+class EventLoopLagMonitorTests {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void records_probe_lag_against_expected_deadline() {
+        EventLoopLagMonitor monitor = new EventLoopLagMonitor(props(100, 20));
+        EmbeddedChannel ch = new EmbeddedChannel();
+        ch.freezeTime();
+        monitor.start("worker", List.of(ch.eventLoop()));
+        ch.runPendingTasks();
+
+        ch.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();     // 정시 실행 → lag 0
+        ch.advanceTimeBy(130, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();     // 30ms 늦음 → 임계값(20ms) 초과
+
+        EventLoopLagMonitor.LoopStats s = monitor.snapshot().get(0);
+        assertEquals("worker-0", s.loop());
+        assertEquals(2, s.lagUs().getCount());
+        assertEquals(30 * MS / 1_000, s.lagUs().getMax(), "µs 단위");
+        assertEquals(1, s.overThreshold());
+        assertEquals(0, s.pendingTasks().getCount(), "SingleThreadEventExecutor가 아니면 생략");
+
+        monitor.stop();
+        ch.advanceTimeBy(1, TimeUnit.SECONDS);
+        ch.runScheduledPendingTasks();
+        assertEquals(2, s.lagUs().getCount(), "stop 후 probe 없음");
+
+        EventLoopLagMonitor disabled = new EventLoopLagMonitor(props(0, 20));
+        disabled.start("worker", List.of(ch.eventLoop()));
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.snapshot().isEmpty());
+
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void blocked_loop_shows_up_as_lag() throws Exception {
+        EventLoopLagMonitor monitor = new EventLoopLagMonitor(props(10, 50));
+        DefaultEventLoop loop = new DefaultEventLoop();
+        try {
+            monitor.start("worker", List.of(loop));
+            CountDownLatch blocked = new CountDownLatch(1);
+            loop.execute(() -> {
+                blocked.countDown();
+                sleep(150);
+            });
+            blocked.await(1, TimeUnit.SECONDS);
+
+            EventLoopLagMonitor.LoopStats s = monitor.snapshot().get(0);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (s.overThreshold() == 0 && System.nanoTime() < deadline) {
+                sleep(10);
+                s = monitor.snapshot().get(0);
+            }
+            assertTrue(s.overThreshold() >= 1);
+            assertTrue(s.lagUs().getMax() >= 100_000, "막힌 동안 밀린 probe는 lag 1건 (≈ 막힌 시간)");
+            assertTrue(s.pendingTasks().getCount() > 0);
+        } finally {
+            monitor.stop();
+            loop.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    private static MetricsProperties props(long probeMs, long warnMs) {
+        MetricsProperties p = new MetricsProperties();
+        p.setEventLoopProbeIntervalMs(probeMs);
+        p.setEventLoopLagWarnMs(warnMs);
+        return p;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
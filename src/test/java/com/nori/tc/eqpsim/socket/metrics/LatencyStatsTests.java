@@ -0,0 +1,123 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.netty.HandshakeHandler;
+import com.nori.tc.eqpsim.socket.scenario.ScenarioPlan;
+import com.nori.tc.eqpsim.socket.scenario.ScenarioRegistry;
+import com.nori.tc.eqpsim.socket.scenario.runtime.ScenarioRunnerHandler;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LatencyStats 테스트
+ *
+ * - loop별 recorder가 조회 시 키 단위로 합쳐지는지
+ * - HandshakeHandler / ScenarioRunnerHandler가 event loop ticker 기준 지연을 기록하는지 (freezeTime으로 시간 진행)
+ */
+class LatencyStatsTests {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void merges_loop_recorders_per_key() {
+        LatencyStats stats = new LatencyStats();
+        Object loopA = new Object();
+        Object loopB = new Object();
+        stats.recordNanos(loopA, LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK", 10 * MS);
+        stats.recordNanos(loopB, LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK", 30 * MS);
+        stats.recordNanos(loopB, LatencyStats.Kind.WAIT_RESPONSE, "L2", "ACK", 5 * MS);
+        stats.recordNanos(loopA, LatencyStats.Kind.CONNECT_TO_INITIALIZE, "L1", "INITIALIZE", MS);
+
+        SortedMap<LatencyStats.Key, LogLinearHistogram> snap = stats.snapshot();
+        assertEquals(List.of(
+                new LatencyStats.Key(LatencyStats.Kind.CONNECT_TO_INITIALIZE, "L1", "INITIALIZE"),
+                new LatencyStats.Key(LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK"),
+                new LatencyStats.Key(LatencyStats.Kind.WAIT_RESPONSE, "L2", "ACK")), List.copyOf(snap.keySet()));
+
+        LogLinearHistogram l1 = snap.get(new LatencyStats.Key(LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK"));
+        assertEquals(2, l1.getCount());
+        assertEquals(30_000, l1.getMax(), "µs 단위");
+
+        stats.recordNanos(loopA, LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK", MS);
+        assertEquals(2, l1.getCount(), "snapshot은 사본");
+    }
+
+    @Test
+    void recorder_is_resolved_once_per_loop_and_key() {
+        LatencyStats stats = new LatencyStats();
+        Object loop = new Object();
+        LatencyStats.Recorder r = stats.recorder(loop, LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK");
+        assertSame(r, stats.recorder(loop, LatencyStats.Kind.WAIT_RESPONSE, "L1", new String("ACK")));
+        assertNotSame(r, stats.recorder(new Object(), LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK"));
+
+        r.recordNanos(2 * MS);
+        stats.recordNanos(loop, LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK", 4 * MS);
+        LogLinearHistogram h = stats.snapshot().get(new LatencyStats.Key(LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK"));
+        assertEquals(2, h.getCount());
+    }
+
+    @Test
+    void handshake_records_connect_to_initialize() {
+        LatencyStats stats = new LatencyStats();
+        EmbeddedChannel ch = frozenChannel(eqp());
+        ch.attr(ChannelAttributes.LATENCY_STATS).set(stats);
+        ch.pipeline().addLast("handshake", new HandshakeHandler(new ScenarioRegistry(new TcEqpSimProperties())));
+        ch.pipeline().fireChannelActive();
+
+        ch.advanceTimeBy(250, TimeUnit.MILLISECONDS);
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=INITIALIZE", StandardCharsets.UTF_8));
+
+        SortedMap<LatencyStats.Key, LogLinearHistogram> snap = stats.snapshot();
+        LogLinearHistogram connect = snap.get(
+                new LatencyStats.Key(LatencyStats.Kind.CONNECT_TO_INITIALIZE, "L1", "INITIALIZE"));
+        assertEquals(1, connect.getCount());
+        assertEquals(250_000, connect.getMax());
+        assertEquals(1, snap.get(
+                new LatencyStats.Key(LatencyStats.Kind.INITIALIZE_TO_REP, "L1", "INITIALIZE_REP")).getCount());
+
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void wait_records_time_since_last_send_only_once() {
+        ScenarioPlan plan = scenario("""
+                [EqpToTc] CMD=REQ
+                [TcToEqp] CMD=ACK
+                [TcToEqp] CMD=NEXT
+                [EqpToTc] CMD=REQ2
+                [TcToEqp] CMD=ACK
+                """);
+
+        LatencyStats stats = new LatencyStats();
+        EmbeddedChannel ch = frozenChannel(eqp());
+        ch.attr(ChannelAttributes.LATENCY_STATS).set(stats);
+        ch.pipeline().addLast("runner", new ScenarioRunnerHandler(plan));
+        ch.runPendingTasks();
+
+        ch.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=ACK", StandardCharsets.UTF_8));
+        ch.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=NEXT", StandardCharsets.UTF_8));
+        ch.advanceTimeBy(70, TimeUnit.MILLISECONDS);
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=ACK", StandardCharsets.UTF_8));
+
+        SortedMap<LatencyStats.Key, LogLinearHistogram> snap = stats.snapshot();
+        assertEquals(1, snap.size(), "송신 없이 이어진 WAIT(NEXT)는 기준점이 없어 기록하지 않음");
+        LogLinearHistogram ack = snap.get(new LatencyStats.Key(LatencyStats.Kind.WAIT_RESPONSE, "L1", "ACK"));
+        assertEquals(2, ack.getCount());
+        assertEquals(70_000, ack.getMax());
+        assertEquals(40_000, ack.valueAtPercentile(50.0), 40_000 / 16, "bucket 상대 오차 이내");
+
+        ch.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,59 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LogLinearHistogram 테스트
+ *
+ * - 작은 값은 정확, 큰 값은 상대 오차 2^-subBucketBits 이내인지
+ * - 상한 초과 값/음수 처리와 addAll 병합
+ */
+class LogLinearHistogramTests {
+
+    @Test
+    void small_values_are_exact_and_large_values_within_relative_error() {
+        LogLinearHistogram h = new LogLinearHistogram();
+        for (long v = 0; v < 16; v++) {
+            assertEquals(v, h.highestValueOf(h.indexOf(v)));
+        }
+        for (long v = 16; v < 5_000_000; v = v * 3 / 2 + 1) {
+            long upper = h.highestValueOf(h.indexOf(v));
+            assertTrue(upper >= v, "bucket 상한은 값 이상: " + v);
+            assertTrue(upper - v <= v / 16, "상대 오차 초과: " + v + " -> " + upper);
+        }
+    }
+
+    @Test
+    void percentiles_follow_recorded_distribution() {
+        LogLinearHistogram h = new LogLinearHistogram();
+        for (int v = 1; v <= 1000; v++) {
+            h.record(v);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(1000, h.getMax());
+        assertEquals(500.5, h.getMean(), 1e-9);
+        assertEquals(500, h.valueAtPercentile(50.0), 500 / 16.0);
+        assertEquals(990, h.valueAtPercentile(99.0), 990 / 16.0);
+        assertEquals(1000, h.valueAtPercentile(100.0));
+        assertEquals(0, new LogLinearHistogram().valueAtPercentile(50.0));
+    }
+
+    @Test
+    void clamps_out_of_range_values_and_merges() {
+        LogLinearHistogram a = new LogLinearHistogram(4, 1023);
+        a.record(-5);
+        a.record(1_000_000);
+        assertEquals(0, a.valueAtPercentile(50.0));
+        assertEquals(1_000_000, a.getMax(), "max는 실제 값");
+        assertTrue(a.valueAtPercentile(100.0) >= 1023);
+
+        LogLinearHistogram b = new LogLinearHistogram(4, 1023);
+        b.record(7);
+        b.addAll(a);
+        assertEquals(3, b.getCount());
+        assertEquals(1_000_000, b.getMax());
+        assertThrows(IllegalArgumentException.class, () -> b.addAll(new LogLinearHistogram()));
+    }
+}
@@ -0,0 +1,160 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.config.EndpointsProperties;
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.config.MetricsProperties;
+import com.nori.tc.eqpsim.socket.config.ProfileProperties;
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.config.TcEqpSimProperties;
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters.Counter;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntimeRegistry;
+import com.nori.tc.eqpsim.socket.runtime.HostPort;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PrometheusRenderer / PrometheusEndpoint 테스트
+ *
+ * - counter/gauge/histogram 시계열이 exposition format으로 나오는지
+ * - 전용 listener가 GET /metrics에 응답하고 그 외 경로는 404인지
+ */
+class PrometheusEndpointTests {
+
+    @Test
+    void renders_counters_gauges_and_histograms() {
+        EqpRuntimeRegistry registry = new EqpRuntimeRegistry(props());
+        EqpRuntime e1 = registry.getEqp("E1");
+        EqpRuntime e2 = registry.getEqp("E2");
+        e1.getTraffic().recordTx(12);
+        e1.getTraffic().increment(Counter.FAULT_DROP);
+        e2.getTraffic().increment(Counter.CONNECTS);
+        e1.setActivity(EqpRuntime.Activity.WAITING);
+        e2.setActivity(EqpRuntime.Activity.EMITTING);
+
+        LatencyStats latency = new LatencyStats();
+        latency.recordNanos("loop", LatencyStats.Kind.WAIT_RESPONSE, "P1", "A\"CK", 2_000_000L);
+        latency.recordNanos("loop", LatencyStats.Kind.WAIT_RESPONSE, "P1", "A\"CK", 20_000_000L);
+
+        Map<String, AtomicInteger> passiveOpen = new LinkedHashMap<>();
+        passiveOpen.put("P1", new AtomicInteger(3));
+        PrometheusRenderer renderer = new PrometheusRenderer(registry, latency,
+                new EventLoopLagMonitor(new MetricsProperties()), passiveOpen);
+
+        String text = render(renderer);
+        assertTrue(text.contains("# TYPE eqpsim_frames_out_total counter\n"));
+        assertTrue(text.contains("eqpsim_frames_out_total{endpoint=\"P1\"} 1\n"));
+        assertTrue(text.contains("eqpsim_bytes_out_total{endpoint=\"P1\"} 12\n"));
+        assertTrue(text.contains("eqpsim_faults_total{endpoint=\"P1\",type=\"drop\"} 1\n"));
+        assertTrue(text.contains("eqpsim_open_channels{endpoint=\"P1\",mode=\"passive\"} 3\n"));
+        assertTrue(text.contains("eqpsim_open_channels{endpoint=\"A1\",mode=\"active\"} 1\n"));
+        assertTrue(text.contains("eqpsim_active_connectors{endpoint=\"A1\"} 1\n"));
+        assertTrue(text.contains("eqpsim_eqps{endpoint=\"P1\",state=\"waiting\"} 1\n"));
+        assertTrue(text.contains("eqpsim_eqps{endpoint=\"A1\",state=\"emitting\"} 1\n"));
+
+        String series = "eqpsim_latency_seconds_bucket{kind=\"wait_response\",endpoint=\"P1\",cmd=\"A\\\"CK\"";
+        assertTrue(text.contains(series + ",le=\"0.001\"} 0\n"), text);
+        assertTrue(text.contains(series + ",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains(series + ",le=\"0.025\"} 2\n"));
+        assertTrue(text.contains(series + ",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("eqpsim_latency_seconds_sum{kind=\"wait_response\",endpoint=\"P1\",cmd=\"A\\\"CK\"} 0.022000\n"));
+        assertTrue(text.contains("eqpsim_latency_seconds_count{kind=\"wait_response\",endpoint=\"P1\",cmd=\"A\\\"CK\"} 2\n"));
+
+        // 재사용 scratch: 두 번째 scrape가 값을 중복 합산하지 않는다
+        latency.recordNanos("loop", LatencyStats.Kind.WAIT_RESPONSE, "P1", "A\"CK", 1_000_000L);
+        String again = render(renderer);
+        assertTrue(again.contains("eqpsim_latency_seconds_count{kind=\"wait_response\",endpoint=\"P1\",cmd=\"A\\\"CK\"} 3\n"));
+        assertTrue(again.contains("eqpsim_frames_out_total{endpoint=\"P1\"} 1\n"));
+    }
+
+    @Test
+    void serves_metrics_path_on_dedicated_listener() throws Exception {
+        EqpRuntimeRegistry registry = new EqpRuntimeRegistry(props());
+        PrometheusRenderer renderer = new PrometheusRenderer(registry, new LatencyStats(),
+                new EventLoopLagMonitor(new MetricsProperties()), Map.of());
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        PrometheusEndpoint endpoint = new PrometheusEndpoint(HostPort.parse("127.0.0.1:" + port), renderer);
+        endpoint.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + port;
+
+            HttpResponse<String> ok = client.send(HttpRequest.newBuilder(URI.create(base + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, ok.statusCode());
+            assertEquals(PrometheusRenderer.CONTENT_TYPE, ok.headers().firstValue("content-type").orElse(""));
+            assertTrue(ok.body().contains("eqpsim_frames_in_total{endpoint=\"P1\"} 0\n"));
+
+            // keep-alive 연결로 한 번 더
+            HttpResponse<String> second = client.send(HttpRequest.newBuilder(URI.create(base + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(ok.body(), second.body());
+
+            HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/other")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(404, missing.statusCode());
+        } finally {
+            endpoint.stop();
+        }
+    }
+
+    private static String render(PrometheusRenderer renderer) {
+        ByteBuf buf = Unpooled.buffer(256);
+        try {
+            renderer.render(buf);
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static TcEqpSimProperties props() {
+        TcEqpSimProperties p = new TcEqpSimProperties();
+
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LINE_END);
+        st.setLineEnding(SocketTypeProperties.LineEnding.LF);
+        p.setSocketTypes(Map.of("LF", st));
+        p.setProfiles(Map.of("p1", new ProfileProperties()));
+
+        EndpointsProperties endpoints = new EndpointsProperties();
+        EndpointsProperties.PassiveEndpointProperties passive = new EndpointsProperties.PassiveEndpointProperties();
+        passive.setBind("127.0.0.1:31001");
+        endpoints.setPassive(Map.of("P1", passive));
+        EndpointsProperties.ActiveEndpointProperties active = new EndpointsProperties.ActiveEndpointProperties();
+        active.setTarget("127.0.0.1:1");
+        endpoints.setActive(Map.of("A1", active));
+        p.setEndpoints(endpoints);
+
+        Map<String, EqpProperties> eqps = new LinkedHashMap<>();
+        eqps.put("E1", eqp(EqpProperties.Mode.PASSIVE, "P1"));
+        eqps.put("E2", eqp(EqpProperties.Mode.ACTIVE, "A1"));
+        p.setEqps(eqps);
+        return p;
+    }
+
+    private static EqpProperties eqp(EqpProperties.Mode mode, String endpoint) {
+        EqpProperties e = new EqpProperties();
+        e.setMode(mode);
+        e.setEndpoint(endpoint);
+        e.setSocketType("LF");
+        e.setProfile("p1");
+        return e;
+    }
+}
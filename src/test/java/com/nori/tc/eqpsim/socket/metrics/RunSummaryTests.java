@@ -0,0 +1,92 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters.Counter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RunSummary 테스트
+ *
+ * - 전체/endpoint별 합계, reconnects(EQP별 connects - 1), 초당 값
+ * - JSON/텍스트 파일 작성
+ */
+class RunSummaryTests {
+
+    private static final long SEC = 1_000_000_000L;
+
+    @Test
+    void summarizes_traffic_latency_and_loops_into_json_and_text(@TempDir Path dir) throws Exception {
+        TrafficCounters traffic = new TrafficCounters(List.of("E1", "E2", "E3"), List.of("P1", "A\"1", "P1"));
+        TrafficCounters.Row e1 = traffic.row(0);
+        e1.add(Counter.CONNECTS, 3);                     // 재연결 2
+        for (int i = 0; i < 10; i++) e1.recordTx(100);
+        traffic.row(1).increment(Counter.CONNECTS);
+        traffic.row(1).recordRx(40);
+        traffic.row(1).increment(Counter.FAULT_DROP);
+        traffic.row(2).increment(Counter.WAIT_TIMEOUTS);
+
+        LatencyStats latency = new LatencyStats();
+        latency.recordNanos("loop", LatencyStats.Kind.WAIT_RESPONSE, "P1", "ACK", 2_000_000L);
+
+        LogLinearHistogram lag = new LogLinearHistogram();
+        lag.record(1_500);
+        LogLinearHistogram pending = new LogLinearHistogram();
+        pending.record(7);
+
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        RunSummary summary = new RunSummary(start, start.plusSeconds(5), 5 * SEC, 2, traffic.snapshot(),
+                latency.snapshot(), List.of(new EventLoopLagMonitor.LoopStats("worker-0", lag, pending, 1)));
+
+        assertEquals(10, summary.total(Counter.FRAMES_OUT));
+        assertEquals(2, summary.totalReconnects());
+
+        Path json = summary.writeTo(dir);
+        assertEquals(dir.resolve(RunSummary.JSON_FILE), json);
+        String j = Files.readString(json, StandardCharsets.UTF_8);
+        assertTrue(j.contains("\"durationSec\": 5.000"));
+        assertTrue(j.contains("\"completedEqpCount\": 2"));
+        assertTrue(j.contains("\"framesOut\": 10, "), j);
+        assertTrue(j.contains("\"reconnects\": 2, \"framesInPerSec\": 0.2, \"framesOutPerSec\": 2.0, "
+                + "\"bytesInPerSec\": 8.0, \"bytesOutPerSec\": 200.0}"), j);
+        assertTrue(j.contains("{\"endpointId\": \"P1\", "), j);
+        assertTrue(j.contains("{\"endpointId\": \"A\\\"1\", "), "endpointId escape");
+        assertTrue(j.contains("\"faultDrop\": 1"));
+        assertTrue(j.contains("\"waitTimeouts\": 1"));
+        assertTrue(j.contains("\"kind\": \"wait_response\", \"endpointId\": \"P1\", \"cmd\": \"ACK\", \"count\": 1"));
+        assertTrue(j.contains("\"maxUs\": 2000}"));
+        assertTrue(j.contains("\"loop\": \"worker-0\", \"probes\": 1"));
+        assertTrue(j.contains("\"pendingMax\": 7, \"overThreshold\": 1}"));
+        assertFalse(Files.exists(dir.resolve(RunSummary.JSON_FILE + ".tmp")));
+
+        String t = Files.readString(dir.resolve(RunSummary.TEXT_FILE), StandardCharsets.UTF_8);
+        assertTrue(t.contains("duration  : 5.000 s"));
+        assertTrue(t.contains("2 / 3 completed"));
+        assertTrue(t.contains("faults: delay=0 drop=1"));
+        assertTrue(t.lines().anyMatch(l -> l.startsWith("(all)") && l.contains("2.0")));
+        assertTrue(t.lines().anyMatch(l -> l.startsWith("wait_response") && l.contains("2.000")));
+        assertTrue(t.lines().anyMatch(l -> l.startsWith("worker-0") && l.contains("1.500")));
+    }
+
+    @Test
+    void empty_run_is_still_valid() {
+        TrafficCounters traffic = new TrafficCounters(List.of(), List.of());
+        Instant now = Instant.now();
+        RunSummary summary = new RunSummary(now, now, 0L, 0, traffic.snapshot(), new TreeMap<>(), List.of());
+
+        String j = summary.toJson();
+        assertTrue(j.contains("\"endpoints\": [],"));
+        assertTrue(j.contains("\"latency\": [],"));
+        assertTrue(j.contains("\"eventLoops\": []"));
+        assertTrue(j.contains("\"framesOutPerSec\": 0.0"));
+        assertTrue(summary.toText().contains("(probe disabled)"));
+    }
+}
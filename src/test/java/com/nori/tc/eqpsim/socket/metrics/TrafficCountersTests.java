@@ -0,0 +1,93 @@
+package com.nori.tc.eqpsim.socket.metrics;
+
+import com.nori.tc.eqpsim.socket.metrics.TrafficCounters.Counter;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.scenario.FaultStep;
+import com.nori.tc.eqpsim.socket.scenario.runtime.FaultState;
+import com.nori.tc.eqpsim.socket.scenario.runtime.ScenarioRunnerHandler;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TrafficCounters 테스트
+ *
+ * - 행 배치(패딩), snapshot 차분, endpoint 합계
+ * - ScenarioRunnerHandler / OutboundFrameSender 경로가 EQP 행을 갱신하는지
+ */
+class TrafficCountersTests {
+
+    @Test
+    void rows_are_padded_apart_and_snapshots_diff_per_endpoint() {
+        assertTrue(TrafficCounters.STRIDE - TrafficCounters.COUNTER_COUNT >= 8, "행 사이 64B 이상");
+        assertEquals(0, TrafficCounters.STRIDE % 8);
+
+        TrafficCounters table = new TrafficCounters(List.of("E1", "E2", "E3"), List.of("P1", "A1", "P1"));
+        assertEquals(List.of("P1", "A1"), table.getEndpointIds());
+
+        table.row(0).recordTx(100);
+        table.row(2).recordTx(50);
+        table.row(1).recordRx(7);
+        TrafficCounters.Snapshot first = table.snapshot();
+
+        table.row(0).recordTx(10);
+        table.row(2).increment(Counter.WAIT_TIMEOUTS);
+        TrafficCounters.Snapshot second = table.snapshot();
+
+        assertEquals(2, first.endpointTotal("P1", Counter.FRAMES_OUT));
+        assertEquals(150, first.endpointTotal("P1", Counter.BYTES_OUT));
+        assertEquals(7, first.endpointTotal("A1", Counter.BYTES_IN));
+
+        TrafficCounters.Snapshot delta = second.minus(first);
+        assertEquals(1, delta.total(Counter.FRAMES_OUT));
+        assertEquals(10, delta.get(0, Counter.BYTES_OUT));
+        assertEquals(0, delta.get(2, Counter.BYTES_OUT));
+        assertEquals(1, delta.endpointTotal("P1", Counter.WAIT_TIMEOUTS));
+        assertEquals(0, delta.endpointTotal("A1", Counter.FRAMES_IN));
+        assertTrue(delta.intervalNanos() >= 0);
+        assertEquals("E3", delta.eqpId(2));
+        assertEquals("P1", delta.endpointIdOf(2));
+
+        long[][] sums = second.endpointTotals();
+        assertEquals(160, sums[0][Counter.BYTES_OUT.ordinal()]);
+        assertEquals(1, sums[1][Counter.FRAMES_IN.ordinal()]);
+
+        TrafficCounters other = new TrafficCounters(List.of("E1"), List.of("P1"));
+        assertThrows(IllegalArgumentException.class, () -> second.minus(other.snapshot()));
+        assertEquals("framesOut", TrafficCounters.camel(Counter.FRAMES_OUT));
+    }
+
+    @Test
+    void scenario_and_sender_update_eqp_row() {
+        EqpRuntime eqp = eqp();
+        EmbeddedChannel ch = frozenChannel(eqp, new ScenarioRunnerHandler(scenario("""
+                [EqpToTc] CMD=REQ
+                [TcToEqp] CMD=ACK
+                [EqpToTc] CMD=DONE
+                """)));
+        FaultState fs = ch.attr(ChannelAttributes.FAULT_STATE).get();
+
+        // 다음 송신(DONE)은 drop (rate 1.0)
+        fs.applyFault(new FaultStep(FaultStep.Type.DROP, FaultStep.ScopeMode.NEXT, null, 1,
+                null, null, null, null, 1.0, null, null, null));
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=ACK", StandardCharsets.UTF_8));
+        ch.writeInbound(Unpooled.copiedBuffer("CMD=LATE X=1", StandardCharsets.UTF_8));
+
+        TrafficCounters.Row row = eqp.getTraffic();
+        assertEquals(1, row.get(Counter.FRAMES_OUT), "drop된 프레임은 송신 수에서 제외");
+        assertEquals("CMD=REQ\n".length(), row.get(Counter.BYTES_OUT), "프레이밍 포함");
+        assertEquals(1, row.get(Counter.FAULT_DROP));
+        assertEquals(2, row.get(Counter.FRAMES_IN));
+        assertEquals("CMD=ACKCMD=LATE X=1".length(), row.get(Counter.BYTES_IN));
+        assertEquals(1, row.get(Counter.UNEXPECTED_IN), "시나리오 완료 후 수신");
+
+        ch.finishAndReleaseAll();
+    }
+}
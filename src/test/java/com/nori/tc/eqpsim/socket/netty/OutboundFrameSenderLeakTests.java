@@ -0,0 +1,206 @@
+package com.nori.tc.eqpsim.socket.netty;
+
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.scenario.FaultStep;
+import com.nori.tc.eqpsim.socket.scenario.PayloadTemplate;
+import com.nori.tc.eqpsim.socket.scenario.runtime.FaultState;
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledDirectByteBuf;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OutboundFrameSender 누수 테스트 (ResourceLeakDetector PARANOID)
+ *
+ * - delay / drop / corrupt / fragment 16개 조합 전부에 대해
+ *   할당된 모든 버퍼가 송신 완료(또는 폐기) 후 refCnt 0인지 확인한다.
+ * - GC 시점에 의존하지 않도록 할당기를 감싸 생성된 버퍼를 모두 기록하고 직접 검사한다.
+ *   (PARANOID는 실패 시 누수 위치 추적 로그를 남기기 위한 설정)
+ */
+class OutboundFrameSenderLeakTests {
+
+    private static final String PAYLOAD = "CMD=TOOL_EVENT EQPID={eqpid} CODE=1001";
+    private static final String EXPECTED = "\u0002CMD=TOOL_EVENT EQPID=EQP_01 CODE=1001\u0003";
+    private static final int ROUNDS = 50;
+
+    private static ResourceLeakDetector.Level previousLevel;
+
+    @BeforeAll
+    static void paranoid() {
+        previousLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+    }
+
+    @AfterAll
+    static void restore() {
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+
+    /** bit0=delay, bit1=drop, bit2=corrupt, bit3=fragment */
+    static IntStream faultCombinations() {
+        return IntStream.range(0, 16);
+    }
+
+    @ParameterizedTest
+    @MethodSource("faultCombinations")
+    void every_fault_combination_releases_all_buffers(int mask) {
+        boolean delay = (mask & 1) != 0;
+        boolean drop = (mask & 2) != 0;
+        boolean corrupt = (mask & 4) != 0;
+        boolean fragment = (mask & 8) != 0;
+
+        TrackingAllocator alloc = new TrackingAllocator();
+        EmbeddedChannel ch = channel(alloc);
+        FaultState fs = ch.attr(ChannelAttributes.FAULT_STATE).get();
+        if (delay) fs.applyFault(fault(FaultStep.Type.DELAY));
+        if (drop) fs.applyFault(fault(FaultStep.Type.DROP));
+        if (corrupt) fs.applyFault(fault(FaultStep.Type.CORRUPT));
+        if (fragment) fs.applyFault(fault(FaultStep.Type.FRAGMENT));
+
+        EqpRuntime eqp = eqp(stxEtx());
+        PayloadTemplate payload = PayloadTemplate.compile(PAYLOAD);
+        ChannelHandlerContext ctx = ch.pipeline().firstContext();
+        for (int i = 0; i < ROUNDS; i++) {
+            OutboundFrameSender.send(ctx, eqp, payload);
+            if (delay) {
+                // 프레임마다 지연 task를 단독 실행 (EmbeddedChannel은 flush 중 due task를 재진입 실행한다)
+                ch.advanceTimeBy(1, TimeUnit.SECONDS);
+                ch.runScheduledPendingTasks();
+            }
+        }
+
+        byte[] received = drainOutbound(ch);
+        byte[] expected = EXPECTED.getBytes(StandardCharsets.UTF_8);
+        if (!drop) {
+            assertEquals((long) ROUNDS * expected.length, received.length);
+            for (int r = 0; r < ROUNDS; r++) {
+                int diff = 0;
+                for (int i = 0; i < expected.length; i++) {
+                    if (received[r * expected.length + i] != expected[i]) {
+                        assertTrue(i > 0 && i < expected.length - 1, "protectFraming 영역 변조");
+                        diff++;
+                    }
+                }
+                assertEquals(corrupt ? 1 : 0, diff);
+            }
+        }
+        assertEquals(0, received.length % expected.length);
+
+        assertFalse(ch.finishAndReleaseAll());
+        eqp.getFrameCache().clear();
+        alloc.assertAllReleased();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void delayed_frame_is_released_when_channel_closes_first(boolean fragment) {
+        TrackingAllocator alloc = new TrackingAllocator();
+        EmbeddedChannel ch = channel(alloc);
+        FaultState fs = ch.attr(ChannelAttributes.FAULT_STATE).get();
+        fs.applyFault(fault(FaultStep.Type.DELAY));
+        if (fragment) fs.applyFault(fault(FaultStep.Type.FRAGMENT));
+
+        EqpRuntime eqp = eqp(stxEtx());
+        OutboundFrameSender.send(ch.pipeline().firstContext(), eqp, PayloadTemplate.compile(PAYLOAD));
+        ch.close();
+        ch.advanceTimeBy(1, TimeUnit.SECONDS);
+        ch.runScheduledPendingTasks();
+
+        assertNull(ch.readOutbound());
+        ch.finishAndReleaseAll();
+        alloc.assertAllReleased();
+    }
+
+    private static EmbeddedChannel channel(TrackingAllocator alloc) {
+        EmbeddedChannel ch = frozenChannel(eqp(stxEtx()), new ChannelInboundHandlerAdapter());
+        ch.config().setAllocator(alloc);
+        return ch;
+    }
+
+    private static byte[] drainOutbound(EmbeddedChannel ch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuf buf;
+        while ((buf = ch.readOutbound()) != null) {
+            try {
+                byte[] b = new byte[buf.readableBytes()];
+                buf.getBytes(buf.readerIndex(), b);
+                out.writeBytes(b);
+            } finally {
+                buf.release();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static FaultStep fault(FaultStep.Type type) {
+        return switch (type) {
+            case DELAY -> new FaultStep(type, FaultStep.ScopeMode.DURATION, 60_000L, null,
+                    5L, 20L, null, null, null, null, null, null);
+            case DROP -> new FaultStep(type, FaultStep.ScopeMode.DURATION, 60_000L, null,
+                    null, null, null, null, 0.5, null, null, null);
+            case CORRUPT -> new FaultStep(type, FaultStep.ScopeMode.DURATION, 60_000L, null,
+                    null, null, null, null, 1.0, true, null, null);
+            case FRAGMENT -> new FaultStep(type, FaultStep.ScopeMode.DURATION, 60_000L, null,
+                    null, null, 2, 5, null, null, null, null);
+            default -> throw new IllegalArgumentException(type.name());
+        };
+    }
+
+    /**
+     * 생성한 모든 버퍼를 기록하는 할당기 (누수 판정을 GC에 맡기지 않기 위함)
+     */
+    private static final class TrackingAllocator extends AbstractByteBufAllocator {
+
+        private final List<ByteBuf> allocated = new ArrayList<>();
+
+        TrackingAllocator() {
+            super(true);
+        }
+
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            return track(new UnpooledHeapByteBuf(this, initialCapacity, maxCapacity));
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            return track(new UnpooledDirectByteBuf(this, initialCapacity, maxCapacity));
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return false;
+        }
+
+        private ByteBuf track(ByteBuf buf) {
+            allocated.add(buf);
+            return buf;
+        }
+
+        void assertAllReleased() {
+            assertFalse(allocated.isEmpty(), "no buffer allocated");
+            for (ByteBuf buf : allocated) {
+                assertEquals(0, buf.refCnt(), "leaked buffer");
+            }
+        }
+    }
+}
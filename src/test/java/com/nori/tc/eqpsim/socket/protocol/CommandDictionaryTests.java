@@ -0,0 +1,130 @@
+package com.nori.tc.eqpsim.socket.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CommandDictionary 단위 테스트
+ *
+ * - raw byte trie 분류 결과가 "String 파싱 후 이름 조회"와 같은지 확인한다.
+ */
+class CommandDictionaryTests {
+
+    private final FrameCmdScanner scanner = new FrameCmdScanner();
+
+    @Test
+    void interns_dense_ids_with_initialize_reserved() {
+        CommandDictionary dict = new CommandDictionary();
+        int ping = dict.intern("PING");
+        int pong = dict.intern("PONG");
+        assertEquals(ping, dict.intern("PING"));
+        dict.seal();
+
+        assertEquals(CommandDictionary.INITIALIZE_ID, dict.idOf("INITIALIZE"));
+        assertEquals(1, ping);
+        assertEquals(2, pong);
+        assertEquals(3, dict.size());
+        assertEquals("PONG", dict.name(pong));
+        assertThrows(IllegalStateException.class, () -> dict.intern("LATE"));
+    }
+
+    @Test
+    void classify_requires_seal() {
+        CommandDictionary dict = new CommandDictionary();
+        ByteBuf buf = utf8("CMD=PING");
+        try {
+            assertThrows(IllegalStateException.class, () -> dict.classify(buf, scanner.scan(buf)));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void classifies_case_insensitively_and_rejects_prefixes() {
+        CommandDictionary dict = new CommandDictionary();
+        int req = dict.intern("TOOL_CONDITION_REQUEST");
+        int rep = dict.intern("TOOL_CONDITION_REP");
+        dict.seal();
+
+        assertEquals(req, classify(dict, "EQPID=A cmd=tool_condition_request"));
+        assertEquals(rep, classify(dict, "CMD=Tool_Condition_Rep"));
+        assertEquals(CommandDictionary.UNKNOWN, classify(dict, "CMD=TOOL_CONDITION"));
+        assertEquals(CommandDictionary.UNKNOWN, classify(dict, "CMD=TOOL_CONDITION_REPX"));
+        assertEquals(CommandDictionary.UNKNOWN, classify(dict, "CMD=PING"));
+        assertEquals(CommandDictionary.NO_CMD, classify(dict, "EQPID=A"));
+        assertEquals(CommandDictionary.INITIALIZE_ID, classify(dict, "CMD=initialize"));
+    }
+
+    @Test
+    void non_ascii_values_use_string_semantics() {
+        CommandDictionary dict = new CommandDictionary();
+        int korean = dict.intern("상태보고");
+        int init = dict.intern("INIT");
+        dict.seal();
+
+        assertEquals(korean, classify(dict, "CMD=상태보고"));
+        // 'ı'(U+0131).toUpperCase == 'I'
+        assertEquals(init, classify(dict, "CMD=ınıt"));
+        assertEquals(CommandDictionary.UNKNOWN, classify(dict, "CMD=상태"));
+    }
+
+    @Test
+    void matches_string_lookup_on_random_frames() {
+        String[] names = {"A", "AB", "ABC", "B_1", "PING", "PONG", "P"};
+        CommandDictionary dict = new CommandDictionary();
+        for (String n : names) {
+            dict.intern(n);
+        }
+        dict.seal();
+
+        String alphabet = "abcABC_1PINGONgo";
+        Random rnd = new Random(20240611L);
+        for (int round = 0; round < 5_000; round++) {
+            StringBuilder v = new StringBuilder();
+            int len = 1 + rnd.nextInt(5);
+            for (int i = 0; i < len; i++) {
+                v.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+            }
+            String frame = "EQPID=X CMD=" + v;
+            int expected = dict.idOf(FrameTokenParser.extractCmdUpper(frame));
+            assertEquals(expected, classify(dict, frame), "frame=" + frame);
+        }
+    }
+
+    @Test
+    void rx_stats_count_per_id_and_outcome() {
+        CommandDictionary dict = new CommandDictionary();
+        int ping = dict.intern("PING");
+        dict.seal();
+
+        CommandRxStats stats = dict.getRxStats();
+        stats.record(ping, CommandRxStats.Outcome.MATCHED);
+        stats.record(ping, CommandRxStats.Outcome.MATCHED);
+        stats.record(CommandDictionary.UNKNOWN, CommandRxStats.Outcome.UNEXPECTED);
+        stats.record(CommandDictionary.NO_CMD, CommandRxStats.Outcome.MISMATCHED);
+
+        assertEquals(2, stats.count(ping, CommandRxStats.Outcome.MATCHED));
+        assertEquals(0, stats.count(ping, CommandRxStats.Outcome.UNEXPECTED));
+        assertEquals(1, stats.count(CommandDictionary.UNKNOWN, CommandRxStats.Outcome.UNEXPECTED));
+        assertEquals(1, stats.total(CommandRxStats.Outcome.MISMATCHED));
+    }
+
+    private int classify(CommandDictionary dict, String frame) {
+        ByteBuf buf = utf8(frame);
+        try {
+            return dict.classify(buf, scanner.scan(buf));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static ByteBuf utf8(String s) {
+        return Unpooled.copiedBuffer(s, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package com.nori.tc.eqpsim.socket.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FrameCmdScanner 단위 테스트
+ *
+ * - String 기반 FrameTokenParser.extractCmdUpper와 결과가 같은지 확인한다.
+ */
+class FrameCmdScannerTests {
+
+    private final FrameCmdScanner scanner = new FrameCmdScanner();
+
+    @Test
+    void finds_cmd_case_insensitively_and_compares_without_decoding() {
+        ByteBuf buf = utf8("  eqpid=T1   cMd=Initialize\tLOTID=X ");
+        try {
+            long cmd = scanner.scan(buf);
+            assertNotEquals(FrameCmdScanner.NOT_FOUND, cmd);
+            assertEquals("INITIALIZE", FrameCmdScanner.cmdUpper(buf, cmd));
+            assertTrue(FrameCmdScanner.cmdEquals(buf, cmd, "INITIALIZE"));
+            assertFalse(FrameCmdScanner.cmdEquals(buf, cmd, "INITIALIZE_REP"));
+            assertFalse(FrameCmdScanner.cmdEquals(buf, cmd, "INIT"));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void respects_reader_index_of_sliced_frame() {
+        ByteBuf buf = utf8("CMD=SKIPPED\nCMD=PING EQPID=A");
+        try {
+            ByteBuf frame = buf.slice(12, buf.readableBytes() - 12);
+            long cmd = scanner.scan(frame);
+            assertTrue(FrameCmdScanner.cmdEquals(frame, cmd, "PING"));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void empty_value_and_missing_cmd_follow_string_parser() {
+        assertScanEqualsParser("CMD= CMD=PONG");
+        assertScanEqualsParser("CMD=");
+        assertScanEqualsParser("EQPID=A =CMD");
+        assertScanEqualsParser("CMD=\u0001 CMD=PONG");
+        assertScanEqualsParser("");
+        assertScanEqualsParser("   ");
+        assertScanEqualsParser("CMD=A=B");
+    }
+
+    @Test
+    void non_ascii_value_falls_back_to_string_semantics() {
+        ByteBuf buf = utf8("CMD=ınıt");
+        try {
+            long cmd = scanner.scan(buf);
+            // 'ı'(U+0131).toUpperCase == 'I' → 기존 String 규칙과 동일하게 일치
+            assertTrue(FrameCmdScanner.cmdEquals(buf, cmd, "INIT"));
+            assertEquals(FrameTokenParser.extractCmdUpper("CMD=ınıt"), FrameCmdScanner.cmdUpper(buf, cmd));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void matches_string_parser_on_random_frames() {
+        String[] pieces = {"CMD", "cmd", "CmD", "=", "==", " ", "  ", "\t", "\r\n", "\u001C",
+                "\u0001", "PING", "pong", "EQPID", "값", "X", "C", "MD"};
+        Random rnd = new Random(20240607L);
+        for (int round = 0; round < 5_000; round++) {
+            StringBuilder sb = new StringBuilder();
+            int n = rnd.nextInt(10);
+            for (int i = 0; i < n; i++) {
+                sb.append(pieces[rnd.nextInt(pieces.length)]);
+            }
+            assertScanEqualsParser(sb.toString());
+        }
+    }
+
+    private void assertScanEqualsParser(String frame) {
+        String expected = FrameTokenParser.extractCmdUpper(frame);
+        ByteBuf buf = utf8(frame);
+        try {
+            long cmd = scanner.scan(buf);
+            assertEquals(expected, FrameCmdScanner.cmdUpper(buf, cmd), "frame=[" + frame + "]");
+            if (expected != null) {
+                assertTrue(FrameCmdScanner.cmdEquals(buf, cmd, expected), "frame=[" + frame + "]");
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static ByteBuf utf8(String s) {
+        return Unpooled.copiedBuffer(s, StandardCharsets.UTF_8);
+    }
+}
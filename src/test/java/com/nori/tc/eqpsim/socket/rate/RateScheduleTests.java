@@ -0,0 +1,172 @@
+package com.nori.tc.eqpsim.socket.rate;
+
+import com.nori.tc.eqpsim.socket.config.RateProperties;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RATE profile 테스트
+ *
+ * - RateSchedule: 부하 곡선(ramp/steady), arrival(CONSTANT/POISSON/BURST)별 송신 시각
+ * - RateGeneratorHandler: event loop 지연 후 밀린 송신을 몰아 보내는지 (coordinated omission 방지)
+ */
+class RateScheduleTests {
+
+    private static final long SEC = 1_000_000_000L;
+
+    @Test
+    void constant_rate_sends_evenly_over_steady() {
+        List<Long> times = sendTimes(plan(RateProperties.Arrival.CONSTANT, 10, 0, 2, 0));
+
+        assertEquals(20, times.size());
+        assertEquals(SEC / 10, times.get(0), 1_000);
+        assertEquals(2 * SEC, times.get(times.size() - 1), 1_000);
+    }
+
+    @Test
+    void ramp_total_matches_area_under_curve() {
+        // λ(U/2 + S + D/2) = 100 * (2 + 5 + 1) = 800
+        List<Long> times = sendTimes(plan(RateProperties.Arrival.CONSTANT, 100, 4, 5, 2));
+
+        assertEquals(800, times.size(), 1);
+        assertTrue(times.get(times.size() - 1) <= 11 * SEC);
+        // ramp-up 전반부(0~2s)는 λ t²/(2U) = 100*4/8 = 50건
+        assertEquals(50, times.stream().filter(t -> t <= 2 * SEC).count(), 1);
+    }
+
+    @Test
+    void poisson_mean_rate_matches_target() {
+        List<Long> times = sendTimes(plan(RateProperties.Arrival.POISSON, 1000, 0, 20, 0));
+
+        // 기대 20000, 표준편차 ~141
+        assertEquals(20_000, times.size(), 700);
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i) >= times.get(i - 1));
+        }
+    }
+
+    @Test
+    void burst_never_sends_inside_off_window() {
+        RateProperties p = props(RateProperties.Arrival.BURST, 100, 0, 2, 0);
+        p.setBurstOnMs(200);
+        p.setBurstOffMs(300);
+        List<Long> times = sendTimes(RatePlan.compile("p", p));
+
+        assertEquals(200, times.size());
+        for (long t : times) {
+            long ms = Math.round(t / 1_000_000.0);
+            assertTrue(ms % 500 <= 200, "off 구간 송신: " + ms + "ms");
+        }
+        // on 2s → 10주기 → 마지막 송신은 9*500 + 200 = 4700ms (on 구간 끝 경계는 같은 주기에 포함)
+        assertEquals(4_700, Math.round(times.get(times.size() - 1) / 1_000_000.0));
+    }
+
+    @Test
+    void weighted_mix_follows_weights() {
+        RateProperties p = props(RateProperties.Arrival.CONSTANT, 1, 0, 1, 0);
+        p.setPayloads(List.of(mix(3, "CMD=A"), mix(1, "CMD=B")));
+        RatePlan plan = RatePlan.compile("p", p);
+
+        SplittableRandom rnd = new SplittableRandom(7);
+        int a = 0;
+        for (int i = 0; i < 40_000; i++) {
+            if (plan.pick(rnd).getSource().equals("CMD=A")) a++;
+        }
+        assertEquals(30_000, a, 600);
+    }
+
+    @Test
+    void invalid_config_is_rejected() {
+        RateProperties p = props(RateProperties.Arrival.CONSTANT, 0, 0, 1, 0);
+        assertThrows(IllegalArgumentException.class, () -> RatePlan.compile("p", p));
+
+        RateProperties empty = props(RateProperties.Arrival.CONSTANT, 10, 0, 1, 0);
+        empty.setPayloads(List.of());
+        assertThrows(IllegalArgumentException.class, () -> RatePlan.compile("p", empty));
+    }
+
+    @Test
+    void handler_catches_up_late_ticks_without_shifting_schedule() {
+        EqpRuntime eqp = eqp();
+        RateGeneratorHandler handler = new RateGeneratorHandler(plan(RateProperties.Arrival.CONSTANT, 100, 0, 1, 0), null);
+        EmbeddedChannel ch = frozenChannel(eqp, handler);
+
+        // event loop가 500ms 멈춘 것처럼 한 번에 진행 → 의도 시각이 지난 50건을 즉시 송신
+        ch.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();
+        assertEquals(50, drain(ch).size());
+
+        ch.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();
+        assertEquals(50, drain(ch).size());
+        assertEquals(100, handler.getOffered());
+        assertEquals(100, handler.getSent());
+
+        ch.finishAndReleaseAll();
+        eqp.getFrameCache().clear();
+    }
+
+    @Test
+    void unwritable_channel_suppresses_instead_of_delaying() {
+        EqpRuntime eqp = eqp();
+        RateGeneratorHandler handler = new RateGeneratorHandler(plan(RateProperties.Arrival.CONSTANT, 100, 0, 1, 0), null);
+        EmbeddedChannel ch = frozenChannel(eqp, handler);
+
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        ch.advanceTimeBy(300, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        ch.advanceTimeBy(700, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();
+
+        assertEquals(70, drain(ch).size());
+        assertEquals(30, handler.getSuppressed());
+        assertEquals(30, eqp.getBackpressureStats().getSuppressed());
+
+        ch.finishAndReleaseAll();
+        eqp.getFrameCache().clear();
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private static List<Long> sendTimes(RatePlan plan) {
+        RateSchedule schedule = plan.newSchedule(new SplittableRandom(42));
+        List<Long> out = new ArrayList<>();
+        long t;
+        while ((t = schedule.nextSendNanos()) != RateSchedule.END) {
+            out.add(t);
+        }
+        return out;
+    }
+
+    private static RatePlan plan(RateProperties.Arrival arrival, double perSec, long up, long steady, long down) {
+        return RatePlan.compile("p", props(arrival, perSec, up, steady, down));
+    }
+
+    private static RateProperties props(RateProperties.Arrival arrival, double perSec, long up, long steady, long down) {
+        RateProperties p = new RateProperties();
+        p.setArrival(arrival);
+        p.setPerSec(perSec);
+        p.setRampUpSec(up);
+        p.setSteadySec(steady);
+        p.setRampDownSec(down);
+        p.setPayloads(List.of(mix(1, "CMD=EV EQPID={eqpid}")));
+        return p;
+    }
+
+    private static RateProperties.PayloadMix mix(int weight, String payload) {
+        RateProperties.PayloadMix m = new RateProperties.PayloadMix();
+        m.setWeight(weight);
+        m.setPayload(payload);
+        return m;
+    }
+}
@@ -0,0 +1,177 @@
+package com.nori.tc.eqpsim.socket.replay;
+
+import com.nori.tc.eqpsim.socket.config.ReplayProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * REPLAY profile 테스트
+ *
+ * - ReplayReader: timestamp 형식, 주석/오류 줄 처리, batch 단위 읽기
+ * - ReplayGeneratorHandler: 배속 적용 간격, batch 경계 prefetch, as-fast-as-possible의 writable 대기
+ */
+class ReplayTests {
+
+    private static final long MS = 1_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parses_timestamp_formats() {
+        assertEquals(1_697_440_000_123L * MS, ReplayReader.parseLine("1697440000123 CMD=A").timestampNanos());
+        assertEquals(1_697_440_000_123_400_000L, ReplayReader.parseLine("1697440000.1234\tCMD=A").timestampNanos());
+
+        ReplayLine iso = ReplayReader.parseLine("2026-10-16T00:00:01.500Z CMD=A X=1");
+        ReplayLine local = ReplayReader.parseLine("2026-10-16 00:00:02,000 CMD=A X=2");
+        assertEquals("CMD=A X=1", iso.payload());
+        assertEquals("CMD=A X=2", local.payload(), "날짜와 시각 사이 공백은 timestamp");
+        assertEquals(500 * MS, local.timestampNanos() - iso.timestampNanos());
+
+        assertNull(ReplayReader.parseLine("   "));
+        assertNull(ReplayReader.parseLine("# header"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayReader.parseLine("noon CMD=A"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayReader.parseLine("1697440000123"));
+    }
+
+    @Test
+    void reader_streams_batches_and_skips_malformed_lines() throws Exception {
+        Path file = write("""
+                # recorded eqp_tx
+                1000 CMD=A
+                bad line
+                1100 CMD=B
+
+                1200 CMD=C
+                """);
+        try (ReplayReader reader = new ReplayReader(file)) {
+            ArrayDeque<ReplayLine> first = reader.readBatch(2);
+            assertEquals(List.of("CMD=A", "CMD=B"), first.stream().map(ReplayLine::payload).toList());
+            assertFalse(reader.isEof());
+
+            ArrayDeque<ReplayLine> second = reader.readBatch(2);
+            assertEquals(List.of("CMD=C"), second.stream().map(ReplayLine::payload).toList());
+            assertTrue(reader.isEof());
+            assertEquals(1, reader.getMalformed());
+        }
+    }
+
+    @Test
+    void replays_with_scaled_intervals_across_batches() throws Exception {
+        Path file = write("""
+                1000 CMD=A
+                2000 CMD=B
+                4000 CMD=C
+                3500 CMD=D
+                5000 CMD=E
+                """);
+        ReplayProperties props = props(file);
+        props.setSpeed(10);
+        props.setBatchLines(2);
+        EmbeddedChannel ch = frozenChannel(eqp(), new ReplayGeneratorHandler(ReplayPlan.compile("p", props), null, Runnable::run));
+
+        assertEquals(List.of("CMD=A"), drain(ch));
+        advance(ch, 90);
+        assertEquals(List.of(), drain(ch));
+        advance(ch, 10);
+        assertEquals(List.of("CMD=B"), drain(ch), "1000ms 간격 / 10배속 = 100ms");
+        advance(ch, 200);
+        assertEquals(List.of("CMD=C", "CMD=D"), drain(ch), "timestamp가 거꾸로 가면 직전 줄과 같은 시각");
+        advance(ch, 100);
+        assertEquals(List.of("CMD=E"), drain(ch));
+
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void as_fast_as_possible_waits_for_writable_without_dropping() throws Exception {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            log.append(1000 + i * 1000L).append(" CMD=EV SEQ=").append(i).append('\n');
+        }
+        ReplayProperties props = props(write(log.toString()));
+        props.setAsFastAsPossible(true);
+        props.setBatchLines(100);
+        ReplayGeneratorHandler handler = new ReplayGeneratorHandler(ReplayPlan.compile("p", props), null, Runnable::run);
+
+        EmbeddedChannel ch = frozenChannel(eqp());
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        ch.pipeline().addLast("runner", handler);
+        ch.runPendingTasks();
+        assertEquals(0, drain(ch).size());
+
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        ch.runPendingTasks();
+        List<String> out = drain(ch);
+        assertEquals(600, out.size());
+        assertEquals("CMD=EV SEQ=599", out.get(599));
+        assertEquals(0, handler.getSuppressed());
+
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void io_executor_comes_from_channel_attr() throws Exception {
+        ReplayProperties props = props(write("1000 CMD=A\n"));
+        ReplayGeneratorHandler handler = new ReplayGeneratorHandler(ReplayPlan.compile("p", props), null);
+
+        EmbeddedChannel missing = new EmbeddedChannel();
+        missing.attr(ChannelAttributes.EQP).set(eqp());
+        missing.pipeline().addLast("runner", handler);
+        missing.runPendingTasks();
+        assertFalse(missing.isActive(), "실행기 없으면 close");
+        missing.finishAndReleaseAll();
+
+        List<Runnable> submitted = new ArrayList<>();
+        EmbeddedChannel ch = frozenChannel(eqp());
+        ch.attr(ChannelAttributes.REPLAY_IO).set(submitted::add);
+        ch.pipeline().addLast("runner", new ReplayGeneratorHandler(ReplayPlan.compile("p", props), null));
+        ch.runPendingTasks();
+        assertEquals(1, submitted.size(), "파일 읽기는 attr 실행기로");
+
+        submitted.remove(0).run();
+        ch.runPendingTasks();
+        assertEquals(List.of("CMD=A"), drain(ch));
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void invalid_config_is_rejected() throws Exception {
+        ReplayProperties p = props(write("1000 CMD=A\n"));
+        p.setSpeed(200);
+        assertThrows(IllegalArgumentException.class, () -> ReplayPlan.compile("p", p));
+
+        ReplayProperties missing = props(dir.resolve("missing.log"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayPlan.compile("p", missing));
+
+        ReplayProperties perEqp = props(dir.resolve("{eqpid}.log"));
+        assertEquals(dir.resolve("EQP_01.log"), ReplayPlan.compile("p", perEqp).fileFor("EQP_01"),
+                "EQP별 파일은 연결 시 확인");
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private Path write(String content) throws Exception {
+        Path file = Files.createTempFile(dir, "replay", ".log");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static ReplayProperties props(Path file) {
+        ReplayProperties p = new ReplayProperties();
+        p.setFile(file.toString());
+        return p;
+    }
+}
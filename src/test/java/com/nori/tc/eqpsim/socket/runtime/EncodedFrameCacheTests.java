@@ -0,0 +1,137 @@
+package com.nori.tc.eqpsim.socket.runtime;
+
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.netty.OutboundFrameSender;
+import com.nori.tc.eqpsim.socket.scenario.FaultStep;
+import com.nori.tc.eqpsim.socket.scenario.PayloadTemplate;
+import com.nori.tc.eqpsim.socket.scenario.runtime.FaultState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EncodedFrameCache 테스트
+ *
+ * - 상한(프레임 크기/항목 수/전체 바이트) 초과 시 거절하고 호출자 소유를 유지하는지
+ * - 중복 키는 기존 항목을 돌려주고 새 프레임을 release 하는지
+ * - OutboundFrameSender가 fault 없을 때만 캐시 프레임을 재사용하는지
+ */
+class EncodedFrameCacheTests {
+
+    @Test
+    void rejects_over_budget_and_keeps_caller_ownership() {
+        EncodedFrameCache.Budget budget = new EncodedFrameCache.Budget(10, 8, 2);
+        EncodedFrameCache cache = new EncodedFrameCache(budget);
+
+        ByteBuf tooLarge = frame("123456789");
+        assertNull(cache.putIfAbsent("big", tooLarge));
+        assertEquals(1, tooLarge.refCnt());
+        tooLarge.release();
+
+        assertNotNull(cache.putIfAbsent("a", frame("12345")));
+        assertNotNull(cache.putIfAbsent("b", frame("1234")));
+        assertEquals(9, budget.usedBytes());
+
+        ByteBuf third = frame("1");
+        assertNull(cache.putIfAbsent("c", third), "maxEntriesPerEqp");
+        third.release();
+
+        EncodedFrameCache other = new EncodedFrameCache(budget);
+        ByteBuf shared = frame("12");
+        assertNull(other.putIfAbsent("d", shared), "maxTotalBytes 공유");
+        shared.release();
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, budget.usedBytes());
+    }
+
+    @Test
+    void duplicate_key_returns_existing_and_releases_new_frame() {
+        EncodedFrameCache cache = new EncodedFrameCache(new EncodedFrameCache.Budget(1024, 64, 4));
+
+        ByteBuf first = cache.putIfAbsent("k", frame("AAA"));
+        assertTrue(first.isDirect());
+        assertEquals(3, first.capacity());
+
+        ByteBuf dup = frame("BBB");
+        assertSame(first, cache.putIfAbsent("k", dup));
+        assertEquals(0, dup.refCnt());
+        assertEquals("AAA", cache.get("k").toString(StandardCharsets.UTF_8));
+
+        cache.clear();
+        assertEquals(0, first.refCnt());
+    }
+
+    @Test
+    void sender_reuses_cached_frame_only_without_fault() {
+        EqpRuntime eqp = eqp();
+        PayloadTemplate payload = PayloadTemplate.compile("CMD=EV EQPID={eqpid}");
+        EmbeddedChannel ch = frozenChannel(eqp, new ChannelInboundHandlerAdapter());
+        FaultState fs = ch.attr(ChannelAttributes.FAULT_STATE).get();
+        ChannelHandlerContext ctx = ch.pipeline().firstContext();
+
+        OutboundFrameSender.send(ctx, eqp, payload);
+        OutboundFrameSender.send(ctx, eqp, payload);
+        assertEquals(1, eqp.getFrameCache().size());
+        assertEquals("CMD=EV EQPID=EQP_01\n", readOutbound(ch));
+        assertEquals("CMD=EV EQPID=EQP_01\n", readOutbound(ch));
+
+        // fault 활성: 캐시 우회 (drop → 송신 없음, 캐시 항목 그대로)
+        fs.applyFault(new FaultStep(FaultStep.Type.DROP, FaultStep.ScopeMode.NEXT, null, 1,
+                null, null, null, null, 1.0, null, null, null));
+        OutboundFrameSender.send(ctx, eqp, payload);
+        assertNull(ch.readOutbound());
+        assertEquals(1, eqp.getFrameCache().size());
+
+        ch.finishAndReleaseAll();
+        eqp.getFrameCache().clear();
+    }
+
+    @Test
+    void per_eqp_values_are_cached_per_eqp_not_shared_across_eqps() {
+        // 같은 템플릿이라도 {eqpid}/{var.xxx} 값은 EQP마다 다르다: 다른 EQP의 캐시 프레임이 나가면 안 된다.
+        EqpRuntime e1 = eqp("EQP_01", Map.of("line", "L1"));
+        EqpRuntime e2 = eqp("EQP_02", Map.of("line", "L2"));
+        PayloadTemplate payload = PayloadTemplate.compile("CMD=EV EQPID={eqpid} LINE={var.line}");
+
+        EmbeddedChannel ch = frozenChannel(e1, new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = ch.pipeline().firstContext();
+
+        OutboundFrameSender.send(ctx, e1, payload);
+        OutboundFrameSender.send(ctx, e2, payload);
+        OutboundFrameSender.send(ctx, e1, payload);
+        assertEquals("CMD=EV EQPID=EQP_01 LINE=L1\n", readOutbound(ch));
+        assertEquals("CMD=EV EQPID=EQP_02 LINE=L2\n", readOutbound(ch));
+        assertEquals("CMD=EV EQPID=EQP_01 LINE=L1\n", readOutbound(ch));
+        assertEquals(1, e1.getFrameCache().size());
+        assertEquals(1, e2.getFrameCache().size());
+
+        ch.finishAndReleaseAll();
+        e1.getFrameCache().clear();
+        e2.getFrameCache().clear();
+    }
+
+    private static String readOutbound(EmbeddedChannel ch) {
+        ByteBuf out = ch.readOutbound();
+        assertNotNull(out);
+        try {
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            out.release();
+        }
+    }
+
+    private static ByteBuf frame(String s) {
+        return Unpooled.copiedBuffer(s, StandardCharsets.UTF_8);
+    }
+}
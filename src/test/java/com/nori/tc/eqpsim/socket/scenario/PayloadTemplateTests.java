@@ -0,0 +1,95 @@
+package com.nori.tc.eqpsim.socket.scenario;
+
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PayloadTemplate 테스트
+ *
+ * - 컴파일 후 render/encode 결과가 기존 정규식 치환(ScenarioTemplateResolver 구 구현)과 같은지 확인한다.
+ */
+class PayloadTemplateTests {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^}]+)\\}");
+
+    private final EqpRuntime eqp = eqp("EQP_가01", Map.of("LotId", "LOT-01", "recipe", "레시피A", "empty", ""));
+
+    @Test
+    void renders_eqpid_vars_and_keeps_unknown_placeholders() {
+        PayloadTemplate t = PayloadTemplate.compile("CMD=EV EQPID={EqpId} LOT={ var.lotid } R={var.RECIPE} X={var.nope} Y={other} E={var.empty}");
+        assertEquals("CMD=EV EQPID=EQP_가01 LOT=LOT-01 R=레시피A X={var.nope} Y={other} E=", t.render(eqp));
+        assertFalse(t.isLiteral());
+        assertTrue(PayloadTemplate.compile("CMD=PING {unknown}").isLiteral());
+    }
+
+    @Test
+    void encode_writes_framed_utf8_with_exact_capacity() {
+        PayloadTemplate t = PayloadTemplate.compile("CMD=EV EQPID={eqpid} R={var.recipe}");
+        ByteBuf out = t.encode(UnpooledByteBufAllocator.DEFAULT, eqp);
+        try {
+            byte[] expected = (legacyResolve(t.getSource(), eqp) + "\n").getBytes(StandardCharsets.UTF_8);
+            assertEquals(expected.length, out.readableBytes());
+            assertEquals(out.readableBytes(), out.capacity());
+            assertEquals(new String(expected, StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8));
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    void matches_legacy_regex_resolver_on_random_templates() {
+        String[] pieces = {"{", "}", "{eqpid}", "{EQPID }", "{var.lotid}", "{var.nope}", "{var.}", "{x}",
+                "CMD=", " ", "값", "{{", "}}", "var.recipe", "{var.recipe}", "😀"};
+        Random rnd = new Random(20240614L);
+        for (int round = 0; round < 5_000; round++) {
+            StringBuilder sb = new StringBuilder();
+            int n = rnd.nextInt(8);
+            for (int i = 0; i < n; i++) {
+                sb.append(pieces[rnd.nextInt(pieces.length)]);
+            }
+            String src = sb.toString();
+            PayloadTemplate t = PayloadTemplate.compile(src);
+            String expected = legacyResolve(src, eqp);
+
+            assertEquals(expected, t.render(eqp), "template=" + src);
+            assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, t.utf8Length(eqp), "template=" + src);
+        }
+    }
+
+    /**
+     * 기존 ScenarioTemplateResolver.resolve 사본 (정규식 + appendReplacement)
+     */
+    private static String legacyResolve(String template, EqpRuntime eqp) {
+        if (template == null || template.isEmpty()) return template;
+        Matcher m = PLACEHOLDER.matcher(template);
+        StringBuffer sb = new StringBuffer();
+        while (m.find()) {
+            String keyRaw = m.group(1);
+            String key = keyRaw.trim().toLowerCase(Locale.ROOT);
+            String replacement = null;
+            if (key.equals("eqpid")) {
+                replacement = eqp.getEqpId();
+            } else if (key.startsWith("var.")) {
+                replacement = eqp.getVarsLowerKey().get(key.substring("var.".length()));
+            }
+            if (replacement == null) {
+                replacement = "{" + keyRaw + "}";
+            }
+            m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        }
+        m.appendTail(sb);
+        return sb.toString();
+    }
+}
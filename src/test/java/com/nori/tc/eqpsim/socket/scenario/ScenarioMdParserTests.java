@@ -1,5 +1,6 @@
 package com.nori.tc.eqpsim.socket.scenario;
 
+import com.nori.tc.eqpsim.socket.protocol.CommandDictionary;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
@@ -29,4 +30,49 @@ class ScenarioMdParserTests {
         assertTrue(plan.getSteps().size() > 0);
         assertTrue(plan.getLabelIndex().containsKey("MAIN"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void wait_commands_share_ids_across_plans_with_shared_dictionary() throws Exception {
+        Path a = Files.createTempFile("scenario_a", ".md");
+        Path b = Files.createTempFile("scenario_b", ".md");
+        Files.writeString(a, "[TcToEqp] CMD=ping\n[TcToEqp] CMD=STATUS\n", StandardCharsets.UTF_8);
+        Files.writeString(b, "[TcToEqp] CMD=STATUS\n", StandardCharsets.UTF_8);
+
+        CommandDictionary commands = new CommandDictionary();
+        ScenarioPlan planA = ScenarioMdParser.parseFile(a.toString(), commands);
+        ScenarioPlan planB = ScenarioMdParser.parseFile(b.toString(), commands);
+        commands.seal();
+
+        WaitCmdStep ping = (WaitCmdStep) planA.getSteps().get(0);
+        WaitCmdStep statusA = (WaitCmdStep) planA.getSteps().get(1);
+        WaitCmdStep statusB = (WaitCmdStep) planB.getSteps().get(0);
+
+        assertEquals("PING", ping.getExpectedCmdUpper());
+        assertEquals(commands.idOf("PING"), ping.getExpectedCmdId());
+        assertEquals(statusA.getExpectedCmdId(), statusB.getExpectedCmdId());
+        assertSame(commands, planB.getCommands());
+    }
+
+    @Test
+    void parses_emit_schedule_and_late_policy() throws Exception {
+        Path tmp = Files.createTempFile("scenario_fixed_rate", ".md");
+        Files.writeString(tmp, """
+                [EqpToTc] every=100ms count=forever schedule=fixed-rate late=skip CMD=EV
+                [EqpToTc] every=1s count=2 CMD=EV2
+                """, StandardCharsets.UTF_8);
+
+        ScenarioPlan plan = ScenarioMdParser.parseFile(tmp.toString());
+        EmitStep fixedRate = (EmitStep) plan.getSteps().get(0);
+        EmitStep fixedDelay = (EmitStep) plan.getSteps().get(1);
+
+        assertEquals(EmitStep.Schedule.FIXED_RATE, fixedRate.getSchedule());
+        assertEquals(EmitStep.LatePolicy.SKIP, fixedRate.getLatePolicy());
+        assertEquals("CMD=EV", fixedRate.getPayloadTemplate());
+        assertEquals(EmitStep.Schedule.FIXED_DELAY, fixedDelay.getSchedule());
+        assertEquals(EmitStep.LatePolicy.CATCH_UP, fixedDelay.getLatePolicy());
+
+        Path window = Files.createTempFile("scenario_window_rate", ".md");
+        Files.writeString(window, "[EqpToTc] window=1s count=2 schedule=fixed-rate CMD=EV\n", StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> ScenarioMdParser.parseFile(window.toString()));
+    }
+}
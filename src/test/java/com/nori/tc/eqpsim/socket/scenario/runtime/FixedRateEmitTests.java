@@ -0,0 +1,114 @@
+package com.nori.tc.eqpsim.socket.scenario.runtime;
+
+import com.nori.tc.eqpsim.socket.metrics.LogLinearHistogram;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * schedule=fixed-rate EMIT 테스트
+ *
+ * - event loop 정체는 advanceTimeBy를 한 번에 크게 진행해 흉내낸다.
+ *   (FIXED_DELAY와 달리 격자 기준이므로 밀린 tick 수가 정확히 계산된다)
+ */
+class FixedRateEmitTests {
+
+    private final EqpRuntime eqp = eqp();
+    private EmbeddedChannel ch;
+
+    @AfterEach
+    void tearDown() {
+        if (ch != null) {
+            ch.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void keeps_grid_without_drift() {
+        start("[EqpToTc] every=100ms count=forever schedule=fixed-rate CMD=EV\n");
+
+        // 정체 없이 10ms씩 진행: 매 100ms 정확히 1개, lateness 0
+        advance(ch, 1_000);
+        assertEquals(10, drain(ch).size());
+
+        LogLinearHistogram h = eqp.getLatenessStats().getLatenessUs();
+        assertEquals(10, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+
+    @Test
+    void catch_up_sends_missed_ticks_at_once() {
+        start("""
+                [EqpToTc] every=100ms count=10 schedule=fixed-rate late=catch-up CMD=EV
+                [EqpToTc] CMD=DONE
+                """);
+
+        advance(ch, 100);
+        assertEquals(List.of("CMD=EV"), drain(ch));
+
+        stall(450); // t=550: tick 2..5 밀림
+        assertEquals(4, drain(ch).size());
+        assertEquals(0, eqp.getLatenessStats().getSkipped());
+
+        advance(ch, 500); // t=1050: tick 6..10 + 다음 스텝
+        List<String> rest = drain(ch);
+        assertEquals(6, rest.size());
+        assertEquals("CMD=DONE", rest.get(5));
+
+        LogLinearHistogram h = eqp.getLatenessStats().getLatenessUs();
+        assertEquals(10, h.getCount());
+        assertEquals(350_000, h.getMax(), "tick 2 (의도 200ms, 실제 550ms)");
+    }
+
+    @Test
+    void skip_sends_only_latest_due_tick_and_counts_skipped() {
+        start("""
+                [EqpToTc] every=100ms count=10 schedule=fixed-rate late=skip CMD=EV
+                [EqpToTc] CMD=DONE
+                """);
+
+        advance(ch, 100);
+        assertEquals(1, drain(ch).size());
+
+        stall(450); // t=550: tick 2..4 skip, tick 5 송신
+        assertEquals(List.of("CMD=EV"), drain(ch));
+        assertEquals(3, eqp.getLatenessStats().getSkipped());
+        assertEquals(50_000, eqp.getLatenessStats().getLatenessUs().getMax());
+
+        advance(ch, 500); // tick 6..10, skip도 count에 포함되므로 완료 시점은 그대로
+        List<String> rest = drain(ch);
+        assertEquals(List.of("CMD=EV", "CMD=EV", "CMD=EV", "CMD=EV", "CMD=EV", "CMD=DONE"), rest);
+        assertEquals(7, eqp.getLatenessStats().getLatenessUs().getCount());
+    }
+
+    @Test
+    void skip_keeps_last_tick_of_finite_count() {
+        start("""
+                [EqpToTc] every=100ms count=3 schedule=fixed-rate late=skip CMD=EV
+                [EqpToTc] CMD=DONE
+                """);
+
+        stall(1_000);
+        assertEquals(List.of("CMD=EV", "CMD=DONE"), drain(ch));
+        assertEquals(2, eqp.getLatenessStats().getSkipped());
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private void start(String scenario) {
+        ch = frozenChannel(eqp, new ScenarioRunnerHandler(scenario(scenario)));
+    }
+
+    /** event loop 정체: 중간 실행 없이 시간만 진행한 뒤 한 번 실행 */
+    private void stall(long ms) {
+        ch.advanceTimeBy(ms, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();
+    }
+}
@@ -0,0 +1,115 @@
+package com.nori.tc.eqpsim.socket.scenario.runtime;
+
+import com.nori.tc.eqpsim.socket.config.BackpressureProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.runtime.EmitBackpressureStats;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScenarioRunnerHandler 송신 backpressure 테스트
+ *
+ * - 채널 writability는 ChannelOutboundBuffer의 user-defined writability 비트로 직접 토글한다.
+ * - 시간은 EmbeddedChannel freezeTime/advanceTimeBy로 진행한다.
+ */
+class ScenarioRunnerBackpressureTests {
+
+    private final EqpRuntime eqp = eqp();
+    private EmbeddedChannel ch;
+
+    @AfterEach
+    void tearDown() {
+        if (ch != null) {
+            ch.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void pause_parks_forever_emit_and_resumes_on_writable() {
+        start(BackpressureProperties.Policy.PAUSE, "[EqpToTc] every=100ms count=forever CMD=EV\n", true);
+
+        advance(ch, 100);
+        assertEquals(List.of("CMD=EV"), drain(ch));
+
+        setWritable(false);
+        advance(ch, 1_000);
+        assertEquals(List.of(), drain(ch));
+
+        setWritable(true);
+        assertEquals(List.of("CMD=EV"), drain(ch), "보류된 tick은 복귀 즉시 송신");
+        advance(ch, 100);
+        assertEquals(List.of("CMD=EV"), drain(ch));
+
+        EmitBackpressureStats stats = eqp.getBackpressureStats();
+        assertEquals(1, stats.getPauses());
+        assertEquals(1, stats.getDeferred());
+        assertEquals(0, stats.getSuppressed());
+    }
+
+    @Test
+    void drop_skips_ticks_but_keeps_schedule() {
+        start(BackpressureProperties.Policy.DROP, """
+                [EqpToTc] every=100ms count=3 CMD=EV
+                [EqpToTc] CMD=DONE
+                """, false);
+
+        advance(ch, 300);
+        setWritable(true);
+        assertEquals(List.of("CMD=DONE"), drain(ch), "3 tick 모두 미송신, 스텝은 제시간에 완료");
+        assertEquals(3, eqp.getBackpressureStats().getSuppressed());
+        assertEquals(0, eqp.getBackpressureStats().getDeferred());
+    }
+
+    @Test
+    void pause_defers_window_ticks_in_order() {
+        start(BackpressureProperties.Policy.PAUSE, """
+                [EqpToTc] window=100ms count=5 CMD=EV
+                [EqpToTc] CMD=DONE
+                """, false);
+
+        advance(ch, 200);
+        assertEquals(List.of(), drain(ch));
+        assertEquals(5, eqp.getBackpressureStats().getDeferred());
+        assertEquals(1, eqp.getBackpressureStats().getPauses());
+
+        setWritable(true);
+        assertEquals(List.of("CMD=EV", "CMD=EV", "CMD=EV", "CMD=EV", "CMD=EV", "CMD=DONE"), drain(ch));
+    }
+
+    @Test
+    void block_holds_send_steps_until_writable() {
+        start(BackpressureProperties.Policy.BLOCK, """
+                [EqpToTc] CMD=A
+                [EqpToTc] CMD=B
+                """, false);
+
+        assertEquals(List.of(), drain(ch));
+        assertEquals(1, eqp.getBackpressureStats().getDeferred());
+
+        setWritable(true);
+        assertEquals(List.of("CMD=A", "CMD=B"), drain(ch));
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private void start(BackpressureProperties.Policy policy, String scenario, boolean writable) {
+        ch = frozenChannel(eqp);
+        ch.attr(ChannelAttributes.BACKPRESSURE_POLICY).set(policy);
+        setWritable(writable);
+
+        ch.pipeline().addLast("runner", new ScenarioRunnerHandler(scenario(scenario)));
+        ch.runPendingTasks();
+    }
+
+    private void setWritable(boolean writable) {
+        ch.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+        ch.runPendingTasks();
+    }
+}
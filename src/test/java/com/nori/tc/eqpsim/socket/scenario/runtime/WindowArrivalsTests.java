@@ -0,0 +1,129 @@
+package com.nori.tc.eqpsim.socket.scenario.runtime;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WindowArrivals 테스트
+ *
+ * - 기존 방식(정수 ms 균등 난수 N개 정렬)과 k번째 순서통계량 분포가 같은지 (평균 + 2표본 KS 검정)
+ * - 수열이 비감소이고 0..windowMs 범위, 개수가 정확한지
+ * - ScenarioRunnerHandler WINDOW EMIT이 count 전부 송신 후 다음 스텝으로 가는지
+ */
+class WindowArrivalsTests {
+
+    private static final int N = 5;
+    private static final long WINDOW_MS = 999;
+    private static final int TRIALS = 20_000;
+
+    @Test
+    void order_statistics_match_sorted_uniform_samples() {
+        long[][] lazy = new long[N][TRIALS];
+        long[][] legacy = new long[N][TRIALS];
+        SplittableRandom rndLazy = new SplittableRandom(1);
+        SplittableRandom rndLegacy = new SplittableRandom(2);
+
+        for (int t = 0; t < TRIALS; t++) {
+            WindowArrivals a = new WindowArrivals(WINDOW_MS, N, rndLazy);
+            for (int k = 0; k < N; k++) {
+                lazy[k][t] = a.nextOffsetMs();
+            }
+            long[] sorted = new long[N];
+            for (int k = 0; k < N; k++) {
+                sorted[k] = rndLegacy.nextLong(0, WINDOW_MS + 1);
+            }
+            Arrays.sort(sorted);
+            for (int k = 0; k < N; k++) {
+                legacy[k][t] = sorted[k];
+            }
+        }
+
+        // KS 2표본 임계값 (alpha=0.001): 1.95 * sqrt(2/n)
+        double critical = 1.95 * Math.sqrt(2.0 / TRIALS);
+        for (int k = 0; k < N; k++) {
+            // E[X(k)] = (k+1)/(N+1) * (W+1) - 0.5 근사
+            double expectedMean = (k + 1.0) / (N + 1) * (WINDOW_MS + 1) - 0.5;
+            assertEquals(expectedMean, mean(lazy[k]), 5.0, "k=" + k);
+            assertEquals(mean(legacy[k]), mean(lazy[k]), 7.0, "k=" + k);
+            double d = ksStatistic(lazy[k], legacy[k]);
+            assertTrue(d < critical, "k=" + k + " KS D=" + d + " critical=" + critical);
+        }
+    }
+
+    @Test
+    void sequence_is_sorted_bounded_and_exact_count() {
+        WindowArrivals a = new WindowArrivals(100, 10_000, new SplittableRandom(3));
+        long prev = 0;
+        int n = 0;
+        while (a.hasNext()) {
+            long v = a.nextOffsetMs();
+            assertTrue(v >= prev && v <= 100, "v=" + v);
+            prev = v;
+            n++;
+        }
+        assertEquals(10_000, n);
+        assertThrows(IllegalStateException.class, a::nextOffsetMs);
+
+        WindowArrivals zero = new WindowArrivals(0, 3, new SplittableRandom(4));
+        assertEquals(0, zero.nextOffsetMs());
+        assertEquals(0, zero.nextOffsetMs());
+        assertEquals(0, zero.nextOffsetMs());
+    }
+
+    @Test
+    void window_emit_sends_all_then_advances() {
+        EmbeddedChannel ch = frozenChannel(eqp(), new ScenarioRunnerHandler(scenario("""
+                [EqpToTc] window=100ms count=1000 CMD=EV
+                [EqpToTc] CMD=DONE
+                """)));
+
+        int ev = 0;
+        boolean done = false;
+        for (int ms = 0; ms <= 110; ms++) {
+            advance(ch, 1, 1);
+            for (String s : drain(ch)) {
+                if (s.equals("CMD=EV")) {
+                    assertFalse(done);
+                    ev++;
+                } else if (s.equals("CMD=DONE")) {
+                    done = true;
+                }
+            }
+        }
+        assertEquals(1000, ev);
+        assertTrue(done);
+        ch.finishAndReleaseAll();
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private static double mean(long[] v) {
+        double sum = 0;
+        for (long x : v) sum += x;
+        return sum / v.length;
+    }
+
+    /** 2표본 Kolmogorov-Smirnov 통계량 (정수값, 동률 처리) */
+    private static double ksStatistic(long[] a, long[] b) {
+        long[] x = a.clone();
+        long[] y = b.clone();
+        Arrays.sort(x);
+        Arrays.sort(y);
+        int i = 0;
+        int j = 0;
+        double d = 0;
+        while (i < x.length && j < y.length) {
+            long v = Math.min(x[i], y[j]);
+            while (i < x.length && x[i] == v) i++;
+            while (j < y.length && y[j] == v) j++;
+            d = Math.max(d, Math.abs((double) i / x.length - (double) j / y.length));
+        }
+        return d;
+    }
+}
@@ -0,0 +1,137 @@
+package com.nori.tc.eqpsim.socket.support;
+
+import com.nori.tc.eqpsim.socket.config.EqpProperties;
+import com.nori.tc.eqpsim.socket.config.ProfileProperties;
+import com.nori.tc.eqpsim.socket.config.SocketTypeProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.runtime.EqpRuntime;
+import com.nori.tc.eqpsim.socket.runtime.HostPort;
+import com.nori.tc.eqpsim.socket.scenario.ScenarioMdParser;
+import com.nori.tc.eqpsim.socket.scenario.ScenarioPlan;
+import com.nori.tc.eqpsim.socket.scenario.runtime.FaultState;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테스트 공용 fixture
+ *
+ * - PASSIVE EQP 1대 (EQP_01 / endpoint L1, 기본 LF 줄 단위)
+ * - 시나리오 문자열 → 임시 .md 파일 → ScenarioPlan
+ * - freezeTime EmbeddedChannel (EQP / FAULT_STATE attr 설정) 과 시간 진행 / 송신 프레임 수거
+ */
+public final class SimTestFixtures {
+
+    public static final String EQP_ID = "EQP_01";
+    public static final String ENDPOINT_ID = "L1";
+
+    private SimTestFixtures() {
+    }
+
+    // ─── EQP ────────────────────────────────────────────────────────────────
+
+    public static SocketTypeProperties lineEndLf() {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.LINE_END);
+        st.setLineEnding(SocketTypeProperties.LineEnding.LF);
+        return st;
+    }
+
+    /** STX(0x02) / ETX(0x03) 프레이밍 */
+    public static SocketTypeProperties stxEtx() {
+        SocketTypeProperties st = new SocketTypeProperties();
+        st.setKind(SocketTypeProperties.Kind.START_END);
+        st.setStartHex("02");
+        st.setEndHex("03");
+        return st;
+    }
+
+    public static EqpRuntime eqp() {
+        return eqp(EQP_ID, Map.of());
+    }
+
+    public static EqpRuntime eqp(String eqpId, Map<String, String> vars) {
+        return eqp(eqpId, lineEndLf(), vars);
+    }
+
+    public static EqpRuntime eqp(SocketTypeProperties socketType) {
+        return eqp(EQP_ID, socketType, Map.of());
+    }
+
+    public static EqpRuntime eqp(String eqpId, SocketTypeProperties socketType, Map<String, String> vars) {
+        return new EqpRuntime(eqpId, EqpProperties.Mode.PASSIVE, ENDPOINT_ID, HostPort.parse("0.0.0.0:31001"), 20,
+                socketType, "p1", new ProfileProperties(), 60, 60, vars);
+    }
+
+    // ─── 시나리오 ────────────────────────────────────────────────────────────
+
+    public static ScenarioPlan scenario(String content) {
+        try {
+            Path file = Files.createTempFile("scenario", ".md");
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+            return ScenarioMdParser.parseFile(file.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ─── 채널 ────────────────────────────────────────────────────────────────
+
+    /**
+     * 시간이 멈춘 채널. handler는 EQP / FAULT_STATE attr 설정 후 추가한다.
+     * (handler 추가 시 실행이 시작되므로 다른 attr이 필요하면 handler 없이 만든 뒤 직접 추가)
+     */
+    public static EmbeddedChannel frozenChannel(EqpRuntime eqp, ChannelHandler... handlers) {
+        EmbeddedChannel ch = new EmbeddedChannel();
+        ch.freezeTime();
+        ch.attr(ChannelAttributes.EQP).set(eqp);
+        ch.attr(ChannelAttributes.FAULT_STATE).set(new FaultState());
+        if (handlers.length > 0) {
+            ch.pipeline().addLast(handlers);
+            ch.runPendingTasks();
+        }
+        return ch;
+    }
+
+    /**
+     * stepMs 단위로 시간을 진행하며 매 단계 due task를 실행한다.
+     * (EmbeddedChannel은 flush 중 due task를 재진입 실행하므로 한 번에 몰지 않는다)
+     */
+    public static void advance(EmbeddedChannel ch, long ms, long stepMs) {
+        for (long t = 0; t < ms; t += stepMs) {
+            ch.advanceTimeBy(stepMs, TimeUnit.MILLISECONDS);
+            ch.runPendingTasks();
+        }
+    }
+
+    /** 10ms 단위로 진행 */
+    public static void advance(EmbeddedChannel ch, long ms) {
+        advance(ch, ms, 10);
+    }
+
+    /**
+     * 지금까지 송신된 프레임 (UTF-8, 앞뒤 공백/줄끝 제거)
+     */
+    public static List<String> drain(EmbeddedChannel ch) {
+        List<String> out = new ArrayList<>();
+        ByteBuf buf;
+        while ((buf = ch.readOutbound()) != null) {
+            try {
+                out.add(buf.toString(StandardCharsets.UTF_8).trim());
+            } finally {
+                buf.release();
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,148 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import com.nori.tc.eqpsim.socket.config.TimerProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.scenario.runtime.ScenarioRunnerHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventLoopWheelTimer 테스트
+ *
+ * - EmbeddedChannel event loop(freezeTime)에 wheel을 얹어 시간을 1ms 단위로 직접 진행한다.
+ * - 실행 시각(deadline 이전 실행 금지, tick 1개 이내 지연), 취소/종료 시 onCancel,
+ *   wheel 1바퀴를 넘는 지연, TIMER_SERVICE attr을 통한 시나리오 EMIT 예약을 확인한다.
+ */
+class EventLoopWheelTimerTests {
+
+    private static final long TICK_MS = 10;
+
+    private EmbeddedChannel ch;
+    private EventLoopWheelTimer timer;
+    private long origin;
+
+    @BeforeEach
+    void setUp() {
+        ch = frozenChannel(eqp());
+        origin = ch.eventLoop().ticker().nanoTime();
+        timer = new EventLoopWheelTimer(ch.eventLoop(), TimeUnit.MILLISECONDS.toNanos(TICK_MS), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ch.finishAndReleaseAll();
+    }
+
+    @Test
+    void fires_in_deadline_order_within_one_tick() {
+        List<String> fired = new ArrayList<>();
+        timer.schedule(() -> fired.add("c@" + elapsedMs()), 35, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> fired.add("a@" + elapsedMs()), 5, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> fired.add("b@" + elapsedMs()), 20, TimeUnit.MILLISECONDS);
+
+        advance(ch, 100, 1);
+
+        assertEquals(List.of("a@10", "b@20", "c@40"), fired);
+        assertEquals(0, timer.pendingCount());
+    }
+
+    @Test
+    void delay_longer_than_one_revolution_waits_full_rounds() {
+        // wheel 8칸 * 10ms = 80ms/바퀴 → 250ms는 3바퀴 이상
+        AtomicInteger at = new AtomicInteger(-1);
+        timer.schedule(() -> at.set((int) elapsedMs()), 250, TimeUnit.MILLISECONDS);
+
+        advance(ch, 240, 1);
+        assertEquals(-1, at.get());
+        advance(ch, 20, 1);
+        assertEquals(250, at.get());
+    }
+
+    @Test
+    void cancel_skips_task_and_calls_on_cancel_once() {
+        AtomicInteger ran = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        SimTimer.Timeout t = timer.schedule(ran::incrementAndGet, cancelled::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(t.cancel());
+        assertFalse(t.cancel());
+        assertTrue(t.isCancelled());
+        assertEquals(0, timer.pendingCount());
+
+        advance(ch, 100, 1);
+        assertEquals(0, ran.get());
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void task_cancelling_sibling_in_same_bucket_keeps_rest_of_bucket() {
+        // 같은 tick(=같은 bucket)의 A, C + 다음 바퀴 같은 bucket의 예약들. A가 C를 취소한다.
+        AtomicInteger ran = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        SimTimer.Timeout[] c = new SimTimer.Timeout[1];
+        timer.schedule(() -> c[0].cancel(), 50, TimeUnit.MILLISECONDS);
+        c[0] = timer.schedule(() -> fail("cancelled sibling must not run"), cancelled::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 5; i++) {
+            timer.schedule(ran::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+            timer.schedule(ran::incrementAndGet, 130, TimeUnit.MILLISECONDS);
+        }
+
+        advance(ch, 60, 1);
+        assertEquals(5, ran.get());
+        assertEquals(1, cancelled.get());
+        assertEquals(5, timer.pendingCount());
+
+        advance(ch, 80, 1);
+        assertEquals(10, ran.get());
+        assertEquals(0, timer.pendingCount());
+    }
+
+    @Test
+    void shutdown_cancels_pending_and_rejects_new() {
+        AtomicInteger cancelled = new AtomicInteger();
+        timer.schedule(() -> fail("must not run"), cancelled::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> fail("must not run"), cancelled::incrementAndGet, 500, TimeUnit.MILLISECONDS);
+
+        timer.shutdown();
+        assertEquals(2, cancelled.get());
+
+        SimTimer.Timeout late = timer.schedule(() -> fail("must not run"), cancelled::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+        assertTrue(late.isCancelled());
+        assertEquals(3, cancelled.get());
+        advance(ch, 600, 1);
+    }
+
+    @Test
+    void scenario_emit_runs_on_wheel_via_channel_attr() {
+        TimerProperties props = new TimerProperties();
+        props.setTickMs(TICK_MS);
+        TimerService service = new TimerService(props);
+
+        ch.attr(ChannelAttributes.TIMER_SERVICE).set(service);
+        ch.pipeline().addLast("runner", new ScenarioRunnerHandler(scenario("[EqpToTc] every=100ms count=3 CMD=EV\n")));
+        ch.runPendingTasks();
+
+        assertInstanceOf(EventLoopWheelTimer.class, service.timerFor(ch.eventLoop()));
+        advance(ch, 90, 1);
+        assertEquals(0, drain(ch).size());
+        advance(ch, 220, 1);
+        assertEquals(3, drain(ch).size());
+        service.shutdown();
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(ch.eventLoop().ticker().nanoTime() - origin);
+    }
+}
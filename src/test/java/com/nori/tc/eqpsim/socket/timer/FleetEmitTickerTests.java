@@ -0,0 +1,221 @@
+package com.nori.tc.eqpsim.socket.timer;
+
+import com.nori.tc.eqpsim.socket.config.TimerProperties;
+import com.nori.tc.eqpsim.socket.netty.ChannelAttributes;
+import com.nori.tc.eqpsim.socket.scenario.runtime.ScenarioRunnerHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.nori.tc.eqpsim.socket.support.SimTestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FleetEmitTicker 테스트
+ *
+ * - 같은 주기의 emitter를 tick 1개로 실행하고, tick당 채널별 flush 1회인지
+ * - REMOVE / tick 도중 add / bucket 비었을 때 정지 후 재시작
+ * - ScenarioRunnerHandler가 jitter 없는 INTERVAL EMIT만 bucket에 넣는지
+ */
+class FleetEmitTickerTests {
+
+    private EmbeddedChannel ch;
+    private int flushes;
+
+    @AfterEach
+    void tearDown() {
+        if (ch != null) {
+            ch.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void one_tick_runs_all_emitters_and_flushes_channel_once() {
+        channel();
+        FleetEmitTicker fleet = new FleetEmitTicker(new ExecutorSimTimer(ch.eventLoop()), ch.eventLoop().ticker(), 100);
+        ChannelHandlerContext ctx = ch.pipeline().lastContext();
+
+        List<CountingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            CountingEmitter em = new CountingEmitter(ctx, -1);
+            emitters.add(em);
+            fleet.add(em);
+        }
+
+        advance(ch, 99, 1);
+        assertEquals(0, fleet.getTicks());
+        advance(ch, 1, 1);
+        assertEquals(1, fleet.getTicks());
+        assertEquals(1, flushes);
+        advance(ch, 200, 1);
+        assertEquals(3, fleet.getTicks());
+        assertEquals(3, flushes);
+        emitters.forEach(em -> assertEquals(3, em.ticks));
+    }
+
+    @Test
+    void removed_emitters_leave_and_empty_bucket_stops_then_restarts() {
+        channel();
+        FleetEmitTicker fleet = new FleetEmitTicker(new ExecutorSimTimer(ch.eventLoop()), ch.eventLoop().ticker(), 100);
+        ChannelHandlerContext ctx = ch.pipeline().lastContext();
+
+        CountingEmitter twice = new CountingEmitter(ctx, 2);
+        CountingEmitter once = new CountingEmitter(ctx, 1);
+        fleet.add(twice);
+        fleet.add(once);
+
+        advance(ch, 100, 1);
+        assertEquals(1, fleet.size());
+        advance(ch, 100, 1);
+        assertEquals(0, fleet.size());
+        advance(ch, 500, 1);
+        assertEquals(2, fleet.getTicks(), "비면 tick 예약 정지");
+
+        // 재시작: add 시각 기준 다음 tick
+        advance(ch, 30, 1);
+        CountingEmitter late = new CountingEmitter(ctx, 1);
+        fleet.add(late);
+        advance(ch, 99, 1);
+        assertEquals(0, late.ticks);
+        advance(ch, 1, 1);
+        assertEquals(1, late.ticks);
+    }
+
+    @Test
+    void emitter_added_during_tick_joins_next_tick() {
+        channel();
+        FleetEmitTicker fleet = new FleetEmitTicker(new ExecutorSimTimer(ch.eventLoop()), ch.eventLoop().ticker(), 100);
+        ChannelHandlerContext ctx = ch.pipeline().lastContext();
+
+        CountingEmitter child = new CountingEmitter(ctx, -1);
+        fleet.add(new CountingEmitter(ctx, 1) {
+            @Override
+            public int onTick() {
+                fleet.add(child);
+                return super.onTick();
+            }
+        });
+
+        advance(ch, 100, 1);
+        assertEquals(0, child.ticks);
+        assertEquals(1, fleet.size());
+        advance(ch, 100, 1);
+        assertEquals(1, child.ticks);
+    }
+
+    @Test
+    void emitter_joining_existing_bucket_waits_at_least_one_period() {
+        channel();
+        FleetEmitTicker fleet = new FleetEmitTicker(new ExecutorSimTimer(ch.eventLoop()), ch.eventLoop().ticker(), 100);
+        ChannelHandlerContext ctx = ch.pipeline().lastContext();
+
+        fleet.add(new CountingEmitter(ctx, -1));
+        advance(ch, 30, 1);
+        CountingEmitter joined = new CountingEmitter(ctx, -1);
+        fleet.add(joined);
+
+        advance(ch, 70, 1);   // t=100: bucket tick, joined는 add 후 70ms → 참여하지 않음
+        assertEquals(1, fleet.getTicks());
+        assertEquals(0, joined.ticks);
+        advance(ch, 100, 1);  // t=200: add 후 170ms ≥ period
+        assertEquals(1, joined.ticks);
+    }
+
+    @Test
+    void stalled_loop_reanchors_instead_of_bursting() {
+        channel();
+        FleetEmitTicker fleet = new FleetEmitTicker(new ExecutorSimTimer(ch.eventLoop()), ch.eventLoop().ticker(), 100);
+        CountingEmitter em = new CountingEmitter(ch.pipeline().lastContext(), -1);
+        fleet.add(em);
+
+        // event loop가 350ms 멈춘 뒤 한 번에 깨어남
+        ch.advanceTimeBy(350, TimeUnit.MILLISECONDS);
+        ch.runScheduledPendingTasks();
+        assertEquals(1, em.ticks, "밀린 tick을 몰아 실행하지 않음");
+
+        advance(ch, 99, 1);
+        assertEquals(1, em.ticks);
+        advance(ch, 1, 1);
+        assertEquals(2, em.ticks);
+    }
+
+    @Test
+    void scenario_uses_fleet_only_for_zero_jitter_interval() {
+        TimerProperties props = new TimerProperties();
+        props.setTickMs(1);
+        TimerService service = new TimerService(props);
+
+        channel();
+        startScenario(service, """
+                [EqpToTc] every=100ms count=3 CMD=EV
+                [EqpToTc] CMD=DONE
+                """);
+
+        FleetEmitTicker fleet = service.emitTickerFor(ch.eventLoop(), 100);
+        assertEquals(1, fleet.size());
+        advance(ch, 310, 1);
+        assertEquals(List.of("CMD=EV", "CMD=EV", "CMD=EV", "CMD=DONE"), drain(ch));
+        assertEquals(0, fleet.size());
+        assertEquals(3, fleet.getTicks());
+
+        ch.finishAndReleaseAll();
+        channel();
+        startScenario(service, "[EqpToTc] every=100ms jitter=20ms count=forever CMD=EV\n");
+        assertEquals(0, service.emitTickerFor(ch.eventLoop(), 100).size(), "jitter 있으면 EQP별 재예약");
+        advance(ch, 130, 1);
+        assertEquals(List.of("CMD=EV"), drain(ch));
+
+        service.shutdown();
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────────────
+
+    /** flush 횟수를 세는 outbound handler 뒤에 emitter용 context를 둔다 */
+    private void channel() {
+        flushes = 0;
+        ch = frozenChannel(eqp(), new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(ChannelHandlerContext ctx) {
+                flushes++;
+                ctx.flush();
+            }
+        }, new ChannelInboundHandlerAdapter());
+    }
+
+    private void startScenario(TimerService service, String scenario) {
+        ch.attr(ChannelAttributes.TIMER_SERVICE).set(service);
+        ch.pipeline().addLast("runner", new ScenarioRunnerHandler(scenario(scenario)));
+        ch.runPendingTasks();
+    }
+
+    /** tick 수를 세고 maxTicks 도달 시 REMOVE (-1이면 무한) */
+    private static class CountingEmitter implements FleetEmitTicker.Emitter {
+
+        private final ChannelHandlerContext ctx;
+        private final int maxTicks;
+        int ticks;
+
+        CountingEmitter(ChannelHandlerContext ctx, int maxTicks) {
+            this.ctx = ctx;
+            this.maxTicks = maxTicks;
+        }
+
+        @Override
+        public int onTick() {
+            ticks++;
+            return maxTicks > 0 && ticks >= maxTicks ? WROTE | REMOVE : WROTE;
+        }
+
+        @Override
+        public ChannelHandlerContext context() {
+            return ctx;
+        }
+    }
+}